@@ -0,0 +1,41 @@
+package com.company.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * 统一身份认证平台 - 基准测试入口
+ * 对每个线程数分别运行一轮，吞吐量与GC分配率（gc.alloc.rate.norm）以JSON写入输出目录，
+ * 文件名按线程数区分，便于跨版本对比
+ *
+ * 参数: [包含正则] [线程数列表，逗号分隔] [输出目录]
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        String include = args.length > 0 ? args[0] : "com.company.benchmark.*";
+        String[] threadCounts = (args.length > 1 ? args[1] : "1,4,8").split(",");
+        File outputDir = new File(args.length > 2 ? args[2] : "target/jmh");
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+            throw new IllegalStateException("无法创建输出目录: " + outputDir);
+        }
+
+        for (String threadCount : threadCounts) {
+            int threads = Integer.parseInt(threadCount.trim());
+            Options options = new OptionsBuilder()
+                .include(include)
+                .exclude(BenchmarkRunner.class.getName())
+                .threads(threads)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(new File(outputDir, "result-t" + threads + ".json").getPath())
+                .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.company.benchmark;
+
+import com.company.service.CoreIdentityService.KeyFragments;
+import com.company.service.CoreIdentityService.KeyPair;
+import com.company.util.CryptoUtil;
+import com.company.util.ShamirSecretSharing;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 统一身份认证平台 - 密钥分片与私钥加密基准
+ * splitKey/combineFragments 与 CoreIdentityServiceImpl 的做法一致：私钥UTF-8字节经 ShamirSecretSharing 拆分（3/5门限），
+ * 分片Base64编码；legacy* 为旧版 CryptoUtil 分片，仅用于对比及兼容旧数据的还原路径
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CryptoBenchmark {
+
+    private static final String DEVICE_FINGERPRINT = "BENCH-DEVICE-FINGERPRINT-0001";
+    private static final String BIOMETRIC_TEMPLATE_HASH =
+        "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    private CryptoUtil cryptoUtil;
+    private String privateKey;
+    private String[] encodedShares;
+    private KeyFragments legacyFragments;
+
+    @Setup
+    public void setUp() {
+        cryptoUtil = new CryptoUtil();
+        KeyPair keyPair = cryptoUtil.generateHybridKeyPair();
+        privateKey = keyPair.getPrivateKey();
+        encodedShares = splitKey();
+        legacyFragments = cryptoUtil.splitKey(privateKey, 3, 5);
+    }
+
+    @Benchmark
+    public String[] splitKey() {
+        byte[][] shares = ShamirSecretSharing.split(privateKey.getBytes(StandardCharsets.UTF_8), 3, 5);
+        String[] encoded = new String[shares.length];
+        for (int i = 0; i < shares.length; i++) {
+            encoded[i] = Base64.getEncoder().encodeToString(shares[i]);
+        }
+        return encoded;
+    }
+
+    @Benchmark
+    public String combineFragments() {
+        // 恢复时只取门限数量的分片
+        byte[][] shares = new byte[3][];
+        for (int i = 0; i < shares.length; i++) {
+            shares[i] = Base64.getDecoder().decode(encodedShares[i]);
+        }
+        return new String(ShamirSecretSharing.combine(shares), StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public KeyFragments legacySplitKey() {
+        return cryptoUtil.splitKey(privateKey, 3, 5);
+    }
+
+    @Benchmark
+    public String legacyCombineFragments() {
+        return cryptoUtil.combineFragments(legacyFragments);
+    }
+
+    @Benchmark
+    public String encryptPrivateKey() throws Exception {
+        return cryptoUtil.encryptPrivateKey(privateKey, DEVICE_FINGERPRINT, BIOMETRIC_TEMPLATE_HASH);
+    }
+}
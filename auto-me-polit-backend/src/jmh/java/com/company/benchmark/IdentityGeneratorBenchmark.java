@@ -0,0 +1,33 @@
+package com.company.benchmark;
+
+import com.company.util.IdentityGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 统一身份认证平台 - 身份ID生成基准
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdentityGeneratorBenchmark {
+
+    @Param({"NODE", "LEGACY"})
+    private IdentityGenerator.Mode mode;
+
+    private IdentityGenerator identityGenerator;
+
+    @Setup
+    public void setUp() {
+        identityGenerator = new IdentityGenerator(mode, 1);
+    }
+
+    @Benchmark
+    public String generateGlobalIdentityId() {
+        return identityGenerator.generateGlobalIdentityId();
+    }
+}
@@ -0,0 +1,77 @@
+package com.company.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 统一身份认证平台 - 元数据与恢复配置序列化基准
+ * 数据结构与 CoreIdentityServiceImpl.buildMetadata / buildRecoveryConfig 保持一致
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private static final String DEVICE_FINGERPRINT = "BENCH-DEVICE-FINGERPRINT-0001";
+
+    private ObjectMapper objectMapper;
+    private String metadataJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        metadataJson = objectMapper.writeValueAsString(buildMetadata());
+    }
+
+    @Benchmark
+    public String serializeMetadata() throws Exception {
+        return objectMapper.writeValueAsString(buildMetadata());
+    }
+
+    @Benchmark
+    public String serializeRecoveryConfig() throws Exception {
+        return objectMapper.writeValueAsString(buildRecoveryConfig());
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public String updateMetadataKey() throws Exception {
+        // 应用层读取-修改-写回（已由数据库内JSON_SET替代，保留作为对比基线）
+        Map<String, Object> metadata = objectMapper.readValue(metadataJson, Map.class);
+        metadata.put("freeze_reason", "benchmark");
+        return objectMapper.writeValueAsString(metadata);
+    }
+
+    private Map<String, Object> buildMetadata() {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("creation_device", DEVICE_FINGERPRINT);
+        metadata.put("creation_time", LocalDateTime.now().toString());
+        metadata.put("version", "1.0");
+        metadata.put("security_features", Arrays.asList("biometric", "device_binding", "key_sharing"));
+        return metadata;
+    }
+
+    private Map<String, Object> buildRecoveryConfig() {
+        Map<String, Object> config = new HashMap<>();
+        config.put("threshold", 3);
+        config.put("totalShares", 5);
+
+        List<Map<String, String>> fragments = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Map<String, String> fragment = new HashMap<>();
+            fragment.put("fragmentId", "frag-" + (i + 1));
+            fragment.put("fragmentData", "0" + (i + 1) + "-3F2A9C7E1B5D8F40A6C2E9B7D1F3A5C8E0B2D4F6A8C1E3B5D7F9A2C4E6B8D0F2");
+            fragments.add(fragment);
+        }
+        config.put("fragments", fragments);
+        return config;
+    }
+}
@@ -0,0 +1,89 @@
+package com.company.benchmark;
+
+import com.company.util.ShamirSecretSharing;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 统一身份认证平台 - 字节级Shamir分片基准
+ * 单个秘密的拆分/重组，以及在调用线程上顺序执行的批量拆分/重组（并行由 CoreIdentityServiceImpl 经加密隔离线程池完成）
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShamirBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"32", "256"})
+    private int secretLength;
+
+    @Param({"3:5", "10:255"})
+    private String scheme;
+
+    private int threshold;
+    private int totalShares;
+    private byte[] secret;
+    private byte[][] shares;
+    private List<byte[]> secrets;
+    private List<byte[][]> shareSets;
+
+    @Setup
+    public void setUp() {
+        String[] parts = scheme.split(":");
+        threshold = Integer.parseInt(parts[0]);
+        totalShares = Integer.parseInt(parts[1]);
+
+        Random random = new Random(42);
+        secret = new byte[secretLength];
+        random.nextBytes(secret);
+        shares = firstShares(ShamirSecretSharing.split(secret, threshold, totalShares));
+
+        secrets = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            byte[] item = new byte[secretLength];
+            random.nextBytes(item);
+            secrets.add(item);
+        }
+        shareSets = new ArrayList<>(BATCH_SIZE);
+        for (byte[][] set : ShamirSecretSharing.splitAll(secrets, threshold, totalShares)) {
+            shareSets.add(firstShares(set));
+        }
+    }
+
+    @Benchmark
+    public byte[][] split() {
+        return ShamirSecretSharing.split(secret, threshold, totalShares);
+    }
+
+    @Benchmark
+    public byte[] combine() {
+        return ShamirSecretSharing.combine(shares);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<byte[][]> splitAll() {
+        return ShamirSecretSharing.splitAll(secrets, threshold, totalShares);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<byte[]> combineAll() {
+        return ShamirSecretSharing.combineAll(shareSets);
+    }
+
+    // 重组只需门限数量的分片
+    private byte[][] firstShares(byte[][] all) {
+        byte[][] subset = new byte[threshold][];
+        System.arraycopy(all, 0, subset, 0, threshold);
+        return subset;
+    }
+}
@@ -0,0 +1,48 @@
+package com.company.accesslog;
+
+/**
+ * 统一身份认证平台 - 策略访问日志条目
+ */
+public class AccessLogEntry {
+
+    private final String policyId;
+    private final long timestamp;
+    private final String requester;
+    private final String operation;
+    private final boolean success;
+    private final String ipAddress;
+
+    public AccessLogEntry(String policyId, long timestamp, String requester, String operation,
+                          boolean success, String ipAddress) {
+        this.policyId = policyId;
+        this.timestamp = timestamp;
+        this.requester = requester;
+        this.operation = operation;
+        this.success = success;
+        this.ipAddress = ipAddress;
+    }
+
+    public String getPolicyId() {
+        return policyId;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getRequester() {
+        return requester;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+}
@@ -0,0 +1,376 @@
+package com.company.accesslog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32C;
+
+/**
+ * 统一身份认证平台 - 访问日志段文件
+ *
+ * 定长内存映射文件，记录只追加。记录格式:
+ * <pre>
+ * int  length   记录总长度（最后写入，0表示段内数据结束）
+ * int  crc      CRC32C，覆盖 prev 至记录末尾
+ * long prev     同一策略上一条记录的指针，-1表示无
+ * long time     时间戳（毫秒）
+ * byte result   1成功 / 0失败
+ * 4 × (short len, UTF-8)  policyId, requester, operation, ipAddress
+ * </pre>
+ * 封存时写出 .idx 文件（各策略在本段的最后一条记录与条数），重启时无需扫描已封存段。
+ * 写操作由 {@link AccessLogStore} 串行化，读操作只使用绝对位置访问，可与写并发。
+ * 读取映射内容前须 {@link #acquire()}，删除后由最后一个读者释放时解除映射，避免访问已解除映射的内存。
+ */
+final class AccessLogSegment {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessLogSegment.class);
+
+    static final int HEADER_SIZE = 25;
+    static final int FIELD_COUNT = 4;
+    static final int MIN_RECORD_SIZE = HEADER_SIZE + FIELD_COUNT * 2;
+
+    private static final int INDEX_MAGIC = 0x414C4958; // "ALIX"
+
+    // Unsafe.invokeCleaner：立即解除映射；不可用时映射随缓冲区被回收才释放
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.warn("无法显式解除访问日志段的内存映射，已删除段的映射将在垃圾回收时释放: {}", e.toString());
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    final int id;
+    final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    // 以下字段只由持有存储写锁的线程修改
+    private volatile int writePosition;
+    private volatile long lastTimestamp;
+    private volatile boolean sealed;
+
+    final Map<String, PolicyStat> policyStats = new ConcurrentHashMap<>();
+
+    // 正在读取映射内容的读者数；删除后不再接受新读者
+    private final AtomicInteger readers = new AtomicInteger();
+    private volatile boolean retired;
+    private final AtomicBoolean unmapped = new AtomicBoolean();
+
+    private AccessLogSegment(int id, Path path, FileChannel channel, int capacity) throws IOException {
+        this.id = id;
+        this.path = path;
+        this.channel = channel;
+        this.capacity = capacity;
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    static AccessLogSegment create(Path directory, int id, int capacity) throws IOException {
+        Path path = directory.resolve(fileName(id));
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new AccessLogSegment(id, path, channel, capacity);
+        } catch (IOException | RuntimeException e) {
+            // 映射失败时移除刚创建的空文件，下次滚动可重新创建
+            channel.close();
+            Files.deleteIfExists(path);
+            throw e;
+        }
+    }
+
+    /**
+     * 打开已有段：存在索引文件时直接加载，否则扫描恢复
+     */
+    static AccessLogSegment open(Path path, int id, boolean active) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        AccessLogSegment segment = new AccessLogSegment(id, path, channel, (int) channel.size());
+        Path indexPath = indexPath(path);
+        if (!active && Files.exists(indexPath)) {
+            segment.loadIndex(indexPath);
+        } else {
+            Files.deleteIfExists(indexPath);
+            segment.recover();
+            segment.sealed = !active;
+        }
+        return segment;
+    }
+
+    static String fileName(int id) {
+        return String.format("segment-%010d.log", id);
+    }
+
+    static long pointer(int segmentId, int offset) {
+        return ((long) segmentId << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    static int segmentId(long pointer) {
+        return (int) (pointer >>> 32);
+    }
+
+    static int offset(long pointer) {
+        return (int) pointer;
+    }
+
+    boolean hasRoom(int length) {
+        return !sealed && writePosition + length <= capacity;
+    }
+
+    /**
+     * 追加一条记录
+     *
+     * @return 记录在段内的偏移
+     */
+    int append(long prev, long timestamp, boolean success, byte[][] fields, int length) {
+        int offset = writePosition;
+        int position = offset + 8;
+        buffer.putLong(position, prev);
+        buffer.putLong(position + 8, timestamp);
+        buffer.put(position + 16, (byte) (success ? 1 : 0));
+        position = offset + HEADER_SIZE;
+        for (byte[] field : fields) {
+            buffer.putShort(position, (short) field.length);
+            buffer.put(position + 2, field);
+            position += 2 + field.length;
+        }
+        buffer.putInt(offset + 4, crc(offset, length));
+        // 长度最后写入，恢复扫描以此判断记录是否完整
+        buffer.putInt(offset, length);
+
+        writePosition = offset + length;
+        lastTimestamp = timestamp;
+        return offset;
+    }
+
+    void track(String policyId, long pointer) {
+        PolicyStat stat = policyStats.get(policyId);
+        if (stat == null) {
+            policyStats.put(policyId, new PolicyStat(pointer, 1));
+        } else {
+            stat.lastPointer = pointer;
+            stat.count++;
+        }
+    }
+
+    long prevAt(int offset) {
+        return buffer.getLong(offset + 8);
+    }
+
+    String policyIdAt(int offset) {
+        return readString(offset + HEADER_SIZE);
+    }
+
+    AccessLogEntry read(int offset) {
+        long timestamp = buffer.getLong(offset + 16);
+        boolean success = buffer.get(offset + 24) == 1;
+        int position = offset + HEADER_SIZE;
+        String[] values = new String[FIELD_COUNT];
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            int length = buffer.getShort(position) & 0xFFFF;
+            values[i] = readString(position);
+            position += 2 + length;
+        }
+        return new AccessLogEntry(values[0], timestamp, values[1], values[2], success, values[3]);
+    }
+
+    long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    long getSize() {
+        return capacity;
+    }
+
+    int getWritePosition() {
+        return writePosition;
+    }
+
+    boolean isSealed() {
+        return sealed;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * 登记一个读者
+     *
+     * @return 段已删除时返回false，此时不得读取映射内容
+     */
+    boolean acquire() {
+        readers.incrementAndGet();
+        if (retired) {
+            release();
+            return false;
+        }
+        return true;
+    }
+
+    void release() {
+        if (readers.decrementAndGet() == 0 && retired) {
+            unmap();
+        }
+    }
+
+    boolean isUnmapped() {
+        return unmapped.get();
+    }
+
+    /**
+     * 封存：刷盘并写出策略索引；索引写出成功后才标记为已封存，失败时可重试
+     */
+    void seal() throws IOException {
+        buffer.force();
+        Path indexPath = indexPath(path);
+        Path tempPath = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(writePosition);
+            out.writeLong(lastTimestamp);
+            out.writeInt(policyStats.size());
+            for (Map.Entry<String, PolicyStat> entry : policyStats.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue().lastPointer);
+                out.writeInt(entry.getValue().count);
+            }
+        }
+        Files.move(tempPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        sealed = true;
+    }
+
+    void close() throws IOException {
+        if (!sealed) {
+            buffer.force();
+        }
+        channel.close();
+    }
+
+    /**
+     * 删除段文件；没有读者时立即解除映射，否则由最后一个读者释放时解除
+     */
+    void delete() throws IOException {
+        retired = true;
+        if (readers.get() == 0) {
+            unmap();
+        }
+        channel.close();
+        Files.deleteIfExists(indexPath(path));
+        Files.deleteIfExists(path);
+    }
+
+    private void unmap() {
+        if (INVOKE_CLEANER == null || !unmapped.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException e) {
+            logger.warn("解除访问日志段内存映射失败: {}", path, e);
+        }
+    }
+
+    private void loadIndex(Path indexPath) throws IOException {
+        try (InputStream raw = Files.newInputStream(indexPath);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(raw))) {
+            if (in.readInt() != INDEX_MAGIC) {
+                throw new IOException("访问日志索引文件格式无效: " + indexPath);
+            }
+            writePosition = in.readInt();
+            lastTimestamp = in.readLong();
+            int policies = in.readInt();
+            for (int i = 0; i < policies; i++) {
+                String policyId = in.readUTF();
+                policyStats.put(policyId, new PolicyStat(in.readLong(), in.readInt()));
+            }
+        }
+        sealed = true;
+    }
+
+    /**
+     * 顺序扫描，遇到未写完或校验失败的记录即视为数据末尾
+     */
+    private void recover() {
+        int position = 0;
+        while (position + MIN_RECORD_SIZE <= capacity) {
+            int length = buffer.getInt(position);
+            if (length < MIN_RECORD_SIZE || position + length > capacity
+                    || buffer.getInt(position + 4) != crc(position, length)) {
+                break;
+            }
+            track(policyIdAt(position), pointer(id, position));
+            lastTimestamp = buffer.getLong(position + 16);
+            position += length;
+        }
+        writePosition = position;
+        // 清除残留的半条记录，避免下次扫描越过新数据误读
+        if (position + 4 <= capacity) {
+            buffer.putInt(position, 0);
+        }
+    }
+
+    private int crc(int offset, int length) {
+        CRC32C crc = new CRC32C();
+        ByteBuffer slice = buffer.slice(offset + 8, length - 8);
+        crc.update(slice);
+        return (int) crc.getValue();
+    }
+
+    private String readString(int position) {
+        int length = buffer.getShort(position) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        buffer.get(position + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Path indexPath(Path logPath) {
+        String name = logPath.getFileName().toString();
+        return logPath.resolveSibling(name.substring(0, name.length() - 4) + ".idx");
+    }
+
+    /**
+     * 策略在本段内的统计：最后一条记录指针与条数
+     */
+    static final class PolicyStat {
+        volatile long lastPointer;
+        volatile int count;
+
+        PolicyStat(long lastPointer, int count) {
+            this.lastPointer = lastPointer;
+            this.count = count;
+        }
+    }
+}
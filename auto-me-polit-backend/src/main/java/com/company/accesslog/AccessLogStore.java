@@ -0,0 +1,403 @@
+package com.company.accesslog;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 统一身份认证平台 - 策略访问日志存储
+ *
+ * 只追加的内存映射段文件。每条记录保存同一策略上一条记录的指针，
+ * 构成按时间倒序的链表；内存中只保留各策略的链表头（稀疏索引），
+ * 分页沿链表向前读取，游标即下一条记录的指针。
+ * 段写满后滚动并封存，按保留时长与总容量删除最旧的段。
+ */
+@Component
+public class AccessLogStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessLogStore.class);
+
+    public static final long NO_POINTER = -1L;
+
+    // 单个字段最大字节数，超出部分截断
+    private static final int MAX_FIELD_BYTES = 1024;
+
+    // 滚动失败后的重试间隔，期间写满的段不再尝试封存与建段，记录直接丢弃
+    static final long ROLL_RETRY_MILLIS = 1000;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final Duration retention;
+    private final long maxTotalBytes;
+
+    private final ConcurrentSkipListMap<Integer, AccessLogSegment> segments = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, Long> heads = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile AccessLogSegment active;
+    // 下次允许尝试滚动的时间，仅在持有写锁时访问
+    private long rollRetryAt;
+
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public AccessLogStore(@Value("${auto-me-polit.sharing.access-log.enabled:true}") boolean enabled,
+                          @Value("${auto-me-polit.sharing.access-log.directory:data/access-log}") String directory,
+                          @Value("${auto-me-polit.sharing.access-log.segment-size:128MB}") DataSize segmentSize,
+                          @Value("${auto-me-polit.sharing.access-log.retention:7d}") Duration retention,
+                          @Value("${auto-me-polit.sharing.access-log.max-total-size:20GB}") DataSize maxTotalSize) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.segmentSize = (int) Math.min(Math.max(segmentSize.toBytes(), 1L << 20), Integer.MAX_VALUE);
+        this.retention = retention;
+        this.maxTotalBytes = maxTotalSize.toBytes();
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing
+                .filter(path -> path.getFileName().toString().matches("segment-\\d{10}\\.log"))
+                .sorted()
+                .toList();
+        }
+        for (int i = 0; i < files.size(); i++) {
+            Path path = files.get(i);
+            String name = path.getFileName().toString();
+            int id = Integer.parseInt(name.substring(8, 18));
+            AccessLogSegment segment = AccessLogSegment.open(path, id, i == files.size() - 1);
+            segments.put(id, segment);
+            // 按段从旧到新覆盖，得到各策略最新记录
+            segment.policyStats.forEach((policyId, stat) -> heads.put(policyId, stat.lastPointer));
+        }
+
+        active = segments.isEmpty() ? createSegment(0) : segments.lastEntry().getValue();
+        logger.info("访问日志存储已打开，目录: {}, 段数: {}, 策略数: {}", directory.toAbsolutePath(), segments.size(), heads.size());
+    }
+
+    /**
+     * 追加一条访问记录
+     *
+     * @param policyId 策略ID
+     * @param requester 请求方
+     * @param operation 操作
+     * @param success 是否成功
+     * @param ipAddress 请求地址
+     */
+    public void append(String policyId, String requester, String operation, boolean success, String ipAddress) {
+        if (!enabled) {
+            return;
+        }
+        // 编码在锁外完成，锁内只做位置分配与内存拷贝
+        byte[][] fields = {encode(policyId), encode(requester), encode(operation), encode(ipAddress)};
+        int length = AccessLogSegment.HEADER_SIZE;
+        for (byte[] field : fields) {
+            length += 2 + field.length;
+        }
+        long timestamp = System.currentTimeMillis();
+
+        writeLock.lock();
+        try {
+            AccessLogSegment segment = active;
+            if (!segment.hasRoom(length)) {
+                if (timestamp < rollRetryAt) {
+                    dropped.increment();
+                    return;
+                }
+                segment = roll();
+            }
+            long prev = heads.getOrDefault(policyId, NO_POINTER);
+            int offset = segment.append(prev, timestamp, success, fields, length);
+            long pointer = AccessLogSegment.pointer(segment.id, offset);
+            segment.track(policyId, pointer);
+            heads.put(policyId, pointer);
+        } catch (IOException e) {
+            dropped.increment();
+            rollRetryAt = timestamp + ROLL_RETRY_MILLIS;
+            logger.error("访问日志段滚动失败，{}ms内的记录将被丢弃", ROLL_RETRY_MILLIS, e);
+            return;
+        } finally {
+            writeLock.unlock();
+        }
+        appended.increment();
+    }
+
+    /**
+     * 策略最新一条记录的指针
+     *
+     * @param policyId 策略ID
+     * @return 记录指针，无记录时为 {@link #NO_POINTER}
+     */
+    public long head(String policyId) {
+        Long pointer = heads.get(policyId);
+        return pointer != null && segments.containsKey(AccessLogSegment.segmentId(pointer)) ? pointer : NO_POINTER;
+    }
+
+    /**
+     * 从指定位置向前跳过若干条记录（只读取链表指针）
+     *
+     * @param pointer 起始指针
+     * @param count 跳过条数
+     * @return 跳过后的指针
+     */
+    public long skip(long pointer, long count) {
+        long current = pointer;
+        for (long i = 0; i < count && current != NO_POINTER; i++) {
+            AccessLogSegment segment = segments.get(AccessLogSegment.segmentId(current));
+            if (segment == null || !segment.acquire()) {
+                return NO_POINTER;
+            }
+            try {
+                current = segment.prevAt(AccessLogSegment.offset(current));
+            } finally {
+                segment.release();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 从指定位置开始按时间倒序读取记录，逐条交给消费者，不在内存中聚合整页
+     *
+     * @param policyId 策略ID（用于校验游标归属）
+     * @param pointer 起始指针
+     * @param limit 最多读取条数
+     * @param consumer 记录消费者
+     * @return 下一页游标指针，已读完时为 {@link #NO_POINTER}
+     */
+    public long read(String policyId, long pointer, int limit, Consumer<AccessLogEntry> consumer) {
+        long current = pointer;
+        for (int i = 0; i < limit && current != NO_POINTER; i++) {
+            AccessLogSegment segment = segments.get(AccessLogSegment.segmentId(current));
+            if (segment == null || !segment.acquire()) {
+                // 更早的段已按保留策略删除
+                return NO_POINTER;
+            }
+            int offset = AccessLogSegment.offset(current);
+            AccessLogEntry entry;
+            try {
+                entry = segment.read(offset);
+                current = segment.prevAt(offset);
+            } finally {
+                segment.release();
+            }
+            if (!entry.getPolicyId().equals(policyId)) {
+                return NO_POINTER;
+            }
+            consumer.accept(entry);
+        }
+        return current != NO_POINTER && segments.containsKey(AccessLogSegment.segmentId(current)) ? current : NO_POINTER;
+    }
+
+    /**
+     * 校验游标是否指向该策略的一条记录（防止越权读取其他策略的日志）
+     *
+     * @param policyId 策略ID
+     * @param pointer 游标指针
+     * @return 是否有效
+     */
+    public boolean isValidCursor(String policyId, long pointer) {
+        AccessLogSegment segment = segments.get(AccessLogSegment.segmentId(pointer));
+        int offset = AccessLogSegment.offset(pointer);
+        if (segment == null || offset < 0 || offset + AccessLogSegment.MIN_RECORD_SIZE > segment.getWritePosition()
+                || !segment.acquire()) {
+            return false;
+        }
+        try {
+            return policyId.equals(segment.policyIdAt(offset));
+        } catch (RuntimeException e) {
+            return false;
+        } finally {
+            segment.release();
+        }
+    }
+
+    /**
+     * 策略在保留范围内的记录总数
+     *
+     * @param policyId 策略ID
+     * @return 记录数
+     */
+    public long count(String policyId) {
+        long total = 0;
+        for (AccessLogSegment segment : segments.values()) {
+            AccessLogSegment.PolicyStat stat = segment.policyStats.get(policyId);
+            if (stat != null) {
+                total += stat.count;
+            }
+        }
+        return total;
+    }
+
+    public static String formatCursor(long pointer) {
+        return Long.toHexString(pointer);
+    }
+
+    public static long parseCursor(String cursor) {
+        try {
+            return Long.parseUnsignedLong(cursor, 16);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("无效的游标: " + cursor);
+        }
+    }
+
+    /**
+     * 定时刷盘活动段
+     */
+    @Scheduled(fixedDelayString = "${auto-me-polit.sharing.access-log.force-interval:1000}")
+    public void force() {
+        AccessLogSegment segment = active;
+        if (segment != null) {
+            segment.force();
+        }
+    }
+
+    /**
+     * 按保留时长与总容量删除最旧的已封存段
+     */
+    @Scheduled(fixedDelayString = "${auto-me-polit.sharing.access-log.cleanup-interval:600000}")
+    public void cleanup() {
+        if (!enabled) {
+            return;
+        }
+        long expireBefore = System.currentTimeMillis() - retention.toMillis();
+        long totalBytes = segments.values().stream().mapToLong(AccessLogSegment::getSize).sum();
+
+        Iterator<AccessLogSegment> iterator = segments.values().iterator();
+        while (iterator.hasNext()) {
+            AccessLogSegment segment = iterator.next();
+            if (segment == active || !segment.isSealed()) {
+                break;
+            }
+            if (segment.getLastTimestamp() >= expireBefore && totalBytes <= maxTotalBytes) {
+                break;
+            }
+            removeSegment(segment);
+            totalBytes -= segment.getSize();
+        }
+    }
+
+    /**
+     * 获取存储统计信息
+     *
+     * @return 段数、策略数、累计追加数、丢弃数
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", enabled);
+        statistics.put("segments", segments.size());
+        statistics.put("policies", heads.size());
+        statistics.put("appended", appended.sum());
+        statistics.put("dropped", dropped.sum());
+        AccessLogSegment segment = active;
+        statistics.put("activeSegmentUsage", segment == null ? 0 : segment.getWritePosition());
+        return statistics;
+    }
+
+    @PreDestroy
+    public void close() {
+        writeLock.lock();
+        try {
+            for (AccessLogSegment segment : segments.values()) {
+                try {
+                    segment.close();
+                } catch (IOException e) {
+                    logger.warn("关闭访问日志段失败: {}", segment.path, e);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 封存当前段并创建新段（持有写锁时调用）；上次已封存但建段失败时只重试建段
+     */
+    private AccessLogSegment roll() throws IOException {
+        AccessLogSegment current = active;
+        if (!current.isSealed()) {
+            current.seal();
+        }
+        AccessLogSegment next = createSegment(current.id + 1);
+        logger.info("访问日志段滚动: {} -> {}", current.path.getFileName(), next.path.getFileName());
+        return next;
+    }
+
+    private AccessLogSegment createSegment(int id) throws IOException {
+        AccessLogSegment segment = AccessLogSegment.create(directory, id, segmentSize);
+        segments.put(id, segment);
+        active = segment;
+        return segment;
+    }
+
+    private void removeSegment(AccessLogSegment segment) {
+        writeLock.lock();
+        try {
+            segments.remove(segment.id);
+            // 链表头位于被删除段的策略已无可读记录
+            List<String> orphaned = new ArrayList<>();
+            segment.policyStats.forEach((policyId, stat) -> {
+                Long head = heads.get(policyId);
+                if (head != null && AccessLogSegment.segmentId(head) <= segment.id) {
+                    orphaned.add(policyId);
+                }
+            });
+            orphaned.forEach(heads::remove);
+        } finally {
+            writeLock.unlock();
+        }
+        try {
+            segment.delete();
+            logger.info("访问日志段已删除: {}", segment.path.getFileName());
+        } catch (IOException e) {
+            throw new UncheckedIOException("删除访问日志段失败: " + segment.path, e);
+        }
+    }
+
+    private static byte[] encode(String value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_FIELD_BYTES) {
+            return bytes;
+        }
+        // 按字符截断，避免切断多字节字符
+        int end = value.length();
+        while (bytes.length > MAX_FIELD_BYTES) {
+            end = end * MAX_FIELD_BYTES / bytes.length;
+            bytes = value.substring(0, end).getBytes(StandardCharsets.UTF_8);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,411 @@
+package com.company.cache;
+
+import com.company.entity.CoreIdentity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 统一身份认证平台 - 核心身份两级缓存
+ * 一级为进程内缓存（容量/TTL淘汰），二级为共享Redis缓存
+ *
+ * 缓存中的实体均为游离态，只能用于读取；修改身份必须从数据库加载受管实体，
+ * 并在修改后调用 {@link #evict(String)} 使两级缓存同时失效。
+ *
+ * 两级缓存只保存只读视图（{@link #readView(CoreIdentity)}），不含私钥密文、生物特征哈希与恢复配置（含密钥分片），
+ * 共享Redis中不出现任何密钥材料；需要这些字段的写路径必须从数据库加载。
+ *
+ * 未命中时通过 {@link #getOrLoad(String, Function)} 加载：同一身份的并发未命中合并为一次加载（single-flight），
+ * 失效会同时丢弃进行中的加载，之后的读取重新加载，被丢弃的加载结果不回填缓存。
+ */
+@Component
+public class IdentityCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdentityCache.class);
+
+    // 只读视图的键空间；旧版本写入的完整实体键不再读取，按TTL自然过期
+    private static final String REDIS_KEY_PREFIX = "auto-me-polit:identity:view:";
+    public static final String INVALIDATION_CHANNEL = "auto-me-polit:identity:invalidate";
+    // 批量失效时每次Redis删除与每条失效广播包含的身份ID数，避免单条消息过大阻塞订阅方
+    static final int INVALIDATION_BATCH_SIZE = 500;
+
+    private final Cache<String, CoreIdentity> localCache;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean redisEnabled;
+    private final Duration redisTtl;
+    private final long redisBackoffMillis;
+    private final long loadWaitMillis;
+
+    // 进行中的加载：身份ID -> 加载结果（null表示不存在）
+    private final ConcurrentHashMap<String, CompletableFuture<CoreIdentity>> inFlight = new ConcurrentHashMap<>();
+
+    // Redis不可用时暂停访问的截止时间，避免每次读取都等待连接超时
+    private volatile long redisSuspendedUntil = 0L;
+
+    private final LongAdder redisHits = new LongAdder();
+    private final LongAdder redisMisses = new LongAdder();
+    private final LongAdder redisErrors = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalescedLoads = new LongAdder();
+    private final LongAdder loadTimeouts = new LongAdder();
+
+    public IdentityCache(StringRedisTemplate redisTemplate,
+                         ObjectMapper objectMapper,
+                         @Value("${auto-me-polit.cache.identity.local.maximum-size:100000}") long localMaximumSize,
+                         @Value("${auto-me-polit.cache.identity.local.expire-after-write:30s}") Duration localTtl,
+                         @Value("${auto-me-polit.cache.identity.redis.enabled:true}") boolean redisEnabled,
+                         @Value("${auto-me-polit.cache.identity.redis.ttl:10m}") Duration redisTtl,
+                         @Value("${auto-me-polit.cache.identity.redis.failure-backoff:30s}") Duration redisBackoff,
+                         @Value("${auto-me-polit.cache.identity.load.wait-timeout:3s}") Duration loadWaitTimeout) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisEnabled = redisEnabled;
+        this.redisTtl = redisTtl;
+        this.redisBackoffMillis = redisBackoff.toMillis();
+        this.loadWaitMillis = loadWaitTimeout.toMillis();
+        this.localCache = Caffeine.newBuilder()
+            .maximumSize(localMaximumSize)
+            .expireAfterWrite(localTtl)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * 依次查询进程内缓存和Redis缓存
+     *
+     * @param identityId 身份ID
+     * @return 缓存的身份实体（游离态，只读）
+     */
+    public Optional<CoreIdentity> get(String identityId) {
+        CoreIdentity identity = localCache.getIfPresent(identityId);
+        if (identity != null) {
+            return Optional.of(identity);
+        }
+
+        identity = getFromRedis(identityId);
+        if (identity != null) {
+            localCache.put(identityId, identity);
+        }
+        return Optional.ofNullable(identity);
+    }
+
+    /**
+     * 查询两级缓存，未命中时加载并回填。同一身份的并发未命中只由第一个线程执行加载，
+     * 其余线程等待并共享其结果或异常；等待超过 load.wait-timeout 时抛出 QueryTimeoutException
+     *
+     * @param identityId 身份ID
+     * @param loader 加载函数，返回null表示身份不存在（不缓存）
+     * @return 身份只读视图（不含密钥材料），不存在时为null
+     */
+    public CoreIdentity getOrLoad(String identityId, Function<String, CoreIdentity> loader) {
+        Optional<CoreIdentity> cached = get(identityId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        CompletableFuture<CoreIdentity> flight = new CompletableFuture<>();
+        CompletableFuture<CoreIdentity> existing = inFlight.putIfAbsent(identityId, flight);
+        if (existing != null) {
+            coalescedLoads.increment();
+            return await(identityId, existing);
+        }
+
+        loads.increment();
+        CoreIdentity identity;
+        try {
+            identity = readView(loader.apply(identityId));
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(identityId, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        // 加载期间被失效时移除失败，此时结果可能已过期，只返回给已在等待的线程而不回填缓存
+        boolean current = inFlight.remove(identityId, flight);
+        flight.complete(identity);
+        if (identity != null && current) {
+            put(identity);
+        }
+        return identity;
+    }
+
+    /**
+     * 写入两级缓存（只保存只读视图）
+     *
+     * @param identity 身份实体
+     */
+    public void put(CoreIdentity identity) {
+        CoreIdentity view = readView(identity);
+        localCache.put(view.getIdentityId(), view);
+        putToRedis(view);
+    }
+
+    /**
+     * 构建身份的只读视图：字段与身份导出一致，去掉私钥密文、生物特征哈希与恢复配置
+     *
+     * @param identity 身份实体
+     * @return 新的游离态实体，identity为null时返回null
+     */
+    public static CoreIdentity readView(CoreIdentity identity) {
+        if (identity == null) {
+            return null;
+        }
+        CoreIdentity view = new CoreIdentity();
+        view.setId(identity.getId());
+        view.setIdentityId(identity.getIdentityId());
+        view.setPublicKey(identity.getPublicKey());
+        view.setStatus(identity.getStatus());
+        view.setSecurityLevel(identity.getSecurityLevel());
+        view.setDeviceFingerprint(identity.getDeviceFingerprint());
+        view.setCreationTime(identity.getCreationTime());
+        view.setLastUpdateTime(identity.getLastUpdateTime());
+        view.setLastActiveTime(identity.getLastActiveTime());
+        view.setMetadata(identity.getMetadata());
+        view.setVersion(identity.getVersion());
+        return view;
+    }
+
+    /**
+     * 使两级缓存失效，并通知其他节点清理进程内缓存
+     * 存在活动事务时，提交后会再清理一次，防止并发读取在提交前回填旧数据
+     *
+     * @param identityId 身份ID
+     */
+    public void evict(String identityId) {
+        doEvict(identityId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doEvict(identityId);
+                }
+            });
+        }
+    }
+
+    /**
+     * 批量使两级缓存失效：Redis键按批删除，每批的失效广播合并为一条消息（身份ID以换行分隔），
+     * 每批最多 {@value #INVALIDATION_BATCH_SIZE} 个身份ID
+     * 用于集合UPDATE之后，调用方需保证数据已提交
+     *
+     * @param identityIds 身份ID集合
+     */
+    public void evictAll(Collection<String> identityIds) {
+        if (identityIds.isEmpty()) {
+            return;
+        }
+        invalidations.add(identityIds.size());
+        localCache.invalidateAll(identityIds);
+        for (String identityId : identityIds) {
+            inFlight.remove(identityId);
+        }
+        if (!isRedisAvailable()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>(identityIds);
+        try {
+            for (int start = 0; start < ids.size(); start += INVALIDATION_BATCH_SIZE) {
+                List<String> batch = ids.subList(start, Math.min(start + INVALIDATION_BATCH_SIZE, ids.size()));
+                List<String> keys = new ArrayList<>(batch.size());
+                for (String identityId : batch) {
+                    keys.add(REDIS_KEY_PREFIX + identityId);
+                }
+                redisTemplate.delete(keys);
+                redisTemplate.convertAndSend(INVALIDATION_CHANNEL, String.join("\n", batch));
+            }
+        } catch (RuntimeException e) {
+            onRedisFailure("批量清理Redis身份缓存失败", e);
+        }
+    }
+
+    /**
+     * 仅清理进程内缓存（由Redis失效广播触发）
+     *
+     * @param message 广播内容：单个身份ID，或批量失效时以换行分隔的多个身份ID
+     */
+    public void evictLocal(String message) {
+        if (message.indexOf('\n') < 0) {
+            localCache.invalidate(message);
+            inFlight.remove(message);
+            return;
+        }
+        List<String> identityIds = Arrays.asList(message.split("\n"));
+        localCache.invalidateAll(identityIds);
+        for (String identityId : identityIds) {
+            inFlight.remove(identityId);
+        }
+    }
+
+    /**
+     * 获取缓存统计信息
+     *
+     * @return 命中、未命中、淘汰等计数
+     */
+    public Map<String, Object> getStatistics() {
+        CacheStats localStats = localCache.stats();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("localSize", localCache.estimatedSize());
+        statistics.put("localHits", localStats.hitCount());
+        statistics.put("localMisses", localStats.missCount());
+        statistics.put("localEvictions", localStats.evictionCount());
+        statistics.put("redisEnabled", redisEnabled);
+        statistics.put("redisHits", redisHits.sum());
+        statistics.put("redisMisses", redisMisses.sum());
+        statistics.put("redisErrors", redisErrors.sum());
+        statistics.put("invalidations", invalidations.sum());
+        statistics.put("loads", loads.sum());
+        statistics.put("coalescedLoads", coalescedLoads.sum());
+        statistics.put("loadTimeouts", loadTimeouts.sum());
+        statistics.put("loadsInFlight", inFlight.size());
+        return statistics;
+    }
+
+    public CacheStats getLocalStats() {
+        return localCache.stats();
+    }
+
+    public long getLocalSize() {
+        return localCache.estimatedSize();
+    }
+
+    public long getRedisHits() {
+        return redisHits.sum();
+    }
+
+    public long getRedisMisses() {
+        return redisMisses.sum();
+    }
+
+    public long getRedisErrors() {
+        return redisErrors.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    public long getCoalescedLoads() {
+        return coalescedLoads.sum();
+    }
+
+    public long getLoadTimeouts() {
+        return loadTimeouts.sum();
+    }
+
+    public int getLoadsInFlight() {
+        return inFlight.size();
+    }
+
+    private void doEvict(String identityId) {
+        invalidations.increment();
+        localCache.invalidate(identityId);
+        inFlight.remove(identityId);
+        if (!isRedisAvailable()) {
+            return;
+        }
+        try {
+            redisTemplate.delete(REDIS_KEY_PREFIX + identityId);
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, identityId);
+        } catch (RuntimeException e) {
+            onRedisFailure("清理Redis身份缓存失败", e);
+        }
+    }
+
+    /**
+     * 等待其他线程进行中的加载，加载失败时抛出同一异常
+     */
+    private CoreIdentity await(String identityId, CompletableFuture<CoreIdentity> flight) {
+        try {
+            return flight.get(loadWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            loadTimeouts.increment();
+            throw new QueryTimeoutException("等待身份加载超时(" + loadWaitMillis + "ms): " + identityId);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new DataAccessResourceFailureException("身份加载失败: " + identityId, cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessResourceFailureException("等待身份加载被中断: " + identityId, e);
+        }
+    }
+
+    private CoreIdentity getFromRedis(String identityId) {
+        if (!isRedisAvailable()) {
+            return null;
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(REDIS_KEY_PREFIX + identityId);
+            if (json == null) {
+                redisMisses.increment();
+                return null;
+            }
+            redisHits.increment();
+            return objectMapper.readValue(json, CoreIdentity.class);
+        } catch (Exception e) {
+            onRedisFailure("读取Redis身份缓存失败", e);
+            return null;
+        }
+    }
+
+    private void putToRedis(CoreIdentity identity) {
+        if (!isRedisAvailable()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(
+                REDIS_KEY_PREFIX + identity.getIdentityId(),
+                objectMapper.writeValueAsString(identity),
+                redisTtl
+            );
+        } catch (Exception e) {
+            onRedisFailure("写入Redis身份缓存失败", e);
+        }
+    }
+
+    private boolean isRedisAvailable() {
+        return redisEnabled && System.currentTimeMillis() >= redisSuspendedUntil;
+    }
+
+    private void onRedisFailure(String message, Exception e) {
+        redisErrors.increment();
+        redisSuspendedUntil = System.currentTimeMillis() + redisBackoffMillis;
+        logger.warn("{}，{}ms内跳过Redis缓存: {}", message, redisBackoffMillis, e.getMessage());
+    }
+}
@@ -0,0 +1,459 @@
+package com.company.cache;
+
+import com.company.repository.CoreIdentityRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 统一身份认证平台 - 身份ID布隆过滤器
+ * 过滤器判定不存在的身份ID一定不存在，查询可直接返回而不访问缓存与数据库；判定可能存在时照常查询。
+ *
+ * 启动时优先加载磁盘快照并按创建时间补齐快照之后新建的身份，无快照时流式扫描全表构建，构建完成前不做判定。
+ * 新建身份在持久化前加入过滤器并通过Redis广播给其他节点，定时按创建时间增量同步兜底广播丢失；
+ * 身份不会从过滤器移除（已删除的ID只会造成一次多余的查询）。
+ *
+ * 广播可能丢失（Redis退避期间跳过发布、订阅断线），只有增量同步覆盖的身份才能确定已在过滤器中：
+ * ID内嵌时间落在同步窗口内的未命中不作为结论，照常查询数据库，避免把其他节点刚创建的身份判为不存在
+ */
+@Component
+public class IdentityIdFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdentityIdFilter.class);
+
+    public static final String CREATED_CHANNEL = "auto-me-polit:identity:created";
+
+    private static final int SNAPSHOT_MAGIC = 0x49444246; // "IDBF"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final long SEED_1 = 0x9E3779B97F4A7C15L;
+    private static final long SEED_2 = 0xC2B2AE3D27D4EB4FL;
+
+    // 身份ID格式 UID-GLOBAL-{yyyyMMddHHmmss}...，时间为本地时间，按字符串比较即按时间比较
+    private static final String ID_PREFIX = "UID-GLOBAL-";
+    private static final int ID_TIME_LENGTH = 14;
+    private static final DateTimeFormatter ID_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private final CoreIdentityRepository coreIdentityRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final boolean redisEnabled;
+    private final long redisBackoffMillis;
+    private final Duration syncOverlap;
+    private final Duration idTimeTolerance;
+    private final Path snapshotPath;
+
+    private final long numBits;
+    private final int numHashes;
+    private final AtomicLongArray bits;
+
+    private volatile boolean ready = false;
+    // 创建时间早于 (coveredSince - syncOverlap) 的身份均已加入过滤器
+    private volatile LocalDateTime coveredSince;
+    // ID内嵌时间早于该值（yyyyMMddHHmmss）的身份一定已加入过滤器，未命中即可判定不存在
+    private volatile String conclusiveBefore;
+    private volatile long redisSuspendedUntil = 0L;
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder negatives = new LongAdder();
+    private final LongAdder inconclusiveNegatives = new LongAdder();
+    private final LongAdder insertions = new LongAdder();
+    private final LongAdder syncedRows = new LongAdder();
+
+    public IdentityIdFilter(CoreIdentityRepository coreIdentityRepository,
+                            PlatformTransactionManager transactionManager,
+                            StringRedisTemplate redisTemplate,
+                            @Value("${auto-me-polit.identity.id-filter.enabled:true}") boolean enabled,
+                            @Value("${auto-me-polit.identity.id-filter.expected-insertions:10000000}") long expectedInsertions,
+                            @Value("${auto-me-polit.identity.id-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                            @Value("${auto-me-polit.identity.id-filter.sync-overlap:5m}") Duration syncOverlap,
+                            @Value("${auto-me-polit.identity.id-filter.id-time-tolerance:5m}") Duration idTimeTolerance,
+                            @Value("${auto-me-polit.identity.id-filter.snapshot-path:}") String snapshotPath,
+                            @Value("${auto-me-polit.cache.identity.redis.enabled:true}") boolean redisEnabled,
+                            @Value("${auto-me-polit.cache.identity.redis.failure-backoff:30s}") Duration redisBackoff) {
+        this.coreIdentityRepository = coreIdentityRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.redisEnabled = redisEnabled;
+        this.redisBackoffMillis = redisBackoff.toMillis();
+        this.syncOverlap = syncOverlap;
+        this.idTimeTolerance = idTimeTolerance;
+        this.snapshotPath = snapshotPath == null || snapshotPath.isBlank() ? null : Paths.get(snapshotPath);
+
+        // 最优位数 m = -n·ln(p) / (ln2)^2，哈希函数个数 k = (m/n)·ln2
+        long n = Math.max(1L, expectedInsertions);
+        double p = Math.min(0.5, Math.max(1e-9, falsePositiveRate));
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        this.numBits = Math.max(Long.SIZE, (m + Long.SIZE - 1) / Long.SIZE * Long.SIZE);
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / n * Math.log(2)));
+        this.bits = new AtomicLongArray(enabled ? (int) (numBits / Long.SIZE) : 1);
+    }
+
+    /**
+     * 应用启动后在后台线程构建过滤器，不阻塞启动
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::initialize, "identity-id-filter-init");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 判断身份ID是否可能存在
+     *
+     * @param identityId 身份ID
+     * @return false表示一定不存在；过滤器未启用或尚未构建完成、或ID内嵌时间落在同步窗口内时返回true
+     */
+    public boolean mightContain(String identityId) {
+        if (!ready) {
+            return true;
+        }
+        checks.increment();
+        if (testBits(identityId)) {
+            return true;
+        }
+        if (!predatesSyncWindow(identityId)) {
+            // 可能是广播丢失的新身份，交由数据库判定
+            inconclusiveNegatives.increment();
+            return true;
+        }
+        negatives.increment();
+        return false;
+    }
+
+    /**
+     * 仅按本节点位图判断，不考虑同步窗口；用于新生成ID的冲突筛查，漏判由身份ID唯一索引兜底
+     *
+     * @param identityId 身份ID
+     * @return false表示本节点未登记该ID；过滤器尚未构建完成时总是返回true
+     */
+    public boolean mightContainLocally(String identityId) {
+        return !ready || testBits(identityId);
+    }
+
+    /**
+     * 过滤器是否已构建完成（未完成时 mightContain 总是返回true）
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 登记新建身份并广播给其他节点；应在持久化之前调用，保存失败只会留下无害的误判
+     *
+     * @param identityIds 新建的身份ID
+     */
+    public void putAll(Collection<String> identityIds) {
+        if (!enabled || identityIds.isEmpty()) {
+            return;
+        }
+        for (String identityId : identityIds) {
+            put(identityId);
+        }
+        publish(String.join("\n", identityIds));
+    }
+
+    /**
+     * 仅登记到本节点（由Redis广播触发）
+     *
+     * @param message 广播内容：以换行分隔的身份ID
+     */
+    public void putLocal(String message) {
+        if (!enabled) {
+            return;
+        }
+        for (String identityId : message.split("\n")) {
+            if (!identityId.isEmpty()) {
+                put(identityId);
+            }
+        }
+    }
+
+    /**
+     * 增量同步：按创建时间补齐其他节点新建、广播未送达的身份
+     */
+    @Scheduled(fixedDelayString = "${auto-me-polit.identity.id-filter.sync-interval:60000}",
+               initialDelayString = "${auto-me-polit.identity.id-filter.sync-interval:60000}")
+    public void sync() {
+        if (!ready) {
+            return;
+        }
+        try {
+            catchUp();
+        } catch (RuntimeException e) {
+            logger.warn("身份ID过滤器增量同步失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 定时写入磁盘快照，下次启动时只需补齐快照之后的身份
+     */
+    @Scheduled(fixedDelayString = "${auto-me-polit.identity.id-filter.snapshot-interval:600000}",
+               initialDelayString = "${auto-me-polit.identity.id-filter.snapshot-interval:600000}")
+    public void saveSnapshot() {
+        if (!ready || snapshotPath == null) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        // 先记录覆盖时间再复制位图：复制期间新置的位只会让快照多包含身份
+        LocalDateTime covered = coveredSince;
+        try {
+            Path parent = snapshotPath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeLong(numBits);
+                out.writeInt(numHashes);
+                out.writeUTF(covered.toString());
+                for (int i = 0; i < bits.length(); i++) {
+                    out.writeLong(bits.get(i));
+                }
+            }
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.debug("身份ID过滤器快照已写入{}，耗时{}ms", snapshotPath, (System.nanoTime() - startNanos) / 1_000_000);
+        } catch (IOException e) {
+            logger.warn("写入身份ID过滤器快照失败: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        saveSnapshot();
+    }
+
+    /**
+     * 获取过滤器统计信息
+     *
+     * @return 位数、哈希函数个数、判定次数、判定不存在次数等
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", enabled);
+        statistics.put("ready", ready);
+        statistics.put("bits", numBits);
+        statistics.put("hashes", numHashes);
+        statistics.put("checks", checks.sum());
+        statistics.put("negatives", negatives.sum());
+        statistics.put("inconclusiveNegatives", inconclusiveNegatives.sum());
+        statistics.put("insertions", insertions.sum());
+        statistics.put("syncedRows", syncedRows.sum());
+        statistics.put("coveredSince", coveredSince != null ? coveredSince.toString() : null);
+        statistics.put("conclusiveBefore", conclusiveBefore);
+        return statistics;
+    }
+
+    public long getChecks() {
+        return checks.sum();
+    }
+
+    public long getNegatives() {
+        return negatives.sum();
+    }
+
+    public long getInsertions() {
+        return insertions.sum();
+    }
+
+    private void initialize() {
+        long startNanos = System.nanoTime();
+        try {
+            if (loadSnapshot()) {
+                catchUp();
+                logger.info("身份ID过滤器已从快照恢复并补齐，耗时{}ms", (System.nanoTime() - startNanos) / 1_000_000);
+            } else {
+                LocalDateTime start = LocalDateTime.now();
+                long rows = stream(coreIdentityRepository::streamAllIdentityIds);
+                cover(start);
+                logger.info("身份ID过滤器全量构建完成，{}个身份，{}位/{}个哈希，耗时{}ms",
+                    rows, numBits, numHashes, (System.nanoTime() - startNanos) / 1_000_000);
+            }
+            ready = true;
+        } catch (RuntimeException e) {
+            // 未就绪时过滤器不做判定，查询照常访问数据库
+            logger.error("身份ID过滤器构建失败，本次运行不启用", e);
+        }
+    }
+
+    private void catchUp() {
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime since = coveredSince.minus(syncOverlap);
+        long rows = stream(() -> coreIdentityRepository.streamIdentityIdsCreatedSince(since));
+        cover(start);
+        logger.debug("身份ID过滤器补齐{}之后创建的身份{}个", since, rows);
+    }
+
+    /**
+     * 记录覆盖时间：创建时间早于 covered - syncOverlap 的身份均已加入过滤器；
+     * ID内嵌时间可能早于创建时间（批量创建先生成ID后分块落库），判定边界再留出 idTimeTolerance
+     */
+    private void cover(LocalDateTime covered) {
+        coveredSince = covered;
+        conclusiveBefore = covered.minus(syncOverlap).minus(idTimeTolerance).format(ID_TIME_FORMATTER);
+    }
+
+    /**
+     * ID内嵌时间是否早于同步窗口；无法解析时间的ID不作判定
+     */
+    private boolean predatesSyncWindow(String identityId) {
+        String before = conclusiveBefore;
+        int start = ID_PREFIX.length();
+        if (before == null || !identityId.startsWith(ID_PREFIX) || identityId.length() < start + ID_TIME_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < ID_TIME_LENGTH; i++) {
+            char c = identityId.charAt(start + i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            if (c != before.charAt(i)) {
+                return c < before.charAt(i);
+            }
+        }
+        return false;
+    }
+
+    private long stream(Supplier<Stream<String>> query) {
+        Long rows = readOnlyTransaction.execute(status -> {
+            long count = 0;
+            try (Stream<String> identityIds = query.get()) {
+                for (String identityId : (Iterable<String>) identityIds::iterator) {
+                    put(identityId);
+                    count++;
+                }
+            }
+            return count;
+        });
+        syncedRows.add(rows);
+        return rows;
+    }
+
+    /**
+     * 加载快照；文件不存在、损坏或与当前容量配置不一致时返回false
+     */
+    private boolean loadSnapshot() {
+        if (snapshotPath == null || !Files.isRegularFile(snapshotPath)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                logger.warn("身份ID过滤器快照格式不兼容，重新构建: {}", snapshotPath);
+                return false;
+            }
+            if (in.readLong() != numBits || in.readInt() != numHashes) {
+                logger.info("身份ID过滤器容量配置已变更，忽略快照并重新构建");
+                return false;
+            }
+            LocalDateTime covered = LocalDateTime.parse(in.readUTF());
+            long[] words = new long[bits.length()];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = in.readLong();
+            }
+            // 合并而非覆盖：加载期间收到的广播已写入位图
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                if (word != 0) {
+                    bits.getAndAccumulate(i, word, (current, loaded) -> current | loaded);
+                }
+            }
+            cover(covered);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("读取身份ID过滤器快照失败，重新构建: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean testBits(String identityId) {
+        long h1 = hash(identityId, SEED_1);
+        long h2 = hash(identityId, SEED_2) | 1L;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numBits);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void put(String identityId) {
+        long h1 = hash(identityId, SEED_1);
+        long h2 = hash(identityId, SEED_2) | 1L;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numBits);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((bits.get(index) & mask) == 0) {
+                bits.getAndAccumulate(index, mask, (current, add) -> current | add);
+            }
+        }
+        insertions.increment();
+    }
+
+    private void publish(String message) {
+        if (!redisEnabled || System.currentTimeMillis() < redisSuspendedUntil) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(CREATED_CHANNEL, message);
+        } catch (RuntimeException e) {
+            // 其他节点由定时增量同步补齐
+            redisSuspendedUntil = System.currentTimeMillis() + redisBackoffMillis;
+            logger.warn("广播新建身份失败，{}ms内跳过广播: {}", redisBackoffMillis, e.getMessage());
+        }
+    }
+
+    /**
+     * FNV-1a 逐字符混合后经 MurmurHash3 finalizer 打散，两个种子得到双重哈希所需的两个独立值
+     */
+    private static long hash(String value, long seed) {
+        long h = seed;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,48 @@
+package com.company.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 统一身份认证平台 - 关联账户同步执行器配置
+ * 运行在Java 21及以上时使用虚拟线程（每个任务一个线程），
+ * 否则退化为固定大小的平台线程池；并发度由各平台的信号量控制
+ */
+@Configuration
+public class AccountSyncExecutorConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountSyncExecutorConfig.class);
+
+    @Bean(name = "accountSyncExecutor")
+    public ExecutorService accountSyncExecutor(AccountSyncProperties properties) {
+        try {
+            // 项目以Java 17编译，通过反射使用Java 21的虚拟线程API
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService executor = (ExecutorService) factory.invoke(null);
+            logger.info("关联账户同步使用虚拟线程执行器");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            int threads = Math.max(1, properties.getFallbackThreads());
+            logger.info("当前JVM不支持虚拟线程，关联账户同步使用{}个平台线程", threads);
+            AtomicInteger index = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "account-sync-" + index.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+}
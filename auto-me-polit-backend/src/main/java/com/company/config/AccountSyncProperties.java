@@ -0,0 +1,152 @@
+package com.company.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 统一身份认证平台 - 关联账户同步配置
+ * 各平台的并发、限流与适配器地址；未单独配置的平台使用 defaults
+ */
+@Component
+@ConfigurationProperties(prefix = "auto-me-polit.account-linking.sync")
+public class AccountSyncProperties {
+
+    private int maxAttempts = 3;
+    private long backoffMillis = 500;
+    private long maxBackoffMillis = 30000;
+    private int pageSize = 500;
+    private int fallbackThreads = 64;
+    private Platform defaults = new Platform();
+    private Map<String, Platform> platforms = new HashMap<>();
+
+    /**
+     * 获取平台配置，未配置的项取默认值
+     *
+     * @param platform 平台名称
+     * @return 平台配置
+     */
+    public Platform forPlatform(String platform) {
+        Platform configured = platforms.get(platform);
+        if (configured == null) {
+            return defaults;
+        }
+        Platform merged = new Platform();
+        merged.setMaxConcurrency(configured.maxConcurrency != null ? configured.maxConcurrency : defaults.maxConcurrency);
+        merged.setRatePerSecond(configured.ratePerSecond != null ? configured.ratePerSecond : defaults.ratePerSecond);
+        merged.setBurst(configured.burst != null ? configured.burst : defaults.burst);
+        merged.setBaseUrl(configured.baseUrl != null ? configured.baseUrl : defaults.baseUrl);
+        merged.setTimeout(configured.timeout != null ? configured.timeout : defaults.timeout);
+        return merged;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getBackoffMillis() {
+        return backoffMillis;
+    }
+
+    public void setBackoffMillis(long backoffMillis) {
+        this.backoffMillis = backoffMillis;
+    }
+
+    public long getMaxBackoffMillis() {
+        return maxBackoffMillis;
+    }
+
+    public void setMaxBackoffMillis(long maxBackoffMillis) {
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public int getFallbackThreads() {
+        return fallbackThreads;
+    }
+
+    public void setFallbackThreads(int fallbackThreads) {
+        this.fallbackThreads = fallbackThreads;
+    }
+
+    public Platform getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Platform defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Platform> getPlatforms() {
+        return platforms;
+    }
+
+    public void setPlatforms(Map<String, Platform> platforms) {
+        this.platforms = platforms;
+    }
+
+    /**
+     * 单个平台的配置
+     */
+    public static class Platform {
+        private Integer maxConcurrency = 16;   // 同时进行的同步数
+        private Double ratePerSecond = 20.0;   // 每秒请求数（<=0表示不限）
+        private Integer burst = 20;            // 令牌桶容量
+        private String baseUrl;                // HTTP适配器地址（为空则该平台不启用HTTP适配器）
+        private Duration timeout = Duration.ofSeconds(10);
+
+        public Integer getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(Integer maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public Double getRatePerSecond() {
+            return ratePerSecond;
+        }
+
+        public void setRatePerSecond(Double ratePerSecond) {
+            this.ratePerSecond = ratePerSecond;
+        }
+
+        public Integer getBurst() {
+            return burst;
+        }
+
+        public void setBurst(Integer burst) {
+            this.burst = burst;
+        }
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public void setBaseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.company.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+/**
+ * 统一身份认证平台 - 隔离舱执行器
+ * 固定线程数、有界队列；队列已满时立即抛出 RejectedExecutionException（由全局异常处理器转换为503），
+ * 不在调用线程上执行，也不无限排队
+ */
+public class BulkheadExecutor extends ThreadPoolExecutor {
+
+    private final String name;
+    private final int queueCapacity;
+    private final LongAdder rejected = new LongAdder();
+
+    public BulkheadExecutor(String name, int threads, int queueCapacity) {
+        super(threads, threads, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+            new NamedDaemonThreadFactory(name));
+        this.name = name;
+        this.queueCapacity = queueCapacity;
+        setRejectedExecutionHandler((runnable, executor) -> {
+            rejected.increment();
+            throw new RejectedExecutionException(name + " 执行器已饱和（队列容量" + queueCapacity + "）");
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public int getQueueDepth() {
+        return getQueue().size();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * 在本执行器上并行执行 action(0..count-1)，调用线程同样领取并执行下标。
+     * 调用线程本身可能就是本执行器的线程：辅助任务排队未执行或被拒绝时由调用线程独自完成，
+     * 只等待已领取的下标执行完毕，不等待排队中的辅助任务，因此不会因互相等待而耗尽线程。
+     * 任一下标抛出异常时停止领取新下标，全部已领取的下标结束后重新抛出第一个异常
+     *
+     * @param count 下标数量
+     * @param action 按下标执行的操作
+     */
+    public void forEachIndex(int count, IntConsumer action) {
+        if (count <= 0) {
+            return;
+        }
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger finished = new AtomicInteger();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Runnable worker = () -> {
+            int index;
+            while ((index = next.getAndIncrement()) < count) {
+                try {
+                    if (failure.get() == null) {
+                        action.accept(index);
+                    }
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    if (finished.incrementAndGet() == count) {
+                        synchronized (finished) {
+                            finished.notifyAll();
+                        }
+                    }
+                }
+            }
+        };
+
+        // 只为空闲线程提交辅助任务，不占用留给其他请求的队列容量
+        int helpers = Math.min(getMaximumPoolSize(), count) - 1;
+        for (int i = 0; i < helpers && getActiveCount() + getQueue().size() < getMaximumPoolSize(); i++) {
+            try {
+                execute(worker);
+            } catch (RejectedExecutionException e) {
+                break; // 执行器已饱和，剩余下标由调用线程执行
+            }
+        }
+        worker.run();
+
+        synchronized (finished) {
+            while (finished.get() < count) {
+                try {
+                    finished.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(name + " 并行任务等待被中断", e);
+                }
+            }
+        }
+        RuntimeException e = failure.get();
+        if (e != null) {
+            throw e;
+        }
+    }
+
+    private static final class NamedDaemonThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger index = new AtomicInteger();
+
+        private NamedDaemonThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + "-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
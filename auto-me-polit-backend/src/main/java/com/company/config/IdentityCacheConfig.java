@@ -0,0 +1,38 @@
+package com.company.config;
+
+import com.company.cache.IdentityCache;
+import com.company.cache.IdentityIdFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 统一身份认证平台 - 身份缓存配置
+ * 订阅Redis失效广播，保证多节点进程内缓存的一致性；同时订阅新建身份广播，更新各节点的身份ID过滤器
+ */
+@Configuration
+public class IdentityCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "auto-me-polit.cache.identity.redis", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer identityCacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                           IdentityCache identityCache,
+                                                                           IdentityIdFilter identityIdFilter) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+            (message, pattern) -> identityCache.evictLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+            new ChannelTopic(IdentityCache.INVALIDATION_CHANNEL)
+        );
+        container.addMessageListener(
+            (message, pattern) -> identityIdFilter.putLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+            new ChannelTopic(IdentityIdFilter.CREATED_CHANNEL)
+        );
+        return container;
+    }
+}
@@ -0,0 +1,42 @@
+package com.company.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 统一身份认证平台 - 身份请求执行器配置
+ * 身份接口在专用线程池上异步执行，Tomcat请求线程只负责收发：
+ * 密钥生成等CPU密集的加解密在 identityCryptoExecutor（线程数默认为CPU核数），
+ * 阻塞的数据库读写在 identityDbExecutor（线程数不宜超过数据库连接池大小）。
+ * 两池互相隔离，批量创建打满加解密池时不影响查询；任一池队列已满时请求立即以503拒绝
+ */
+@Configuration
+public class IdentityExecutorConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdentityExecutorConfig.class);
+
+    @Bean(name = "identityCryptoExecutor", destroyMethod = "shutdown")
+    public BulkheadExecutor identityCryptoExecutor(
+            @Value("${auto-me-polit.identity.executors.crypto.threads:0}") int threads,
+            @Value("${auto-me-polit.identity.executors.crypto.queue-capacity:64}") int queueCapacity) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return create("identity-crypto", size, queueCapacity);
+    }
+
+    @Bean(name = "identityDbExecutor", destroyMethod = "shutdown")
+    public BulkheadExecutor identityDbExecutor(
+            @Value("${auto-me-polit.identity.executors.db.threads:${spring.datasource.hikari.maximum-pool-size:10}}") int threads,
+            @Value("${auto-me-polit.identity.executors.db.queue-capacity:200}") int queueCapacity) {
+        return create("identity-db", Math.max(1, threads), queueCapacity);
+    }
+
+    private BulkheadExecutor create(String name, int threads, int queueCapacity) {
+        BulkheadExecutor executor = new BulkheadExecutor(name, threads, Math.max(1, queueCapacity));
+        executor.allowCoreThreadTimeOut(true);
+        logger.info("身份请求执行器 {}: {}个线程，队列容量{}", name, threads, executor.getQueueCapacity());
+        return executor;
+    }
+}
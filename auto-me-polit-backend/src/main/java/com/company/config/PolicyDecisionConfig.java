@@ -0,0 +1,32 @@
+package com.company.config;
+
+import com.company.service.PolicyDecisionService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 统一身份认证平台 - 共享策略决策配置
+ * 订阅Redis策略变更广播，各节点按策略ID重新加载决策索引，保证撤销在所有节点立即生效
+ */
+@Configuration
+public class PolicyDecisionConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "auto-me-polit.sharing.engine.broadcast", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer policyChangeListener(RedisConnectionFactory connectionFactory,
+                                                              PolicyDecisionService policyDecisionService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+            (message, pattern) -> policyDecisionService.reload(new String(message.getBody(), StandardCharsets.UTF_8)),
+            new ChannelTopic(PolicyDecisionService.CHANGED_CHANNEL)
+        );
+        return container;
+    }
+}
@@ -1,7 +1,9 @@
 package com.company.config;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -31,12 +33,19 @@ public class SecurityConfig {
             .sessionManagement(session -> 
                 session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // 异步结果分派（CompletableFuture返回值）沿用原请求已通过的认证
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // 公开API端点
                 .requestMatchers("/api/v1/auth/public/**").permitAll()
                 .requestMatchers("/api/v1/auth/challenge").permitAll()
                 .requestMatchers("/api/v1/auth/verify").permitAll()
                 // 健康检查
                 .requestMatchers("/actuator/health").permitAll()
+                // Prometheus抓取端点：抓取方须持有authorities含METRICS的令牌
+                .requestMatchers("/actuator/prometheus").hasRole("METRICS")
+                // 全量导出与休眠清扫属于运维操作，须持有authorities含ADMIN的令牌
+                .requestMatchers("/api/v1/identity/export", "/api/v1/identity/export/**").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/v1/identity/dormancy/sweep").hasRole("ADMIN")
                 .requestMatchers("/v3/api-docs/**").permitAll()
                 .requestMatchers("/swagger-ui/**").permitAll()
                 .requestMatchers("/swagger-ui.html").permitAll()
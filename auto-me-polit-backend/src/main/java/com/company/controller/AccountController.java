@@ -0,0 +1,108 @@
+package com.company.controller;
+
+import com.company.dto.request.SyncAccountRequestDTO;
+import com.company.dto.response.SyncJobDTO;
+import com.company.exception.BusinessException;
+import com.company.service.AccountSyncService;
+import com.company.util.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 统一身份认证平台 - 关联账户控制器
+ */
+@RestController
+@RequestMapping("/api/v1/account")
+@Tag(name = "关联账户", description = "关联账户同步等API")
+public class AccountController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountController.class);
+
+    @Autowired
+    private AccountSyncService accountSyncService;
+
+    @PostMapping("/sync")
+    @Operation(
+        summary = "同步关联账户",
+        description = "在后台同步单个关联账户的平台资料，立即返回同步任务"
+    )
+    public ResponseEntity<ApiResponse<SyncJobDTO>> syncAccount(
+            @Valid @RequestBody SyncAccountRequestDTO request) {
+        try {
+            logger.info("同步关联账户: {}", request.getAccountId());
+
+            SyncJobDTO job = accountSyncService.syncAccount(
+                request.getAccountId(), Boolean.TRUE.equals(request.getForceSync()));
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("同步任务已提交", job));
+
+        } catch (BusinessException e) {
+            logger.error("同步关联账户失败: {}", request.getAccountId(), e);
+            return ResponseEntity.status(e.getStatusCode())
+                .body(ApiResponse.error("同步关联账户失败: " + e.getMessage()));
+        } catch (Exception e) {
+            logger.error("同步关联账户失败: {}", request.getAccountId(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("同步关联账户失败: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/batch-sync")
+    @Operation(
+        summary = "批量同步关联账户",
+        description = "按平台并发同步全部未禁用的关联账户，受各平台并发数与速率限制；不指定平台时同步全部已启用平台"
+    )
+    public ResponseEntity<ApiResponse<SyncJobDTO>> batchSync(
+            @RequestParam(required = false) List<String> platform) {
+        try {
+            logger.info("批量同步关联账户，平台: {}", platform);
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("批量同步任务已提交", accountSyncService.batchSync(platform)));
+
+        } catch (BusinessException e) {
+            logger.error("批量同步关联账户失败", e);
+            return ResponseEntity.status(e.getStatusCode())
+                .body(ApiResponse.error("批量同步关联账户失败: " + e.getMessage()));
+        } catch (Exception e) {
+            logger.error("批量同步关联账户失败", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("批量同步关联账户失败: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/sync/jobs/{jobId}")
+    @Operation(
+        summary = "查询同步任务",
+        description = "获取同步任务的进度与结果统计"
+    )
+    public ResponseEntity<ApiResponse<SyncJobDTO>> getSyncJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(accountSyncService.getJob(jobId)));
+
+        } catch (Exception e) {
+            logger.error("查询同步任务失败: {}", jobId, e);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("查询同步任务失败: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/sync/statistics")
+    @Operation(
+        summary = "同步统计",
+        description = "获取各平台同步通道的并发、速率、重试与结果统计"
+    )
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getSyncStatistics() {
+        return ResponseEntity.ok(ApiResponse.success(accountSyncService.getStatistics()));
+    }
+}
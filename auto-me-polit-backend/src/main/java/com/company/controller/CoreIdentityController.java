@@ -1,21 +1,54 @@
 package com.company.controller;
 
+import com.company.cache.IdentityCache;
+import com.company.cache.IdentityIdFilter;
+import com.company.config.BulkheadExecutor;
+import com.company.dto.request.BatchCreateIdentityRequestDTO;
 import com.company.dto.request.CreateIdentityRequestDTO;
+import com.company.dto.request.IdentityExportQueryDTO;
+import com.company.dto.request.IdentityListQueryDTO;
+import com.company.dto.response.BatchCreateIdentityResponseDTO;
 import com.company.dto.response.CreateIdentityResponseDTO;
+import com.company.dto.response.ExportJobDTO;
+import com.company.dto.response.IdentitySummaryDTO;
+import com.company.exception.BusinessException;
 import com.company.service.CoreIdentityService;
+import com.company.service.IdentityExportService;
+import com.company.service.impl.HybridKeyPairPool;
+import com.company.service.impl.IdentityDormancySweeper;
+import com.company.service.impl.IdentityExportJobRunner;
+import com.company.service.impl.PublicKeyDigestBackfill;
 import com.company.util.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * 统一身份认证平台 - 核心身份管理控制器
+ * 涉及加解密或数据库的接口返回 CompletableFuture，在专用执行器上运行（见 IdentityExecutorConfig）：
+ * 创建类请求使用加解密池，其余读写使用数据库池，执行器饱和时返回503；仅读取内存统计的接口仍同步执行。
+ * 创建接口返回 DeferredResult，超时单独配置并按批量条数放宽（见 identity.create）
  */
 @RestController
 @RequestMapping("/api/v1/identity")
@@ -27,71 +60,232 @@ public class CoreIdentityController {
     @Autowired
     private CoreIdentityService coreIdentityService;
 
+    @Autowired
+    private IdentityCache identityCache;
+
+    @Autowired
+    private IdentityIdFilter identityIdFilter;
+
+    @Autowired
+    private PublicKeyDigestBackfill publicKeyDigestBackfill;
+
+    @Autowired
+    private HybridKeyPairPool hybridKeyPairPool;
+
+    @Autowired
+    private IdentityExportService identityExportService;
+
+    @Autowired
+    private IdentityExportJobRunner identityExportJobRunner;
+
+    @Autowired
+    private IdentityDormancySweeper identityDormancySweeper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("identityCryptoExecutor")
+    private BulkheadExecutor cryptoExecutor;
+
+    @Autowired
+    @Qualifier("identityDbExecutor")
+    private BulkheadExecutor dbExecutor;
+
+    // 创建非幂等，不使用全局异步超时：超时后创建仍可能提交，过短的超时会诱导客户端重复创建
+    @Value("${auto-me-polit.identity.create.request-timeout:60s}")
+    private Duration createTimeout;
+
+    @Value("${auto-me-polit.identity.create.per-item-timeout:50ms}")
+    private Duration createPerItemTimeout;
+
     @PostMapping("/core")
     @Operation(
         summary = "创建核心身份", 
         description = "创建新的全球唯一数字身份，生成密钥对和恢复分片"
     )
-    public ResponseEntity<ApiResponse<CreateIdentityResponseDTO>> createIdentity(
+    public DeferredResult<ResponseEntity<ApiResponse<CreateIdentityResponseDTO>>> createIdentity(
             @Valid @RequestBody CreateIdentityRequestDTO request) {
+        logger.info("收到创建身份请求: {}", request);
+
+        return withTimeout(CompletableFuture.supplyAsync(() -> {
+            try {
+                CreateIdentityResponseDTO response = coreIdentityService.createIdentity(request);
+
+                return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("核心身份创建成功", response));
+
+            } catch (Exception e) {
+                logger.error("创建身份失败", e);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("创建核心身份失败: " + e.getMessage()));
+            }
+        }, cryptoExecutor), createTimeout);
+    }
+
+    @PostMapping("/core/batch")
+    @Operation(
+        summary = "批量创建核心身份", 
+        description = "批量创建全球唯一数字身份，逐项返回创建结果，支持部分失败"
+    )
+    public DeferredResult<ResponseEntity<ApiResponse<BatchCreateIdentityResponseDTO>>> batchCreateIdentities(
+            @Valid @RequestBody BatchCreateIdentityRequestDTO request) {
+        logger.info("收到批量创建身份请求: {}", request);
+
+        Duration timeout = createTimeout.plus(createPerItemTimeout.multipliedBy(request.getItems().size()));
+        return withTimeout(CompletableFuture.supplyAsync(() -> {
+            BatchCreateIdentityResponseDTO response = coreIdentityService.batchCreateIdentities(request.getItems());
+
+            if (response.getSucceeded() == 0) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(400, "批量创建核心身份全部失败", response));
+            }
+            HttpStatus status = response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+            return ResponseEntity.status(status)
+                .body(ApiResponse.success("批量创建核心身份完成", response));
+        }, cryptoExecutor), timeout);
+    }
+
+    @GetMapping("/list")
+    @Operation(
+        summary = "身份列表",
+        description = "按状态、不活跃、高风险或最近创建筛选身份，游标分页；翻页时传入上一页返回的nextCursor"
+    )
+    public CompletableFuture<ResponseEntity<ApiResponse<ApiResponse.PageData<IdentitySummaryDTO>>>> listIdentities(
+            @Valid IdentityListQueryDTO query) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return ResponseEntity.ok(
+                    ApiResponse.pageSuccess("获取身份列表成功", coreIdentityService.listIdentities(query))
+                );
+
+            } catch (Exception e) {
+                logger.error("获取身份列表失败: {}", query.getFilter(), e);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("获取身份列表失败: " + e.getMessage()));
+            }
+        }, dbExecutor);
+    }
+
+    @GetMapping("/export")
+    @Operation(
+        summary = "导出身份数据",
+        description = "以NDJSON流式导出身份（不含私钥密文、恢复配置与生物特征哈希），可按状态与创建时间筛选，可选gzip压缩"
+    )
+    public void exportIdentities(IdentityExportQueryDTO query, HttpServletResponse response) throws IOException {
+        logger.info("导出身份数据: {}", query);
+        boolean gzip = Boolean.TRUE.equals(query.getGzip());
+        String fileName = "identities" + (gzip ? ".ndjson.gz" : ".ndjson");
+        response.setContentType(gzip ? "application/gzip" : "application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
         try {
-            logger.info("收到创建身份请求: {}", request);
-            
-            CreateIdentityResponseDTO response = coreIdentityService.createIdentity(request);
-            
-            return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success("核心身份创建成功", response));
-                
+            identityExportService.export(query, response.getOutputStream());
         } catch (Exception e) {
-            logger.error("创建身份失败", e);
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body(ApiResponse.error("创建核心身份失败: " + e.getMessage()));
+            logger.error("导出身份数据失败: {}", query, e);
+            if (response.isCommitted()) {
+                // 已开始传输，只能中断连接，客户端会收到不完整的文件
+                throw e;
+            }
+            response.reset();
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            objectMapper.writeValue(response.getOutputStream(), ApiResponse.error("导出身份数据失败: " + e.getMessage()));
         }
     }
 
-    @GetMapping("/{identityId}")
+    @PostMapping("/export/file")
     @Operation(
-        summary = "获取身份信息", 
-        description = "根据身份ID获取核心身份详细信息"
+        summary = "导出身份数据到文件",
+        description = "提交后台任务，在服务端导出目录生成NDJSON文件用于合规归档；立即返回任务ID，通过任务查询接口获取结果"
     )
-    public ResponseEntity<ApiResponse<Object>> getIdentity(@PathVariable String identityId) {
+    public ResponseEntity<ApiResponse<ExportJobDTO>> exportIdentitiesToFile(IdentityExportQueryDTO query) {
         try {
-            logger.info("获取身份信息: {}", identityId);
-            
-            return ResponseEntity.ok(
-                ApiResponse.success("获取身份信息成功", 
-                    coreIdentityService.getIdentityById(identityId))
-            );
-            
+            logger.info("导出身份数据到文件: {}", query);
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("身份数据导出任务已提交", identityExportJobRunner.submit(query)));
+
+        } catch (BusinessException e) {
+            logger.error("提交身份数据导出任务失败: {}", query, e);
+            return ResponseEntity.status(e.getStatusCode())
+                .body(ApiResponse.error("提交身份数据导出任务失败: " + e.getMessage()));
         } catch (Exception e) {
-            logger.error("获取身份信息失败: {}", identityId, e);
+            logger.error("提交身份数据导出任务失败: {}", query, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("提交身份数据导出任务失败: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/export/file/jobs/{jobId}")
+    @Operation(
+        summary = "查询身份数据导出任务",
+        description = "获取文件导出任务的状态；完成后返回文件路径、条数与字节数"
+    )
+    public ResponseEntity<ApiResponse<ExportJobDTO>> getExportJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(identityExportJobRunner.getJob(jobId)));
+
+        } catch (Exception e) {
+            logger.error("查询身份数据导出任务失败: {}", jobId, e);
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                .body(ApiResponse.error("身份不存在: " + e.getMessage()));
+                .body(ApiResponse.error("查询身份数据导出任务失败: " + e.getMessage()));
         }
     }
 
+    @GetMapping("/{identityId}")
+    @Operation(
+        summary = "获取身份信息", 
+        description = "根据身份ID获取核心身份详细信息"
+    )
+    public CompletableFuture<ResponseEntity<ApiResponse<Object>>> getIdentity(@PathVariable String identityId) {
+        logger.info("获取身份信息: {}", identityId);
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return ResponseEntity.ok(
+                    ApiResponse.success("获取身份信息成功", 
+                        coreIdentityService.getIdentityById(identityId))
+                );
+
+            } catch (QueryTimeoutException e) {
+                logger.warn("获取身份信息超时: {}", identityId);
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(ApiResponse.error(503, "获取身份信息超时，请稍后重试"));
+            } catch (Exception e) {
+                logger.error("获取身份信息失败: {}", identityId, e);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("身份不存在: " + e.getMessage()));
+            }
+        }, dbExecutor);
+    }
+
     @PostMapping("/{identityId}/freeze")
     @Operation(
         summary = "冻结身份", 
         description = "紧急锁定指定身份，停止所有身份相关操作"
     )
-    public ResponseEntity<ApiResponse<Void>> freezeIdentity(
+    public CompletableFuture<ResponseEntity<ApiResponse<Void>>> freezeIdentity(
             @PathVariable String identityId,
             @RequestParam String reason) {
-        try {
-            logger.info("冻结身份: {}, 原因: {}", identityId, reason);
-            
-            coreIdentityService.freezeIdentity(identityId, reason);
-            
-            return ResponseEntity.ok(
-                ApiResponse.success("身份冻结成功", null)
-            );
-            
-        } catch (Exception e) {
-            logger.error("冻结身份失败: {}", identityId, e);
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body(ApiResponse.error("冻结身份失败: " + e.getMessage()));
-        }
+        logger.info("冻结身份: {}, 原因: {}", identityId, reason);
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                coreIdentityService.freezeIdentity(identityId, reason);
+
+                return ResponseEntity.ok(
+                    ApiResponse.success("身份冻结成功", null)
+                );
+
+            } catch (Exception e) {
+                logger.error("冻结身份失败: {}", identityId, e);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("冻结身份失败: " + e.getMessage()));
+            }
+        }, dbExecutor);
     }
 
     @PostMapping("/{identityId}/recover")
@@ -99,23 +293,51 @@ public class CoreIdentityController {
         summary = "恢复身份", 
         description = "使用恢复令牌恢复被冻结的身份"
     )
-    public ResponseEntity<ApiResponse<Void>> recoverIdentity(
+    public CompletableFuture<ResponseEntity<ApiResponse<Void>>> recoverIdentity(
             @PathVariable String identityId,
             @RequestParam String recoveryToken) {
-        try {
-            logger.info("恢复身份: {}", identityId);
-            
-            coreIdentityService.recoverIdentity(identityId, recoveryToken);
-            
-            return ResponseEntity.ok(
-                ApiResponse.success("身份恢复成功", null)
-            );
-            
-        } catch (Exception e) {
-            logger.error("恢复身份失败: {}", identityId, e);
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body(ApiResponse.error("恢复身份失败: " + e.getMessage()));
-        }
+        logger.info("恢复身份: {}", identityId);
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                coreIdentityService.recoverIdentity(identityId, recoveryToken);
+
+                return ResponseEntity.ok(
+                    ApiResponse.success("身份恢复成功", null)
+                );
+
+            } catch (Exception e) {
+                logger.error("恢复身份失败: {}", identityId, e);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("恢复身份失败: " + e.getMessage()));
+            }
+        }, dbExecutor);
+    }
+
+    @PatchMapping("/{identityId}/metadata")
+    @Operation(
+        summary = "局部更新元数据", 
+        description = "按键更新身份扩展元数据，仅修改提交的键"
+    )
+    public CompletableFuture<ResponseEntity<ApiResponse<Void>>> patchMetadata(
+            @PathVariable String identityId,
+            @RequestBody Map<String, Object> entries) {
+        logger.info("局部更新元数据: {}, 键: {}", identityId, entries.keySet());
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                coreIdentityService.patchMetadata(identityId, entries);
+
+                return ResponseEntity.ok(
+                    ApiResponse.success("元数据更新成功", null)
+                );
+
+            } catch (Exception e) {
+                logger.error("局部更新元数据失败: {}", identityId, e);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("局部更新元数据失败: " + e.getMessage()));
+            }
+        }, dbExecutor);
     }
 
     @PostMapping("/{identityId}/device-update")
@@ -123,23 +345,25 @@ public class CoreIdentityController {
         summary = "更新设备指纹", 
         description = "更新身份绑定的设备指纹，用于新设备验证"
     )
-    public ResponseEntity<ApiResponse<Void>> updateDeviceFingerprint(
+    public CompletableFuture<ResponseEntity<ApiResponse<Void>>> updateDeviceFingerprint(
             @PathVariable String identityId,
             @RequestParam String deviceFingerprint) {
-        try {
-            logger.info("更新设备指纹: {}", identityId);
-            
-            coreIdentityService.updateDeviceFingerprint(identityId, deviceFingerprint);
-            
-            return ResponseEntity.ok(
-                ApiResponse.success("设备指纹更新成功", null)
-            );
-            
-        } catch (Exception e) {
-            logger.error("更新设备指纹失败: {}", identityId, e);
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body(ApiResponse.error("更新设备指纹失败: " + e.getMessage()));
-        }
+        logger.info("更新设备指纹: {}", identityId);
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                coreIdentityService.updateDeviceFingerprint(identityId, deviceFingerprint);
+
+                return ResponseEntity.ok(
+                    ApiResponse.success("设备指纹更新成功", null)
+                );
+
+            } catch (Exception e) {
+                logger.error("更新设备指纹失败: {}", identityId, e);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("更新设备指纹失败: " + e.getMessage()));
+            }
+        }, dbExecutor);
     }
 
     @PostMapping("/{identityId}/last-active")
@@ -147,17 +371,19 @@ public class CoreIdentityController {
         summary = "更新最后活跃时间", 
         description = "更新身份最后活跃时间，用于活跃状态管理"
     )
-    public ResponseEntity<ApiResponse<Void>> updateLastActiveTime(@PathVariable String identityId) {
-        try {
-            coreIdentityService.updateLastActiveTime(identityId);
-            return ResponseEntity.ok(
-                ApiResponse.success("更新最后活跃时间成功", null)
-            );
-        } catch (Exception e) {
-            logger.error("更新最后活跃时间失败: {}", identityId, e);
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body(ApiResponse.error("更新最后活跃时间失败: " + e.getMessage()));
-        }
+    public CompletableFuture<ResponseEntity<ApiResponse<Void>>> updateLastActiveTime(@PathVariable String identityId) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                coreIdentityService.updateLastActiveTime(identityId);
+                return ResponseEntity.ok(
+                    ApiResponse.success("更新最后活跃时间成功", null)
+                );
+            } catch (Exception e) {
+                logger.error("更新最后活跃时间失败: {}", identityId, e);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("更新最后活跃时间失败: " + e.getMessage()));
+            }
+        }, dbExecutor);
     }
 
     @GetMapping("/{identityId}/security-validation")
@@ -165,18 +391,134 @@ public class CoreIdentityController {
         summary = "验证安全级别", 
         description = "验证身份是否满足指定的安全级别要求"
     )
-    public ResponseEntity<ApiResponse<Boolean>> validateSecurityLevel(
+    public CompletableFuture<ResponseEntity<ApiResponse<Boolean>>> validateSecurityLevel(
             @PathVariable String identityId,
             @RequestParam Integer requiredLevel) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                boolean isValid = coreIdentityService.validateSecurityLevel(identityId, requiredLevel);
+                return ResponseEntity.ok(
+                    ApiResponse.success("安全级别验证完成", isValid)
+                );
+            } catch (Exception e) {
+                logger.error("安全级别验证失败: {}", identityId, e);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("安全级别验证失败: " + e.getMessage()));
+            }
+        }, dbExecutor);
+    }
+
+    @GetMapping("/statistics/status")
+    @Operation(
+        summary = "获取身份状态统计", 
+        description = "获取各状态的身份数量；计数随状态变更增量维护并定期与数据库对账，读取不扫描数据表"
+    )
+    public CompletableFuture<ResponseEntity<ApiResponse<Map<String, Long>>>> getStatusStatistics() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return ResponseEntity.ok(
+                    ApiResponse.success("获取身份状态统计成功", coreIdentityService.getStatusCounts())
+                );
+            } catch (Exception e) {
+                logger.error("获取身份状态统计失败", e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("获取身份状态统计失败: " + e.getMessage()));
+            }
+        }, dbExecutor);
+    }
+
+    @GetMapping("/cache/statistics")
+    @Operation(
+        summary = "获取身份缓存统计", 
+        description = "获取两级身份缓存的命中、未命中、淘汰等计数"
+    )
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getCacheStatistics() {
+        return ResponseEntity.ok(
+            ApiResponse.success("获取缓存统计成功", identityCache.getStatistics())
+        );
+    }
+
+    @GetMapping("/id-filter/statistics")
+    @Operation(
+        summary = "获取身份ID过滤器统计", 
+        description = "获取身份ID布隆过滤器的容量、判定次数、判定不存在次数与同步进度"
+    )
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getIdFilterStatistics() {
+        return ResponseEntity.ok(
+            ApiResponse.success("获取身份ID过滤器统计成功", identityIdFilter.getStatistics())
+        );
+    }
+
+    @GetMapping("/public-key-digest/statistics")
+    @Operation(
+        summary = "获取公钥摘要回填统计", 
+        description = "获取存量身份公钥摘要回填是否完成及已回填行数"
+    )
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getPublicKeyDigestStatistics() {
+        return ResponseEntity.ok(
+            ApiResponse.success("获取公钥摘要回填统计成功", publicKeyDigestBackfill.getStatistics())
+        );
+    }
+
+    @GetMapping("/key-pool/statistics")
+    @Operation(
+        summary = "获取密钥池统计", 
+        description = "获取混合密钥对预生成池的库存深度、生成数和同步回退次数"
+    )
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getKeyPoolStatistics() {
+        return ResponseEntity.ok(
+            ApiResponse.success("获取密钥池统计成功", hybridKeyPairPool.getStatistics())
+        );
+    }
+
+    @PostMapping("/dormancy/sweep")
+    @Operation(
+        summary = "触发休眠身份清扫", 
+        description = "在后台将长期不活跃的身份标记为休眠；存在未完成的检查点时从水位线续跑"
+    )
+    public ResponseEntity<ApiResponse<Map<String, Object>>> sweepDormantIdentities() {
         try {
-            boolean isValid = coreIdentityService.validateSecurityLevel(identityId, requiredLevel);
-            return ResponseEntity.ok(
-                ApiResponse.success("安全级别验证完成", isValid)
-            );
+            boolean started = identityDormancySweeper.start();
+            if (!started) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(409, "休眠身份清扫正在运行"));
+            }
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("休眠身份清扫已启动", identityDormancySweeper.getStatistics()));
+
         } catch (Exception e) {
-            logger.error("安全级别验证失败: {}", identityId, e);
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body(ApiResponse.error("安全级别验证失败: " + e.getMessage()));
+            logger.error("启动休眠身份清扫失败", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("启动休眠身份清扫失败: " + e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    @GetMapping("/dormancy/statistics")
+    @Operation(
+        summary = "获取休眠身份清扫统计", 
+        description = "获取当前清扫的水位线、已处理区间、并发度与最近一轮结果"
+    )
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getDormancyStatistics() {
+        return ResponseEntity.ok(
+            ApiResponse.success("获取休眠清扫统计成功", identityDormancySweeper.getStatistics())
+        );
+    }
+
+    /**
+     * 以指定超时返回异步结果，替代 spring.mvc.async.request-timeout 的全局超时；
+     * 超时后任务仍会继续执行，由 GlobalExceptionHandler 按请求方法决定是否提示重试
+     */
+    private static <T> DeferredResult<T> withTimeout(CompletableFuture<T> future, Duration timeout) {
+        DeferredResult<T> result = new DeferredResult<>(timeout.toMillis());
+        future.whenComplete((value, error) -> {
+            if (error == null) {
+                result.setResult(value);
+            } else if (error instanceof CompletionException && error.getCause() != null) {
+                result.setErrorResult(error.getCause());
+            } else {
+                result.setErrorResult(error);
+            }
+        });
+        return result;
+    }
+}
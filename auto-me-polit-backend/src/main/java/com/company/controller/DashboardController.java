@@ -0,0 +1,65 @@
+package com.company.controller;
+
+import com.company.dto.response.DashboardSnapshotDTO;
+import com.company.service.DashboardService;
+import com.company.util.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * 统一身份认证平台 - 仪表盘控制器
+ */
+@RestController
+@RequestMapping("/api/v1/dashboard")
+@Tag(name = "仪表盘", description = "仪表盘快照API")
+public class DashboardController {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardController.class);
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @GetMapping("/snapshot")
+    @Operation(
+        summary = "获取仪表盘快照",
+        description = "一次返回身份状态分布、关联账户健康度/风险分布与策略使用统计；" +
+                      "快照由后台定期刷新，过期时先返回旧快照（stale=true）并触发后台刷新"
+    )
+    public ResponseEntity<ApiResponse<DashboardSnapshotDTO>> getSnapshot() {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(dashboardService.getSnapshot()));
+        } catch (Exception e) {
+            logger.error("获取仪表盘快照失败", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error(500, "获取仪表盘快照失败: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/snapshot/refresh")
+    @Operation(
+        summary = "刷新仪表盘快照",
+        description = "在后台立即重新计算快照，不等待计算完成"
+    )
+    public ResponseEntity<ApiResponse<Boolean>> refreshSnapshot() {
+        boolean submitted = dashboardService.refresh();
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+            .body(ApiResponse.success(submitted ? "快照刷新已提交" : "快照正在刷新", submitted));
+    }
+
+    @GetMapping("/statistics")
+    @Operation(
+        summary = "仪表盘快照统计",
+        description = "获取快照的读取、过期读取、同步计算与后台刷新次数"
+    )
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getStatistics() {
+        return ResponseEntity.ok(ApiResponse.success(dashboardService.getStatistics()));
+    }
+}
@@ -0,0 +1,202 @@
+package com.company.controller;
+
+import com.company.accesslog.AccessLogEntry;
+import com.company.accesslog.AccessLogStore;
+import com.company.dto.request.SharePolicyRequestDTO;
+import com.company.dto.response.PolicyUsageDTO;
+import com.company.dto.response.SharePolicyValidationDTO;
+import com.company.service.PolicyDecisionService;
+import com.company.service.PolicyDecisionService.Decision;
+import com.company.service.impl.PolicyUsageCounter;
+import com.company.entity.SharePolicy.ShareAction;
+import com.company.util.ApiResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 统一身份认证平台 - 共享策略控制器
+ */
+@RestController
+@RequestMapping("/api/v1/policy")
+@Tag(name = "共享策略", description = "共享策略校验、访问决策等API")
+public class PolicyController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyController.class);
+
+    @Autowired
+    private PolicyDecisionService policyDecisionService;
+
+    @Autowired
+    private PolicyUsageCounter policyUsageCounter;
+
+    @Autowired
+    private AccessLogStore accessLogStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PostMapping("/validate")
+    @Operation(
+        summary = "校验策略配置",
+        description = "校验共享属性、访问级别、期限与约束条件，评估风险等级并检查与已有策略的重叠"
+    )
+    public ResponseEntity<ApiResponse<SharePolicyValidationDTO>> validate(
+            @RequestBody SharePolicyRequestDTO request) {
+        try {
+            logger.info("校验共享策略: {}", request);
+
+            return ResponseEntity.ok(
+                ApiResponse.success("策略校验完成", policyDecisionService.validate(request))
+            );
+
+        } catch (Exception e) {
+            logger.error("校验共享策略失败", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error("校验共享策略失败: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/decision")
+    @Operation(
+        summary = "访问决策",
+        description = "判断请求方能否读取身份的指定属性，基于内存索引，不访问数据库"
+    )
+    public ResponseEntity<ApiResponse<Map<String, Decision>>> decide(
+            @RequestParam String identityId,
+            @RequestParam String requester,
+            @RequestParam List<String> attributes,
+            HttpServletRequest httpRequest) {
+        try {
+            Map<String, Decision> decisions = policyDecisionService.decideAll(identityId, requester, attributes);
+
+            String ipAddress = httpRequest.getRemoteAddr();
+            decisions.forEach((attribute, decision) -> {
+                if (decision.getPolicyId() != null) {
+                    ShareAction action = decision.getAction();
+                    accessLogStore.append(decision.getPolicyId(), requester, "READ " + attribute,
+                        action == ShareAction.ALLOW || action == ShareAction.CONDITIONAL, ipAddress);
+                }
+            });
+
+            return ResponseEntity.ok(ApiResponse.success(decisions));
+
+        } catch (Exception e) {
+            logger.error("访问决策失败: {}, {}", identityId, requester, e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error("访问决策失败: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{policyId}/usage")
+    @Operation(
+        summary = "获取策略使用统计",
+        description = "返回已落库的使用次数与内存中待落库增量的合并值"
+    )
+    public ResponseEntity<ApiResponse<PolicyUsageDTO>> getUsage(@PathVariable String policyId) {
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("获取策略使用统计成功", policyUsageCounter.getUsage(policyId))
+            );
+
+        } catch (Exception e) {
+            logger.error("获取策略使用统计失败: {}", policyId, e);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("获取策略使用统计失败: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{policyId}/access-log")
+    @Operation(
+        summary = "获取策略访问记录",
+        description = "按时间倒序分页返回访问记录；传入上一页返回的nextCursor可避免按页码跳过记录"
+    )
+    public ResponseEntity<?> getAccessLog(
+            @PathVariable String policyId,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
+        int limit = Math.min(Math.max(size, 1), 1000);
+        long start;
+        try {
+            if (cursor != null && !cursor.isEmpty()) {
+                start = AccessLogStore.parseCursor(cursor);
+                if (!accessLogStore.isValidCursor(policyId, start)) {
+                    throw new IllegalArgumentException("游标不属于该策略: " + cursor);
+                }
+            } else {
+                start = accessLogStore.skip(accessLogStore.head(policyId), (long) (Math.max(page, 1) - 1) * limit);
+            }
+        } catch (Exception e) {
+            logger.error("获取策略访问记录失败: {}", policyId, e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error("获取策略访问记录失败: " + e.getMessage()));
+        }
+        long total = accessLogStore.count(policyId);
+
+        // 边读边写出，不在内存中构建整页结果
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartObject();
+                generator.writeNumberField("code", 200);
+                generator.writeStringField("message", "操作成功");
+                generator.writeObjectFieldStart("data");
+                generator.writeArrayFieldStart("items");
+                long next = accessLogStore.read(policyId, start, limit, entry -> writeEntry(generator, entry));
+                generator.writeEndArray();
+                generator.writeNumberField("total", total);
+                generator.writeStringField("nextCursor", next == AccessLogStore.NO_POINTER ? null : AccessLogStore.formatCursor(next));
+                generator.writeEndObject();
+                generator.writeNumberField("timestamp", System.currentTimeMillis());
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping("/engine/statistics")
+    @Operation(
+        summary = "决策索引统计",
+        description = "获取策略决策索引的规模与更新情况"
+    )
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getEngineStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>(policyDecisionService.getStatistics());
+        statistics.put("usage", policyUsageCounter.getStatistics());
+        statistics.put("accessLog", accessLogStore.getStatistics());
+        return ResponseEntity.ok(ApiResponse.success(statistics));
+    }
+
+    private static void writeEntry(JsonGenerator generator, AccessLogEntry entry) {
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("timestamp",
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.getTimestamp()), ZoneId.systemDefault()).toString());
+            generator.writeStringField("requester", entry.getRequester());
+            generator.writeStringField("operation", entry.getOperation());
+            generator.writeStringField("result", entry.isSuccess() ? "SUCCESS" : "FAILURE");
+            generator.writeStringField("ipAddress", entry.getIpAddress());
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
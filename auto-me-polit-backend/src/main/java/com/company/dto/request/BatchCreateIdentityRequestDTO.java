@@ -0,0 +1,41 @@
+package com.company.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * 统一身份认证平台 - 批量身份创建请求DTO
+ */
+public class BatchCreateIdentityRequestDTO {
+
+    @NotEmpty(message = "批量创建列表不能为空")
+    @Size(max = 5000, message = "单次批量创建不能超过5000个身份")
+    @Valid
+    private List<CreateIdentityRequestDTO> items;
+
+    // 构造方法
+    public BatchCreateIdentityRequestDTO() {}
+
+    public BatchCreateIdentityRequestDTO(List<CreateIdentityRequestDTO> items) {
+        this.items = items;
+    }
+
+    // Getter and Setter methods
+    public List<CreateIdentityRequestDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<CreateIdentityRequestDTO> items) {
+        this.items = items;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchCreateIdentityRequestDTO{" +
+                "items=" + (items != null ? items.size() : 0) +
+                '}';
+    }
+}
@@ -0,0 +1,68 @@
+package com.company.dto.request;
+
+import com.company.entity.CoreIdentity;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * 统一身份认证平台 - 身份导出查询DTO
+ */
+public class IdentityExportQueryDTO {
+
+    private CoreIdentity.IdentityStatus status; // 为空时导出全部状态
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from; // 创建时间下限（含）
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to; // 创建时间上限（不含）
+
+    private Boolean gzip = false;
+
+    // 构造方法
+    public IdentityExportQueryDTO() {}
+
+    // Getter and Setter methods
+    public CoreIdentity.IdentityStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(CoreIdentity.IdentityStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public Boolean getGzip() {
+        return gzip;
+    }
+
+    public void setGzip(Boolean gzip) {
+        this.gzip = gzip;
+    }
+
+    @Override
+    public String toString() {
+        return "IdentityExportQueryDTO{" +
+                "status=" + status +
+                ", from=" + from +
+                ", to=" + to +
+                ", gzip=" + gzip +
+                '}';
+    }
+}
@@ -0,0 +1,98 @@
+package com.company.dto.request;
+
+import com.company.entity.CoreIdentity;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * 统一身份认证平台 - 身份列表查询DTO
+ */
+public class IdentityListQueryDTO {
+
+    private Filter filter = Filter.STATUS;
+
+    private CoreIdentity.IdentityStatus status = CoreIdentity.IdentityStatus.ACTIVE; // filter=STATUS
+
+    @Min(value = 1, message = "不活跃天数至少为1")
+    private Integer inactiveDays = 30; // filter=INACTIVE
+
+    @Min(value = 1, message = "安全级别范围为1-5")
+    @Max(value = 5, message = "安全级别范围为1-5")
+    private Integer minSecurityLevel = 3; // filter=HIGH_RISK，返回安全级别低于该值的身份
+
+    @Min(value = 1, message = "时间范围至少为1小时")
+    private Integer hours = 24; // filter=RECENT
+
+    private String cursor; // 上一页返回的nextCursor，为空时从第一页开始
+
+    @Min(value = 1, message = "每页条数范围为1-1000")
+    @Max(value = 1000, message = "每页条数范围为1-1000")
+    private Integer size = 20;
+
+    public enum Filter {
+        STATUS,     // 按状态，主键升序
+        INACTIVE,   // 不活跃身份，从未活跃的在前，其余按最后活跃时间升序
+        HIGH_RISK,  // 低安全级别身份，按安全级别升序
+        RECENT      // 最近创建，按创建时间倒序
+    }
+
+    // 构造方法
+    public IdentityListQueryDTO() {}
+
+    // Getter and Setter methods
+    public Filter getFilter() {
+        return filter;
+    }
+
+    public void setFilter(Filter filter) {
+        this.filter = filter;
+    }
+
+    public CoreIdentity.IdentityStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(CoreIdentity.IdentityStatus status) {
+        this.status = status;
+    }
+
+    public Integer getInactiveDays() {
+        return inactiveDays;
+    }
+
+    public void setInactiveDays(Integer inactiveDays) {
+        this.inactiveDays = inactiveDays;
+    }
+
+    public Integer getMinSecurityLevel() {
+        return minSecurityLevel;
+    }
+
+    public void setMinSecurityLevel(Integer minSecurityLevel) {
+        this.minSecurityLevel = minSecurityLevel;
+    }
+
+    public Integer getHours() {
+        return hours;
+    }
+
+    public void setHours(Integer hours) {
+        this.hours = hours;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+}
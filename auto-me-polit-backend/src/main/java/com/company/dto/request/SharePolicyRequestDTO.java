@@ -0,0 +1,92 @@
+package com.company.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 统一身份认证平台 - 共享策略创建/校验请求DTO
+ */
+public class SharePolicyRequestDTO {
+
+    private String coreIdentityId; // 可选，提供时检查与已有策略的重叠
+
+    @NotBlank(message = "请求方标识不能为空")
+    @Size(max = 255, message = "请求方标识长度不能超过255个字符")
+    private String requesterIdentifier;
+
+    @NotEmpty(message = "共享属性不能为空")
+    private List<String> sharedAttributes;
+
+    private String accessLevel = "READ"; // READ / WRITE / ADMIN
+
+    private Integer duration; // 共享期限（小时）
+
+    private Map<String, Object> constraints;
+
+    // 构造方法
+    public SharePolicyRequestDTO() {}
+
+    // Getter and Setter methods
+    public String getCoreIdentityId() {
+        return coreIdentityId;
+    }
+
+    public void setCoreIdentityId(String coreIdentityId) {
+        this.coreIdentityId = coreIdentityId;
+    }
+
+    public String getRequesterIdentifier() {
+        return requesterIdentifier;
+    }
+
+    public void setRequesterIdentifier(String requesterIdentifier) {
+        this.requesterIdentifier = requesterIdentifier;
+    }
+
+    public List<String> getSharedAttributes() {
+        return sharedAttributes;
+    }
+
+    public void setSharedAttributes(List<String> sharedAttributes) {
+        this.sharedAttributes = sharedAttributes;
+    }
+
+    public String getAccessLevel() {
+        return accessLevel;
+    }
+
+    public void setAccessLevel(String accessLevel) {
+        this.accessLevel = accessLevel;
+    }
+
+    public Integer getDuration() {
+        return duration;
+    }
+
+    public void setDuration(Integer duration) {
+        this.duration = duration;
+    }
+
+    public Map<String, Object> getConstraints() {
+        return constraints;
+    }
+
+    public void setConstraints(Map<String, Object> constraints) {
+        this.constraints = constraints;
+    }
+
+    @Override
+    public String toString() {
+        return "SharePolicyRequestDTO{" +
+                "coreIdentityId='" + coreIdentityId + '\'' +
+                ", requesterIdentifier='" + requesterIdentifier + '\'' +
+                ", sharedAttributes=" + sharedAttributes +
+                ", accessLevel='" + accessLevel + '\'' +
+                ", duration=" + duration +
+                '}';
+    }
+}
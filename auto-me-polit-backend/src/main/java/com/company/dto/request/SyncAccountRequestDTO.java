@@ -0,0 +1,34 @@
+package com.company.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * 统一身份认证平台 - 关联账户同步请求DTO
+ */
+public class SyncAccountRequestDTO {
+
+    @NotBlank(message = "关联账户ID不能为空")
+    private String accountId;
+
+    private Boolean forceSync = false; // 为true时即使账户已禁用也执行同步
+
+    // 构造方法
+    public SyncAccountRequestDTO() {}
+
+    // Getter and Setter methods
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(String accountId) {
+        this.accountId = accountId;
+    }
+
+    public Boolean getForceSync() {
+        return forceSync;
+    }
+
+    public void setForceSync(Boolean forceSync) {
+        this.forceSync = forceSync;
+    }
+}
@@ -0,0 +1,116 @@
+package com.company.dto.response;
+
+import java.util.List;
+
+/**
+ * 统一身份认证平台 - 批量身份创建响应DTO
+ * 按请求顺序返回每一项的创建结果，允许部分失败
+ */
+public class BatchCreateIdentityResponseDTO {
+
+    private Integer total;
+    private Integer succeeded;
+    private Integer failed;
+    private List<ItemResult> results;
+
+    // 构造方法
+    public BatchCreateIdentityResponseDTO() {}
+
+    public BatchCreateIdentityResponseDTO(List<ItemResult> results) {
+        this.results = results;
+        this.total = results.size();
+        this.succeeded = (int) results.stream().filter(ItemResult::getSuccess).count();
+        this.failed = this.total - this.succeeded;
+    }
+
+    // Getter and Setter methods
+    public Integer getTotal() {
+        return total;
+    }
+
+    public void setTotal(Integer total) {
+        this.total = total;
+    }
+
+    public Integer getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(Integer succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public Integer getFailed() {
+        return failed;
+    }
+
+    public void setFailed(Integer failed) {
+        this.failed = failed;
+    }
+
+    public List<ItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<ItemResult> results) {
+        this.results = results;
+    }
+
+    // 单项结果内部类
+    public static class ItemResult {
+        private Integer index;
+        private Boolean success;
+        private CreateIdentityResponseDTO identity;
+        private String error;
+
+        public ItemResult() {}
+
+        public ItemResult(Integer index, Boolean success, CreateIdentityResponseDTO identity, String error) {
+            this.index = index;
+            this.success = success;
+            this.identity = identity;
+            this.error = error;
+        }
+
+        public static ItemResult success(int index, CreateIdentityResponseDTO identity) {
+            return new ItemResult(index, true, identity, null);
+        }
+
+        public static ItemResult failure(int index, String error) {
+            return new ItemResult(index, false, null, error);
+        }
+
+        // Getter and Setter methods
+        public Integer getIndex() {
+            return index;
+        }
+
+        public void setIndex(Integer index) {
+            this.index = index;
+        }
+
+        public Boolean getSuccess() {
+            return success;
+        }
+
+        public void setSuccess(Boolean success) {
+            this.success = success;
+        }
+
+        public CreateIdentityResponseDTO getIdentity() {
+            return identity;
+        }
+
+        public void setIdentity(CreateIdentityResponseDTO identity) {
+            this.identity = identity;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+}
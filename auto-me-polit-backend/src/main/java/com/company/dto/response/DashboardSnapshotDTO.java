@@ -0,0 +1,240 @@
+package com.company.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 统一身份认证平台 - 仪表盘快照DTO
+ * 快照由后台定期重新计算，stale 为 true 表示已超过刷新周期、新快照正在计算中
+ */
+public class DashboardSnapshotDTO {
+
+    private LocalDateTime generatedAt;
+    private long ageSeconds;
+    private boolean stale;
+    private IdentityStats identities;
+    private AccountStats accounts;
+    private PolicyStats policies;
+
+    // 构造方法
+    public DashboardSnapshotDTO() {}
+
+    // Getter and Setter methods
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(LocalDateTime generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+
+    public long getAgeSeconds() {
+        return ageSeconds;
+    }
+
+    public void setAgeSeconds(long ageSeconds) {
+        this.ageSeconds = ageSeconds;
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+
+    public void setStale(boolean stale) {
+        this.stale = stale;
+    }
+
+    public IdentityStats getIdentities() {
+        return identities;
+    }
+
+    public void setIdentities(IdentityStats identities) {
+        this.identities = identities;
+    }
+
+    public AccountStats getAccounts() {
+        return accounts;
+    }
+
+    public void setAccounts(AccountStats accounts) {
+        this.accounts = accounts;
+    }
+
+    public PolicyStats getPolicies() {
+        return policies;
+    }
+
+    public void setPolicies(PolicyStats policies) {
+        this.policies = policies;
+    }
+
+    /**
+     * 身份统计
+     */
+    public static class IdentityStats {
+        private long total;
+        private Map<String, Long> byStatus;
+
+        public long getTotal() {
+            return total;
+        }
+
+        public void setTotal(long total) {
+            this.total = total;
+        }
+
+        public Map<String, Long> getByStatus() {
+            return byStatus;
+        }
+
+        public void setByStatus(Map<String, Long> byStatus) {
+            this.byStatus = byStatus;
+        }
+    }
+
+    /**
+     * 关联账户统计
+     */
+    public static class AccountStats {
+        private long total;
+        private Map<String, Long> bySyncStatus;
+        private Map<String, Long> healthDistribution; // POOR/FAIR/GOOD/EXCELLENT
+        private Map<String, Long> riskDistribution;   // LOW/MEDIUM/HIGH
+
+        public long getTotal() {
+            return total;
+        }
+
+        public void setTotal(long total) {
+            this.total = total;
+        }
+
+        public Map<String, Long> getBySyncStatus() {
+            return bySyncStatus;
+        }
+
+        public void setBySyncStatus(Map<String, Long> bySyncStatus) {
+            this.bySyncStatus = bySyncStatus;
+        }
+
+        public Map<String, Long> getHealthDistribution() {
+            return healthDistribution;
+        }
+
+        public void setHealthDistribution(Map<String, Long> healthDistribution) {
+            this.healthDistribution = healthDistribution;
+        }
+
+        public Map<String, Long> getRiskDistribution() {
+            return riskDistribution;
+        }
+
+        public void setRiskDistribution(Map<String, Long> riskDistribution) {
+            this.riskDistribution = riskDistribution;
+        }
+    }
+
+    /**
+     * 共享策略统计
+     */
+    public static class PolicyStats {
+        private long total;
+        private long active;
+        private long totalUsage;
+        private List<PolicyUsageItem> topUsed;
+
+        public long getTotal() {
+            return total;
+        }
+
+        public void setTotal(long total) {
+            this.total = total;
+        }
+
+        public long getActive() {
+            return active;
+        }
+
+        public void setActive(long active) {
+            this.active = active;
+        }
+
+        public long getTotalUsage() {
+            return totalUsage;
+        }
+
+        public void setTotalUsage(long totalUsage) {
+            this.totalUsage = totalUsage;
+        }
+
+        public List<PolicyUsageItem> getTopUsed() {
+            return topUsed;
+        }
+
+        public void setTopUsed(List<PolicyUsageItem> topUsed) {
+            this.topUsed = topUsed;
+        }
+    }
+
+    /**
+     * 策略使用排行项
+     */
+    public static class PolicyUsageItem {
+        private String policyId;
+        private String requester;
+        private boolean active;
+        private long usageCount;
+        private LocalDateTime lastUsedTime;
+
+        public PolicyUsageItem() {}
+
+        public PolicyUsageItem(String policyId, String requester, boolean active, long usageCount, LocalDateTime lastUsedTime) {
+            this.policyId = policyId;
+            this.requester = requester;
+            this.active = active;
+            this.usageCount = usageCount;
+            this.lastUsedTime = lastUsedTime;
+        }
+
+        public String getPolicyId() {
+            return policyId;
+        }
+
+        public void setPolicyId(String policyId) {
+            this.policyId = policyId;
+        }
+
+        public String getRequester() {
+            return requester;
+        }
+
+        public void setRequester(String requester) {
+            this.requester = requester;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public long getUsageCount() {
+            return usageCount;
+        }
+
+        public void setUsageCount(long usageCount) {
+            this.usageCount = usageCount;
+        }
+
+        public LocalDateTime getLastUsedTime() {
+            return lastUsedTime;
+        }
+
+        public void setLastUsedTime(LocalDateTime lastUsedTime) {
+            this.lastUsedTime = lastUsedTime;
+        }
+    }
+}
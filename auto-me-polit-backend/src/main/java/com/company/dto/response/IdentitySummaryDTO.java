@@ -0,0 +1,83 @@
+package com.company.dto.response;
+
+import com.company.entity.CoreIdentity;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+/**
+ * 统一身份认证平台 - 身份列表摘要DTO
+ * 由JPQL构造表达式直接投影，不加载密钥、元数据等大字段
+ */
+public class IdentitySummaryDTO {
+
+    @JsonIgnore
+    private Long id; // 游标分页使用的主键，不对外暴露
+    private String identityId;
+    private CoreIdentity.IdentityStatus status;
+    private Integer securityLevel;
+    private LocalDateTime creationTime;
+    private LocalDateTime lastActiveTime;
+
+    // 构造方法
+    public IdentitySummaryDTO() {}
+
+    public IdentitySummaryDTO(Long id, String identityId, CoreIdentity.IdentityStatus status, Integer securityLevel,
+                              LocalDateTime creationTime, LocalDateTime lastActiveTime) {
+        this.id = id;
+        this.identityId = identityId;
+        this.status = status;
+        this.securityLevel = securityLevel;
+        this.creationTime = creationTime;
+        this.lastActiveTime = lastActiveTime;
+    }
+
+    // Getter and Setter methods
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getIdentityId() {
+        return identityId;
+    }
+
+    public void setIdentityId(String identityId) {
+        this.identityId = identityId;
+    }
+
+    public CoreIdentity.IdentityStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(CoreIdentity.IdentityStatus status) {
+        this.status = status;
+    }
+
+    public Integer getSecurityLevel() {
+        return securityLevel;
+    }
+
+    public void setSecurityLevel(Integer securityLevel) {
+        this.securityLevel = securityLevel;
+    }
+
+    public LocalDateTime getCreationTime() {
+        return creationTime;
+    }
+
+    public void setCreationTime(LocalDateTime creationTime) {
+        this.creationTime = creationTime;
+    }
+
+    public LocalDateTime getLastActiveTime() {
+        return lastActiveTime;
+    }
+
+    public void setLastActiveTime(LocalDateTime lastActiveTime) {
+        this.lastActiveTime = lastActiveTime;
+    }
+}
@@ -0,0 +1,69 @@
+package com.company.dto.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * 统一身份认证平台 - 共享策略使用统计DTO
+ * 成功次数与最后请求时间为已落库值与内存待写值之和；
+ * 失败次数与平均响应时间仅统计本节点自启动以来的决策
+ */
+public class PolicyUsageDTO {
+
+    private long totalRequests;
+    private long successfulRequests;
+    private long failedRequests;
+    private double averageResponseTime; // 毫秒
+    private LocalDateTime lastRequestAt;
+
+    // 构造方法
+    public PolicyUsageDTO() {}
+
+    public PolicyUsageDTO(long successfulRequests, long failedRequests, double averageResponseTime, LocalDateTime lastRequestAt) {
+        this.totalRequests = successfulRequests + failedRequests;
+        this.successfulRequests = successfulRequests;
+        this.failedRequests = failedRequests;
+        this.averageResponseTime = averageResponseTime;
+        this.lastRequestAt = lastRequestAt;
+    }
+
+    // Getter and Setter methods
+    public long getTotalRequests() {
+        return totalRequests;
+    }
+
+    public void setTotalRequests(long totalRequests) {
+        this.totalRequests = totalRequests;
+    }
+
+    public long getSuccessfulRequests() {
+        return successfulRequests;
+    }
+
+    public void setSuccessfulRequests(long successfulRequests) {
+        this.successfulRequests = successfulRequests;
+    }
+
+    public long getFailedRequests() {
+        return failedRequests;
+    }
+
+    public void setFailedRequests(long failedRequests) {
+        this.failedRequests = failedRequests;
+    }
+
+    public double getAverageResponseTime() {
+        return averageResponseTime;
+    }
+
+    public void setAverageResponseTime(double averageResponseTime) {
+        this.averageResponseTime = averageResponseTime;
+    }
+
+    public LocalDateTime getLastRequestAt() {
+        return lastRequestAt;
+    }
+
+    public void setLastRequestAt(LocalDateTime lastRequestAt) {
+        this.lastRequestAt = lastRequestAt;
+    }
+}
@@ -0,0 +1,53 @@
+package com.company.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 统一身份认证平台 - 共享策略校验结果DTO
+ */
+public class SharePolicyValidationDTO {
+
+    public enum RiskLevel {
+        LOW, MEDIUM, HIGH, CRITICAL
+    }
+
+    private final List<String> errors = new ArrayList<>();
+    private final List<String> warnings = new ArrayList<>();
+    private RiskLevel estimatedRiskLevel = RiskLevel.LOW;
+
+    // 构造方法
+    public SharePolicyValidationDTO() {}
+
+    public void addError(String error) {
+        errors.add(error);
+    }
+
+    public void addWarning(String warning) {
+        warnings.add(warning);
+    }
+
+    // Getter and Setter methods
+    @JsonProperty("isValid")
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public List<String> getWarnings() {
+        return warnings;
+    }
+
+    public RiskLevel getEstimatedRiskLevel() {
+        return estimatedRiskLevel;
+    }
+
+    public void setEstimatedRiskLevel(RiskLevel estimatedRiskLevel) {
+        this.estimatedRiskLevel = estimatedRiskLevel;
+    }
+}
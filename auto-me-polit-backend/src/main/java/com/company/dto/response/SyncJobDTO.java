@@ -0,0 +1,102 @@
+package com.company.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 统一身份认证平台 - 关联账户同步任务DTO
+ */
+public class SyncJobDTO {
+
+    private String jobId;
+    private List<String> platforms;
+    private JobStatus status;
+    private long total;      // 已派发的账户数
+    private long succeeded;
+    private long failed;
+    private long skipped;    // 已有同步在进行中而跳过的账户
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    public enum JobStatus {
+        RUNNING,
+        COMPLETED,
+        CANCELLED
+    }
+
+    // 构造方法
+    public SyncJobDTO() {}
+
+    // Getter and Setter methods
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public List<String> getPlatforms() {
+        return platforms;
+    }
+
+    public void setPlatforms(List<String> platforms) {
+        this.platforms = platforms;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(long succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(long skipped) {
+        this.skipped = skipped;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+}
@@ -1,9 +1,11 @@
 package com.company.entity;
 
+import com.company.util.PublicKeyDigest;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -14,17 +16,22 @@ import java.util.Objects;
  * 实现全球唯一数字身份生成与管理
  */
 @Entity
+@DynamicUpdate // 仅更新变更列，避免覆盖批量写入的last_active_time等字段
 @Table(name = "core_identity", 
        indexes = {
            @Index(name = "idx_identity_id", columnList = "identity_id"),
-           @Index(name = "idx_public_key", columnList = "public_key"),
-           @Index(name = "idx_status", columnList = "status")
+           @Index(name = "idx_public_key_digest", columnList = "public_key_digest"),
+           @Index(name = "idx_status_id", columnList = "status, id"),
+           @Index(name = "idx_last_active_id", columnList = "last_active_time, id"),
+           @Index(name = "idx_security_level_id", columnList = "security_level, id"),
+           @Index(name = "idx_creation_time_id", columnList = "creation_time, id")
        })
 public class CoreIdentity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "core_identity_seq")
+    @SequenceGenerator(name = "core_identity_seq", sequenceName = "core_identity_seq", allocationSize = 100)
+    private Long id; // 池化序列分配主键，支持JDBC批量插入
 
     @NotNull
     @Size(min = 19, max = 25)
@@ -35,6 +42,9 @@ public class CoreIdentity {
     @Column(name = "public_key", nullable = false)
     private String publicKey;
 
+    @Column(name = "public_key_digest", columnDefinition = "binary(32)")
+    private byte[] publicKeyDigest; // 公钥SHA-256摘要，随公钥一同设置；按公钥查找走该列索引
+
     @Column(name = "private_key_encrypted")
     private String privateKeyEncrypted; // 加密存储的私钥
 
@@ -70,6 +80,10 @@ public class CoreIdentity {
     @Column(name = "metadata", columnDefinition = "json")
     private String metadata; // 扩展元数据
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version; // 乐观锁版本号（新建时为空，持久化时由Hibernate初始化）
+
     public enum IdentityStatus {
         ACTIVE,      // 活跃
         DORMANT,     // 休眠
@@ -84,6 +98,7 @@ public class CoreIdentity {
     public CoreIdentity(String identityId, String publicKey, Integer securityLevel) {
         this.identityId = identityId;
         this.publicKey = publicKey;
+        this.publicKeyDigest = PublicKeyDigest.of(publicKey);
         this.securityLevel = securityLevel;
     }
 
@@ -110,6 +125,15 @@ public class CoreIdentity {
 
     public void setPublicKey(String publicKey) {
         this.publicKey = publicKey;
+        this.publicKeyDigest = PublicKeyDigest.of(publicKey);
+    }
+
+    public byte[] getPublicKeyDigest() {
+        return publicKeyDigest;
+    }
+
+    public void setPublicKeyDigest(byte[] publicKeyDigest) {
+        this.publicKeyDigest = publicKeyDigest;
     }
 
     public String getPrivateKeyEncrypted() {
@@ -192,6 +216,14 @@ public class CoreIdentity {
         this.metadata = metadata;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
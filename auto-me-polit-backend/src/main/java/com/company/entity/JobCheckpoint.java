@@ -0,0 +1,196 @@
+package com.company.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * 统一身份认证平台 - 后台任务检查点实体
+ * 记录按主键区间推进的后台任务进度，进程中断后可从水位线继续；
+ * 同时作为多节点间的任务租约（持有者 + 心跳时间，并发领取由版本号保证互斥）
+ */
+@Entity
+@Table(name = "job_checkpoint")
+public class JobCheckpoint {
+
+    @Id
+    @Size(max = 64)
+    @Column(name = "job_name", nullable = false, length = 64)
+    private String jobName;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private JobStatus status = JobStatus.COMPLETED;
+
+    @Size(max = 64)
+    @Column(name = "run_id", length = 64)
+    private String runId; // 本轮任务ID
+
+    @Size(max = 128)
+    @Column(name = "owner", length = 128)
+    private String owner; // 持有租约的节点
+
+    @Column(name = "watermark")
+    private Long watermark; // 小于该主键的区间均已处理完成
+
+    @Column(name = "range_end")
+    private Long rangeEnd; // 本轮处理的主键上界（不含）
+
+    @Column(name = "threshold_time")
+    private LocalDateTime thresholdTime; // 本轮使用的时间阈值，续跑时保持不变
+
+    @Column(name = "processed_rows")
+    private Long processedRows = 0L; // 本轮已更新的行数
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    public enum JobStatus {
+        RUNNING,     // 运行中（或运行中被中断，等待续跑）
+        COMPLETED    // 已完成
+    }
+
+    // 构造函数
+    public JobCheckpoint() {}
+
+    public JobCheckpoint(String jobName) {
+        this.jobName = jobName;
+    }
+
+    // Getter and Setter methods
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public Long getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(Long watermark) {
+        this.watermark = watermark;
+    }
+
+    public Long getRangeEnd() {
+        return rangeEnd;
+    }
+
+    public void setRangeEnd(Long rangeEnd) {
+        this.rangeEnd = rangeEnd;
+    }
+
+    public LocalDateTime getThresholdTime() {
+        return thresholdTime;
+    }
+
+    public void setThresholdTime(LocalDateTime thresholdTime) {
+        this.thresholdTime = thresholdTime;
+    }
+
+    public Long getProcessedRows() {
+        return processedRows;
+    }
+
+    public void setProcessedRows(Long processedRows) {
+        this.processedRows = processedRows;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        JobCheckpoint that = (JobCheckpoint) o;
+        return Objects.equals(jobName, that.jobName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(jobName);
+    }
+
+    @Override
+    public String toString() {
+        return "JobCheckpoint{" +
+                "jobName='" + jobName + '\'' +
+                ", status=" + status +
+                ", runId='" + runId + '\'' +
+                ", owner='" + owner + '\'' +
+                ", watermark=" + watermark +
+                ", rangeEnd=" + rangeEnd +
+                ", processedRows=" + processedRows +
+                '}';
+    }
+}
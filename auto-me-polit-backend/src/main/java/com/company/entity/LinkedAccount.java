@@ -64,6 +64,18 @@ public class LinkedAccount {
     @Column(name = "last_sync_time")
     private LocalDateTime lastSyncTime;
 
+    @Size(max = 500)
+    @Column(name = "sync_error", length = 500)
+    private String syncError; // 最近一次同步失败原因
+
+    @Size(max = 255)
+    @Column(name = "sync_cursor", length = 255)
+    private String syncCursor; // 平台增量游标（ETag或最后修改时间）
+
+    @Size(max = 64)
+    @Column(name = "profile_hashes", length = 64)
+    private String profileHashes; // 资料字段摘要，用于计算增量
+
     @Column(name = "account_health")
     private Integer accountHealth = 100; // 账户健康度 0-100
 
@@ -188,6 +200,30 @@ public class LinkedAccount {
         this.lastSyncTime = lastSyncTime;
     }
 
+    public String getSyncError() {
+        return syncError;
+    }
+
+    public void setSyncError(String syncError) {
+        this.syncError = syncError;
+    }
+
+    public String getSyncCursor() {
+        return syncCursor;
+    }
+
+    public void setSyncCursor(String syncCursor) {
+        this.syncCursor = syncCursor;
+    }
+
+    public String getProfileHashes() {
+        return profileHashes;
+    }
+
+    public void setProfileHashes(String profileHashes) {
+        this.profileHashes = profileHashes;
+    }
+
     public Integer getAccountHealth() {
         return accountHealth;
     }
@@ -1,5 +1,6 @@
 package com.company.entity;
 
+import com.company.entity.listener.SharePolicyEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -13,6 +14,7 @@ import java.util.Objects;
  * 管理身份属性共享的策略规则
  */
 @Entity
+@EntityListeners(SharePolicyEntityListener.class)
 @Table(name = "share_policy",
        indexes = {
            @Index(name = "idx_policy_identity", columnList = "identity_id"),
@@ -0,0 +1,33 @@
+package com.company.entity.listener;
+
+import com.company.entity.SharePolicy;
+import com.company.service.PolicyDecisionService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * 统一身份认证平台 - 共享策略实体监听器
+ * 将策略的增删改同步到决策索引（由Hibernate通过Spring容器实例化）
+ */
+public class SharePolicyEntityListener {
+
+    // 延迟获取，避免EntityManagerFactory初始化时产生循环依赖
+    private final ObjectProvider<PolicyDecisionService> policyDecisionService;
+
+    public SharePolicyEntityListener(ObjectProvider<PolicyDecisionService> policyDecisionService) {
+        this.policyDecisionService = policyDecisionService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(SharePolicy policy) {
+        policyDecisionService.ifAvailable(service -> service.onPolicyChanged(policy));
+    }
+
+    @PostRemove
+    public void onRemoved(SharePolicy policy) {
+        policyDecisionService.ifAvailable(service -> service.onPolicyRemoved(policy.getPolicyId()));
+    }
+}
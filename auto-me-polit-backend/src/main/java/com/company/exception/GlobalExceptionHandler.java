@@ -4,6 +4,7 @@ import com.company.util.ApiResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -13,10 +14,13 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * 统一身份认证平台 - 全局异常处理器
@@ -27,6 +31,8 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+
     /**
      * 处理参数验证异常
      */
@@ -144,6 +150,44 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getCode(), ex.getMessage()));
     }
 
+    /**
+     * 处理执行器饱和：请求执行器队列已满时立即拒绝，客户端可按Retry-After重试
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ApiResponse<Void>> handleRejectedExecutionException(
+            RejectedExecutionException ex, HttpServletRequest request) {
+
+        String requestId = generateRequestId(request);
+        logger.warn("服务繁忙 - RequestId: {}, Path: {}, Error: {}",
+                   requestId, request.getRequestURI(), ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(503, "服务繁忙，请稍后重试"));
+    }
+
+    /**
+     * 处理异步请求超时：超时只结束响应，后台任务仍可能完成。
+     * 幂等请求提示按Retry-After重试；非幂等请求（如创建身份的POST）不带Retry-After，
+     * 避免客户端在原请求已提交时重复执行
+     */
+    @ExceptionHandler(AsyncRequestTimeoutException.class)
+    public ResponseEntity<ApiResponse<Void>> handleAsyncRequestTimeoutException(
+            AsyncRequestTimeoutException ex, HttpServletRequest request) {
+
+        String requestId = generateRequestId(request);
+        logger.warn("请求处理超时 - RequestId: {}, Method: {}, Path: {}",
+                   requestId, request.getMethod(), request.getRequestURI());
+
+        if (!IDEMPOTENT_METHODS.contains(request.getMethod())) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error(503, "请求处理超时，操作可能仍在执行，请先查询结果再决定是否重试"));
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(503, "请求处理超时，请稍后重试"));
+    }
+
     /**
      * 处理系统异常
      */
@@ -0,0 +1,46 @@
+package com.company.metrics;
+
+import com.company.service.impl.AccountSyncDeltaCounter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 统一身份认证平台 - 关联账户增量同步指标
+ * 按平台导出相对全量同步节省的行数与字节数
+ */
+@Component
+@ConditionalOnProperty(prefix = "auto-me-polit.monitoring.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AccountSyncMetricsBinder implements MeterBinder {
+
+    private final AccountSyncDeltaCounter deltaCounter;
+
+    public AccountSyncMetricsBinder(AccountSyncDeltaCounter deltaCounter) {
+        this.deltaCounter = deltaCounter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String platform : deltaCounter.getPlatforms()) {
+            FunctionCounter.builder("account.sync.rows", deltaCounter, counter -> counter.getRowsSaved(platform))
+                .tags("platform", platform, "result", "saved")
+                .description("资料未变化而免于重写的行数")
+                .register(registry);
+            FunctionCounter.builder("account.sync.rows", deltaCounter, counter -> counter.getRowsChanged(platform))
+                .tags("platform", platform, "result", "changed")
+                .register(registry);
+            FunctionCounter.builder("account.sync.bytes_saved", deltaCounter, counter -> counter.getTransferBytesSaved(platform))
+                .tags("platform", platform, "kind", "transfer")
+                .description("304响应节省的下载字节数（按平均完整响应估算）")
+                .baseUnit("bytes")
+                .register(registry);
+            FunctionCounter.builder("account.sync.bytes_saved", deltaCounter, counter -> counter.getColumnBytesSaved(platform))
+                .tags("platform", platform, "kind", "column")
+                .description("未变化而免于写入的资料列字节数")
+                .baseUnit("bytes")
+                .register(registry);
+        }
+    }
+}
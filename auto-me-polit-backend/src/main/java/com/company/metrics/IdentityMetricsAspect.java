@@ -0,0 +1,98 @@
+package com.company.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * 统一身份认证平台 - 身份服务与接口计时切面
+ * 为 CoreIdentityService 的每个方法记录 identity.service 计时器，
+ * 为 CoreIdentityController 的每个接口记录 identity.api 计时器，均按结果（outcome）打标签
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "auto-me-polit.monitoring.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdentityMetricsAspect {
+
+    private static final String SERVICE_TIMER = "identity.service";
+    private static final String API_TIMER = "identity.api";
+
+    private final MeterRegistry meterRegistry;
+
+    public IdentityMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.company.service.CoreIdentityService+.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, joinPoint);
+    }
+
+    @Around("execution(public * com.company.controller.CoreIdentityController.*(..))")
+    public Object timeApi(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(API_TIMER, joinPoint);
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            stop(sample, name, method, "error", e);
+            throw e;
+        }
+
+        if (result instanceof CompletionStage<?> stage) {
+            // 异步返回值在完成时计时，避免只统计到提交任务的耗时
+            stage.whenComplete((value, error) ->
+                stop(sample, name, method, error != null ? "error" : outcomeOf(value), error));
+        } else {
+            stop(sample, name, method, outcomeOf(result), null);
+        }
+        return result;
+    }
+
+    private void stop(Timer.Sample sample, String name, String method, String outcome, Throwable error) {
+        sample.stop(Timer.builder(name)
+            .tag("method", method)
+            .tag("outcome", outcome)
+            .tag("exception", error == null ? "none" : unwrap(error).getClass().getSimpleName())
+            .register(meterRegistry));
+    }
+
+    /**
+     * 接口按HTTP状态分类，服务方法正常返回即为成功
+     */
+    private static String outcomeOf(Object result) {
+        if (result instanceof ResponseEntity<?> response) {
+            int status = response.getStatusCode().value();
+            if (status >= 500) {
+                return "server_error";
+            }
+            if (status >= 400) {
+                return "client_error";
+            }
+            // 207表示批量请求部分失败
+            return status == 207 ? "partial" : "success";
+        }
+        return "success";
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable current = error;
+        while (current instanceof CompletionException && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+}
@@ -0,0 +1,150 @@
+package com.company.metrics;
+
+import com.company.cache.IdentityCache;
+import com.company.cache.IdentityIdFilter;
+import com.company.config.BulkheadExecutor;
+import com.company.entity.CoreIdentity;
+import com.company.service.impl.HybridKeyPairPool;
+import com.company.service.impl.IdentityStatusCounter;
+import com.company.service.impl.LastActiveTimeCoalescer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 统一身份认证平台 - 身份组件指标
+ * 导出两级缓存命中率、身份ID过滤器判定数、密钥池库存、活跃时间写回缓冲区状态、各状态身份数量与请求执行器的排队/拒绝数；
+ * 连接池（hikaricp.*）与Redis客户端延迟（lettuce.*）指标由Actuator自动配置提供
+ */
+@Component
+@ConditionalOnProperty(prefix = "auto-me-polit.monitoring.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdentityMetricsBinder implements MeterBinder {
+
+    private final IdentityCache identityCache;
+    private final IdentityIdFilter identityIdFilter;
+    private final HybridKeyPairPool hybridKeyPairPool;
+    private final LastActiveTimeCoalescer lastActiveTimeCoalescer;
+    private final IdentityStatusCounter identityStatusCounter;
+    private final BulkheadExecutor cryptoExecutor;
+    private final BulkheadExecutor dbExecutor;
+
+    public IdentityMetricsBinder(IdentityCache identityCache,
+                                 IdentityIdFilter identityIdFilter,
+                                 HybridKeyPairPool hybridKeyPairPool,
+                                 LastActiveTimeCoalescer lastActiveTimeCoalescer,
+                                 IdentityStatusCounter identityStatusCounter,
+                                 @Qualifier("identityCryptoExecutor") BulkheadExecutor cryptoExecutor,
+                                 @Qualifier("identityDbExecutor") BulkheadExecutor dbExecutor) {
+        this.identityCache = identityCache;
+        this.identityIdFilter = identityIdFilter;
+        this.hybridKeyPairPool = hybridKeyPairPool;
+        this.lastActiveTimeCoalescer = lastActiveTimeCoalescer;
+        this.identityStatusCounter = identityStatusCounter;
+        this.cryptoExecutor = cryptoExecutor;
+        this.dbExecutor = dbExecutor;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // 身份缓存
+        Gauge.builder("identity.cache.size", identityCache, IdentityCache::getLocalSize)
+            .tag("tier", "local")
+            .register(registry);
+        FunctionCounter.builder("identity.cache.gets", identityCache, cache -> cache.getLocalStats().hitCount())
+            .tags("tier", "local", "result", "hit")
+            .register(registry);
+        FunctionCounter.builder("identity.cache.gets", identityCache, cache -> cache.getLocalStats().missCount())
+            .tags("tier", "local", "result", "miss")
+            .register(registry);
+        FunctionCounter.builder("identity.cache.evictions", identityCache, cache -> cache.getLocalStats().evictionCount())
+            .tag("tier", "local")
+            .register(registry);
+        FunctionCounter.builder("identity.cache.gets", identityCache, IdentityCache::getRedisHits)
+            .tags("tier", "redis", "result", "hit")
+            .register(registry);
+        FunctionCounter.builder("identity.cache.gets", identityCache, IdentityCache::getRedisMisses)
+            .tags("tier", "redis", "result", "miss")
+            .register(registry);
+        FunctionCounter.builder("identity.cache.errors", identityCache, IdentityCache::getRedisErrors)
+            .tag("tier", "redis")
+            .register(registry);
+        FunctionCounter.builder("identity.cache.invalidations", identityCache, IdentityCache::getInvalidations)
+            .register(registry);
+        FunctionCounter.builder("identity.cache.loads", identityCache, IdentityCache::getLoads)
+            .tag("result", "loaded")
+            .register(registry);
+        FunctionCounter.builder("identity.cache.loads", identityCache, IdentityCache::getCoalescedLoads)
+            .tag("result", "coalesced")
+            .description("等待并共享其他线程进行中加载结果的未命中次数")
+            .register(registry);
+        FunctionCounter.builder("identity.cache.loads", identityCache, IdentityCache::getLoadTimeouts)
+            .tag("result", "timeout")
+            .register(registry);
+        Gauge.builder("identity.cache.loads.in_flight", identityCache, IdentityCache::getLoadsInFlight)
+            .register(registry);
+
+        // 身份ID过滤器
+        Gauge.builder("identity.id_filter.ready", identityIdFilter, filter -> filter.isReady() ? 1 : 0)
+            .register(registry);
+        FunctionCounter.builder("identity.id_filter.checks", identityIdFilter,
+                filter -> filter.getChecks() - filter.getNegatives())
+            .tag("result", "maybe")
+            .register(registry);
+        FunctionCounter.builder("identity.id_filter.checks", identityIdFilter, IdentityIdFilter::getNegatives)
+            .tag("result", "absent")
+            .description("判定为不存在、未访问缓存与数据库的查询次数")
+            .register(registry);
+        FunctionCounter.builder("identity.id_filter.insertions", identityIdFilter, IdentityIdFilter::getInsertions)
+            .register(registry);
+
+        // 密钥对预生成池
+        Gauge.builder("identity.keypool.depth", hybridKeyPairPool, HybridKeyPairPool::getDepth)
+            .register(registry);
+        FunctionCounter.builder("identity.keypool.generated", hybridKeyPairPool, HybridKeyPairPool::getGeneratedCount)
+            .register(registry);
+        FunctionCounter.builder("identity.keypool.fallbacks", hybridKeyPairPool, HybridKeyPairPool::getFallbackCount)
+            .description("池为空时同步生成密钥对的次数")
+            .register(registry);
+
+        // 最后活跃时间写回缓冲区
+        Gauge.builder("identity.last_active.pending", lastActiveTimeCoalescer, LastActiveTimeCoalescer::getPendingCount)
+            .register(registry);
+        FunctionCounter.builder("identity.last_active.recorded", lastActiveTimeCoalescer, LastActiveTimeCoalescer::getRecordedCount)
+            .register(registry);
+        FunctionCounter.builder("identity.last_active.flushed_rows", lastActiveTimeCoalescer, LastActiveTimeCoalescer::getFlushedRows)
+            .register(registry);
+        FunctionCounter.builder("identity.last_active.flush_failures", lastActiveTimeCoalescer, LastActiveTimeCoalescer::getFlushFailures)
+            .register(registry);
+
+        // 各状态身份数量（进程内计数，不访问Redis与数据库）
+        for (CoreIdentity.IdentityStatus status : CoreIdentity.IdentityStatus.values()) {
+            Gauge.builder("identity.status.count", identityStatusCounter, counter -> counter.getLocalCount(status))
+                .tag("status", status.name())
+                .register(registry);
+        }
+
+        // 请求执行器（隔离舱）
+        bindExecutor(registry, cryptoExecutor);
+        bindExecutor(registry, dbExecutor);
+    }
+
+    private static void bindExecutor(MeterRegistry registry, BulkheadExecutor executor) {
+        Gauge.builder("identity.executor.active", executor, BulkheadExecutor::getActiveCount)
+            .tag("pool", executor.getName())
+            .register(registry);
+        Gauge.builder("identity.executor.queued", executor, BulkheadExecutor::getQueueDepth)
+            .tag("pool", executor.getName())
+            .register(registry);
+        FunctionCounter.builder("identity.executor.completed", executor, BulkheadExecutor::getCompletedTaskCount)
+            .tag("pool", executor.getName())
+            .register(registry);
+        FunctionCounter.builder("identity.executor.rejected", executor, BulkheadExecutor::getRejectedCount)
+            .tag("pool", executor.getName())
+            .description("执行器饱和时以503拒绝的请求数")
+            .register(registry);
+    }
+}
@@ -1,45 +1,90 @@
 package com.company.repository;
 
+import com.company.dto.response.IdentitySummaryDTO;
 import com.company.entity.CoreIdentity;
+import com.company.util.PublicKeyDigest;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 统一身份认证平台 - 核心身份数据访问层
  */
 @Repository
-public interface CoreIdentityRepository extends JpaRepository<CoreIdentity, Long> {
+public interface CoreIdentityRepository extends JpaRepository<CoreIdentity, Long>, CoreIdentityRepositoryCustom {
 
     /**
-     * 根据身份ID查找核心身份
+     * 根据身份ID查找核心身份（只读，不加锁）
      * 
      * @param identityId 身份ID
      * @return 核心身份实体
      */
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT ci FROM CoreIdentity ci WHERE ci.identityId = :identityId")
     Optional<CoreIdentity> findByIdentityId(@Param("identityId") String identityId);
 
+    /**
+     * 根据身份ID加载待修改的核心身份
+     * 使用乐观锁，提交时校验版本号，并发修改由调用方重试
+     * 
+     * @param identityId 身份ID
+     * @return 核心身份实体
+     */
+    @Lock(LockModeType.OPTIMISTIC)
+    @Query("SELECT ci FROM CoreIdentity ci WHERE ci.identityId = :identityId")
+    Optional<CoreIdentity> findByIdentityIdForUpdate(@Param("identityId") String identityId);
+
     /**
      * 根据公钥查找核心身份
+     * 先按定长摘要索引定位，再比对完整公钥排除摘要碰撞；只读查询，不加锁。
+     * 摘要未命中时再查摘要为空的存量行：回填完成前（或滚动升级期间旧版本节点仍在写入时）这些行只能按公钥匹配，
+     * 回填完成后摘要为空的索引区间为空，该查询只是一次空的索引探测
      * 
      * @param publicKey 公钥
      * @return 核心身份实体
      */
-    @Lock(LockModeType.PESSIMISTIC_READ)
-    @Query("SELECT ci FROM CoreIdentity ci WHERE ci.publicKey = :publicKey")
-    Optional<CoreIdentity> findByPublicKey(@Param("publicKey") String publicKey);
+    default Optional<CoreIdentity> findByPublicKey(String publicKey) {
+        if (publicKey == null) {
+            return Optional.empty();
+        }
+        Optional<CoreIdentity> identity = findByPublicKeyDigest(PublicKeyDigest.of(publicKey)).stream()
+            .filter(candidate -> publicKey.equals(candidate.getPublicKey()))
+            .findFirst();
+        return identity.isPresent() ? identity : findUndigestedByPublicKey(publicKey);
+    }
+
+    /**
+     * 根据公钥摘要查找核心身份
+     * 
+     * @param publicKeyDigest 公钥SHA-256摘要
+     * @return 摘要相同的核心身份（正常情况下至多一个）
+     */
+    @Query("SELECT ci FROM CoreIdentity ci WHERE ci.publicKeyDigest = :publicKeyDigest")
+    List<CoreIdentity> findByPublicKeyDigest(@Param("publicKeyDigest") byte[] publicKeyDigest);
+
+    /**
+     * 在尚未回填摘要的身份中按完整公钥查找（经摘要索引的空值区间定位）
+     * 
+     * @param publicKey 公钥
+     * @return 核心身份实体
+     */
+    @Query("SELECT ci FROM CoreIdentity ci WHERE ci.publicKeyDigest IS NULL AND ci.publicKey = :publicKey")
+    Optional<CoreIdentity> findUndigestedByPublicKey(@Param("publicKey") String publicKey);
 
     /**
      * 根据状态查找核心身份
+     * 返回全部结果，仅适用于小数据量；列表展示请使用游标分页的 findSummariesByStatus
      * 
      * @param status 身份状态
      * @return 核心身份列表
@@ -49,6 +94,8 @@ public interface CoreIdentityRepository extends JpaRepository<CoreIdentity, Long
 
     /**
      * 查找需要更新的身份（最后活跃时间超过阈值）
+     * 返回全部结果，仅适用于小数据量；列表展示请使用游标分页的 findNeverActiveSummaries / findInactiveSummaries，
+     * 批量标记休眠请使用按主键区间执行的 findDormancyCandidates / markDormant
      * 
      * @param thresholdTime 阈值时间
      * @return 需要更新的身份列表
@@ -56,8 +103,17 @@ public interface CoreIdentityRepository extends JpaRepository<CoreIdentity, Long
     @Query("SELECT ci FROM CoreIdentity ci WHERE ci.lastActiveTime < :thresholdTime OR ci.lastActiveTime IS NULL")
     List<CoreIdentity> findInactiveIdentities(@Param("thresholdTime") LocalDateTime thresholdTime);
 
+    /**
+     * 查询主键的最小值与最大值，用于划分按区间处理的后台任务
+     * 
+     * @return [最小主键, 最大主键]，表为空时均为null
+     */
+    @Query("SELECT MIN(ci.id), MAX(ci.id) FROM CoreIdentity ci")
+    List<Object[]> findIdBounds();
+
     /**
      * 查找高风险身份（安全级别低于阈值或风险评分高）
+     * 返回全部结果，仅适用于小数据量；列表展示请使用游标分页的 findHighRiskSummaries
      * 
      * @param minSecurityLevel 最小安全级别
      * @return 高风险身份列表
@@ -67,6 +123,7 @@ public interface CoreIdentityRepository extends JpaRepository<CoreIdentity, Long
 
     /**
      * 统计各状态的身份数量
+     * 需扫描全表（状态索引），仅供计数对账使用；读取请使用增量维护的 IdentityStatusCounter
      * 
      * @return 各状态数量统计
      */
@@ -75,6 +132,7 @@ public interface CoreIdentityRepository extends JpaRepository<CoreIdentity, Long
 
     /**
      * 查找最近创建的身份
+     * 返回全部结果，仅适用于小数据量；列表展示请使用游标分页的 findRecentlyCreatedSummaries
      * 
      * @param hoursAgo 几小时前
      * @return 最近创建的身份列表
@@ -82,6 +140,125 @@ public interface CoreIdentityRepository extends JpaRepository<CoreIdentity, Long
     @Query("SELECT ci FROM CoreIdentity ci WHERE ci.creationTime >= :startTime ORDER BY ci.creationTime DESC")
     List<CoreIdentity> findRecentlyCreated(@Param("startTime") LocalDateTime startTime);
 
+    String SUMMARY_SELECT = "SELECT new com.company.dto.response.IdentitySummaryDTO(" +
+        "ci.id, ci.identityId, ci.status, ci.securityLevel, ci.creationTime, ci.lastActiveTime) FROM CoreIdentity ci ";
+
+    /**
+     * 按状态游标分页查询身份摘要（索引 status, id）
+     *
+     * @param status 身份状态
+     * @param afterId 上一页最后一条的主键，首页传0
+     * @param pageable 分页（仅使用页大小）
+     * @return 身份摘要列表
+     */
+    @Query(SUMMARY_SELECT + "WHERE ci.status = :status AND ci.id > :afterId ORDER BY ci.id")
+    List<IdentitySummaryDTO> findSummariesByStatus(@Param("status") CoreIdentity.IdentityStatus status,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+
+    /**
+     * 游标分页查询从未活跃的身份摘要（索引 last_active_time, id）
+     *
+     * @param afterId 上一页最后一条的主键，首页传0
+     * @param pageable 分页（仅使用页大小）
+     * @return 身份摘要列表
+     */
+    @Query(SUMMARY_SELECT + "WHERE ci.lastActiveTime IS NULL AND ci.id > :afterId ORDER BY ci.id")
+    List<IdentitySummaryDTO> findNeverActiveSummaries(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 游标分页查询最后活跃时间早于阈值的身份摘要（索引 last_active_time, id）
+     *
+     * @param thresholdTime 阈值时间
+     * @param afterTime 上一页最后一条的活跃时间
+     * @param afterId 上一页最后一条的主键
+     * @param pageable 分页（仅使用页大小）
+     * @return 身份摘要列表
+     */
+    @Query(SUMMARY_SELECT + "WHERE ci.lastActiveTime < :thresholdTime AND ci.lastActiveTime >= :afterTime " +
+           "AND (ci.lastActiveTime > :afterTime OR ci.id > :afterId) ORDER BY ci.lastActiveTime, ci.id")
+    List<IdentitySummaryDTO> findInactiveSummaries(@Param("thresholdTime") LocalDateTime thresholdTime,
+                                                   @Param("afterTime") LocalDateTime afterTime,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+
+    /**
+     * 游标分页查询低安全级别身份摘要（索引 security_level, id）
+     *
+     * @param minSecurityLevel 最小安全级别
+     * @param afterLevel 上一页最后一条的安全级别
+     * @param afterId 上一页最后一条的主键
+     * @param pageable 分页（仅使用页大小）
+     * @return 身份摘要列表
+     */
+    @Query(SUMMARY_SELECT + "WHERE ci.securityLevel < :minSecurityLevel AND ci.securityLevel >= :afterLevel " +
+           "AND (ci.securityLevel > :afterLevel OR ci.id > :afterId) ORDER BY ci.securityLevel, ci.id")
+    List<IdentitySummaryDTO> findHighRiskSummaries(@Param("minSecurityLevel") Integer minSecurityLevel,
+                                                   @Param("afterLevel") Integer afterLevel,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+
+    /**
+     * 游标分页查询最近创建的身份摘要，按创建时间倒序（索引 creation_time, id）
+     *
+     * @param startTime 起始时间
+     * @param beforeTime 上一页最后一条的创建时间
+     * @param beforeId 上一页最后一条的主键
+     * @param pageable 分页（仅使用页大小）
+     * @return 身份摘要列表
+     */
+    @Query(SUMMARY_SELECT + "WHERE ci.creationTime >= :startTime AND ci.creationTime <= :beforeTime " +
+           "AND (ci.creationTime < :beforeTime OR ci.id < :beforeId) ORDER BY ci.creationTime DESC, ci.id DESC")
+    List<IdentitySummaryDTO> findRecentlyCreatedSummaries(@Param("startTime") LocalDateTime startTime,
+                                                          @Param("beforeTime") LocalDateTime beforeTime,
+                                                          @Param("beforeId") Long beforeId,
+                                                          Pageable pageable);
+
+    /**
+     * 流式读取待导出的身份，按主键顺序；每次从数据库取固定条数，结果集不整体加载
+     * 必须在只读事务中调用并关闭返回的流，调用方应逐条 detach 已处理的实体
+     *
+     * @param status 身份状态，为null时不限
+     * @param from 创建时间下限（含）
+     * @param to 创建时间上限（不含）
+     * @return 身份流
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT ci FROM CoreIdentity ci WHERE (:status IS NULL OR ci.status = :status) " +
+           "AND ci.creationTime >= :from AND ci.creationTime < :to ORDER BY ci.id")
+    Stream<CoreIdentity> streamForExport(@Param("status") CoreIdentity.IdentityStatus status,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to);
+
+    /**
+     * 流式读取全部身份ID（构建身份ID过滤器用，需在只读事务中消费并关闭）
+     *
+     * @return 身份ID流
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT ci.identityId FROM CoreIdentity ci")
+    Stream<String> streamAllIdentityIds();
+
+    /**
+     * 流式读取指定时间之后创建的身份ID（身份ID过滤器增量同步用）
+     *
+     * @param since 创建时间下限（含）
+     * @return 身份ID流
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT ci.identityId FROM CoreIdentity ci WHERE ci.creationTime >= :since")
+    Stream<String> streamIdentityIdsCreatedSince(@Param("since") LocalDateTime since);
+
     /**
      * 验证身份ID是否存在
      * 
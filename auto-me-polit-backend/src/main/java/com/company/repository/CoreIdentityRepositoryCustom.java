@@ -0,0 +1,78 @@
+package com.company.repository;
+
+import com.company.entity.CoreIdentity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 统一身份认证平台 - 核心身份自定义数据访问接口
+ * 基于JDBC实现的批量/局部更新，绕过JPA实体的整行读写
+ */
+public interface CoreIdentityRepositoryCustom {
+
+    /**
+     * 批量更新最后活跃时间（仅当新时间晚于库中时间时生效）
+     * 
+     * @param lastActiveTimes 身份ID到最后活跃时间的映射
+     * @return 实际更新的行数
+     */
+    int batchUpdateLastActiveTime(Map<String, LocalDateTime> lastActiveTimes);
+
+    /**
+     * 在数据库内按键局部更新元数据JSON（MySQL使用JSON_SET，SQLite使用json_set）
+     * 
+     * @param identityId 身份ID
+     * @param entries 需要写入的元数据键值
+     * @return 实际更新的行数（0表示身份不存在）
+     */
+    int patchMetadata(String identityId, Map<String, Object> entries);
+
+    /**
+     * 以条件UPDATE（WHERE status = 原状态）同时修改身份状态并局部更新元数据JSON，
+     * 命中的条件即变更前的状态，无需先行锁定读取。先按预期原状态尝试，通常一条UPDATE完成
+     * 
+     * @param identityId 身份ID
+     * @param expectedPrevious 预期的原状态（最先尝试）
+     * @param status 新状态
+     * @param entries 需要写入的元数据键值
+     * @return 变更前的状态（身份不存在时为空）
+     */
+    Optional<CoreIdentity.IdentityStatus> transitionStatusWithMetadata(String identityId,
+                                                                     CoreIdentity.IdentityStatus expectedPrevious,
+                                                                     CoreIdentity.IdentityStatus status,
+                                                                     Map<String, Object> entries);
+
+    /**
+     * 查询主键区间内将被标记为休眠的身份ID（状态为ACTIVE且最后活跃时间早于阈值或为空）
+     * 
+     * @param fromId 主键下界（含）
+     * @param toId 主键上界（不含）
+     * @param thresholdTime 阈值时间
+     * @return 身份ID列表
+     */
+    List<String> findDormancyCandidates(long fromId, long toId, LocalDateTime thresholdTime);
+
+    /**
+     * 将主键区间内已查出的候选身份标记为休眠，同时递增版本号，使并发的实体修改因乐观锁冲突而重新读取。
+     * 只更新传入的身份ID且仍满足休眠条件的行：查询之后才变为不活跃的身份留给下一轮，
+     * 从而保证被更新的行都在调用方清理缓存的范围内
+     * 
+     * @param fromId 主键下界（含）
+     * @param toId 主键上界（不含）
+     * @param thresholdTime 阈值时间
+     * @param identityIds 由 findDormancyCandidates 查出的身份ID
+     * @return 实际更新的行数
+     */
+    int markDormant(long fromId, long toId, LocalDateTime thresholdTime, List<String> identityIds);
+
+    /**
+     * 为尚无公钥摘要的身份回填摘要（按主键顺序处理一批），仅写入仍为空的行，多节点并发执行无副作用
+     * 
+     * @param limit 本批最多处理的行数
+     * @return 本批读取到的待回填行数（小于limit表示已全部回填）
+     */
+    int backfillPublicKeyDigests(int limit);
+}
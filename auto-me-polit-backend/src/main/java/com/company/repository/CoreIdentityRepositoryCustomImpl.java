@@ -0,0 +1,283 @@
+package com.company.repository;
+
+import com.company.entity.CoreIdentity;
+import com.company.util.PublicKeyDigest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 统一身份认证平台 - 核心身份自定义数据访问实现
+ */
+public class CoreIdentityRepositoryCustomImpl implements CoreIdentityRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int GENERIC_PATCH_MAX_ATTEMPTS = 3;
+    private static final int STATUS_TRANSITION_PASSES = 2;
+
+    private static final String UPDATE_LAST_ACTIVE_TIME_SQL =
+        "UPDATE core_identity SET last_active_time = ? " +
+        "WHERE identity_id = ? AND (last_active_time IS NULL OR last_active_time < ?)";
+
+    // 按主键区间扫描，区间内的条件过滤不依赖二级索引
+    private static final String DORMANCY_RANGE_CONDITION =
+        "WHERE id >= ? AND id < ? AND status = 'ACTIVE' AND (last_active_time IS NULL OR last_active_time < ?)";
+
+    private static final String FIND_DORMANCY_CANDIDATES_SQL =
+        "SELECT identity_id FROM core_identity " + DORMANCY_RANGE_CONDITION;
+
+    // 末尾追加 identity_id IN (...)，只更新已查出的候选
+    private static final String MARK_DORMANT_SQL =
+        "UPDATE core_identity SET status = 'DORMANT', version = version + 1, last_update_time = ? " +
+        DORMANCY_RANGE_CONDITION + " AND identity_id IN (";
+
+    // 摘要为空的行在摘要索引中连续存放，按主键顺序分批读取
+    private static final String FIND_MISSING_PUBLIC_KEY_DIGEST_SQL =
+        "SELECT id, public_key FROM core_identity WHERE public_key_digest IS NULL ORDER BY id LIMIT ?";
+
+    private static final String UPDATE_PUBLIC_KEY_DIGEST_SQL =
+        "UPDATE core_identity SET public_key_digest = ? WHERE id = ? AND public_key_digest IS NULL";
+
+    private enum JsonDialect {
+        MYSQL,   // JSON_SET + CAST(? AS JSON)
+        SQLITE,  // json_set + json(?)
+        GENERIC  // 不支持JSON函数：应用层读取-合并-按版本号写回
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private volatile JsonDialect jsonDialect;
+
+    public CoreIdentityRepositoryCustomImpl(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public int batchUpdateLastActiveTime(Map<String, LocalDateTime> lastActiveTimes) {
+        if (lastActiveTimes.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>(lastActiveTimes.size());
+        lastActiveTimes.forEach((identityId, lastActiveTime) -> {
+            Timestamp timestamp = Timestamp.valueOf(lastActiveTime);
+            batchArgs.add(new Object[]{timestamp, identityId, timestamp});
+        });
+
+        int updated = 0;
+        for (int from = 0; from < batchArgs.size(); from += BATCH_SIZE) {
+            List<Object[]> chunk = batchArgs.subList(from, Math.min(from + BATCH_SIZE, batchArgs.size()));
+            for (int count : jdbcTemplate.batchUpdate(UPDATE_LAST_ACTIVE_TIME_SQL, chunk)) {
+                // 部分驱动批量执行时返回 SUCCESS_NO_INFO(-2)，按成功一行计算
+                updated += count > 0 ? count : (count == Statement.SUCCESS_NO_INFO ? 1 : 0);
+            }
+        }
+        return updated;
+    }
+
+    @Override
+    public int patchMetadata(String identityId, Map<String, Object> entries) {
+        if (resolveJsonDialect() == JsonDialect.GENERIC) {
+            return patchInApplication(identityId, null, entries) != null ? 1 : 0;
+        }
+        return updateWithMetadata(identityId, null, null, entries);
+    }
+
+    @Override
+    public Optional<CoreIdentity.IdentityStatus> transitionStatusWithMetadata(String identityId,
+                                                                            CoreIdentity.IdentityStatus expectedPrevious,
+                                                                            CoreIdentity.IdentityStatus status,
+                                                                            Map<String, Object> entries) {
+        if (resolveJsonDialect() == JsonDialect.GENERIC) {
+            return Optional.ofNullable(patchInApplication(identityId, status, entries));
+        }
+
+        for (int pass = 0; pass < STATUS_TRANSITION_PASSES; pass++) {
+            if (updateWithMetadata(identityId, expectedPrevious, status, entries) > 0) {
+                return Optional.of(expectedPrevious);
+            }
+            for (CoreIdentity.IdentityStatus candidate : CoreIdentity.IdentityStatus.values()) {
+                if (candidate != expectedPrevious && updateWithMetadata(identityId, candidate, status, entries) > 0) {
+                    return Optional.of(candidate);
+                }
+            }
+            // 一轮均未命中：身份不存在，或两次尝试之间状态被并发修改
+            Integer exists = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM core_identity WHERE identity_id = ?", Integer.class, identityId);
+            if (exists == null || exists == 0) {
+                return Optional.empty();
+            }
+        }
+        throw new OptimisticLockingFailureException("修改身份状态时状态持续变化: " + identityId);
+    }
+
+    /**
+     * 单条UPDATE修改状态（可选，previous非空时以原状态为条件）并局部更新元数据JSON
+     */
+    private int updateWithMetadata(String identityId, CoreIdentity.IdentityStatus previous,
+                                   CoreIdentity.IdentityStatus status, Map<String, Object> entries) {
+        StringBuilder sql = new StringBuilder("UPDATE core_identity SET ");
+        List<Object> args = new ArrayList<>(entries.size() * 2 + 4);
+        if (!entries.isEmpty()) {
+            appendJsonSet(sql, args, entries);
+            sql.append(", ");
+        }
+        if (status != null) {
+            sql.append("status = ?, ");
+            args.add(status.name());
+        }
+        sql.append("version = version + 1, last_update_time = ? WHERE identity_id = ?");
+        args.add(Timestamp.valueOf(LocalDateTime.now()));
+        args.add(identityId);
+        if (previous != null) {
+            sql.append(" AND status = ?");
+            args.add(previous.name());
+        }
+
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    @Override
+    public List<String> findDormancyCandidates(long fromId, long toId, LocalDateTime thresholdTime) {
+        return jdbcTemplate.queryForList(FIND_DORMANCY_CANDIDATES_SQL, String.class,
+            fromId, toId, Timestamp.valueOf(thresholdTime));
+    }
+
+    @Override
+    public int markDormant(long fromId, long toId, LocalDateTime thresholdTime, List<String> identityIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp threshold = Timestamp.valueOf(thresholdTime);
+        int updated = 0;
+        for (int start = 0; start < identityIds.size(); start += BATCH_SIZE) {
+            List<String> batch = identityIds.subList(start, Math.min(start + BATCH_SIZE, identityIds.size()));
+            StringBuilder sql = new StringBuilder(MARK_DORMANT_SQL.length() + batch.size() * 2);
+            sql.append(MARK_DORMANT_SQL);
+            List<Object> args = new ArrayList<>(batch.size() + 4);
+            args.add(now);
+            args.add(fromId);
+            args.add(toId);
+            args.add(threshold);
+            for (int i = 0; i < batch.size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+                args.add(batch.get(i));
+            }
+            sql.append(')');
+            updated += jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+        return updated;
+    }
+
+    @Override
+    public int backfillPublicKeyDigests(int limit) {
+        List<Object[]> batchArgs = jdbcTemplate.query(FIND_MISSING_PUBLIC_KEY_DIGEST_SQL,
+            (rs, rowNum) -> new Object[]{PublicKeyDigest.of(rs.getString("public_key")), rs.getLong("id")},
+            limit);
+        if (!batchArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_PUBLIC_KEY_DIGEST_SQL, batchArgs);
+        }
+        return batchArgs.size();
+    }
+
+    private void appendJsonSet(StringBuilder sql, List<Object> args, Map<String, Object> entries) {
+        boolean mysql = jsonDialect == JsonDialect.MYSQL;
+        sql.append(mysql ? "metadata = JSON_SET(COALESCE(metadata, JSON_OBJECT())" : "metadata = json_set(COALESCE(metadata, '{}')");
+        for (Map.Entry<String, Object> entry : entries.entrySet()) {
+            sql.append(mysql ? ", ?, CAST(? AS JSON)" : ", ?, json(?)");
+            args.add(jsonPath(entry.getKey()));
+            args.add(toJson(entry.getValue()));
+        }
+        sql.append(')');
+    }
+
+    /**
+     * 不支持JSON函数的数据库：读取元数据在应用层合并，按版本号条件写回，冲突时重试
+     *
+     * @return 变更前的状态（身份不存在时为null）
+     */
+    private CoreIdentity.IdentityStatus patchInApplication(String identityId, CoreIdentity.IdentityStatus status, Map<String, Object> entries) {
+        for (int attempt = 1; attempt <= GENERIC_PATCH_MAX_ATTEMPTS; attempt++) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT metadata, version, status FROM core_identity WHERE identity_id = ?", identityId);
+            if (rows.isEmpty()) {
+                return null;
+            }
+
+            Object currentMetadata = rows.get(0).get("metadata");
+            Number version = (Number) rows.get(0).get("version");
+            Map<String, Object> metadata = fromJson(currentMetadata != null ? currentMetadata.toString() : null);
+            metadata.putAll(entries);
+
+            String sql = "UPDATE core_identity SET metadata = ?, " + (status != null ? "status = ?, " : "") +
+                "version = version + 1, last_update_time = ? WHERE identity_id = ? AND version = ?";
+            List<Object> args = new ArrayList<>(5);
+            args.add(toJson(metadata));
+            if (status != null) {
+                args.add(status.name());
+            }
+            args.add(Timestamp.valueOf(LocalDateTime.now()));
+            args.add(identityId);
+            args.add(version);
+
+            if (jdbcTemplate.update(sql, args.toArray()) > 0) {
+                // 按版本号条件写回成功，读到的状态即变更前的状态
+                return CoreIdentity.IdentityStatus.valueOf(rows.get(0).get("status").toString());
+            }
+        }
+        throw new OptimisticLockingFailureException("更新身份元数据时版本冲突: " + identityId);
+    }
+
+    private JsonDialect resolveJsonDialect() {
+        JsonDialect dialect = jsonDialect;
+        if (dialect == null) {
+            String productName = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            String normalized = productName != null ? productName.toLowerCase() : "";
+            if (normalized.contains("mysql") || normalized.contains("mariadb")) {
+                dialect = JsonDialect.MYSQL;
+            } else if (normalized.contains("sqlite")) {
+                dialect = JsonDialect.SQLITE;
+            } else {
+                dialect = JsonDialect.GENERIC;
+            }
+            jsonDialect = dialect;
+        }
+        return dialect;
+    }
+
+    // 使用带引号的键路径，兼容包含特殊字符的键
+    private static String jsonPath(String key) {
+        return "$.\"" + key.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("元数据值无法序列化为JSON", e);
+        }
+    }
+
+    private Map<String, Object> fromJson(String json) {
+        if (json == null || json.isBlank()) {
+            return new HashMap<>();
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("元数据JSON格式无效", e);
+        }
+    }
+}
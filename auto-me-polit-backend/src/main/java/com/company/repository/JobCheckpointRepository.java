@@ -0,0 +1,12 @@
+package com.company.repository;
+
+import com.company.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 统一身份认证平台 - 后台任务检查点数据访问层
+ */
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+}
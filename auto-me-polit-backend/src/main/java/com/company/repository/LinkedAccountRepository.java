@@ -0,0 +1,118 @@
+package com.company.repository;
+
+import com.company.entity.LinkedAccount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 统一身份认证平台 - 关联账户数据访问层
+ */
+@Repository
+public interface LinkedAccountRepository extends JpaRepository<LinkedAccount, Long>, LinkedAccountRepositoryCustom {
+
+    /**
+     * 根据关联账户ID查找
+     *
+     * @param accountId 关联账户ID
+     * @return 关联账户实体
+     */
+    Optional<LinkedAccount> findByAccountId(String accountId);
+
+    /**
+     * 按主键游标分页查询平台的同步目标（不加载身份实体）
+     *
+     * @param platform 平台名称
+     * @param excludedStatus 排除的同步状态
+     * @param afterId 上一页最后一条的主键
+     * @param pageable 分页（仅使用页大小）
+     * @return 同步目标列表
+     */
+    @Query("SELECT a.id AS id, a.accountId AS accountId, a.platform AS platform, " +
+           "a.accountIdentifier AS accountIdentifier, a.syncStatus AS syncStatus, a.syncCursor AS syncCursor, " +
+           "a.profileHashes AS profileHashes FROM LinkedAccount a " +
+           "WHERE a.platform = :platform AND a.syncStatus <> :excludedStatus AND a.id > :afterId ORDER BY a.id")
+    List<SyncTarget> findSyncTargets(@Param("platform") String platform,
+                                     @Param("excludedStatus") LinkedAccount.SyncStatus excludedStatus,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
+
+    /**
+     * 查询单个账户的同步目标
+     *
+     * @param accountId 关联账户ID
+     * @return 同步目标
+     */
+    @Query("SELECT a.id AS id, a.accountId AS accountId, a.platform AS platform, " +
+           "a.accountIdentifier AS accountIdentifier, a.syncStatus AS syncStatus, a.syncCursor AS syncCursor, " +
+           "a.profileHashes AS profileHashes FROM LinkedAccount a " +
+           "WHERE a.accountId = :accountId")
+    Optional<SyncTarget> findSyncTargetByAccountId(@Param("accountId") String accountId);
+
+    /**
+     * 统计平台上非指定状态的账户数
+     *
+     * @param platform 平台名称
+     * @param syncStatus 排除的同步状态
+     * @return 账户数
+     */
+    long countByPlatformAndSyncStatusNot(String platform, LinkedAccount.SyncStatus syncStatus);
+
+    /**
+     * 单次扫描统计账户总数及健康度、风险评分分布（仪表盘快照使用）
+     * 健康度分段：差 [0,40) / 一般 [40,70) / 良好 [70,90) / 优秀 [90,100]；
+     * 风险分段：低 [0,30) / 中 [30,70) / 高 [70,100]；为空的值计入总数但不计入分段
+     *
+     * @return 分布统计
+     */
+    @Query("SELECT COUNT(a) AS total, " +
+           "SUM(CASE WHEN a.accountHealth < 40 THEN 1 ELSE 0 END) AS healthPoor, " +
+           "SUM(CASE WHEN a.accountHealth >= 40 AND a.accountHealth < 70 THEN 1 ELSE 0 END) AS healthFair, " +
+           "SUM(CASE WHEN a.accountHealth >= 70 AND a.accountHealth < 90 THEN 1 ELSE 0 END) AS healthGood, " +
+           "SUM(CASE WHEN a.accountHealth >= 90 THEN 1 ELSE 0 END) AS healthExcellent, " +
+           "SUM(CASE WHEN a.riskScore < 30 THEN 1 ELSE 0 END) AS riskLow, " +
+           "SUM(CASE WHEN a.riskScore >= 30 AND a.riskScore < 70 THEN 1 ELSE 0 END) AS riskMedium, " +
+           "SUM(CASE WHEN a.riskScore >= 70 THEN 1 ELSE 0 END) AS riskHigh " +
+           "FROM LinkedAccount a")
+    AccountDistribution summarizeDistribution();
+
+    /**
+     * 统计各同步状态的账户数
+     *
+     * @return [同步状态, 数量] 列表
+     */
+    @Query("SELECT a.syncStatus, COUNT(a) FROM LinkedAccount a GROUP BY a.syncStatus")
+    List<Object[]> countBySyncStatus();
+
+    /**
+     * 账户分布投影（空表时SUM为null）
+     */
+    interface AccountDistribution {
+        Long getTotal();
+        Long getHealthPoor();
+        Long getHealthFair();
+        Long getHealthGood();
+        Long getHealthExcellent();
+        Long getRiskLow();
+        Long getRiskMedium();
+        Long getRiskHigh();
+    }
+
+    /**
+     * 同步目标投影
+     */
+    interface SyncTarget {
+        Long getId();
+        String getAccountId();
+        String getPlatform();
+        String getAccountIdentifier();
+        LinkedAccount.SyncStatus getSyncStatus();
+        String getSyncCursor();
+        String getProfileHashes();
+    }
+}
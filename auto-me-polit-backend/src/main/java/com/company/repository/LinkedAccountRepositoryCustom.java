@@ -0,0 +1,123 @@
+package com.company.repository;
+
+import com.company.entity.LinkedAccount;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 统一身份认证平台 - 关联账户自定义数据访问接口
+ * 基于JDBC实现的同步状态批量写入
+ */
+public interface LinkedAccountRepositoryCustom {
+
+    /**
+     * 批量写入同步状态；资料字段与游标只写入标记为已变更的列
+     *
+     * @param updates 同步状态更新
+     * @return 与输入顺序一致的更新行数（0表示账户已不存在）
+     */
+    int[] batchUpdateSyncStatus(List<SyncStatusUpdate> updates);
+
+    /**
+     * 同步状态更新
+     * 状态、最后同步时间与失败原因每次都写入；资料字段、平台游标与字段摘要仅在变更时写入
+     */
+    class SyncStatusUpdate {
+        public static final int ACCOUNT_NAME = 1;
+        public static final int ACCOUNT_AVATAR = 1 << 1;
+        public static final int ACCOUNT_HEALTH = 1 << 2;
+        public static final int SYNC_CURSOR = 1 << 3;
+        public static final int PROFILE_HASHES = 1 << 4;
+
+        private final String accountId;
+        private final LinkedAccount.SyncStatus syncStatus;
+        private final LocalDateTime lastSyncTime;
+        private final String syncError;
+        private final LocalDateTime updateTime;
+
+        private int changedColumns;
+        private String accountName;
+        private String accountAvatar;
+        private Integer accountHealth;
+        private String syncCursor;
+        private String profileHashes;
+
+        public SyncStatusUpdate(String accountId, LinkedAccount.SyncStatus syncStatus,
+                                LocalDateTime lastSyncTime, String syncError) {
+            this.accountId = accountId;
+            this.syncStatus = syncStatus;
+            this.lastSyncTime = lastSyncTime;
+            this.syncError = syncError;
+            this.updateTime = LocalDateTime.now();
+        }
+
+        public static SyncStatusUpdate of(String accountId, LinkedAccount.SyncStatus syncStatus) {
+            return new SyncStatusUpdate(accountId, syncStatus, null, null);
+        }
+
+        public SyncStatusUpdate accountName(String accountName) {
+            this.accountName = accountName;
+            this.changedColumns |= ACCOUNT_NAME;
+            return this;
+        }
+
+        public SyncStatusUpdate accountAvatar(String accountAvatar) {
+            this.accountAvatar = accountAvatar;
+            this.changedColumns |= ACCOUNT_AVATAR;
+            return this;
+        }
+
+        public SyncStatusUpdate accountHealth(Integer accountHealth) {
+            this.accountHealth = accountHealth;
+            this.changedColumns |= ACCOUNT_HEALTH;
+            return this;
+        }
+
+        public SyncStatusUpdate syncCursor(String syncCursor) {
+            this.syncCursor = syncCursor;
+            this.changedColumns |= SYNC_CURSOR;
+            return this;
+        }
+
+        public SyncStatusUpdate profileHashes(String profileHashes) {
+            this.profileHashes = profileHashes;
+            this.changedColumns |= PROFILE_HASHES;
+            return this;
+        }
+
+        /**
+         * 合并同一账户尚未落库的旧更新：状态以本次为准，旧更新中本次未涉及的变更列予以保留
+         *
+         * @param older 旧更新
+         * @return 合并后的更新
+         */
+        public SyncStatusUpdate mergeOlder(SyncStatusUpdate older) {
+            SyncStatusUpdate merged = new SyncStatusUpdate(accountId, syncStatus,
+                lastSyncTime != null ? lastSyncTime : older.lastSyncTime, syncError);
+            merged.copyColumns(older, older.changedColumns & ~changedColumns);
+            merged.copyColumns(this, changedColumns);
+            return merged;
+        }
+
+        private void copyColumns(SyncStatusUpdate source, int columns) {
+            if ((columns & ACCOUNT_NAME) != 0) accountName(source.accountName);
+            if ((columns & ACCOUNT_AVATAR) != 0) accountAvatar(source.accountAvatar);
+            if ((columns & ACCOUNT_HEALTH) != 0) accountHealth(source.accountHealth);
+            if ((columns & SYNC_CURSOR) != 0) syncCursor(source.syncCursor);
+            if ((columns & PROFILE_HASHES) != 0) profileHashes(source.profileHashes);
+        }
+
+        public String getAccountId() { return accountId; }
+        public LinkedAccount.SyncStatus getSyncStatus() { return syncStatus; }
+        public LocalDateTime getLastSyncTime() { return lastSyncTime; }
+        public String getSyncError() { return syncError; }
+        public LocalDateTime getUpdateTime() { return updateTime; }
+        public int getChangedColumns() { return changedColumns; }
+        public String getAccountName() { return accountName; }
+        public String getAccountAvatar() { return accountAvatar; }
+        public Integer getAccountHealth() { return accountHealth; }
+        public String getSyncCursor() { return syncCursor; }
+        public String getProfileHashes() { return profileHashes; }
+    }
+}
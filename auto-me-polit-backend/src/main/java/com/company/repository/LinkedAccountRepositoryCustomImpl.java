@@ -0,0 +1,88 @@
+package com.company.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 统一身份认证平台 - 关联账户自定义数据访问实现
+ */
+public class LinkedAccountRepositoryCustomImpl implements LinkedAccountRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 按变更列组合缓存的UPDATE语句，组合数不超过 2^5
+    private final Map<Integer, String> updateSqlByColumns = new ConcurrentHashMap<>();
+
+    public LinkedAccountRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int[] batchUpdateSyncStatus(List<SyncStatusUpdate> updates) {
+        int[] updated = new int[updates.size()];
+
+        // 同一批次内SQL必须一致，按变更列组合分组，并记录在输入中的位置
+        Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < updates.size(); i++) {
+            groups.computeIfAbsent(updates.get(i).getChangedColumns(), key -> new ArrayList<>()).add(i);
+        }
+
+        groups.forEach((columns, positions) -> {
+            String sql = updateSqlByColumns.computeIfAbsent(columns, LinkedAccountRepositoryCustomImpl::buildUpdateSql);
+            for (int from = 0; from < positions.size(); from += BATCH_SIZE) {
+                List<Integer> chunk = positions.subList(from, Math.min(from + BATCH_SIZE, positions.size()));
+                List<Object[]> batchArgs = new ArrayList<>(chunk.size());
+                for (int position : chunk) {
+                    batchArgs.add(bindArgs(updates.get(position)));
+                }
+                int[] counts = jdbcTemplate.batchUpdate(sql, batchArgs);
+                for (int i = 0; i < counts.length; i++) {
+                    // 部分驱动批量执行时返回 SUCCESS_NO_INFO(-2)，按成功一行计算
+                    updated[chunk.get(i)] = counts[i] > 0 ? counts[i] : (counts[i] == Statement.SUCCESS_NO_INFO ? 1 : 0);
+                }
+            }
+        });
+        return updated;
+    }
+
+    private static String buildUpdateSql(int columns) {
+        StringBuilder sql = new StringBuilder(
+            "UPDATE linked_account SET sync_status = ?, last_sync_time = COALESCE(?, last_sync_time), sync_error = ?");
+        if ((columns & SyncStatusUpdate.ACCOUNT_NAME) != 0) sql.append(", account_name = ?");
+        if ((columns & SyncStatusUpdate.ACCOUNT_AVATAR) != 0) sql.append(", account_avatar = ?");
+        if ((columns & SyncStatusUpdate.ACCOUNT_HEALTH) != 0) sql.append(", account_health = ?");
+        if ((columns & SyncStatusUpdate.SYNC_CURSOR) != 0) sql.append(", sync_cursor = ?");
+        if ((columns & SyncStatusUpdate.PROFILE_HASHES) != 0) sql.append(", profile_hashes = ?");
+        return sql.append(", last_update_time = ? WHERE account_id = ?").toString();
+    }
+
+    private static Object[] bindArgs(SyncStatusUpdate update) {
+        int columns = update.getChangedColumns();
+        List<Object> args = new ArrayList<>(10);
+        args.add(update.getSyncStatus().name());
+        args.add(toTimestamp(update.getLastSyncTime()));
+        args.add(update.getSyncError());
+        if ((columns & SyncStatusUpdate.ACCOUNT_NAME) != 0) args.add(update.getAccountName());
+        if ((columns & SyncStatusUpdate.ACCOUNT_AVATAR) != 0) args.add(update.getAccountAvatar());
+        if ((columns & SyncStatusUpdate.ACCOUNT_HEALTH) != 0) args.add(update.getAccountHealth());
+        if ((columns & SyncStatusUpdate.SYNC_CURSOR) != 0) args.add(update.getSyncCursor());
+        if ((columns & SyncStatusUpdate.PROFILE_HASHES) != 0) args.add(update.getProfileHashes());
+        args.add(toTimestamp(update.getUpdateTime()));
+        args.add(update.getAccountId());
+        return args.toArray();
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime time) {
+        return time != null ? Timestamp.valueOf(time) : null;
+    }
+}
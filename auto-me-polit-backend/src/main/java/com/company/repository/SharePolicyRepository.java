@@ -0,0 +1,124 @@
+package com.company.repository;
+
+import com.company.entity.SharePolicy;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 统一身份认证平台 - 共享策略数据访问层
+ */
+@Repository
+public interface SharePolicyRepository extends JpaRepository<SharePolicy, Long>, SharePolicyRepositoryCustom {
+
+    /**
+     * 根据策略ID查找共享策略
+     *
+     * @param policyId 策略ID
+     * @return 共享策略实体
+     */
+    Optional<SharePolicy> findByPolicyId(String policyId);
+
+    /**
+     * 查询全部有效策略的决策所需字段（不加载身份实体）
+     *
+     * @return 有效策略投影列表
+     */
+    @Query("SELECT p.policyId AS policyId, i.identityId AS identityId, p.requester AS requester, " +
+           "p.attributes AS attributes, p.duration AS duration, p.constraints AS constraints, " +
+           "p.defaultAction AS defaultAction, p.creationTime AS creationTime " +
+           "FROM SharePolicy p JOIN p.coreIdentity i WHERE p.isActive = true")
+    List<ActivePolicyView> findActivePolicyViews();
+
+    /**
+     * 查询单条有效策略的决策所需字段（策略不存在或已停用时为空）
+     *
+     * @param policyId 策略ID
+     * @return 有效策略投影
+     */
+    @Query("SELECT p.policyId AS policyId, i.identityId AS identityId, p.requester AS requester, " +
+           "p.attributes AS attributes, p.duration AS duration, p.constraints AS constraints, " +
+           "p.defaultAction AS defaultAction, p.creationTime AS creationTime " +
+           "FROM SharePolicy p JOIN p.coreIdentity i WHERE p.isActive = true AND p.policyId = :policyId")
+    Optional<ActivePolicyView> findActivePolicyView(@Param("policyId") String policyId);
+
+    /**
+     * 查询指定身份的全部策略
+     *
+     * @param identityId 身份ID
+     * @return 策略列表
+     */
+    @Query("SELECT p FROM SharePolicy p WHERE p.coreIdentity.identityId = :identityId")
+    List<SharePolicy> findByIdentityId(@Param("identityId") String identityId);
+
+    /**
+     * 统计策略总数、有效策略数与累计使用次数（仪表盘快照使用）
+     *
+     * @return 使用汇总
+     */
+    @Query("SELECT COUNT(p) AS total, SUM(CASE WHEN p.isActive = true THEN 1 ELSE 0 END) AS active, " +
+           "SUM(p.usageCount) AS usageCount FROM SharePolicy p")
+    PolicyUsageSummary summarizeUsage();
+
+    /**
+     * 按累计使用次数降序查询策略
+     *
+     * @param pageable 分页（仅使用页大小）
+     * @return 策略使用投影列表
+     */
+    @Query("SELECT p.policyId AS policyId, p.requester AS requester, p.isActive AS isActive, " +
+           "p.usageCount AS usageCount, p.lastUsedTime AS lastUsedTime " +
+           "FROM SharePolicy p ORDER BY p.usageCount DESC, p.id")
+    List<PolicyUsageView> findTopUsed(Pageable pageable);
+
+    /**
+     * 查询单个策略的已落库使用计数（投影不进入持久化上下文，每次读取数据库当前值）
+     *
+     * @param policyId 策略ID
+     * @return 策略使用投影
+     */
+    @Query("SELECT p.policyId AS policyId, p.requester AS requester, p.isActive AS isActive, " +
+           "p.usageCount AS usageCount, p.lastUsedTime AS lastUsedTime " +
+           "FROM SharePolicy p WHERE p.policyId = :policyId")
+    Optional<PolicyUsageView> findUsageView(@Param("policyId") String policyId);
+
+    /**
+     * 策略使用汇总投影（空表时SUM为null）
+     */
+    interface PolicyUsageSummary {
+        Long getTotal();
+        Long getActive();
+        Long getUsageCount();
+    }
+
+    /**
+     * 策略使用投影
+     */
+    interface PolicyUsageView {
+        String getPolicyId();
+        String getRequester();
+        Boolean getIsActive();
+        Long getUsageCount();
+        LocalDateTime getLastUsedTime();
+    }
+
+    /**
+     * 有效策略投影
+     */
+    interface ActivePolicyView {
+        String getPolicyId();
+        String getIdentityId();
+        String getRequester();
+        String getAttributes();
+        String getDuration();
+        String getConstraints();
+        SharePolicy.ShareAction getDefaultAction();
+        LocalDateTime getCreationTime();
+    }
+}
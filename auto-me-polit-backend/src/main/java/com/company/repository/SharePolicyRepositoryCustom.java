@@ -0,0 +1,38 @@
+package com.company.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 统一身份认证平台 - 共享策略自定义数据访问接口
+ * 基于JDBC实现的批量累加更新
+ */
+public interface SharePolicyRepositoryCustom {
+
+    /**
+     * 批量累加使用次数并推进最后使用时间（仅当新时间晚于库中时间时生效）
+     *
+     * @param deltas 各策略的使用增量
+     * @return 与输入顺序一致的更新行数（0表示策略已不存在）
+     */
+    int[] batchIncrementUsage(List<UsageDelta> deltas);
+
+    /**
+     * 策略使用增量
+     */
+    class UsageDelta {
+        private final String policyId;
+        private final long count;
+        private final LocalDateTime lastUsedTime;
+
+        public UsageDelta(String policyId, long count, LocalDateTime lastUsedTime) {
+            this.policyId = policyId;
+            this.count = count;
+            this.lastUsedTime = lastUsedTime;
+        }
+
+        public String getPolicyId() { return policyId; }
+        public long getCount() { return count; }
+        public LocalDateTime getLastUsedTime() { return lastUsedTime; }
+    }
+}
@@ -0,0 +1,47 @@
+package com.company.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 统一身份认证平台 - 共享策略自定义数据访问实现
+ */
+public class SharePolicyRepositoryCustomImpl implements SharePolicyRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    // CASE表达式在MySQL与SQLite上均可用，避免依赖GREATEST/MAX的方言差异
+    private static final String INCREMENT_USAGE_SQL =
+        "UPDATE share_policy SET usage_count = usage_count + ?, " +
+        "last_used_time = CASE WHEN last_used_time IS NULL OR last_used_time < ? THEN ? ELSE last_used_time END " +
+        "WHERE policy_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SharePolicyRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int[] batchIncrementUsage(List<UsageDelta> deltas) {
+        int[] updated = new int[deltas.size()];
+        for (int from = 0; from < deltas.size(); from += BATCH_SIZE) {
+            int to = Math.min(from + BATCH_SIZE, deltas.size());
+            List<Object[]> batchArgs = new ArrayList<>(to - from);
+            for (UsageDelta delta : deltas.subList(from, to)) {
+                Timestamp lastUsedTime = Timestamp.valueOf(delta.getLastUsedTime());
+                batchArgs.add(new Object[]{delta.getCount(), lastUsedTime, lastUsedTime, delta.getPolicyId()});
+            }
+            int[] counts = jdbcTemplate.batchUpdate(INCREMENT_USAGE_SQL, batchArgs);
+            for (int i = 0; i < counts.length; i++) {
+                // 部分驱动批量执行时返回 SUCCESS_NO_INFO(-2)，按成功一行计算
+                updated[from + i] = counts[i] > 0 ? counts[i] : (counts[i] == Statement.SUCCESS_NO_INFO ? 1 : 0);
+            }
+        }
+        return updated;
+    }
+}
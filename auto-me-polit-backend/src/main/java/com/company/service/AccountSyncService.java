@@ -0,0 +1,45 @@
+package com.company.service;
+
+import com.company.dto.response.SyncJobDTO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 统一身份认证平台 - 关联账户同步服务接口
+ * 同步在后台执行，接口立即返回任务信息，按任务ID查询进度
+ */
+public interface AccountSyncService {
+
+    /**
+     * 同步单个关联账户
+     *
+     * @param accountId 关联账户ID
+     * @param force 是否同步已禁用的账户
+     * @return 同步任务
+     */
+    SyncJobDTO syncAccount(String accountId, boolean force);
+
+    /**
+     * 批量同步平台上的全部未禁用账户
+     *
+     * @param platforms 平台列表，为空时同步全部支持的平台
+     * @return 同步任务
+     */
+    SyncJobDTO batchSync(List<String> platforms);
+
+    /**
+     * 查询同步任务
+     *
+     * @param jobId 任务ID
+     * @return 同步任务
+     */
+    SyncJobDTO getJob(String jobId);
+
+    /**
+     * 获取各平台的并发、限流与结果统计
+     *
+     * @return 统计信息
+     */
+    Map<String, Object> getStatistics();
+}
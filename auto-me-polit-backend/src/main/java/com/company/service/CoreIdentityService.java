@@ -1,11 +1,17 @@
 package com.company.service;
 
 import com.company.dto.request.CreateIdentityRequestDTO;
+import com.company.dto.request.IdentityListQueryDTO;
+import com.company.dto.response.BatchCreateIdentityResponseDTO;
 import com.company.dto.response.CreateIdentityResponseDTO;
+import com.company.dto.response.IdentitySummaryDTO;
 import com.company.entity.CoreIdentity;
 import com.company.exception.IdentityException;
+import com.company.util.ApiResponse;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -23,16 +29,43 @@ public interface CoreIdentityService {
     @Transactional
     CreateIdentityResponseDTO createIdentity(CreateIdentityRequestDTO request) throws IdentityException;
 
+    /**
+     * 批量创建核心身份
+     * 密钥材料并行生成，按块以JDBC批量插入持久化；单项失败不影响其他项
+     * 
+     * @param requests 身份创建请求列表
+     * @return 按请求顺序的逐项创建结果
+     */
+    BatchCreateIdentityResponseDTO batchCreateIdentities(List<CreateIdentityRequestDTO> requests);
+
     /**
      * 根据身份ID获取身份信息
+     * 经两级缓存读取，返回不含私钥密文、生物特征哈希与恢复配置的只读视图；需要这些字段时从数据库加载。
+     * 视图中的最后活跃时间由心跳批量落库且不触发缓存失效，可能滞后（见 LastActiveTimeCoalescer）
      * 
      * @param identityId 身份ID
-     * @return 身份实体
+     * @return 身份只读视图
      * @throws IdentityException 身份不存在异常
      */
     @Transactional(readOnly = true)
     CoreIdentity getIdentityById(String identityId) throws IdentityException;
 
+    /**
+     * 游标分页查询身份摘要，每页耗时与翻页深度无关
+     * @param query 查询条件；携带游标时沿用首页的筛选条件
+     * @return 分页结果，nextCursor为空表示没有更多数据
+     * @throws IllegalArgumentException 游标无效或与筛选类型不符
+     */
+    @Transactional(readOnly = true)
+    ApiResponse.PageData<IdentitySummaryDTO> listIdentities(IdentityListQueryDTO query);
+
+    /**
+     * 获取各状态的身份数量（增量维护的计数，定期与数据库对账）
+     * 
+     * @return 状态名到数量的映射
+     */
+    Map<String, Long> getStatusCounts();
+
     /**
      * 更新身份最后活跃时间
      * 
@@ -62,6 +95,16 @@ public interface CoreIdentityService {
     @Transactional
     void recoverIdentity(String identityId, String recoveryToken) throws IdentityException;
 
+    /**
+     * 局部更新身份元数据（在数据库内按键修改JSON，不读取整列）
+     * 
+     * @param identityId 身份ID
+     * @param entries 需要写入的元数据键值
+     * @throws IdentityException 身份不存在异常
+     */
+    @Transactional
+    void patchMetadata(String identityId, Map<String, Object> entries) throws IdentityException;
+
     /**
      * 更新设备指纹
      * 
@@ -115,6 +158,24 @@ public interface CoreIdentityService {
      */
     String combineFragments(KeyFragments fragments);
 
+    /**
+     * 批量密钥分片（在加解密执行器上并行）
+     * 
+     * @param secrets 原始密钥列表
+     * @param threshold 门限值
+     * @param totalShares 总分片数
+     * @return 与输入顺序一致的密钥分片列表
+     */
+    List<KeyFragments> splitKeys(List<String> secrets, int threshold, int totalShares);
+
+    /**
+     * 批量密钥重组（在加解密执行器上并行），用于批量恢复演练
+     * 
+     * @param fragmentsList 密钥分片列表
+     * @return 与输入顺序一致的原始密钥列表
+     */
+    List<String> combineFragments(List<KeyFragments> fragmentsList);
+
     // 内部类定义
     class KeyPair {
         private final String publicKey;
@@ -0,0 +1,33 @@
+package com.company.service;
+
+import com.company.dto.response.DashboardSnapshotDTO;
+
+import java.util.Map;
+
+/**
+ * 统一身份认证平台 - 仪表盘服务接口
+ * 仪表盘数据以快照形式缓存，过期后先返回旧快照并在后台刷新（stale-while-revalidate）
+ */
+public interface DashboardService {
+
+    /**
+     * 获取仪表盘快照
+     *
+     * @return 快照；尚无快照或快照超过最大延迟时同步计算
+     */
+    DashboardSnapshotDTO getSnapshot();
+
+    /**
+     * 在后台立即刷新快照
+     *
+     * @return 是否已提交刷新（已有刷新在进行时返回false）
+     */
+    boolean refresh();
+
+    /**
+     * 获取快照刷新统计
+     *
+     * @return 读取次数、过期读取次数、刷新次数与失败次数
+     */
+    Map<String, Object> getStatistics();
+}
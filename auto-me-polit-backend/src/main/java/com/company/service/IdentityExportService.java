@@ -0,0 +1,52 @@
+package com.company.service;
+
+import com.company.dto.request.IdentityExportQueryDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+/**
+ * 统一身份认证平台 - 身份数据导出服务接口
+ * 以NDJSON（每行一个JSON对象）流式导出，不包含私钥密文、恢复配置与生物特征哈希
+ */
+public interface IdentityExportService {
+
+    /**
+     * 导出到输出流，内存占用与导出条数无关
+     *
+     * @param query 导出条件
+     * @param out 输出流（为gzip时写入压缩数据），调用方负责关闭
+     * @return 导出条数
+     * @throws IOException 写出失败
+     */
+    long export(IdentityExportQueryDTO query, OutputStream out) throws IOException;
+
+    /**
+     * 导出到导出目录下的新文件
+     *
+     * @param query 导出条件
+     * @return 导出结果
+     * @throws IOException 写出失败
+     */
+    ExportResult exportToFile(IdentityExportQueryDTO query) throws IOException;
+
+    /**
+     * 文件导出结果
+     */
+    class ExportResult {
+        private final Path file;
+        private final long count;
+        private final long bytes;
+
+        public ExportResult(Path file, long count, long bytes) {
+            this.file = file;
+            this.count = count;
+            this.bytes = bytes;
+        }
+
+        public Path getFile() { return file; }
+        public long getCount() { return count; }
+        public long getBytes() { return bytes; }
+    }
+}
@@ -0,0 +1,121 @@
+package com.company.service;
+
+import com.company.dto.request.SharePolicyRequestDTO;
+import com.company.dto.response.SharePolicyValidationDTO;
+import com.company.entity.SharePolicy;
+import com.company.entity.SharePolicy.ShareAction;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 统一身份认证平台 - 共享策略决策服务接口
+ * 有效策略预编译为内存索引，决策过程不访问数据库
+ */
+public interface PolicyDecisionService {
+
+    /**
+     * 策略变更广播频道，消息体为策略ID
+     */
+    String CHANGED_CHANNEL = "auto-me-polit:share-policy:changed";
+
+    /**
+     * 判断请求方能否读取身份的指定属性
+     *
+     * @param identityId 身份ID
+     * @param requester 请求方标识
+     * @param attribute 属性名
+     * @return 决策结果
+     */
+    Decision decide(String identityId, String requester, String attribute);
+
+    /**
+     * 批量判断多个属性
+     *
+     * @param identityId 身份ID
+     * @param requester 请求方标识
+     * @param attributes 属性名列表
+     * @return 属性名到决策结果的映射
+     */
+    Map<String, Decision> decideAll(String identityId, String requester, Collection<String> attributes);
+
+    /**
+     * 校验待创建的策略配置
+     *
+     * @param request 策略配置
+     * @return 校验结果
+     */
+    SharePolicyValidationDTO validate(SharePolicyRequestDTO request);
+
+    /**
+     * 策略新增或修改（由实体监听器调用，事务提交后生效）
+     *
+     * @param policy 策略实体
+     */
+    void onPolicyChanged(SharePolicy policy);
+
+    /**
+     * 策略删除（由实体监听器调用，事务提交后生效）
+     *
+     * @param policyId 策略ID
+     */
+    void onPolicyRemoved(String policyId);
+
+    /**
+     * 其他节点广播的策略变更：按策略ID从数据库重新加载并更新本地索引
+     *
+     * @param policyId 策略ID
+     */
+    void reload(String policyId);
+
+    /**
+     * 从数据库全量重建索引
+     */
+    void rebuild();
+
+    /**
+     * 获取索引统计信息
+     *
+     * @return 策略数、身份数、重建次数等
+     */
+    Map<String, Object> getStatistics();
+
+    /**
+     * 决策结果（不可变，按策略预先构建以避免决策时分配对象）
+     */
+    class Decision {
+        public static final Decision NO_POLICY = new Decision(ShareAction.DENY, null, Reason.NO_POLICY);
+        public static final Decision EXPIRED = new Decision(ShareAction.DENY, null, Reason.EXPIRED);
+        public static final Decision UNKNOWN_ATTRIBUTE = new Decision(ShareAction.DENY, null, Reason.UNKNOWN_ATTRIBUTE);
+
+        private final ShareAction action;
+        private final String policyId;
+        private final Reason reason;
+
+        public Decision(ShareAction action, String policyId, Reason reason) {
+            this.action = action;
+            this.policyId = policyId;
+            this.reason = reason;
+        }
+
+        public ShareAction getAction() { return action; }
+        public String getPolicyId() { return policyId; }
+        public Reason getReason() { return reason; }
+
+        public boolean isAllowed() {
+            return action == ShareAction.ALLOW;
+        }
+    }
+
+    /**
+     * 决策依据
+     */
+    enum Reason {
+        MATCHED,           // 属性在策略共享范围内
+        CONSTRAINED,       // 属性在共享范围内，但需满足约束条件
+        DEFAULT_ACTION,    // 属性不在共享范围内，采用策略默认动作
+        NO_POLICY,         // 无有效策略
+        EXPIRED,           // 策略均已过期
+        UNKNOWN_ATTRIBUTE  // 属性不在共享白名单中
+    }
+}
@@ -0,0 +1,136 @@
+package com.company.service.impl;
+
+import com.company.sync.ProfileDelta;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 统一身份认证平台 - 增量同步节省统计
+ * 以全量同步（每次下载完整资料并重写全部资料列）为基准，统计增量同步节省的行数与字节数。
+ * 304 响应节省的传输字节按该平台完整响应的平均大小估算
+ */
+@Component
+public class AccountSyncDeltaCounter {
+
+    private final Map<String, Cell> cells;
+
+    public AccountSyncDeltaCounter(@Value("${auto-me-polit.account-linking.supported-platforms:}") List<String> supportedPlatforms) {
+        Map<String, Cell> initial = new LinkedHashMap<>();
+        for (String platform : supportedPlatforms) {
+            if (!platform.trim().isEmpty()) {
+                initial.put(platform.trim(), new Cell());
+            }
+        }
+        this.cells = Collections.unmodifiableMap(initial);
+    }
+
+    /**
+     * 记录平台确认未变化（未下载资料）
+     *
+     * @param platform 平台名称
+     */
+    public void recordNotModified(String platform) {
+        Cell cell = cells.get(platform);
+        if (cell == null) {
+            return;
+        }
+        cell.notModified.increment();
+        long fullFetches = cell.fullFetches.sum();
+        if (fullFetches > 0) {
+            cell.transferBytesSaved.add(cell.responseBytes.sum() / fullFetches);
+        }
+    }
+
+    /**
+     * 记录一次完整下载及其资料增量
+     *
+     * @param platform 平台名称
+     * @param responseBytes 响应体字节数
+     * @param delta 资料增量
+     */
+    public void recordFetched(String platform, long responseBytes, ProfileDelta delta) {
+        Cell cell = cells.get(platform);
+        if (cell == null) {
+            return;
+        }
+        cell.fullFetches.increment();
+        cell.responseBytes.add(responseBytes);
+        if (delta.hasChanges()) {
+            cell.changedRows.increment();
+        } else {
+            cell.unchangedRows.increment();
+        }
+        cell.columnsWritten.add(delta.getChangedFields());
+        cell.columnsSkipped.add(delta.getUnchangedFields());
+        cell.columnBytesSaved.add(delta.getUnchangedBytes());
+    }
+
+    public Set<String> getPlatforms() {
+        return cells.keySet();
+    }
+
+    /**
+     * 免于重写资料列的行数（平台未变化 + 资料未变化）
+     */
+    public long getRowsSaved(String platform) {
+        Cell cell = cells.get(platform);
+        return cell != null ? cell.notModified.sum() + cell.unchangedRows.sum() : 0L;
+    }
+
+    public long getRowsChanged(String platform) {
+        Cell cell = cells.get(platform);
+        return cell != null ? cell.changedRows.sum() : 0L;
+    }
+
+    public long getTransferBytesSaved(String platform) {
+        Cell cell = cells.get(platform);
+        return cell != null ? cell.transferBytesSaved.sum() : 0L;
+    }
+
+    public long getColumnBytesSaved(String platform) {
+        Cell cell = cells.get(platform);
+        return cell != null ? cell.columnBytesSaved.sum() : 0L;
+    }
+
+    /**
+     * 获取平台的增量同步统计
+     *
+     * @param platform 平台名称
+     * @return 统计信息
+     */
+    public Map<String, Object> getStatistics(String platform) {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        Cell cell = cells.get(platform);
+        if (cell == null) {
+            return statistics;
+        }
+        statistics.put("fullFetches", cell.fullFetches.sum());
+        statistics.put("notModified", cell.notModified.sum());
+        statistics.put("rowsChanged", cell.changedRows.sum());
+        statistics.put("rowsSaved", getRowsSaved(platform));
+        statistics.put("columnsWritten", cell.columnsWritten.sum());
+        statistics.put("columnsSkipped", cell.columnsSkipped.sum());
+        statistics.put("columnBytesSaved", cell.columnBytesSaved.sum());
+        statistics.put("transferBytesSaved", cell.transferBytesSaved.sum());
+        return statistics;
+    }
+
+    private static final class Cell {
+        private final LongAdder fullFetches = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+        private final LongAdder notModified = new LongAdder();
+        private final LongAdder changedRows = new LongAdder();
+        private final LongAdder unchangedRows = new LongAdder();
+        private final LongAdder columnsWritten = new LongAdder();
+        private final LongAdder columnsSkipped = new LongAdder();
+        private final LongAdder columnBytesSaved = new LongAdder();
+        private final LongAdder transferBytesSaved = new LongAdder();
+    }
+}
@@ -0,0 +1,474 @@
+package com.company.service.impl;
+
+import com.company.config.AccountSyncProperties;
+import com.company.dto.response.SyncJobDTO;
+import com.company.dto.response.SyncJobDTO.JobStatus;
+import com.company.entity.LinkedAccount.SyncStatus;
+import com.company.exception.BusinessException;
+import com.company.repository.LinkedAccountRepository;
+import com.company.repository.LinkedAccountRepository.SyncTarget;
+import com.company.repository.LinkedAccountRepositoryCustom.SyncStatusUpdate;
+import com.company.service.AccountSyncService;
+import com.company.sync.PlatformProfile;
+import com.company.sync.PlatformRateLimiter;
+import com.company.sync.PlatformSyncAdapter;
+import com.company.sync.PlatformSyncException;
+import com.company.sync.ProfileDelta;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 统一身份认证平台 - 关联账户同步服务实现
+ *
+ * 每个平台一条通道（信号量限制并发 + 令牌桶限制请求速率）。批量同步时每个平台一个派发任务，
+ * 按主键游标分页读取账户，取得通道许可后为每个账户提交一个同步任务，许可不足时派发任务阻塞，
+ * 因此内存中最多只有 max-concurrency 个进行中的同步。状态迁移 PENDING → SYNCING → SYNCED/FAILED
+ * 经 {@link AccountSyncStatusWriter} 批量落库。
+ *
+ * 增量同步：适配器携带账户的平台游标发起请求，平台确认未变化时不下载资料；
+ * 下载到的资料按字段摘要与库中比较，只写入变化的列。
+ */
+@Service
+public class AccountSyncServiceImpl implements AccountSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountSyncServiceImpl.class);
+
+    private static final int MAX_RETAINED_JOBS = 100;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Autowired
+    private LinkedAccountRepository linkedAccountRepository;
+
+    @Autowired
+    private AccountSyncStatusWriter statusWriter;
+
+    @Autowired
+    private AccountSyncDeltaCounter deltaCounter;
+
+    @Autowired
+    private AccountSyncProperties properties;
+
+    @Autowired
+    private List<PlatformSyncAdapter> adapters;
+
+    @Autowired
+    @Qualifier("accountSyncExecutor")
+    private ExecutorService executor;
+
+    @Value("${auto-me-polit.account-linking.supported-platforms:}")
+    private List<String> supportedPlatforms;
+
+    private final Map<String, PlatformLane> lanes = new LinkedHashMap<>();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Map<String, SyncJob> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<String> jobOrder = new ConcurrentLinkedDeque<>();
+    private volatile boolean shutdown = false;
+
+    @PostConstruct
+    public void initLanes() {
+        for (String platform : supportedPlatforms) {
+            String name = platform.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            AccountSyncProperties.Platform config = properties.forPlatform(name);
+            PlatformSyncAdapter adapter = adapters.stream()
+                .filter(candidate -> candidate.supports(name))
+                .findFirst()
+                .orElse(null);
+            lanes.put(name, new PlatformLane(name, config, adapter));
+            if (adapter == null) {
+                logger.warn("平台{}未配置同步适配器，该平台账户不会被同步", name);
+            } else {
+                logger.info("平台{}同步通道: 并发{}，速率{}/s，适配器{}",
+                    name, config.getMaxConcurrency(), config.getRatePerSecond(), adapter.getClass().getSimpleName());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shutdown = true;
+        for (SyncJob job : jobs.values()) {
+            job.dispatchers.forEach(future -> future.cancel(true));
+        }
+    }
+
+    @Override
+    public SyncJobDTO syncAccount(String accountId, boolean force) {
+        SyncTarget target = linkedAccountRepository.findSyncTargetByAccountId(accountId)
+            .orElseThrow(() -> new BusinessException(10005, 404, "关联账户不存在: " + accountId));
+        if (target.getSyncStatus() == SyncStatus.DISABLED && !force) {
+            throw new BusinessException(10003, 409, "关联账户已禁用: " + accountId);
+        }
+        PlatformLane lane = requireLane(target.getPlatform());
+
+        SyncJob job = registerJob(List.of(lane.platform));
+        if (!inFlight.add(accountId)) {
+            job.skipped.incrementAndGet();
+        } else {
+            job.total.incrementAndGet();
+            statusWriter.record(SyncStatusUpdate.of(accountId, SyncStatus.PENDING));
+            job.outstanding.incrementAndGet();
+            submit(job, () -> {
+                try {
+                    lane.permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    fail(job, accountId, "同步被中断");
+                    return;
+                }
+                runSync(job, lane, target);
+            }, accountId);
+        }
+        job.taskDone();
+        return job.toDTO();
+    }
+
+    @Override
+    public SyncJobDTO batchSync(List<String> platforms) {
+        List<PlatformLane> selected = new ArrayList<>();
+        if (platforms == null || platforms.isEmpty()) {
+            lanes.values().stream().filter(lane -> lane.adapter != null).forEach(selected::add);
+        } else {
+            for (String platform : platforms) {
+                selected.add(requireLane(platform));
+            }
+        }
+
+        List<String> names = new ArrayList<>(selected.size());
+        selected.forEach(lane -> names.add(lane.platform));
+        SyncJob job = registerJob(names);
+        for (PlatformLane lane : selected) {
+            job.outstanding.incrementAndGet();
+            try {
+                job.dispatchers.add(executor.submit(() -> dispatch(job, lane)));
+            } catch (RejectedExecutionException e) {
+                logger.warn("同步执行器已关闭，平台{}未派发", lane.platform);
+                job.taskDone();
+            }
+        }
+        job.taskDone();
+        logger.info("批量同步任务{}已启动，平台: {}", job.id, names);
+        return job.toDTO();
+    }
+
+    @Override
+    public SyncJobDTO getJob(String jobId) {
+        SyncJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new BusinessException(404, 404, "同步任务不存在: " + jobId);
+        }
+        return job.toDTO();
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> platforms = new LinkedHashMap<>();
+        lanes.forEach((name, lane) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("enabled", lane.adapter != null);
+            stats.put("maxConcurrency", lane.maxConcurrency);
+            stats.put("active", lane.maxConcurrency - lane.permits.availablePermits());
+            stats.put("ratePerSecond", lane.ratePerSecond);
+            stats.put("requests", lane.requests.sum());
+            stats.put("retries", lane.retries.sum());
+            stats.put("succeeded", lane.succeeded.sum());
+            stats.put("failed", lane.failed.sum());
+            stats.put("delta", deltaCounter.getStatistics(name));
+            platforms.put(name, stats);
+        });
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("inFlight", inFlight.size());
+        statistics.put("runningJobs", jobs.values().stream().filter(job -> job.status == JobStatus.RUNNING).count());
+        statistics.put("platforms", platforms);
+        statistics.put("statusWriter", statusWriter.getStatistics());
+        return statistics;
+    }
+
+    /**
+     * 平台派发任务：按主键游标分页读取账户，逐个取得通道许可后提交同步
+     */
+    private void dispatch(SyncJob job, PlatformLane lane) {
+        long afterId = 0L;
+        try {
+            while (!shutdown && !Thread.currentThread().isInterrupted()) {
+                List<SyncTarget> page = linkedAccountRepository.findSyncTargets(
+                    lane.platform, SyncStatus.DISABLED, afterId, PageRequest.of(0, properties.getPageSize()));
+                if (page.isEmpty()) {
+                    break;
+                }
+                for (SyncTarget target : page) {
+                    afterId = target.getId();
+                    if (!inFlight.add(target.getAccountId())) {
+                        job.skipped.incrementAndGet();
+                        continue;
+                    }
+                    job.total.incrementAndGet();
+                    statusWriter.record(SyncStatusUpdate.of(target.getAccountId(), SyncStatus.PENDING));
+                    job.outstanding.incrementAndGet();
+                    try {
+                        lane.permits.acquire();
+                    } catch (InterruptedException e) {
+                        // 已记录为PENDING，回写失败状态，避免账户停留在待同步
+                        fail(job, target.getAccountId(), "同步被中断");
+                        throw e;
+                    }
+                    if (!submit(job, () -> runSync(job, lane, target), target.getAccountId())) {
+                        lane.permits.release();
+                    }
+                }
+                if (page.size() < properties.getPageSize()) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.cancelled = true;
+        } catch (RuntimeException e) {
+            logger.error("平台{}同步派发失败，已派发至账户主键{}", lane.platform, afterId, e);
+            job.cancelled = true;
+        } finally {
+            job.taskDone();
+        }
+    }
+
+    /**
+     * 执行单个账户同步，调用方已持有通道许可，结束时释放
+     */
+    private void runSync(SyncJob job, PlatformLane lane, SyncTarget target) {
+        String accountId = target.getAccountId();
+        boolean holding = true;
+        try {
+            statusWriter.record(SyncStatusUpdate.of(accountId, SyncStatus.SYNCING));
+            int maxAttempts = Math.max(1, properties.getMaxAttempts());
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    lane.limiter.acquire();
+                    lane.requests.increment();
+                    PlatformProfile profile = lane.adapter.fetch(target);
+                    lane.succeeded.increment();
+                    finish(job, buildSyncedUpdate(lane, target, profile));
+                    return;
+                } catch (PlatformSyncException e) {
+                    if (!e.isRetryable() || attempt >= maxAttempts || shutdown) {
+                        lane.failed.increment();
+                        fail(job, accountId, e.getMessage());
+                        return;
+                    }
+                    lane.retries.increment();
+                    // 退避期间归还许可，避免占用平台并发
+                    lane.permits.release();
+                    holding = false;
+                    TimeUnit.MILLISECONDS.sleep(backoffMillis(attempt, e.getRetryAfterMillis()));
+                    lane.permits.acquire();
+                    holding = true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            lane.failed.increment();
+            fail(job, accountId, "同步被中断");
+        } catch (RuntimeException e) {
+            logger.error("关联账户同步异常: {}", accountId, e);
+            lane.failed.increment();
+            fail(job, accountId, e.getMessage());
+        } finally {
+            if (holding) {
+                lane.permits.release();
+            }
+        }
+    }
+
+    /**
+     * 构造同步成功的状态更新：只写入摘要有变化的资料列，游标变化时一并写入
+     */
+    private SyncStatusUpdate buildSyncedUpdate(PlatformLane lane, SyncTarget target, PlatformProfile profile) {
+        SyncStatusUpdate update = new SyncStatusUpdate(target.getAccountId(), SyncStatus.SYNCED, LocalDateTime.now(), null);
+        if (profile.isNotModified()) {
+            deltaCounter.recordNotModified(lane.platform);
+        } else {
+            ProfileDelta delta = ProfileDelta.compute(target.getProfileHashes(), profile);
+            delta.applyTo(update, profile);
+            deltaCounter.recordFetched(lane.platform, profile.getResponseBytes(), delta);
+        }
+        if (!Objects.equals(profile.getCursor(), target.getSyncCursor())) {
+            update.syncCursor(profile.getCursor());
+        }
+        return update;
+    }
+
+    private void fail(SyncJob job, String accountId, String error) {
+        finish(job, new SyncStatusUpdate(accountId, SyncStatus.FAILED, null, truncate(error)));
+    }
+
+    private void finish(SyncJob job, SyncStatusUpdate update) {
+        try {
+            statusWriter.record(update);
+            if (update.getSyncStatus() == SyncStatus.SYNCED) {
+                job.succeeded.incrementAndGet();
+            } else {
+                job.failed.incrementAndGet();
+            }
+        } finally {
+            inFlight.remove(update.getAccountId());
+            job.taskDone();
+        }
+    }
+
+    private boolean submit(SyncJob job, Runnable task, String accountId) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            logger.warn("同步执行器已关闭，账户{}未同步", accountId);
+            // 提交前已记录为PENDING，回写失败状态
+            fail(job, accountId, "同步执行器已关闭");
+            return false;
+        }
+    }
+
+    private long backoffMillis(int attempt, long retryAfterMillis) {
+        long base = properties.getBackoffMillis() << Math.min(attempt - 1, 20);
+        long capped = Math.min(base, properties.getMaxBackoffMillis());
+        // 在 [capped/2, capped] 内随机抖动，避免同一平台的重试集中到达
+        long jittered = capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1);
+        return Math.max(jittered, retryAfterMillis);
+    }
+
+    private PlatformLane requireLane(String platform) {
+        PlatformLane lane = lanes.get(platform);
+        if (lane == null) {
+            throw new BusinessException(400, 400, "不支持的平台: " + platform);
+        }
+        if (lane.adapter == null) {
+            throw new BusinessException(10011, 400, "平台未配置同步适配器: " + platform);
+        }
+        return lane;
+    }
+
+    private SyncJob registerJob(List<String> platforms) {
+        SyncJob job = new SyncJob(UUID.randomUUID().toString(), platforms);
+        jobs.put(job.id, job);
+        jobOrder.addLast(job.id);
+        // 只保留最近的任务记录，进行中的任务不会被淘汰
+        if (jobs.size() > MAX_RETAINED_JOBS) {
+            Iterator<String> iterator = jobOrder.iterator();
+            while (jobs.size() > MAX_RETAINED_JOBS && iterator.hasNext()) {
+                String jobId = iterator.next();
+                SyncJob candidate = jobs.get(jobId);
+                if (candidate == null || candidate.status != JobStatus.RUNNING) {
+                    jobs.remove(jobId);
+                    iterator.remove();
+                }
+            }
+        }
+        return job;
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    /**
+     * 平台同步通道
+     */
+    private static final class PlatformLane {
+        private final String platform;
+        private final PlatformSyncAdapter adapter;
+        private final int maxConcurrency;
+        private final double ratePerSecond;
+        private final Semaphore permits;
+        private final PlatformRateLimiter limiter;
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        private PlatformLane(String platform, AccountSyncProperties.Platform config, PlatformSyncAdapter adapter) {
+            this.platform = platform;
+            this.adapter = adapter;
+            this.maxConcurrency = Math.max(1, config.getMaxConcurrency());
+            this.ratePerSecond = config.getRatePerSecond();
+            this.permits = new Semaphore(maxConcurrency);
+            this.limiter = new PlatformRateLimiter(ratePerSecond, config.getBurst());
+        }
+    }
+
+    /**
+     * 同步任务进度；outstanding 为未结束的派发任务与同步任务数（含创建时的一个占位），归零即完成
+     */
+    private static final class SyncJob {
+        private final String id;
+        private final List<String> platforms;
+        private final LocalDateTime startTime = LocalDateTime.now();
+        private final List<Future<?>> dispatchers = new CopyOnWriteArrayList<>();
+        private final AtomicLong outstanding = new AtomicLong(1);
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong succeeded = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private volatile boolean cancelled = false;
+        private volatile JobStatus status = JobStatus.RUNNING;
+        private volatile LocalDateTime endTime;
+
+        private SyncJob(String id, List<String> platforms) {
+            this.id = id;
+            this.platforms = platforms;
+        }
+
+        private void taskDone() {
+            if (outstanding.decrementAndGet() == 0) {
+                endTime = LocalDateTime.now();
+                status = cancelled ? JobStatus.CANCELLED : JobStatus.COMPLETED;
+            }
+        }
+
+        private SyncJobDTO toDTO() {
+            SyncJobDTO dto = new SyncJobDTO();
+            dto.setJobId(id);
+            dto.setPlatforms(platforms);
+            dto.setStatus(status);
+            dto.setTotal(total.get());
+            dto.setSucceeded(succeeded.get());
+            dto.setFailed(failed.get());
+            dto.setSkipped(skipped.get());
+            dto.setStartTime(startTime);
+            dto.setEndTime(endTime);
+            return dto;
+        }
+    }
+}
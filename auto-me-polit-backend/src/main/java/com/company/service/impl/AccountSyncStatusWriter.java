@@ -0,0 +1,112 @@
+package com.company.service.impl;
+
+import com.company.repository.LinkedAccountRepository;
+import com.company.repository.LinkedAccountRepositoryCustom.SyncStatusUpdate;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 统一身份认证平台 - 关联账户同步状态批量写入器
+ * 状态迁移只写入内存缓冲区（每个账户仅保留最新状态及未落库的资料变更），由定时任务以JDBC批量UPDATE落库，
+ * 关闭时会排空缓冲区
+ */
+@Component
+public class AccountSyncStatusWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountSyncStatusWriter.class);
+
+    private final LinkedAccountRepository linkedAccountRepository;
+
+    private final ConcurrentHashMap<String, SyncStatusUpdate> pending = new ConcurrentHashMap<>();
+    private volatile boolean shutdown = false;
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder flushedRows = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+
+    public AccountSyncStatusWriter(LinkedAccountRepository linkedAccountRepository) {
+        this.linkedAccountRepository = linkedAccountRepository;
+    }
+
+    /**
+     * 记录状态迁移，同一账户仅保留最新状态，未落库的资料变更会被合并
+     *
+     * @param update 状态更新
+     */
+    public void record(SyncStatusUpdate update) {
+        recorded.increment();
+        if (shutdown) {
+            // 关闭过程中直接写库，避免数据滞留在已排空的缓冲区
+            linkedAccountRepository.batchUpdateSyncStatus(List.of(update));
+            return;
+        }
+        pending.merge(update.getAccountId(), update, (older, newer) -> newer.mergeOlder(older));
+    }
+
+    /**
+     * 定时落库
+     */
+    @Scheduled(fixedDelayString = "${auto-me-polit.account-linking.sync.status-flush-interval:1000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<SyncStatusUpdate> batch = new ArrayList<>(pending.size());
+        for (Map.Entry<String, SyncStatusUpdate> entry : pending.entrySet()) {
+            // 仅当条目未被并发覆盖时才移除，新状态留待下个周期
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(entry.getValue());
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            int[] counts = linkedAccountRepository.batchUpdateSyncStatus(batch);
+            for (int count : counts) {
+                flushedRows.add(count);
+            }
+        } catch (RuntimeException e) {
+            flushFailures.increment();
+            logger.warn("批量写入同步状态失败，{}条记录将在下个周期重试", batch.size(), e);
+            // 期间已有更新的状态时以新状态为准，保留失败批次中的资料变更
+            batch.forEach(update -> pending.merge(update.getAccountId(), update, (newer, failed) -> newer.mergeOlder(failed)));
+        }
+    }
+
+    /**
+     * 关闭时排空缓冲区
+     */
+    @PreDestroy
+    public void drain() {
+        shutdown = true;
+        flush();
+        logger.info("同步状态缓冲区已排空，累计写入{}行", flushedRows.sum());
+    }
+
+    /**
+     * 获取缓冲区统计信息
+     *
+     * @return 缓冲条目数、累计记录数、累计落库行数、落库失败次数
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("pending", pending.size());
+        statistics.put("recorded", recorded.sum());
+        statistics.put("flushedRows", flushedRows.sum());
+        statistics.put("flushFailures", flushFailures.sum());
+        return statistics;
+    }
+}
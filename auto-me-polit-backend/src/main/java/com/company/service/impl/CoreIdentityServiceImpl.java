@@ -1,22 +1,42 @@
 package com.company.service.impl;
 
+import com.company.cache.IdentityCache;
+import com.company.cache.IdentityIdFilter;
+import com.company.config.BulkheadExecutor;
 import com.company.dto.request.CreateIdentityRequestDTO;
+import com.company.dto.request.IdentityListQueryDTO;
+import com.company.dto.response.BatchCreateIdentityResponseDTO;
 import com.company.dto.response.CreateIdentityResponseDTO;
+import com.company.dto.response.IdentitySummaryDTO;
 import com.company.entity.CoreIdentity;
 import com.company.exception.IdentityException;
 import com.company.repository.CoreIdentityRepository;
 import com.company.service.CoreIdentityService;
+import com.company.util.ApiResponse;
 import com.company.util.CryptoUtil;
 import com.company.util.IdentityGenerator;
+import com.company.util.KeysetCursor;
+import com.company.util.OptimisticRetryTemplate;
+import com.company.util.ShamirSecretSharing;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * 统一身份认证平台 - 核心身份管理服务实现
@@ -28,6 +48,9 @@ public class CoreIdentityServiceImpl implements CoreIdentityService {
 
     private static final Logger logger = LoggerFactory.getLogger(CoreIdentityServiceImpl.class);
 
+    // 字节级Shamir分片的编码前缀，用于区分旧版CryptoUtil生成的分片
+    private static final String SHARE_PREFIX = "SSS1:";
+
     @Autowired
     private CoreIdentityRepository coreIdentityRepository;
 
@@ -40,52 +63,65 @@ public class CoreIdentityServiceImpl implements CoreIdentityService {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private IdentityCache identityCache;
+
+    @Autowired
+    private IdentityIdFilter identityIdFilter;
+
+    @Autowired
+    private OptimisticRetryTemplate optimisticRetryTemplate;
+
+    @Autowired
+    private LastActiveTimeCoalescer lastActiveTimeCoalescer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private HybridKeyPairPool hybridKeyPairPool;
+
+    @Autowired
+    private IdentityStatusCounter identityStatusCounter;
+
+    // 批量加解密的并行部分同样在加解密隔离舱上执行，不使用公共ForkJoinPool
+    @Autowired
+    @Qualifier("identityCryptoExecutor")
+    private BulkheadExecutor cryptoExecutor;
+
+    // 游标分页首页使用的排序键边界
+    private static final LocalDateTime KEYSET_MIN_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime KEYSET_MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    // 生成的身份ID与已有身份冲突时的最大重新生成次数
+    private static final int MAX_IDENTITY_ID_ATTEMPTS = 5;
+
+    @Value("${auto-me-polit.identity.batch.chunk-size:1000}")
+    private int batchChunkSize;
+
+    @Value("${auto-me-polit.key-management.shamir.min-shares:3}")
+    private int shamirThreshold;
+
+    @Value("${auto-me-polit.key-management.shamir.total-shares:5}")
+    private int shamirTotalShares;
+
     @Override
     @Transactional
     public CreateIdentityResponseDTO createIdentity(CreateIdentityRequestDTO request) throws IdentityException {
         try {
             logger.info("开始创建新的核心身份");
 
-            // 1. 生成全局唯一身份ID
-            String identityId = generateIdentityId();
-            logger.debug("生成的身份ID: {}", identityId);
-
-            // 2. 生成密钥对（国密SM2 + NIST Ed25519混合）
-            KeyPair keyPair = generateKeyPair();
-            logger.debug("密钥对生成完成");
-
-            // 3. 加密私钥（使用用户设备指纹+生物特征）
-            String encryptedPrivateKey = cryptoUtil.encryptPrivateKey(
-                keyPair.getPrivateKey(),
-                request.getDeviceFingerprint(),
-                request.getBiometricTemplateHash()
-            );
+            // 1-6. 生成身份ID、密钥对、私钥密文、密钥分片并构建实体
+            PreparedIdentity prepared = prepareIdentity(request);
 
-            // 4. 创建密钥分片（Shamir's Secret Sharing）
-            KeyFragments keyFragments = splitKey(keyPair.getPrivateKey(), 3, 5);
-
-            // 5. 构建恢复配置
-            Map<String, Object> recoveryConfig = buildRecoveryConfig(request, keyFragments);
-
-            // 6. 创建核心身份实体
-            CoreIdentity identity = new CoreIdentity();
-            identity.setIdentityId(identityId);
-            identity.setPublicKey(keyPair.getPublicKey());
-            identity.setPrivateKeyEncrypted(encryptedPrivateKey);
-            identity.setStatus(CoreIdentity.IdentityStatus.ACTIVE);
-            identity.setSecurityLevel(5); // 最高安全级别
-            identity.setBiometricTemplateHash(request.getBiometricTemplateHash());
-            identity.setDeviceFingerprint(request.getDeviceFingerprint());
-            identity.setRecoveryConfig(objectMapper.writeValueAsString(recoveryConfig));
-            identity.setLastActiveTime(LocalDateTime.now());
-            identity.setMetadata(buildMetadata(request));
-
-            // 7. 保存到数据库
-            CoreIdentity savedIdentity = coreIdentityRepository.save(identity);
-            logger.info("核心身份创建成功: {}", identityId);
+            // 7. 保存到数据库（先登记到身份ID过滤器，保证提交后的查询不会被误判为不存在）
+            identityIdFilter.putAll(List.of(prepared.identity.getIdentityId()));
+            CoreIdentity savedIdentity = coreIdentityRepository.save(prepared.identity);
+            identityStatusCounter.recordCreated(1);
+            logger.info("核心身份创建成功: {}", savedIdentity.getIdentityId());
 
             // 8. 构建响应
-            return buildCreateResponse(savedIdentity, keyFragments);
+            return buildCreateResponse(savedIdentity, prepared.keyFragments);
 
         } catch (Exception e) {
             logger.error("创建核心身份失败", e);
@@ -94,28 +130,158 @@ public class CoreIdentityServiceImpl implements CoreIdentityService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchCreateIdentityResponseDTO batchCreateIdentities(List<CreateIdentityRequestDTO> requests) {
+        int total = requests.size();
+        logger.info("开始批量创建核心身份: {}个", total);
+
+        // 1. 在加解密执行器上并行生成密钥材料（CPU密集，与数据库写入分离）
+        PreparedIdentity[] prepared = new PreparedIdentity[total];
+        BatchCreateIdentityResponseDTO.ItemResult[] results = new BatchCreateIdentityResponseDTO.ItemResult[total];
+        cryptoExecutor.forEachIndex(total, i -> {
+            try {
+                prepared[i] = prepareIdentity(requests.get(i));
+            } catch (Exception e) {
+                logger.warn("批量创建第{}项密钥生成失败", i, e);
+                results[i] = BatchCreateIdentityResponseDTO.ItemResult.failure(i, "密钥生成失败: " + e.getMessage());
+            }
+        });
+
+        // 2. 分块持久化：每块一个事务，依赖池化ID与JDBC批量插入
+        for (int from = 0; from < total; from += batchChunkSize) {
+            List<Integer> chunk = new ArrayList<>(batchChunkSize);
+            for (int i = from; i < Math.min(from + batchChunkSize, total); i++) {
+                if (prepared[i] != null) {
+                    chunk.add(i);
+                }
+            }
+            persistChunk(chunk, prepared, results);
+        }
+
+        BatchCreateIdentityResponseDTO response = new BatchCreateIdentityResponseDTO(Arrays.asList(results));
+        logger.info("批量创建核心身份完成: 成功{}个, 失败{}个", response.getSucceeded(), response.getFailed());
+        return response;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public CoreIdentity getIdentityById(String identityId) throws IdentityException {
-        return coreIdentityRepository.findByIdentityId(identityId)
-            .orElseThrow(() -> new IdentityException("身份不存在: " + identityId));
+        // 过滤器判定不存在的ID一定不存在，不访问缓存与数据库
+        if (!identityIdFilter.mightContain(identityId)) {
+            throw new IdentityException("身份不存在: " + identityId);
+        }
+        // 同一身份的并发未命中合并为一次查询；不开启事务，等待中的线程不占用数据库连接
+        CoreIdentity identity = identityCache.getOrLoad(identityId,
+            id -> coreIdentityRepository.findByIdentityId(id).orElse(null));
+        if (identity == null) {
+            throw new IdentityException("身份不存在: " + identityId);
+        }
+        return identity;
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    public ApiResponse.PageData<IdentitySummaryDTO> listIdentities(IdentityListQueryDTO query) {
+        int size = query.getSize();
+        // 多取一条用于判断是否还有下一页
+        Pageable limit = PageRequest.of(0, size + 1);
+        String cursor = query.getCursor();
+        boolean first = cursor == null || cursor.isEmpty();
+        IdentityListQueryDTO.Filter filter = query.getFilter();
+
+        List<IdentitySummaryDTO> rows;
+        switch (filter) {
+            case STATUS -> {
+                CoreIdentity.IdentityStatus status = query.getStatus();
+                long afterId = 0L;
+                if (!first) {
+                    String[] parts = decodeCursor(cursor, filter, 3);
+                    status = CoreIdentity.IdentityStatus.valueOf(parts[1]);
+                    afterId = Long.parseLong(parts[2]);
+                }
+                rows = coreIdentityRepository.findSummariesByStatus(status, afterId, limit);
+                return toPage(rows, size, last -> KeysetCursor.encode(filter, last.getStatus(), last.getId()));
+            }
+            case INACTIVE -> {
+                // 从未活跃（NULL）的身份无法参与时间范围比较，先按主键取完，再按 (最后活跃时间, 主键) 取其余
+                LocalDateTime threshold = LocalDateTime.now().minusDays(query.getInactiveDays());
+                boolean neverActivePhase = true;
+                LocalDateTime afterTime = KEYSET_MIN_TIME;
+                long afterId = 0L;
+                if (!first) {
+                    String[] parts = decodeCursor(cursor, filter, 5);
+                    threshold = LocalDateTime.parse(parts[1]);
+                    neverActivePhase = "N".equals(parts[2]);
+                    afterTime = neverActivePhase ? KEYSET_MIN_TIME : LocalDateTime.parse(parts[3]);
+                    afterId = Long.parseLong(parts[4]);
+                }
+                rows = new ArrayList<>(size + 1);
+                if (neverActivePhase) {
+                    rows.addAll(coreIdentityRepository.findNeverActiveSummaries(afterId, limit));
+                    afterId = 0L;
+                }
+                if (rows.size() <= size) {
+                    rows.addAll(coreIdentityRepository.findInactiveSummaries(
+                        threshold, afterTime, afterId, PageRequest.of(0, size + 1 - rows.size())));
+                }
+                LocalDateTime anchor = threshold;
+                return toPage(rows, size, last -> KeysetCursor.encode(filter, anchor, last.getLastActiveTime() == null ? "N" : "T",
+                    last.getLastActiveTime(), last.getId()));
+            }
+            case HIGH_RISK -> {
+                int minSecurityLevel = query.getMinSecurityLevel();
+                int afterLevel = Integer.MIN_VALUE;
+                long afterId = 0L;
+                if (!first) {
+                    String[] parts = decodeCursor(cursor, filter, 4);
+                    minSecurityLevel = Integer.parseInt(parts[1]);
+                    afterLevel = Integer.parseInt(parts[2]);
+                    afterId = Long.parseLong(parts[3]);
+                }
+                rows = coreIdentityRepository.findHighRiskSummaries(minSecurityLevel, afterLevel, afterId, limit);
+                int anchor = minSecurityLevel;
+                return toPage(rows, size, last -> KeysetCursor.encode(filter, anchor, last.getSecurityLevel(), last.getId()));
+            }
+            case RECENT -> {
+                LocalDateTime startTime = LocalDateTime.now().minusHours(query.getHours());
+                LocalDateTime beforeTime = KEYSET_MAX_TIME;
+                long beforeId = Long.MAX_VALUE;
+                if (!first) {
+                    String[] parts = decodeCursor(cursor, filter, 4);
+                    startTime = LocalDateTime.parse(parts[1]);
+                    beforeTime = LocalDateTime.parse(parts[2]);
+                    beforeId = Long.parseLong(parts[3]);
+                }
+                rows = coreIdentityRepository.findRecentlyCreatedSummaries(startTime, beforeTime, beforeId, limit);
+                LocalDateTime anchor = startTime;
+                return toPage(rows, size, last -> KeysetCursor.encode(filter, anchor, last.getCreationTime(), last.getId()));
+            }
+            default -> throw new IllegalArgumentException("不支持的筛选类型: " + filter);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<String, Long> getStatusCounts() {
+        return identityStatusCounter.getCounts();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void updateLastActiveTime(String identityId) throws IdentityException {
-        CoreIdentity identity = getIdentityById(identityId);
-        identity.setLastActiveTime(LocalDateTime.now());
-        coreIdentityRepository.save(identity);
+        // 校验身份存在（走缓存），活跃时间写入合并缓冲区后批量落库
+        getIdentityById(identityId);
+        lastActiveTimeCoalescer.record(identityId, LocalDateTime.now());
     }
 
     @Override
     @Transactional
     public void freezeIdentity(String identityId, String reason) throws IdentityException {
-        CoreIdentity identity = getIdentityById(identityId);
-        identity.setStatus(CoreIdentity.IdentityStatus.FROZEN);
-        // 记录冻结原因到元数据
-        updateMetadata(identity, "freeze_reason", reason);
-        coreIdentityRepository.save(identity);
+        // 状态与冻结原因在数据库内以条件UPDATE完成，命中的原状态条件即变更前的状态（通常为ACTIVE，一条UPDATE）
+        CoreIdentity.IdentityStatus previous = transitionStatus(identityId, CoreIdentity.IdentityStatus.ACTIVE,
+            CoreIdentity.IdentityStatus.FROZEN, Collections.singletonMap("freeze_reason", reason));
+        identityStatusCounter.recordTransition(previous, CoreIdentity.IdentityStatus.FROZEN);
+        identityCache.evict(identityId);
         logger.warn("身份被冻结: {}, 原因: {}", identityId, reason);
     }
 
@@ -127,24 +293,35 @@ public class CoreIdentityServiceImpl implements CoreIdentityService {
             throw new IdentityException("恢复令牌验证失败");
         }
 
-        CoreIdentity identity = getIdentityById(identityId);
-        identity.setStatus(CoreIdentity.IdentityStatus.ACTIVE);
-        // 更新恢复相关信息
-        updateMetadata(identity, "last_recovery_time", LocalDateTime.now().toString());
-        coreIdentityRepository.save(identity);
+        // 更新状态及恢复相关信息
+        CoreIdentity.IdentityStatus previous = transitionStatus(identityId, CoreIdentity.IdentityStatus.FROZEN,
+            CoreIdentity.IdentityStatus.ACTIVE,
+            Collections.singletonMap("last_recovery_time", LocalDateTime.now().toString()));
+        identityStatusCounter.recordTransition(previous, CoreIdentity.IdentityStatus.ACTIVE);
+        identityCache.evict(identityId);
         logger.info("身份恢复成功: {}", identityId);
     }
 
     @Override
     @Transactional
+    public void patchMetadata(String identityId, Map<String, Object> entries) throws IdentityException {
+        if (entries == null || entries.isEmpty()) {
+            return;
+        }
+        if (coreIdentityRepository.patchMetadata(identityId, entries) == 0) {
+            throw new IdentityException("身份不存在: " + identityId);
+        }
+        identityCache.evict(identityId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void updateDeviceFingerprint(String identityId, String deviceFingerprint) throws IdentityException {
-        CoreIdentity identity = getIdentityById(identityId);
-        identity.setDeviceFingerprint(deviceFingerprint);
-        coreIdentityRepository.save(identity);
+        mutateIdentity(identityId, identity -> identity.setDeviceFingerprint(deviceFingerprint));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean validateSecurityLevel(String identityId, Integer requiredLevel) throws IdentityException {
         CoreIdentity identity = getIdentityById(identityId);
         return identity.getSecurityLevel() >= requiredLevel;
@@ -157,21 +334,215 @@ public class CoreIdentityServiceImpl implements CoreIdentityService {
 
     @Override
     public KeyPair generateKeyPair() {
-        return cryptoUtil.generateHybridKeyPair();
+        return hybridKeyPairPool.take();
     }
 
     @Override
     public KeyFragments splitKey(String secret, int threshold, int totalShares) {
-        return cryptoUtil.splitKey(secret, threshold, totalShares);
+        byte[][] shares = ShamirSecretSharing.split(secret.getBytes(StandardCharsets.UTF_8), threshold, totalShares);
+        return new KeyFragments(encodeShares(shares), threshold, totalShares);
     }
 
     @Override
     public String combineFragments(KeyFragments fragments) {
-        return cryptoUtil.combineFragments(fragments);
+        if (!isEncodedShares(fragments.getFragments())) {
+            // 兼容旧版CryptoUtil生成的分片
+            return cryptoUtil.combineFragments(fragments);
+        }
+        return new String(ShamirSecretSharing.combine(decodeShares(fragments.getFragments())), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public List<KeyFragments> splitKeys(List<String> secrets, int threshold, int totalShares) {
+        KeyFragments[] result = new KeyFragments[secrets.size()];
+        cryptoExecutor.forEachIndex(result.length, i -> result[i] = splitKey(secrets.get(i), threshold, totalShares));
+        return Arrays.asList(result);
+    }
+
+    @Override
+    public List<String> combineFragments(List<KeyFragments> fragmentsList) {
+        String[] secrets = new String[fragmentsList.size()];
+        cryptoExecutor.forEachIndex(secrets.length, i -> secrets[i] = combineFragments(fragmentsList.get(i)));
+        return Arrays.asList(secrets);
     }
 
     // 私有辅助方法
 
+    private static String[] decodeCursor(String cursor, IdentityListQueryDTO.Filter filter, int expectedParts) {
+        String[] parts = KeysetCursor.decode(cursor, expectedParts);
+        if (!filter.name().equals(parts[0])) {
+            throw new IllegalArgumentException("分页游标与筛选类型不符: " + filter);
+        }
+        return parts;
+    }
+
+    private static ApiResponse.PageData<IdentitySummaryDTO> toPage(List<IdentitySummaryDTO> rows, int size,
+                                                                  Function<IdentitySummaryDTO, String> cursorOf) {
+        if (rows.size() <= size) {
+            return ApiResponse.PageData.ofCursor(rows, size, null);
+        }
+        List<IdentitySummaryDTO> items = rows.subList(0, size);
+        return ApiResponse.PageData.ofCursor(new ArrayList<>(items), size, cursorOf.apply(items.get(size - 1)));
+    }
+
+    /**
+     * 条件更新身份状态与元数据，返回变更前的状态用于维护状态计数
+     */
+    private CoreIdentity.IdentityStatus transitionStatus(String identityId, CoreIdentity.IdentityStatus expectedPrevious,
+                                                         CoreIdentity.IdentityStatus status,
+                                                         Map<String, Object> entries) throws IdentityException {
+        return coreIdentityRepository.transitionStatusWithMetadata(identityId, expectedPrevious, status, entries)
+            .orElseThrow(() -> new IdentityException("身份不存在: " + identityId));
+    }
+
+    /**
+     * 以乐观锁方式修改身份：每次尝试在独立事务中加载受管实体、应用修改并保存，
+     * 版本冲突时有限次重试，提交后使缓存失效
+     */
+    private void mutateIdentity(String identityId, Consumer<CoreIdentity> mutation) throws IdentityException {
+        try {
+            optimisticRetryTemplate.executeWithoutResult(() -> {
+                CoreIdentity identity = coreIdentityRepository.findByIdentityIdForUpdate(identityId)
+                    .orElseThrow(() -> new IdentityException("身份不存在: " + identityId));
+                mutation.accept(identity);
+                coreIdentityRepository.save(identity);
+                identityCache.evict(identityId);
+            });
+        } catch (OptimisticLockingFailureException e) {
+            throw new IdentityException("身份并发修改冲突，请稍后重试: " + identityId, e);
+        }
+    }
+
+    /**
+     * 生成创建身份所需的全部材料（身份ID、密钥对、私钥密文、密钥分片）并构建未持久化的实体
+     */
+    private PreparedIdentity prepareIdentity(CreateIdentityRequestDTO request) throws Exception {
+        // 1. 生成全局唯一身份ID
+        String identityId = nextIdentityId();
+        logger.debug("生成的身份ID: {}", identityId);
+
+        // 2. 生成密钥对（国密SM2 + NIST Ed25519混合）
+        KeyPair keyPair = generateKeyPair();
+        logger.debug("密钥对生成完成");
+
+        // 3. 加密私钥（使用用户设备指纹+生物特征）
+        String encryptedPrivateKey = cryptoUtil.encryptPrivateKey(
+            keyPair.getPrivateKey(),
+            request.getDeviceFingerprint(),
+            request.getBiometricTemplateHash()
+        );
+
+        // 4. 创建密钥分片（Shamir's Secret Sharing）
+        KeyFragments keyFragments = splitKey(keyPair.getPrivateKey(), shamirThreshold, shamirTotalShares);
+
+        // 5. 构建恢复配置
+        Map<String, Object> recoveryConfig = buildRecoveryConfig(request, keyFragments);
+
+        // 6. 创建核心身份实体
+        CoreIdentity identity = new CoreIdentity();
+        identity.setIdentityId(identityId);
+        identity.setPublicKey(keyPair.getPublicKey());
+        identity.setPrivateKeyEncrypted(encryptedPrivateKey);
+        identity.setStatus(CoreIdentity.IdentityStatus.ACTIVE);
+        identity.setSecurityLevel(5); // 最高安全级别
+        identity.setBiometricTemplateHash(request.getBiometricTemplateHash());
+        identity.setDeviceFingerprint(request.getDeviceFingerprint());
+        identity.setRecoveryConfig(objectMapper.writeValueAsString(recoveryConfig));
+        identity.setLastActiveTime(LocalDateTime.now());
+        identity.setMetadata(buildMetadata(request));
+
+        return new PreparedIdentity(identity, keyFragments);
+    }
+
+    /**
+     * 生成未被占用的身份ID：本节点过滤器未登记的ID无需查库，可能存在时以数据库确认，冲突则重新生成。
+     * 过滤器构建完成前不做检查，由唯一索引兜底
+     */
+    private String nextIdentityId() throws IdentityException {
+        for (int attempt = 0; attempt < MAX_IDENTITY_ID_ATTEMPTS; attempt++) {
+            String identityId = generateIdentityId();
+            if (!identityIdFilter.isReady() || !identityIdFilter.mightContainLocally(identityId)
+                    || !coreIdentityRepository.existsByIdentityId(identityId)) {
+                return identityId;
+            }
+            logger.warn("生成的身份ID已存在，重新生成: {}", identityId);
+        }
+        throw new IdentityException("生成身份ID失败：连续" + MAX_IDENTITY_ID_ATTEMPTS + "次与已有身份冲突");
+    }
+
+    /**
+     * 在单个事务中批量保存一块身份；整块失败时逐条重试以定位失败项
+     */
+    private void persistChunk(List<Integer> chunk, PreparedIdentity[] prepared,
+                              BatchCreateIdentityResponseDTO.ItemResult[] results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        List<String> identityIds = new ArrayList<>(chunk.size());
+        for (int i : chunk) {
+            identityIds.add(prepared[i].identity.getIdentityId());
+        }
+        identityIdFilter.putAll(identityIds);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<CoreIdentity> entities = new ArrayList<>(chunk.size());
+                for (int i : chunk) {
+                    entities.add(prepared[i].identity);
+                }
+                coreIdentityRepository.saveAll(entities);
+            });
+            identityStatusCounter.recordCreated(chunk.size());
+            for (int i : chunk) {
+                results[i] = BatchCreateIdentityResponseDTO.ItemResult.success(
+                    i, buildCreateResponse(prepared[i].identity, prepared[i].keyFragments));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("批量保存失败，逐条重试{}个身份: {}", chunk.size(), e.getMessage());
+            for (int i : chunk) {
+                CoreIdentity identity = prepared[i].identity;
+                // 回滚后实体仍保留已分配的主键和版本号，需重置为新建状态
+                identity.setId(null);
+                identity.setVersion(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> coreIdentityRepository.save(identity));
+                    identityStatusCounter.recordCreated(1);
+                    results[i] = BatchCreateIdentityResponseDTO.ItemResult.success(
+                        i, buildCreateResponse(identity, prepared[i].keyFragments));
+                } catch (RuntimeException itemError) {
+                    logger.warn("批量创建第{}项保存失败", i, itemError);
+                    results[i] = BatchCreateIdentityResponseDTO.ItemResult.failure(i, "保存失败: " + itemError.getMessage());
+                }
+            }
+        }
+    }
+
+    private static String[] encodeShares(byte[][] shares) {
+        String[] encoded = new String[shares.length];
+        for (int i = 0; i < shares.length; i++) {
+            encoded[i] = SHARE_PREFIX + Base64.getEncoder().encodeToString(shares[i]);
+        }
+        return encoded;
+    }
+
+    private static byte[][] decodeShares(String[] encoded) {
+        byte[][] shares = new byte[encoded.length][];
+        for (int i = 0; i < encoded.length; i++) {
+            shares[i] = Base64.getDecoder().decode(encoded[i].substring(SHARE_PREFIX.length()));
+        }
+        return shares;
+    }
+
+    private static boolean isEncodedShares(String[] fragments) {
+        for (String fragment : fragments) {
+            if (fragment == null || !fragment.startsWith(SHARE_PREFIX)) {
+                return false;
+            }
+        }
+        return fragments.length > 0;
+    }
+
     private Map<String, Object> buildRecoveryConfig(CreateIdentityRequestDTO request, KeyFragments keyFragments) {
         Map<String, Object> config = new HashMap<>();
         config.put("threshold", keyFragments.getThreshold());
@@ -241,16 +612,16 @@ public class CoreIdentityServiceImpl implements CoreIdentityService {
         return true; // 简化实现
     }
 
-    private void updateMetadata(CoreIdentity identity, String key, Object value) {
-        try {
-            Map<String, Object> metadata = objectMapper.readValue(
-                identity.getMetadata() != null ? identity.getMetadata() : "{}", 
-                Map.class
-            );
-            metadata.put(key, value);
-            identity.setMetadata(objectMapper.writeValueAsString(metadata));
-        } catch (Exception e) {
-            logger.warn("更新元数据失败", e);
+    /**
+     * 已生成密钥材料、尚未持久化的身份
+     */
+    private static final class PreparedIdentity {
+        private final CoreIdentity identity;
+        private final KeyFragments keyFragments;
+
+        private PreparedIdentity(CoreIdentity identity, KeyFragments keyFragments) {
+            this.identity = identity;
+            this.keyFragments = keyFragments;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,248 @@
+package com.company.service.impl;
+
+import com.company.dto.response.DashboardSnapshotDTO;
+import com.company.entity.LinkedAccount;
+import com.company.repository.LinkedAccountRepository;
+import com.company.repository.SharePolicyRepository;
+import com.company.service.DashboardService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 统一身份认证平台 - 仪表盘服务实现
+ * 所有查看者共享同一份快照：快照未超过刷新周期时直接返回；超过刷新周期时返回旧快照并触发一次后台刷新；
+ * 超过最大延迟（或尚无快照）时同步计算，并发请求只计算一次。刷新失败时继续使用旧快照
+ */
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardServiceImpl.class);
+
+    private static final int TOP_POLICY_COUNT = 10;
+
+    @Autowired
+    private IdentityStatusCounter identityStatusCounter;
+
+    @Autowired
+    private LinkedAccountRepository linkedAccountRepository;
+
+    @Autowired
+    private SharePolicyRepository sharePolicyRepository;
+
+    @Value("${auto-me-polit.dashboard.refresh-interval:30s}")
+    private Duration refreshInterval;
+
+    @Value("${auto-me-polit.dashboard.max-staleness:5m}")
+    private Duration maxStaleness;
+
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dashboard-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private final Object computeLock = new Object();
+    private volatile Snapshot current;
+
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder staleReads = new LongAdder();
+    private final LongAdder synchronousLoads = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+
+    @Override
+    public DashboardSnapshotDTO getSnapshot() {
+        reads.increment();
+        Snapshot snapshot = current;
+        long now = System.nanoTime();
+        if (snapshot == null || now - snapshot.computedNanos > maxStaleness.toNanos()) {
+            snapshot = loadSynchronously(snapshot);
+            now = System.nanoTime();
+        } else if (now - snapshot.computedNanos > refreshInterval.toNanos()) {
+            staleReads.increment();
+            refresh();
+        }
+        return snapshot.toDTO(now, refreshInterval.toNanos());
+    }
+
+    @Override
+    public boolean refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    synchronized (computeLock) {
+                        current = compute();
+                    }
+                    refreshes.increment();
+                } catch (RuntimeException e) {
+                    refreshFailures.increment();
+                    logger.warn("仪表盘快照后台刷新失败，继续使用旧快照: {}", e.getMessage());
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+            return false;
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        Snapshot snapshot = current;
+        statistics.put("generatedAt", snapshot != null ? snapshot.generatedAt.toString() : null);
+        statistics.put("computeMillis", snapshot != null ? snapshot.computeMillis : null);
+        statistics.put("refreshIntervalSeconds", refreshInterval.getSeconds());
+        statistics.put("reads", reads.sum());
+        statistics.put("staleReads", staleReads.sum());
+        statistics.put("synchronousLoads", synchronousLoads.sum());
+        statistics.put("refreshes", refreshes.sum());
+        statistics.put("refreshFailures", refreshFailures.sum());
+        return statistics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * 同步计算快照：并发请求只由第一个请求计算；计算失败且存在旧快照时返回旧快照
+     */
+    private Snapshot loadSynchronously(Snapshot seen) {
+        synchronized (computeLock) {
+            Snapshot latest = current;
+            if (latest != null && latest != seen
+                    && System.nanoTime() - latest.computedNanos <= maxStaleness.toNanos()) {
+                return latest;
+            }
+            try {
+                synchronousLoads.increment();
+                latest = compute();
+                current = latest;
+                return latest;
+            } catch (RuntimeException e) {
+                if (seen == null) {
+                    throw e;
+                }
+                refreshFailures.increment();
+                logger.warn("仪表盘快照计算失败，返回{}生成的旧快照: {}", seen.generatedAt, e.getMessage());
+                return seen;
+            }
+        }
+    }
+
+    private Snapshot compute() {
+        long startNanos = System.nanoTime();
+        LocalDateTime generatedAt = LocalDateTime.now();
+
+        // 身份：增量维护的状态计数，不扫描数据表
+        DashboardSnapshotDTO.IdentityStats identities = new DashboardSnapshotDTO.IdentityStats();
+        Map<String, Long> byStatus = identityStatusCounter.getCounts();
+        identities.setByStatus(byStatus);
+        identities.setTotal(byStatus.values().stream().mapToLong(Long::longValue).sum());
+
+        // 关联账户：一次扫描得到健康度与风险分布，另按同步状态分组
+        DashboardSnapshotDTO.AccountStats accounts = new DashboardSnapshotDTO.AccountStats();
+        LinkedAccountRepository.AccountDistribution distribution = linkedAccountRepository.summarizeDistribution();
+        accounts.setTotal(valueOf(distribution.getTotal()));
+        Map<String, Long> health = new LinkedHashMap<>();
+        health.put("POOR", valueOf(distribution.getHealthPoor()));
+        health.put("FAIR", valueOf(distribution.getHealthFair()));
+        health.put("GOOD", valueOf(distribution.getHealthGood()));
+        health.put("EXCELLENT", valueOf(distribution.getHealthExcellent()));
+        accounts.setHealthDistribution(health);
+        Map<String, Long> risk = new LinkedHashMap<>();
+        risk.put("LOW", valueOf(distribution.getRiskLow()));
+        risk.put("MEDIUM", valueOf(distribution.getRiskMedium()));
+        risk.put("HIGH", valueOf(distribution.getRiskHigh()));
+        accounts.setRiskDistribution(risk);
+        Map<String, Long> bySyncStatus = new LinkedHashMap<>();
+        for (LinkedAccount.SyncStatus status : LinkedAccount.SyncStatus.values()) {
+            bySyncStatus.put(status.name(), 0L);
+        }
+        for (Object[] row : linkedAccountRepository.countBySyncStatus()) {
+            bySyncStatus.put(((LinkedAccount.SyncStatus) row[0]).name(), ((Number) row[1]).longValue());
+        }
+        accounts.setBySyncStatus(bySyncStatus);
+
+        // 共享策略：汇总与使用排行（使用次数为已落库值，最多滞后一个落库周期）
+        DashboardSnapshotDTO.PolicyStats policies = new DashboardSnapshotDTO.PolicyStats();
+        SharePolicyRepository.PolicyUsageSummary summary = sharePolicyRepository.summarizeUsage();
+        policies.setTotal(valueOf(summary.getTotal()));
+        policies.setActive(valueOf(summary.getActive()));
+        policies.setTotalUsage(valueOf(summary.getUsageCount()));
+        List<DashboardSnapshotDTO.PolicyUsageItem> topUsed = new ArrayList<>(TOP_POLICY_COUNT);
+        for (SharePolicyRepository.PolicyUsageView view : sharePolicyRepository.findTopUsed(PageRequest.of(0, TOP_POLICY_COUNT))) {
+            topUsed.add(new DashboardSnapshotDTO.PolicyUsageItem(view.getPolicyId(), view.getRequester(),
+                Boolean.TRUE.equals(view.getIsActive()), valueOf(view.getUsageCount()), view.getLastUsedTime()));
+        }
+        policies.setTopUsed(topUsed);
+
+        long computeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        logger.debug("仪表盘快照计算完成，耗时{}ms", computeMillis);
+        return new Snapshot(generatedAt, System.nanoTime(), computeMillis, identities, accounts, policies);
+    }
+
+    private static long valueOf(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    /**
+     * 已计算的快照，各统计对象生成后不再修改，可被并发读取共享
+     */
+    private static final class Snapshot {
+        private final LocalDateTime generatedAt;
+        private final long computedNanos;
+        private final long computeMillis;
+        private final DashboardSnapshotDTO.IdentityStats identities;
+        private final DashboardSnapshotDTO.AccountStats accounts;
+        private final DashboardSnapshotDTO.PolicyStats policies;
+
+        private Snapshot(LocalDateTime generatedAt, long computedNanos, long computeMillis,
+                         DashboardSnapshotDTO.IdentityStats identities,
+                         DashboardSnapshotDTO.AccountStats accounts,
+                         DashboardSnapshotDTO.PolicyStats policies) {
+            this.generatedAt = generatedAt;
+            this.computedNanos = computedNanos;
+            this.computeMillis = computeMillis;
+            this.identities = identities;
+            this.accounts = accounts;
+            this.policies = policies;
+        }
+
+        private DashboardSnapshotDTO toDTO(long nowNanos, long refreshIntervalNanos) {
+            DashboardSnapshotDTO dto = new DashboardSnapshotDTO();
+            dto.setGeneratedAt(generatedAt);
+            dto.setAgeSeconds(TimeUnit.NANOSECONDS.toSeconds(nowNanos - computedNanos));
+            dto.setStale(nowNanos - computedNanos > refreshIntervalNanos);
+            dto.setIdentities(identities);
+            dto.setAccounts(accounts);
+            dto.setPolicies(policies);
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.company.service.impl;
+
+import com.company.service.CoreIdentityService.KeyPair;
+import com.company.util.CryptoUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 统一身份认证平台 - 混合密钥对预生成池
+ * 后台线程预先生成SM2 + Ed25519混合密钥对，库存低于低水位时补充至高水位；
+ * 池为空时退化为同步生成，保证创建身份不被阻塞
+ */
+@Component
+public class HybridKeyPairPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(HybridKeyPairPool.class);
+
+    private final CryptoUtil cryptoUtil;
+    private final boolean enabled;
+    private final int lowWatermark;
+    private final int highWatermark;
+    private final int workers;
+
+    private final BlockingQueue<KeyPair> pool;
+    private final ExecutorService refillExecutor;
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+    private volatile boolean running = true;
+
+    private final LongAdder taken = new LongAdder();
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public HybridKeyPairPool(CryptoUtil cryptoUtil,
+                             @Value("${auto-me-polit.security.crypto.key-pool.enabled:true}") boolean enabled,
+                             @Value("${auto-me-polit.security.crypto.key-pool.low-watermark:64}") int lowWatermark,
+                             @Value("${auto-me-polit.security.crypto.key-pool.high-watermark:256}") int highWatermark,
+                             @Value("${auto-me-polit.security.crypto.key-pool.workers:2}") int workers) {
+        this.cryptoUtil = cryptoUtil;
+        this.enabled = enabled;
+        this.highWatermark = Math.max(1, highWatermark);
+        this.lowWatermark = Math.min(Math.max(0, lowWatermark), this.highWatermark);
+        this.workers = Math.max(1, workers);
+        this.pool = new ArrayBlockingQueue<>(this.highWatermark);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.refillExecutor = Executors.newFixedThreadPool(this.workers, runnable -> {
+            Thread thread = new Thread(runnable, "keypair-refill-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            logger.info("混合密钥对预生成池启动，低水位: {}, 高水位: {}, 工作线程: {}", lowWatermark, highWatermark, workers);
+            triggerRefill();
+        }
+    }
+
+    /**
+     * 取出一个密钥对；池为空时同步生成
+     *
+     * @return 混合密钥对
+     */
+    public KeyPair take() {
+        if (enabled) {
+            KeyPair keyPair = pool.poll();
+            if (pool.size() < lowWatermark) {
+                triggerRefill();
+            }
+            if (keyPair != null) {
+                taken.increment();
+                return keyPair;
+            }
+            fallbacks.increment();
+        }
+        return cryptoUtil.generateHybridKeyPair();
+    }
+
+    /**
+     * 获取密钥池统计信息
+     *
+     * @return 库存深度、累计取用数、累计后台生成数、同步生成回退次数
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", enabled);
+        statistics.put("depth", pool.size());
+        statistics.put("taken", taken.sum());
+        statistics.put("generated", generated.sum());
+        statistics.put("fallbacks", fallbacks.sum());
+        return statistics;
+    }
+
+    public int getDepth() {
+        return pool.size();
+    }
+
+    public long getGeneratedCount() {
+        return generated.sum();
+    }
+
+    public long getFallbackCount() {
+        return fallbacks.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        refillExecutor.shutdownNow();
+        // 不在内存中保留未使用的私钥
+        pool.clear();
+    }
+
+    private void triggerRefill() {
+        int active;
+        while (running && (active = activeWorkers.get()) < workers) {
+            if (activeWorkers.compareAndSet(active, active + 1)) {
+                try {
+                    refillExecutor.execute(this::refill);
+                } catch (RejectedExecutionException e) {
+                    // 任务未提交，归还名额；执行器已拒绝时本轮不再重试，由下次取用再触发
+                    activeWorkers.decrementAndGet();
+                    logger.warn("提交后台生成密钥对任务失败", e);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void refill() {
+        try {
+            while (running && pool.size() < highWatermark) {
+                if (!pool.offer(cryptoUtil.generateHybridKeyPair())) {
+                    break;
+                }
+                generated.increment();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("后台生成密钥对失败", e);
+        } finally {
+            activeWorkers.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,489 @@
+package com.company.service.impl;
+
+import com.company.cache.IdentityCache;
+import com.company.entity.CoreIdentity;
+import com.company.entity.JobCheckpoint;
+import com.company.repository.CoreIdentityRepository;
+import com.company.repository.JobCheckpointRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 统一身份认证平台 - 休眠身份清扫器
+ * 将长期不活跃的ACTIVE身份标记为DORMANT：主键范围切分为固定跨度的区间，多个区间并行处理，
+ * 每个区间先查出候选身份ID，再以集合UPDATE只更新这些ID（不加载实体）。已连续完成的区间形成水位线并定期写入检查点，
+ * 中断后从水位线续跑；单个区间耗时超过阈值时并发度减半，恢复后逐步回升，避免压垮数据库
+ */
+@Component
+public class IdentityDormancySweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdentityDormancySweeper.class);
+
+    public static final String JOB_NAME = "identity-dormancy-sweep";
+
+    private static final long THROTTLED_WORKER_PAUSE_MILLIS = 200L;
+
+    private final CoreIdentityRepository coreIdentityRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final IdentityCache identityCache;
+    private final IdentityStatusCounter identityStatusCounter;
+    private final boolean enabled;
+    private final int inactiveDays;
+    private final long chunkSize;
+    private final int maxConcurrency;
+    private final long slowChunkNanos;
+    private final long checkpointIntervalNanos;
+    private final Duration leaseTimeout;
+    private final String nodeId;
+
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dormancy-sweep-coordinator");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile boolean stopRequested = false;
+    private volatile SweepRun currentRun;
+    private volatile Map<String, Object> lastRunSummary;
+
+    private final LongAdder completedRuns = new LongAdder();
+    private final LongAdder failedRuns = new LongAdder();
+
+    public IdentityDormancySweeper(CoreIdentityRepository coreIdentityRepository,
+                                   JobCheckpointRepository jobCheckpointRepository,
+                                   IdentityCache identityCache,
+                                   IdentityStatusCounter identityStatusCounter,
+                                   @Value("${auto-me-polit.identity.dormancy.enabled:true}") boolean enabled,
+                                   @Value("${auto-me-polit.identity.dormancy.inactive-days:180}") int inactiveDays,
+                                   @Value("${auto-me-polit.identity.dormancy.chunk-size:10000}") long chunkSize,
+                                   @Value("${auto-me-polit.identity.dormancy.max-concurrency:8}") int maxConcurrency,
+                                   @Value("${auto-me-polit.identity.dormancy.slow-chunk-threshold:500ms}") Duration slowChunkThreshold,
+                                   @Value("${auto-me-polit.identity.dormancy.checkpoint-interval:5s}") Duration checkpointInterval,
+                                   @Value("${auto-me-polit.identity.dormancy.lease-timeout:5m}") Duration leaseTimeout) {
+        this.coreIdentityRepository = coreIdentityRepository;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.identityCache = identityCache;
+        this.identityStatusCounter = identityStatusCounter;
+        this.enabled = enabled;
+        this.inactiveDays = inactiveDays;
+        this.chunkSize = Math.max(1L, chunkSize);
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.slowChunkNanos = slowChunkThreshold.toNanos();
+        this.checkpointIntervalNanos = checkpointInterval.toNanos();
+        this.leaseTimeout = leaseTimeout;
+        // 形如 pid@hostname，用于标识检查点租约的持有者
+        this.nodeId = ManagementFactory.getRuntimeMXBean().getName();
+    }
+
+    /**
+     * 定时触发清扫
+     */
+    @Scheduled(cron = "${auto-me-polit.identity.dormancy.cron:0 30 3 * * *}")
+    public void scheduledSweep() {
+        if (enabled) {
+            start();
+        }
+    }
+
+    /**
+     * 在后台启动一轮清扫；存在未完成的检查点时从水位线续跑
+     *
+     * @return 是否已启动（本节点已有清扫在运行时返回false）
+     */
+    public boolean start() {
+        if (stopRequested || !running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            coordinator.execute(() -> {
+                try {
+                    sweep();
+                } catch (RuntimeException e) {
+                    failedRuns.increment();
+                    logger.error("休眠身份清扫失败", e);
+                } finally {
+                    currentRun = null;
+                    running.set(false);
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * 关闭时停止领取新区间，已完成的进度写入检查点
+     */
+    @PreDestroy
+    public void shutdown() {
+        stopRequested = true;
+        coordinator.shutdown();
+        try {
+            if (!coordinator.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("休眠身份清扫未在30秒内停止，下次启动时将从检查点续跑");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 获取清扫统计信息
+     *
+     * @return 当前运行进度、并发度与最近一轮结果
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", enabled);
+        statistics.put("running", running.get());
+        statistics.put("completedRuns", completedRuns.sum());
+        statistics.put("failedRuns", failedRuns.sum());
+        SweepRun run = currentRun;
+        if (run != null) {
+            statistics.put("current", run.snapshot());
+        }
+        if (lastRunSummary != null) {
+            statistics.put("lastRun", lastRunSummary);
+        }
+        return statistics;
+    }
+
+    private void sweep() {
+        JobCheckpoint checkpoint = claimCheckpoint();
+        if (checkpoint == null) {
+            return;
+        }
+
+        SweepRun run = new SweepRun(checkpoint);
+        currentRun = run;
+        logger.info("休眠身份清扫开始: run={}, 主键区间[{}, {}), 阈值{}, 区间跨度{}, 最大并发{}",
+            checkpoint.getRunId(), run.base, run.rangeEnd, run.thresholdTime, chunkSize, maxConcurrency);
+
+        ExecutorService workers = Executors.newFixedThreadPool(maxConcurrency, new WorkerThreadFactory());
+        try {
+            List<Future<?>> futures = new ArrayList<>(maxConcurrency);
+            for (int i = 0; i < maxConcurrency; i++) {
+                int workerIndex = i;
+                futures.add(workers.submit(() -> work(run, workerIndex)));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    run.fail(e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.fail(e);
+        } finally {
+            workers.shutdownNow();
+        }
+
+        finish(run);
+    }
+
+    /**
+     * 领取检查点租约：上一轮未完成时沿用其阈值与主键上界续跑，否则开始新一轮
+     *
+     * @return 已领取的检查点，其他节点持有有效租约或无需处理时返回null
+     */
+    private JobCheckpoint claimCheckpoint() {
+        LocalDateTime now = LocalDateTime.now();
+        JobCheckpoint checkpoint = jobCheckpointRepository.findById(JOB_NAME)
+            .orElseGet(() -> new JobCheckpoint(JOB_NAME));
+
+        boolean unfinished = checkpoint.getStatus() == JobCheckpoint.JobStatus.RUNNING
+            && checkpoint.getWatermark() != null && checkpoint.getRangeEnd() != null
+            && checkpoint.getThresholdTime() != null;
+        if (unfinished && !nodeId.equals(checkpoint.getOwner()) && checkpoint.getHeartbeatAt() != null
+                && checkpoint.getHeartbeatAt().plus(leaseTimeout).isAfter(now)) {
+            logger.info("休眠身份清扫由节点{}执行中，本节点跳过", checkpoint.getOwner());
+            return null;
+        }
+
+        if (unfinished) {
+            logger.info("休眠身份清扫从检查点续跑: run={}, 水位线{}", checkpoint.getRunId(), checkpoint.getWatermark());
+        } else {
+            List<Object[]> bounds = coreIdentityRepository.findIdBounds();
+            Object[] minMax = bounds.isEmpty() ? null : bounds.get(0);
+            if (minMax == null || minMax[0] == null || minMax[1] == null) {
+                logger.info("核心身份表为空，跳过休眠身份清扫");
+                return null;
+            }
+            checkpoint.setRunId(UUID.randomUUID().toString());
+            checkpoint.setWatermark(((Number) minMax[0]).longValue());
+            // 新一轮只处理启动时已存在的主键，之后创建的身份不会在本轮内达到不活跃阈值
+            checkpoint.setRangeEnd(((Number) minMax[1]).longValue() + 1);
+            checkpoint.setThresholdTime(now.minusDays(inactiveDays));
+            checkpoint.setProcessedRows(0L);
+            checkpoint.setStartedAt(now);
+            checkpoint.setFinishedAt(null);
+        }
+        checkpoint.setStatus(JobCheckpoint.JobStatus.RUNNING);
+        checkpoint.setOwner(nodeId);
+        checkpoint.setHeartbeatAt(now);
+
+        try {
+            return jobCheckpointRepository.save(checkpoint);
+        } catch (DataAccessException e) {
+            // 版本冲突或并发插入：其他节点已先领取
+            logger.info("休眠身份清扫租约被其他节点领取，本节点跳过: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void work(SweepRun run, int workerIndex) {
+        while (!stopRequested && !run.failed) {
+            // 节流期间编号超出当前并发度的工作线程暂停领取区间
+            if (workerIndex >= run.concurrencyLimit.get()) {
+                if (!pause(THROTTLED_WORKER_PAUSE_MILLIS)) {
+                    return;
+                }
+                continue;
+            }
+
+            long chunk = run.nextChunk.getAndIncrement();
+            long fromId = run.base + chunk * chunkSize;
+            if (fromId >= run.rangeEnd) {
+                return;
+            }
+            long toId = Math.min(fromId + chunkSize, run.rangeEnd);
+
+            long startNanos = System.nanoTime();
+            int updated = sweepChunk(fromId, toId, run.thresholdTime);
+            long elapsedNanos = System.nanoTime() - startNanos;
+
+            run.complete(chunk, updated);
+            if (!throttle(run, elapsedNanos)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 处理单个主键区间：先取出候选身份ID，只更新这些ID中仍满足条件的行，再按候选清理缓存；
+     * 区间内无候选时不执行写入
+     */
+    private int sweepChunk(long fromId, long toId, LocalDateTime thresholdTime) {
+        List<String> candidates = coreIdentityRepository.findDormancyCandidates(fromId, toId, thresholdTime);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        int updated = coreIdentityRepository.markDormant(fromId, toId, thresholdTime, candidates);
+        identityStatusCounter.recordTransition(CoreIdentity.IdentityStatus.ACTIVE, CoreIdentity.IdentityStatus.DORMANT, updated);
+        identityCache.evictAll(candidates);
+        return updated;
+    }
+
+    /**
+     * 按区间耗时调整并发度：超过阈值时减半，否则加一；已降至单线程仍超时则额外暂停
+     *
+     * @return 是否继续运行
+     */
+    private boolean throttle(SweepRun run, long elapsedNanos) {
+        if (slowChunkNanos <= 0) {
+            return true;
+        }
+        if (elapsedNanos > slowChunkNanos) {
+            int limit = run.concurrencyLimit.get();
+            long now = System.nanoTime();
+            long lastDecrease = run.lastDecreaseNanos.get();
+            // 同一慢周期内多个线程同时超时只减半一次
+            if (limit > 1 && now - lastDecrease >= slowChunkNanos
+                    && run.lastDecreaseNanos.compareAndSet(lastDecrease, now)) {
+                run.concurrencyLimit.compareAndSet(limit, Math.max(1, limit / 2));
+                run.throttleEvents.increment();
+                logger.debug("区间耗时{}ms超过阈值，并发度降为{}", elapsedNanos / 1_000_000, run.concurrencyLimit.get());
+            } else if (limit == 1) {
+                run.throttleEvents.increment();
+                return pause(TimeUnit.NANOSECONDS.toMillis(elapsedNanos - slowChunkNanos));
+            }
+        } else {
+            run.concurrencyLimit.accumulateAndGet(1, (current, delta) -> Math.min(maxConcurrency, current + delta));
+        }
+        return true;
+    }
+
+    private void finish(SweepRun run) {
+        boolean completed = !run.failed && run.isDrained();
+        run.saveCheckpoint(completed ? JobCheckpoint.JobStatus.COMPLETED : null);
+
+        Map<String, Object> summary = run.snapshot();
+        summary.put("result", completed ? "COMPLETED" : (run.failed ? "FAILED" : "STOPPED"));
+        if (run.failure != null) {
+            summary.put("error", String.valueOf(run.failure.getMessage()));
+        }
+        lastRunSummary = summary;
+
+        if (completed) {
+            completedRuns.increment();
+            logger.info("休眠身份清扫完成: run={}, 标记休眠{}行, 耗时{}s",
+                run.runId, run.processedRows.get(), run.elapsedSeconds());
+        } else if (run.failed) {
+            failedRuns.increment();
+            logger.error("休眠身份清扫中断，下次从水位线{}续跑: run={}",
+                run.watermark(), run.runId, run.failure);
+        } else {
+            logger.info("休眠身份清扫已停止，下次从水位线{}续跑: run={}", run.watermark(), run.runId);
+        }
+    }
+
+    private boolean pause(long millis) {
+        try {
+            Thread.sleep(Math.max(1L, millis));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 单轮清扫的进度：区间乱序完成，连续完成的最高区间决定水位线
+     */
+    private final class SweepRun {
+        private final String runId;
+        private final long base;
+        private final long rangeEnd;
+        private final LocalDateTime thresholdTime;
+        private final long totalChunks;
+        private final long startNanos = System.nanoTime();
+
+        private final AtomicLong nextChunk = new AtomicLong();
+        private final AtomicInteger concurrencyLimit = new AtomicInteger(maxConcurrency);
+        private final AtomicLong lastDecreaseNanos = new AtomicLong(System.nanoTime() - slowChunkNanos);
+        private final AtomicLong processedRows;
+        private final LongAdder throttleEvents = new LongAdder();
+
+        // 以下字段由 this 锁保护
+        private JobCheckpoint checkpoint;
+        private final BitSet completedAhead = new BitSet();
+        private long contiguousChunks = 0;
+        private long lastSavedNanos = System.nanoTime();
+
+        private volatile boolean failed = false;
+        private volatile Throwable failure;
+
+        private SweepRun(JobCheckpoint checkpoint) {
+            this.checkpoint = checkpoint;
+            this.runId = checkpoint.getRunId();
+            this.base = checkpoint.getWatermark();
+            this.rangeEnd = checkpoint.getRangeEnd();
+            this.thresholdTime = checkpoint.getThresholdTime();
+            this.totalChunks = Math.max(0L, (rangeEnd - base + chunkSize - 1) / chunkSize);
+            this.processedRows = new AtomicLong(checkpoint.getProcessedRows() != null ? checkpoint.getProcessedRows() : 0L);
+        }
+
+        private synchronized void complete(long chunk, int updated) {
+            processedRows.addAndGet(updated);
+            // 相对水位线的偏移；区间总数受主键跨度/区间跨度限制，可放入int
+            completedAhead.set((int) (chunk - contiguousChunks));
+            int advanced = completedAhead.nextClearBit(0);
+            if (advanced > 0) {
+                contiguousChunks += advanced;
+                BitSet remaining = completedAhead.get(advanced, Math.max(advanced, completedAhead.length()));
+                completedAhead.clear();
+                completedAhead.or(remaining);
+            }
+            if (System.nanoTime() - lastSavedNanos >= checkpointIntervalNanos) {
+                saveCheckpoint(null);
+            }
+        }
+
+        private void fail(Throwable cause) {
+            if (!failed) {
+                failure = cause;
+                failed = true;
+            }
+        }
+
+        private synchronized boolean isDrained() {
+            return contiguousChunks >= totalChunks;
+        }
+
+        private synchronized long watermark() {
+            return Math.min(rangeEnd, base + contiguousChunks * chunkSize);
+        }
+
+        /**
+         * 写入检查点（同时刷新租约心跳）；租约已被其他节点接管时停止本轮
+         *
+         * @param finalStatus 结束状态，运行中保存时为null
+         */
+        private synchronized void saveCheckpoint(JobCheckpoint.JobStatus finalStatus) {
+            LocalDateTime now = LocalDateTime.now();
+            checkpoint.setWatermark(watermark());
+            checkpoint.setProcessedRows(processedRows.get());
+            checkpoint.setHeartbeatAt(now);
+            if (finalStatus != null) {
+                checkpoint.setStatus(finalStatus);
+                checkpoint.setFinishedAt(now);
+            }
+            try {
+                checkpoint = jobCheckpointRepository.save(checkpoint);
+            } catch (DataAccessException e) {
+                logger.warn("休眠身份清扫检查点写入失败: {}", e.getMessage());
+                fail(e);
+            }
+            lastSavedNanos = System.nanoTime();
+        }
+
+        private long elapsedSeconds() {
+            return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos);
+        }
+
+        private synchronized Map<String, Object> snapshot() {
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("runId", runId);
+            snapshot.put("thresholdTime", thresholdTime.toString());
+            snapshot.put("watermark", watermark());
+            snapshot.put("rangeEnd", rangeEnd);
+            snapshot.put("chunksDone", contiguousChunks + completedAhead.cardinality());
+            snapshot.put("chunksTotal", totalChunks);
+            snapshot.put("processedRows", processedRows.get());
+            snapshot.put("concurrency", concurrencyLimit.get());
+            snapshot.put("throttleEvents", throttleEvents.sum());
+            snapshot.put("elapsedSeconds", elapsedSeconds());
+            return snapshot;
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger index = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "dormancy-sweep-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.company.service.impl;
+
+import com.company.dto.request.IdentityExportQueryDTO;
+import com.company.dto.response.ExportJobDTO;
+import com.company.dto.response.ExportJobDTO.JobStatus;
+import com.company.exception.BusinessException;
+import com.company.service.IdentityExportService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 统一身份认证平台 - 身份数据文件导出任务
+ * 全量导出耗时与数据量成正比，不能占用请求线程或数据库池：提交后立即返回任务ID，
+ * 由单个后台线程依次执行，排队已满时拒绝新任务；只保留最近的任务记录供查询
+ */
+@Component
+public class IdentityExportJobRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdentityExportJobRunner.class);
+
+    private static final int MAX_RETAINED_JOBS = 100;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final IdentityExportService identityExportService;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<String> jobOrder = new ConcurrentLinkedDeque<>();
+
+    public IdentityExportJobRunner(IdentityExportService identityExportService,
+                                   @Value("${auto-me-polit.identity.export.max-queued-jobs:4}") int maxQueuedJobs) {
+        this.identityExportService = identityExportService;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(Math.max(1, maxQueuedJobs)), runnable -> {
+                Thread thread = new Thread(runnable, "identity-export");
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * 提交文件导出任务
+     *
+     * @param query 导出条件
+     * @return 已排队的任务
+     * @throws BusinessException 排队已满或已关闭（503）
+     */
+    public ExportJobDTO submit(IdentityExportQueryDTO query) {
+        ExportJob job = new ExportJob(UUID.randomUUID().toString());
+        try {
+            executor.execute(() -> run(job, query));
+        } catch (RejectedExecutionException e) {
+            throw new BusinessException(503, 503, "导出任务排队已满，请稍后重试");
+        }
+        register(job);
+        logger.info("身份文件导出任务{}已提交: {}", job.id, query);
+        return job.toDTO();
+    }
+
+    /**
+     * 查询导出任务
+     *
+     * @param jobId 任务ID
+     * @return 任务状态与结果
+     * @throws BusinessException 任务不存在或记录已淘汰（404）
+     */
+    public ExportJobDTO getJob(String jobId) {
+        ExportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new BusinessException(404, 404, "导出任务不存在: " + jobId);
+        }
+        return job.toDTO();
+    }
+
+    /**
+     * 关闭时丢弃排队中的任务，正在写出的文件以 .part 结尾，不会被当作完整导出
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(ExportJob job, IdentityExportQueryDTO query) {
+        job.startTime = LocalDateTime.now();
+        job.status = JobStatus.RUNNING;
+        try {
+            IdentityExportService.ExportResult result = identityExportService.exportToFile(query);
+            job.file = result.getFile().toString();
+            job.count = result.getCount();
+            job.bytes = result.getBytes();
+            job.status = JobStatus.COMPLETED;
+            logger.info("身份文件导出任务{}完成: {}条, {}", job.id, job.count, job.file);
+        } catch (Exception e) {
+            logger.error("身份文件导出任务{}失败: {}", job.id, query, e);
+            job.error = truncate(String.valueOf(e.getMessage()));
+            job.status = JobStatus.FAILED;
+        } finally {
+            job.endTime = LocalDateTime.now();
+        }
+    }
+
+    private void register(ExportJob job) {
+        jobs.put(job.id, job);
+        jobOrder.addLast(job.id);
+        // 只保留最近的任务记录，排队中与进行中的任务不会被淘汰
+        if (jobs.size() > MAX_RETAINED_JOBS) {
+            Iterator<String> iterator = jobOrder.iterator();
+            while (jobs.size() > MAX_RETAINED_JOBS && iterator.hasNext()) {
+                String jobId = iterator.next();
+                ExportJob candidate = jobs.get(jobId);
+                if (candidate == null || candidate.isFinished()) {
+                    jobs.remove(jobId);
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private static String truncate(String error) {
+        if (error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static final class ExportJob {
+        private final String id;
+        private final LocalDateTime submitTime = LocalDateTime.now();
+        private volatile JobStatus status = JobStatus.QUEUED;
+        private volatile String file;
+        private volatile long count;
+        private volatile long bytes;
+        private volatile String error;
+        private volatile LocalDateTime startTime;
+        private volatile LocalDateTime endTime;
+
+        private ExportJob(String id) {
+            this.id = id;
+        }
+
+        private boolean isFinished() {
+            return status == JobStatus.COMPLETED || status == JobStatus.FAILED;
+        }
+
+        private ExportJobDTO toDTO() {
+            ExportJobDTO dto = new ExportJobDTO();
+            dto.setJobId(id);
+            dto.setStatus(status);
+            dto.setFile(file);
+            dto.setCount(count);
+            dto.setBytes(bytes);
+            dto.setError(error);
+            dto.setSubmitTime(submitTime);
+            dto.setStartTime(startTime);
+            dto.setEndTime(endTime);
+            return dto;
+        }
+    }
+}
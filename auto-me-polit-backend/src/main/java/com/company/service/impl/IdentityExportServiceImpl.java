@@ -0,0 +1,166 @@
+package com.company.service.impl;
+
+import com.company.dto.request.IdentityExportQueryDTO;
+import com.company.entity.CoreIdentity;
+import com.company.repository.CoreIdentityRepository;
+import com.company.service.IdentityExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 统一身份认证平台 - 身份数据导出服务实现
+ * 通过服务端游标按固定条数读取，每写出一条即从持久化上下文中分离实体，
+ * 因此一级缓存不会随导出条数增长；JSON逐字段写出，不构建中间对象
+ */
+@Service
+public class IdentityExportServiceImpl implements IdentityExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdentityExportServiceImpl.class);
+
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final int FLUSH_EVERY = 1000;
+    private static final int PROGRESS_EVERY = 100_000;
+    private static final DateTimeFormatter FILE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Autowired
+    private CoreIdentityRepository coreIdentityRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${auto-me-polit.identity.export.directory:./data/exports}")
+    private String exportDirectory;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long export(IdentityExportQueryDTO query, OutputStream out) throws IOException {
+        LocalDateTime from = query.getFrom() != null ? query.getFrom() : MIN_TIME;
+        LocalDateTime to = query.getTo() != null ? query.getTo() : MAX_TIME;
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("导出时间范围无效: " + from + " ~ " + to);
+        }
+
+        boolean gzip = Boolean.TRUE.equals(query.getGzip());
+        GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out, 64 * 1024) : null;
+        OutputStream target = gzip ? gzipOut : out;
+
+        long count = 0;
+        long startNanos = System.nanoTime();
+        try (Stream<CoreIdentity> identities = coreIdentityRepository.streamForExport(query.getStatus(), from, to);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(target)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<CoreIdentity> iterator = identities.iterator();
+            while (iterator.hasNext()) {
+                CoreIdentity identity = iterator.next();
+                writeIdentity(generator, identity);
+                generator.writeRaw('\n');
+                entityManager.detach(identity);
+
+                count++;
+                if (count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+                if (count % PROGRESS_EVERY == 0) {
+                    logger.info("身份导出进度: {}条", count);
+                }
+            }
+            generator.flush();
+        }
+        if (gzipOut != null) {
+            gzipOut.finish();
+        }
+        out.flush();
+
+        logger.info("身份导出完成: {}条, 条件{}, 耗时{}ms", count, query, (System.nanoTime() - startNanos) / 1_000_000);
+        return count;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ExportResult exportToFile(IdentityExportQueryDTO query) throws IOException {
+        Path directory = Paths.get(exportDirectory);
+        Files.createDirectories(directory);
+        String fileName = "identities-" + LocalDateTime.now().format(FILE_TIME_FORMAT)
+            + (Boolean.TRUE.equals(query.getGzip()) ? ".ndjson.gz" : ".ndjson");
+        Path file = directory.resolve(fileName);
+        // 先写临时文件，完成后再改名，避免下游读到不完整的导出
+        Path partial = directory.resolve(fileName + ".part");
+
+        long count;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial), 64 * 1024)) {
+            count = export(query, out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new ExportResult(file.toAbsolutePath(), count, Files.size(file));
+    }
+
+    /**
+     * 写出一条身份记录（不含私钥密文、恢复配置与生物特征哈希）
+     */
+    private void writeIdentity(JsonGenerator generator, CoreIdentity identity) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("identityId", identity.getIdentityId());
+        generator.writeStringField("publicKey", identity.getPublicKey());
+        generator.writeStringField("status", identity.getStatus() != null ? identity.getStatus().name() : null);
+        if (identity.getSecurityLevel() != null) {
+            generator.writeNumberField("securityLevel", identity.getSecurityLevel());
+        }
+        writeStringIfPresent(generator, "deviceFingerprint", identity.getDeviceFingerprint());
+        writeTimeIfPresent(generator, "creationTime", identity.getCreationTime());
+        writeTimeIfPresent(generator, "lastUpdateTime", identity.getLastUpdateTime());
+        writeTimeIfPresent(generator, "lastActiveTime", identity.getLastActiveTime());
+        if (identity.getMetadata() != null) {
+            generator.writeFieldName("metadata");
+            try {
+                generator.writeTree(objectMapper.readTree(identity.getMetadata()));
+            } catch (JsonProcessingException e) {
+                // 历史数据中的非法JSON按字符串导出，保证每行仍是合法JSON
+                generator.writeString(identity.getMetadata());
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeStringIfPresent(JsonGenerator generator, String field, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(field, value);
+        }
+    }
+
+    private static void writeTimeIfPresent(JsonGenerator generator, String field, LocalDateTime value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(field, value.toString());
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.company.service.impl;
+
+import com.company.entity.CoreIdentity;
+import com.company.repository.CoreIdentityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 统一身份认证平台 - 身份状态计数器
+ * 各状态的身份数量随状态变更增量维护（事务提交后生效），读取为O(1)：
+ * Redis哈希为多节点共享的计数，进程内计数在Redis不可用时兜底。
+ * 定时对账以 GROUP BY 的真实数量修正漂移，多节点间由Redis锁保证同一时刻只有一个节点修正Redis
+ */
+@Component
+public class IdentityStatusCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdentityStatusCounter.class);
+
+    private static final String REDIS_KEY = "auto-me-polit:identity:status-counts";
+    private static final String RECONCILE_LOCK_KEY = REDIS_KEY + ":reconcile-lock";
+    // 对账写入的标记字段：缺失说明计数尚未初始化（如Redis被清空后仅有零散增量），不可直接使用
+    private static final String RECONCILED_FIELD = "_reconciled";
+
+    private final CoreIdentityRepository coreIdentityRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final boolean redisEnabled;
+    private final long redisBackoffMillis;
+    private final Duration reconcileLockTtl;
+    private final String nodeId;
+
+    private final Map<CoreIdentity.IdentityStatus, AtomicLong> localCounts;
+
+    // Redis不可用时暂停访问的截止时间
+    private volatile long redisSuspendedUntil = 0L;
+    private volatile boolean reconciled = false;
+    private volatile LocalDateTime lastReconcileTime;
+
+    private final LongAdder transitions = new LongAdder();
+    private final LongAdder reconciliations = new LongAdder();
+    private final LongAdder driftCorrected = new LongAdder();
+    private final LongAdder redisErrors = new LongAdder();
+
+    public IdentityStatusCounter(CoreIdentityRepository coreIdentityRepository,
+                                 StringRedisTemplate redisTemplate,
+                                 @Value("${auto-me-polit.identity.status-counter.redis-enabled:${auto-me-polit.cache.identity.redis.enabled:true}}") boolean redisEnabled,
+                                 @Value("${auto-me-polit.cache.identity.redis.failure-backoff:30s}") Duration redisBackoff,
+                                 @Value("${auto-me-polit.identity.status-counter.reconcile-interval:600000}") long reconcileIntervalMillis) {
+        this.coreIdentityRepository = coreIdentityRepository;
+        this.redisTemplate = redisTemplate;
+        this.redisEnabled = redisEnabled;
+        this.redisBackoffMillis = redisBackoff.toMillis();
+        // 锁在一个对账周期内有效，每个周期只有一个节点执行全表计数并修正Redis
+        this.reconcileLockTtl = Duration.ofMillis(Math.max(1000L, reconcileIntervalMillis * 9 / 10));
+        this.nodeId = ManagementFactory.getRuntimeMXBean().getName();
+
+        Map<CoreIdentity.IdentityStatus, AtomicLong> counts = new EnumMap<>(CoreIdentity.IdentityStatus.class);
+        for (CoreIdentity.IdentityStatus status : CoreIdentity.IdentityStatus.values()) {
+            counts.put(status, new AtomicLong());
+        }
+        this.localCounts = Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * 记录新建身份（新建身份均为ACTIVE）
+     *
+     * @param count 新建数量
+     */
+    public void recordCreated(int count) {
+        if (count > 0) {
+            afterCommit(() -> apply(null, CoreIdentity.IdentityStatus.ACTIVE, count));
+        }
+    }
+
+    /**
+     * 记录单个身份的状态变更
+     *
+     * @param from 原状态
+     * @param to 新状态
+     */
+    public void recordTransition(CoreIdentity.IdentityStatus from, CoreIdentity.IdentityStatus to) {
+        recordTransition(from, to, 1);
+    }
+
+    /**
+     * 记录批量状态变更（如集合UPDATE）
+     *
+     * @param from 原状态
+     * @param to 新状态
+     * @param count 变更行数
+     */
+    public void recordTransition(CoreIdentity.IdentityStatus from, CoreIdentity.IdentityStatus to, long count) {
+        if (from == to || count <= 0) {
+            return;
+        }
+        afterCommit(() -> apply(from, to, count));
+    }
+
+    /**
+     * 获取各状态的身份数量：优先读取Redis共享计数，不可用或尚未初始化时使用进程内计数
+     *
+     * @return 状态名到数量的映射（按状态定义顺序）
+     */
+    public Map<String, Long> getCounts() {
+        Map<String, Long> counts = readRedisCounts();
+        if (counts != null) {
+            return counts;
+        }
+        if (!reconciled) {
+            // 启动后首次对账尚未完成时同步执行一次，避免返回全零
+            reconcile();
+        }
+        return getLocalCounts();
+    }
+
+    /**
+     * 获取进程内计数
+     *
+     * @return 状态名到数量的映射（按状态定义顺序）
+     */
+    public Map<String, Long> getLocalCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        localCounts.forEach((status, count) -> counts.put(status.name(), count.get()));
+        return counts;
+    }
+
+    public long getLocalCount(CoreIdentity.IdentityStatus status) {
+        return localCounts.get(status).get();
+    }
+
+    /**
+     * 定时对账：以数据库真实数量修正进程内计数与Redis计数的漂移；
+     * 对账期间并发发生的变更可能造成少量偏差，会在下个周期修正
+     */
+    @Scheduled(initialDelayString = "${auto-me-polit.identity.status-counter.reconcile-initial-delay:0}",
+               fixedDelayString = "${auto-me-polit.identity.status-counter.reconcile-interval:600000}")
+    public synchronized void reconcile() {
+        boolean redisOwner = tryAcquireReconcileLock();
+        if (!redisOwner && reconciled) {
+            // 其他节点正在修正Redis，进程内计数直接同步Redis的结果
+            Map<String, Long> shared = readRedisCounts();
+            if (shared != null) {
+                shared.forEach((status, count) -> localCounts.get(CoreIdentity.IdentityStatus.valueOf(status)).set(count));
+                lastReconcileTime = LocalDateTime.now();
+                return;
+            }
+        }
+
+        long startNanos = System.nanoTime();
+        Map<CoreIdentity.IdentityStatus, Long> actual = new EnumMap<>(CoreIdentity.IdentityStatus.class);
+        for (CoreIdentity.IdentityStatus status : CoreIdentity.IdentityStatus.values()) {
+            actual.put(status, 0L);
+        }
+        List<Object[]> rows = coreIdentityRepository.countByStatus();
+        for (Object[] row : rows) {
+            actual.put((CoreIdentity.IdentityStatus) row[0], ((Number) row[1]).longValue());
+        }
+
+        long drift = 0;
+        for (Map.Entry<CoreIdentity.IdentityStatus, Long> entry : actual.entrySet()) {
+            long previous = localCounts.get(entry.getKey()).getAndSet(entry.getValue());
+            if (reconciled) {
+                drift += Math.abs(entry.getValue() - previous);
+            }
+        }
+        if (redisOwner) {
+            correctRedis(actual);
+        }
+
+        driftCorrected.add(drift);
+        reconciliations.increment();
+        reconciled = true;
+        lastReconcileTime = LocalDateTime.now();
+        if (drift > 0) {
+            logger.info("身份状态计数对账修正偏差{}，耗时{}ms", drift, (System.nanoTime() - startNanos) / 1_000_000);
+        } else {
+            logger.debug("身份状态计数对账完成，耗时{}ms", (System.nanoTime() - startNanos) / 1_000_000);
+        }
+    }
+
+    /**
+     * 获取计数器统计信息
+     *
+     * @return 变更次数、对账次数、累计修正偏差、Redis错误次数等
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("transitions", transitions.sum());
+        statistics.put("reconciliations", reconciliations.sum());
+        statistics.put("driftCorrected", driftCorrected.sum());
+        statistics.put("redisErrors", redisErrors.sum());
+        statistics.put("lastReconcileTime", lastReconcileTime != null ? lastReconcileTime.toString() : null);
+        return statistics;
+    }
+
+    private void apply(CoreIdentity.IdentityStatus from, CoreIdentity.IdentityStatus to, long count) {
+        transitions.increment();
+        if (from != null) {
+            localCounts.get(from).addAndGet(-count);
+        }
+        localCounts.get(to).addAndGet(count);
+
+        if (!isRedisAvailable()) {
+            return;
+        }
+        try {
+            if (from != null) {
+                redisTemplate.opsForHash().increment(REDIS_KEY, from.name(), -count);
+            }
+            redisTemplate.opsForHash().increment(REDIS_KEY, to.name(), count);
+        } catch (RuntimeException e) {
+            // 丢失的增量由下次对账修正
+            onRedisFailure("更新Redis身份状态计数失败", e);
+        }
+    }
+
+    /**
+     * 以差值修正Redis计数（HINCRBY），不覆盖对账期间其他节点写入的增量
+     */
+    private void correctRedis(Map<CoreIdentity.IdentityStatus, Long> actual) {
+        Map<String, Long> current = readRedisCounts();
+        if (current == null) {
+            current = Collections.emptyMap();
+        }
+        try {
+            for (Map.Entry<CoreIdentity.IdentityStatus, Long> entry : actual.entrySet()) {
+                long delta = entry.getValue() - current.getOrDefault(entry.getKey().name(), 0L);
+                if (delta != 0) {
+                    redisTemplate.opsForHash().increment(REDIS_KEY, entry.getKey().name(), delta);
+                }
+            }
+            redisTemplate.opsForHash().put(REDIS_KEY, RECONCILED_FIELD, LocalDateTime.now().toString());
+        } catch (RuntimeException e) {
+            onRedisFailure("修正Redis身份状态计数失败", e);
+        }
+    }
+
+    /**
+     * 读取Redis计数，Redis不可用或尚未对账初始化时返回null
+     */
+    private Map<String, Long> readRedisCounts() {
+        if (!isRedisAvailable()) {
+            return null;
+        }
+        try {
+            Map<Object, Object> entries = redisTemplate.opsForHash().entries(REDIS_KEY);
+            if (!entries.containsKey(RECONCILED_FIELD)) {
+                return null;
+            }
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (CoreIdentity.IdentityStatus status : CoreIdentity.IdentityStatus.values()) {
+                Object value = entries.get(status.name());
+                counts.put(status.name(), value != null ? Long.parseLong(value.toString()) : 0L);
+            }
+            return counts;
+        } catch (RuntimeException e) {
+            onRedisFailure("读取Redis身份状态计数失败", e);
+            return null;
+        }
+    }
+
+    private boolean tryAcquireReconcileLock() {
+        if (!isRedisAvailable()) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(
+                redisTemplate.opsForValue().setIfAbsent(RECONCILE_LOCK_KEY, nodeId, reconcileLockTtl));
+        } catch (RuntimeException e) {
+            onRedisFailure("获取身份状态计数对账锁失败", e);
+            return false;
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private boolean isRedisAvailable() {
+        return redisEnabled && System.currentTimeMillis() >= redisSuspendedUntil;
+    }
+
+    private void onRedisFailure(String message, Exception e) {
+        redisErrors.increment();
+        redisSuspendedUntil = System.currentTimeMillis() + redisBackoffMillis;
+        logger.warn("{}，{}ms内使用进程内计数: {}", message, redisBackoffMillis, e.getMessage());
+    }
+}
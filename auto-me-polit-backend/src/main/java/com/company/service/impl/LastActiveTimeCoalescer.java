@@ -0,0 +1,178 @@
+package com.company.service.impl;
+
+import com.company.repository.CoreIdentityRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 统一身份认证平台 - 最后活跃时间写回合并器
+ * 心跳只写入内存缓冲区（每个身份仅保留最新时间），由定时任务以JDBC批量UPDATE落库；关闭时会排空缓冲区。
+ *
+ * 落库不使身份缓存失效：心跳最频繁的身份正是缓存收益最大的身份，每个周期全集群失效会把读取打回数据库。
+ * 因此缓存视图中的最后活跃时间是近似值，最多滞后 max-staleness 加上两级缓存的TTL；
+ * 需要精确值的逻辑（如休眠清扫）直接以数据库为准
+ */
+@Component
+public class LastActiveTimeCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LastActiveTimeCoalescer.class);
+
+    private final CoreIdentityRepository coreIdentityRepository;
+    private final long flushThresholdNanos;
+
+    private final ConcurrentHashMap<String, PendingTouch> pending = new ConcurrentHashMap<>();
+    // 记录方持有读锁写入缓冲区，排空前以写锁切换关闭标记，保证之后不再有条目进入已排空的缓冲区
+    private final ReentrantReadWriteLock shutdownLock = new ReentrantReadWriteLock();
+    private volatile boolean shutdown = false;
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder flushedRows = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+
+    public LastActiveTimeCoalescer(CoreIdentityRepository coreIdentityRepository,
+                                   @Value("${auto-me-polit.identity.last-active.flush-interval:1000}") long flushIntervalMillis,
+                                   @Value("${auto-me-polit.identity.last-active.max-staleness:5000}") long maxStalenessMillis) {
+        this.coreIdentityRepository = coreIdentityRepository;
+        // 定时任务每个周期执行一次，提前一个周期落库即可保证不超过最大延迟
+        this.flushThresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxStalenessMillis - flushIntervalMillis));
+    }
+
+    /**
+     * 记录身份活跃时间，同一身份仅保留最新值
+     *
+     * @param identityId 身份ID
+     * @param lastActiveTime 活跃时间
+     */
+    public void record(String identityId, LocalDateTime lastActiveTime) {
+        recorded.increment();
+        shutdownLock.readLock().lock();
+        try {
+            if (!shutdown) {
+                pending.merge(identityId, new PendingTouch(lastActiveTime, System.nanoTime()), PendingTouch::merge);
+                return;
+            }
+        } finally {
+            shutdownLock.readLock().unlock();
+        }
+        // 关闭过程中直接写库，避免数据滞留在已排空的缓冲区
+        write(Map.of(identityId, lastActiveTime));
+    }
+
+    /**
+     * 定时落库：写出已达到延迟阈值的条目
+     */
+    @Scheduled(fixedDelayString = "${auto-me-polit.identity.last-active.flush-interval:1000}")
+    public void flush() {
+        flush(false);
+    }
+
+    /**
+     * 关闭时排空缓冲区
+     */
+    @PreDestroy
+    public void drain() {
+        shutdownLock.writeLock().lock();
+        try {
+            shutdown = true;
+        } finally {
+            shutdownLock.writeLock().unlock();
+        }
+        flush(true);
+        logger.info("最后活跃时间缓冲区已排空，累计写入{}行", flushedRows.sum());
+    }
+
+    /**
+     * 获取缓冲区统计信息
+     *
+     * @return 缓冲条目数、累计记录数、累计落库行数、落库失败次数
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("pending", pending.size());
+        statistics.put("recorded", recorded.sum());
+        statistics.put("flushedRows", flushedRows.sum());
+        statistics.put("flushFailures", flushFailures.sum());
+        return statistics;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getRecordedCount() {
+        return recorded.sum();
+    }
+
+    public long getFlushedRows() {
+        return flushedRows.sum();
+    }
+
+    public long getFlushFailures() {
+        return flushFailures.sum();
+    }
+
+    private void flush(boolean all) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        Map<String, PendingTouch> batch = new HashMap<>();
+        for (Map.Entry<String, PendingTouch> entry : pending.entrySet()) {
+            PendingTouch touch = entry.getValue();
+            // 仅当条目未被并发更新时才移除，新到达的时间留待下个周期
+            if ((all || now - touch.firstBufferedNanos >= flushThresholdNanos)
+                    && pending.remove(entry.getKey(), touch)) {
+                batch.put(entry.getKey(), touch);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<String, LocalDateTime> lastActiveTimes = new HashMap<>(batch.size() * 2);
+        batch.forEach((identityId, touch) -> lastActiveTimes.put(identityId, touch.lastActiveTime));
+        try {
+            write(lastActiveTimes);
+        } catch (RuntimeException e) {
+            flushFailures.increment();
+            logger.warn("批量更新最后活跃时间失败，{}条记录将在下个周期重试", batch.size(), e);
+            batch.forEach((identityId, touch) -> pending.merge(identityId, touch, PendingTouch::merge));
+        }
+    }
+
+    /**
+     * 批量落库（自动提交）；缓存中的活跃时间允许滞后，不做失效
+     */
+    private void write(Map<String, LocalDateTime> lastActiveTimes) {
+        flushedRows.add(coreIdentityRepository.batchUpdateLastActiveTime(lastActiveTimes));
+    }
+
+    private static final class PendingTouch {
+        private final LocalDateTime lastActiveTime;
+        private final long firstBufferedNanos;
+
+        private PendingTouch(LocalDateTime lastActiveTime, long firstBufferedNanos) {
+            this.lastActiveTime = lastActiveTime;
+            this.firstBufferedNanos = firstBufferedNanos;
+        }
+
+        private static PendingTouch merge(PendingTouch existing, PendingTouch incoming) {
+            LocalDateTime latest = incoming.lastActiveTime.isAfter(existing.lastActiveTime)
+                ? incoming.lastActiveTime : existing.lastActiveTime;
+            return new PendingTouch(latest, Math.min(existing.firstBufferedNanos, incoming.firstBufferedNanos));
+        }
+    }
+}
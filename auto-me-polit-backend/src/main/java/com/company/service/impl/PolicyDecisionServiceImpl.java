@@ -0,0 +1,554 @@
+package com.company.service.impl;
+
+import com.company.dto.request.SharePolicyRequestDTO;
+import com.company.dto.response.SharePolicyValidationDTO;
+import com.company.dto.response.SharePolicyValidationDTO.RiskLevel;
+import com.company.entity.SharePolicy;
+import com.company.entity.SharePolicy.ShareAction;
+import com.company.repository.SharePolicyRepository;
+import com.company.repository.SharePolicyRepository.ActivePolicyView;
+import com.company.service.PolicyDecisionService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 统一身份认证平台 - 共享策略决策服务实现
+ *
+ * 有效策略被编译为 (身份ID, 请求方) -> 策略数组 的两级索引：共享属性以位掩码表示，
+ * 过期时间与默认动作在编译时确定。策略变更通过实体监听器在事务提交后增量更新索引，
+ * 同时经Redis广播策略ID，其他节点收到后从数据库重新加载该策略（撤销无需等待全量重建）；
+ * 定时全量重建用于兜底批量SQL等绕过监听器的修改。
+ */
+@Service
+public class PolicyDecisionServiceImpl implements PolicyDecisionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyDecisionServiceImpl.class);
+
+    private static final CompiledPolicy[] EMPTY = new CompiledPolicy[0];
+    private static final Set<String> ACCESS_LEVELS = Set.of("READ", "WRITE", "ADMIN");
+    private static final Set<String> CONSTRAINT_KEYS =
+        Set.of("ipRestrictions", "timeRestrictions", "deviceRestrictions", "maximumRequests");
+
+    @Autowired
+    private SharePolicyRepository sharePolicyRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PolicyUsageCounter policyUsageCounter;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${auto-me-polit.sharing.engine.broadcast.enabled:true}")
+    private boolean broadcastEnabled;
+
+    @Value("${auto-me-polit.sharing.allowed-attributes:IDENTITY_ID,NAME,EMAIL,PHONE,PROFILE_IMAGE,STATUS}")
+    private List<String> allowedAttributes;
+
+    @Value("${auto-me-polit.sharing.sensitive-attributes:EMAIL,PHONE}")
+    private Set<String> sensitiveAttributes;
+
+    @Value("${auto-me-polit.sharing.default-duration:24}")
+    private int defaultDurationHours;
+
+    @Value("${auto-me-polit.sharing.max-duration:168}")
+    private int maxDurationHours;
+
+    // 属性名 -> 位掩码（白名单最多64项）
+    private final Map<String, Long> attributeBits = new HashMap<>();
+
+    private volatile PolicyIndex index = new PolicyIndex();
+
+    // 写操作（增量更新、重建切换）串行化；读操作无锁
+    private final Object writeLock = new Object();
+    private List<PendingChange> changesDuringRebuild;
+
+    // 广播重新加载串行执行：后执行者读到的数据库状态不早于先执行者，避免旧状态覆盖新状态
+    private final Object reloadLock = new Object();
+
+    private final LongAdder incrementalUpdates = new LongAdder();
+    private final LongAdder remoteReloads = new LongAdder();
+    private final LongAdder broadcastFailures = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+    private volatile long lastRebuildMillis;
+
+    @PostConstruct
+    public void init() {
+        for (String attribute : allowedAttributes) {
+            String name = attribute.trim();
+            if (name.isEmpty() || attributeBits.containsKey(name)) {
+                continue;
+            }
+            if (attributeBits.size() == Long.SIZE) {
+                logger.warn("共享属性白名单超过{}项，忽略属性: {}", Long.SIZE, name);
+                continue;
+            }
+            attributeBits.put(name, 1L << attributeBits.size());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Override
+    public Decision decide(String identityId, String requester, String attribute) {
+        Long bit = attributeBits.get(attribute);
+        if (bit == null) {
+            return Decision.UNKNOWN_ATTRIBUTE;
+        }
+        long start = System.nanoTime();
+        Decision decision = decide(identityId, requester, bit);
+        if (decision.getPolicyId() != null) {
+            ShareAction action = decision.getAction();
+            policyUsageCounter.record(decision.getPolicyId(),
+                action == ShareAction.ALLOW || action == ShareAction.CONDITIONAL, System.nanoTime() - start);
+        }
+        return decision;
+    }
+
+    @Override
+    public Map<String, Decision> decideAll(String identityId, String requester, Collection<String> attributes) {
+        Map<String, Decision> decisions = new LinkedHashMap<>();
+        for (String attribute : attributes) {
+            decisions.put(attribute, decide(identityId, requester, attribute));
+        }
+        return decisions;
+    }
+
+    /**
+     * 按属性掩码决策：掩码内的属性须被同一策略全部覆盖
+     * 无约束的允许优先于条件允许；均未覆盖时取各策略默认动作中最严格者
+     */
+    private Decision decide(String identityId, String requester, long mask) {
+        Map<String, CompiledPolicy[]> byRequester = index.byIdentity.get(identityId);
+        if (byRequester == null) {
+            return Decision.NO_POLICY;
+        }
+        CompiledPolicy[] policies = byRequester.get(requester);
+        if (policies == null) {
+            return Decision.NO_POLICY;
+        }
+
+        long now = System.currentTimeMillis();
+        Decision conditional = null;
+        Decision fallback = null;
+        for (CompiledPolicy policy : policies) {
+            if (policy.expiresAtMillis <= now) {
+                continue;
+            }
+            if ((policy.attributeMask & mask) == mask) {
+                if (!policy.constrained) {
+                    return policy.allow;
+                }
+                if (conditional == null) {
+                    conditional = policy.conditional;
+                }
+            } else if (fallback == null
+                    || strictness(policy.defaultDecision.getAction()) > strictness(fallback.getAction())) {
+                fallback = policy.defaultDecision;
+            }
+        }
+        if (conditional != null) {
+            return conditional;
+        }
+        return fallback != null ? fallback : Decision.EXPIRED;
+    }
+
+    @Override
+    public SharePolicyValidationDTO validate(SharePolicyRequestDTO request) {
+        SharePolicyValidationDTO result = new SharePolicyValidationDTO();
+        int risk = 0;
+
+        if (request.getRequesterIdentifier() == null || request.getRequesterIdentifier().isBlank()) {
+            result.addError("请求方标识不能为空");
+        }
+
+        long mask = 0L;
+        List<String> attributes = request.getSharedAttributes() == null ? List.of() : request.getSharedAttributes();
+        if (attributes.isEmpty()) {
+            result.addError("共享属性不能为空");
+        }
+        Set<String> seen = new LinkedHashSet<>();
+        for (String attribute : attributes) {
+            Long bit = attributeBits.get(attribute);
+            if (bit == null) {
+                result.addError("属性不在共享白名单中: " + attribute);
+                continue;
+            }
+            if (!seen.add(attribute)) {
+                result.addWarning("重复的共享属性: " + attribute);
+                continue;
+            }
+            mask |= bit;
+            if (sensitiveAttributes.contains(attribute)) {
+                risk++;
+            }
+        }
+
+        String accessLevel = request.getAccessLevel() == null ? "READ" : request.getAccessLevel();
+        if (!ACCESS_LEVELS.contains(accessLevel)) {
+            result.addError("无效的访问级别: " + accessLevel);
+        } else if ("WRITE".equals(accessLevel)) {
+            risk++;
+        } else if ("ADMIN".equals(accessLevel)) {
+            risk += 2;
+            result.addWarning("ADMIN访问级别授予请求方管理权限，请确认必要性");
+        }
+
+        int duration = request.getDuration() == null ? defaultDurationHours : request.getDuration();
+        if (duration <= 0) {
+            result.addError("共享期限必须大于0小时");
+        } else if (duration > maxDurationHours) {
+            result.addError("共享期限不能超过" + maxDurationHours + "小时");
+        } else if (duration > defaultDurationHours) {
+            risk++;
+            result.addWarning("共享期限超过默认的" + defaultDurationHours + "小时");
+        }
+
+        Map<String, Object> constraints = request.getConstraints();
+        if (constraints == null || constraints.isEmpty()) {
+            risk++;
+            result.addWarning("未设置约束条件，请求方可在任意时间、地点、设备访问");
+        } else {
+            for (Map.Entry<String, Object> entry : constraints.entrySet()) {
+                if (!CONSTRAINT_KEYS.contains(entry.getKey())) {
+                    result.addWarning("未识别的约束条件: " + entry.getKey());
+                }
+            }
+            Object maximumRequests = constraints.get("maximumRequests");
+            if (maximumRequests != null
+                    && (!(maximumRequests instanceof Number) || ((Number) maximumRequests).longValue() <= 0)) {
+                result.addError("maximumRequests必须为正整数");
+            }
+        }
+
+        // 与已有有效策略的重叠检查，直接使用编译后的索引
+        if (request.getCoreIdentityId() != null && mask != 0L && request.getRequesterIdentifier() != null) {
+            Decision existing = decide(request.getCoreIdentityId(), request.getRequesterIdentifier(), mask);
+            if (existing.getReason() == Reason.MATCHED || existing.getReason() == Reason.CONSTRAINED) {
+                result.addWarning("已有有效策略覆盖所请求的全部属性: " + existing.getPolicyId());
+            }
+        }
+
+        result.setEstimatedRiskLevel(risk <= 1 ? RiskLevel.LOW
+            : risk == 2 ? RiskLevel.MEDIUM
+            : risk <= 4 ? RiskLevel.HIGH
+            : RiskLevel.CRITICAL);
+        return result;
+    }
+
+    @Override
+    public void onPolicyChanged(SharePolicy policy) {
+        CompiledPolicy compiled = null;
+        if (Boolean.TRUE.equals(policy.getIsActive()) && policy.getCoreIdentity() != null) {
+            // 在事务内解析关联身份，提交后不再访问懒加载代理
+            compiled = compile(policy.getPolicyId(), policy.getCoreIdentity().getIdentityId(),
+                policy.getRequester(), policy.getAttributes(), policy.getDuration(), policy.getConstraints(),
+                policy.getDefaultAction(), policy.getCreationTime());
+        }
+        scheduleChange(new PendingChange(policy.getPolicyId(), compiled));
+    }
+
+    @Override
+    public void onPolicyRemoved(String policyId) {
+        scheduleChange(new PendingChange(policyId, null));
+    }
+
+    @Override
+    public void reload(String policyId) {
+        try {
+            synchronized (reloadLock) {
+                CompiledPolicy compiled = sharePolicyRepository.findActivePolicyView(policyId)
+                    .map(view -> compile(view.getPolicyId(), view.getIdentityId(), view.getRequester(),
+                        view.getAttributes(), view.getDuration(), view.getConstraints(),
+                        view.getDefaultAction(), view.getCreationTime()))
+                    .orElse(null);
+                applyChange(new PendingChange(policyId, compiled));
+            }
+            remoteReloads.increment();
+        } catch (RuntimeException e) {
+            logger.error("重新加载共享策略{}失败，等待下次全量重建", policyId, e);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${auto-me-polit.sharing.engine.rebuild-interval:300000}",
+               initialDelayString = "${auto-me-polit.sharing.engine.rebuild-interval:300000}")
+    public void rebuild() {
+        synchronized (writeLock) {
+            if (changesDuringRebuild != null) {
+                return;
+            }
+            changesDuringRebuild = new ArrayList<>();
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            PolicyIndex fresh = new PolicyIndex();
+            for (ActivePolicyView view : sharePolicyRepository.findActivePolicyViews()) {
+                CompiledPolicy compiled = compile(view.getPolicyId(), view.getIdentityId(), view.getRequester(),
+                    view.getAttributes(), view.getDuration(), view.getConstraints(),
+                    view.getDefaultAction(), view.getCreationTime());
+                if (compiled != null) {
+                    fresh.apply(compiled.policyId, compiled);
+                }
+            }
+            synchronized (writeLock) {
+                // 重建期间提交的变更可能未被查询读到，切换前重放
+                for (PendingChange change : changesDuringRebuild) {
+                    fresh.apply(change.policyId, change.compiled);
+                }
+                index = fresh;
+            }
+            rebuilds.increment();
+            lastRebuildMillis = System.currentTimeMillis() - start;
+            logger.info("共享策略索引重建完成，策略数: {}, 耗时: {}ms", fresh.byPolicyId.size(), lastRebuildMillis);
+        } catch (RuntimeException e) {
+            logger.error("共享策略索引重建失败，继续使用现有索引", e);
+        } finally {
+            synchronized (writeLock) {
+                changesDuringRebuild = null;
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        PolicyIndex current = index;
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("policies", current.byPolicyId.size());
+        statistics.put("identities", current.byIdentity.size());
+        statistics.put("attributes", attributeBits.size());
+        statistics.put("incrementalUpdates", incrementalUpdates.sum());
+        statistics.put("remoteReloads", remoteReloads.sum());
+        statistics.put("broadcastFailures", broadcastFailures.sum());
+        statistics.put("rebuilds", rebuilds.sum());
+        statistics.put("lastRebuildMillis", lastRebuildMillis);
+        return statistics;
+    }
+
+    private void scheduleChange(PendingChange change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyChange(change);
+                    broadcast(change.policyId);
+                }
+            });
+        } else {
+            applyChange(change);
+            broadcast(change.policyId);
+        }
+    }
+
+    /**
+     * 通知其他节点重新加载策略；本节点也会收到消息，重新加载可纠正并发提交时乱序应用的本地变更
+     */
+    private void broadcast(String policyId) {
+        if (!broadcastEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(CHANGED_CHANNEL, policyId);
+        } catch (RuntimeException e) {
+            broadcastFailures.increment();
+            logger.error("广播共享策略{}变更失败，其他节点将在下次全量重建时生效: {}", policyId, e.getMessage());
+        }
+    }
+
+    private void applyChange(PendingChange change) {
+        synchronized (writeLock) {
+            index.apply(change.policyId, change.compiled);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        }
+        incrementalUpdates.increment();
+    }
+
+    /**
+     * 编译单条策略；配置无法解析时返回null（不授予任何访问）
+     */
+    private CompiledPolicy compile(String policyId, String identityId, String requester, String attributes,
+                                   String duration, String constraints, ShareAction defaultAction,
+                                   LocalDateTime creationTime) {
+        try {
+            long mask = 0L;
+            for (String attribute : parseAttributes(attributes)) {
+                Long bit = attributeBits.get(attribute);
+                if (bit != null) {
+                    mask |= bit;
+                } else {
+                    logger.warn("策略{}包含不在白名单中的属性，已忽略: {}", policyId, attribute);
+                }
+            }
+
+            LocalDateTime start = creationTime != null ? creationTime : LocalDateTime.now();
+            long expiresAt = start.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                + Duration.parse(duration).toMillis();
+
+            return new CompiledPolicy(policyId, identityId, requester, mask, expiresAt,
+                hasConstraints(constraints), defaultAction != null ? defaultAction : ShareAction.DENY);
+        } catch (Exception e) {
+            logger.warn("共享策略{}配置无效，未加入决策索引: {}", policyId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 支持三种属性配置格式: ["NAME", ...]、{"sharedAttributes": [...]}、{"NAME": true, ...}
+     */
+    private List<String> parseAttributes(String attributes) throws Exception {
+        List<String> names = new ArrayList<>();
+        JsonNode node = objectMapper.readTree(attributes);
+        if (node.isObject() && node.has("sharedAttributes")) {
+            node = node.get("sharedAttributes");
+        }
+        if (node.isArray()) {
+            node.forEach(element -> names.add(element.asText()));
+        } else if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (field.getValue().asBoolean(false)) {
+                    names.add(field.getKey());
+                }
+            }
+        }
+        return names;
+    }
+
+    private boolean hasConstraints(String constraints) throws Exception {
+        if (constraints == null || constraints.isBlank()) {
+            return false;
+        }
+        JsonNode node = objectMapper.readTree(constraints);
+        return !(node.isNull() || node.isMissingNode() || node.isEmpty());
+    }
+
+    private static int strictness(ShareAction action) {
+        switch (action) {
+            case DENY: return 3;
+            case PROMPT: return 2;
+            case CONDITIONAL: return 1;
+            default: return 0;
+        }
+    }
+
+    /**
+     * 编译后的策略，决策结果对象预先构建
+     */
+    private static final class CompiledPolicy {
+        private final String policyId;
+        private final String identityId;
+        private final String requester;
+        private final long attributeMask;
+        private final long expiresAtMillis;
+        private final boolean constrained;
+        private final Decision allow;
+        private final Decision conditional;
+        private final Decision defaultDecision;
+
+        private CompiledPolicy(String policyId, String identityId, String requester, long attributeMask,
+                               long expiresAtMillis, boolean constrained, ShareAction defaultAction) {
+            this.policyId = policyId;
+            this.identityId = identityId;
+            this.requester = requester;
+            this.attributeMask = attributeMask;
+            this.expiresAtMillis = expiresAtMillis;
+            this.constrained = constrained;
+            this.allow = new Decision(ShareAction.ALLOW, policyId, Reason.MATCHED);
+            this.conditional = new Decision(ShareAction.CONDITIONAL, policyId, Reason.CONSTRAINED);
+            this.defaultDecision = new Decision(defaultAction, policyId, Reason.DEFAULT_ACTION);
+        }
+    }
+
+    private static final class PendingChange {
+        private final String policyId;
+        private final CompiledPolicy compiled; // null表示移除
+
+        private PendingChange(String policyId, CompiledPolicy compiled) {
+            this.policyId = policyId;
+            this.compiled = compiled;
+        }
+    }
+
+    /**
+     * 策略索引：读无锁，写由外部串行化；同一槽位的策略数组写时复制
+     */
+    private static final class PolicyIndex {
+        private final ConcurrentHashMap<String, ConcurrentHashMap<String, CompiledPolicy[]>> byIdentity =
+            new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, CompiledPolicy> byPolicyId = new ConcurrentHashMap<>();
+
+        private void apply(String policyId, CompiledPolicy compiled) {
+            CompiledPolicy previous = compiled != null
+                ? byPolicyId.put(policyId, compiled)
+                : byPolicyId.remove(policyId);
+            if (compiled != null) {
+                // 先写入新槽位（同槽位时一次替换），再清理旧槽位，避免决策短暂看不到策略
+                updateSlot(compiled.identityId, compiled.requester, policyId, compiled);
+            }
+            if (previous != null && (compiled == null
+                    || !previous.identityId.equals(compiled.identityId)
+                    || !previous.requester.equals(compiled.requester))) {
+                updateSlot(previous.identityId, previous.requester, policyId, null);
+            }
+        }
+
+        private void updateSlot(String identityId, String requester, String removePolicyId, CompiledPolicy add) {
+            ConcurrentHashMap<String, CompiledPolicy[]> byRequester =
+                byIdentity.computeIfAbsent(identityId, key -> new ConcurrentHashMap<>());
+            CompiledPolicy[] current = byRequester.getOrDefault(requester, EMPTY);
+            List<CompiledPolicy> next = new ArrayList<>(current.length + 1);
+            for (CompiledPolicy policy : current) {
+                if (!policy.policyId.equals(removePolicyId)) {
+                    next.add(policy);
+                }
+            }
+            if (add != null) {
+                next.add(add);
+            }
+            if (next.isEmpty()) {
+                byRequester.remove(requester);
+                if (byRequester.isEmpty()) {
+                    byIdentity.remove(identityId);
+                }
+            } else {
+                byRequester.put(requester, next.toArray(EMPTY));
+            }
+        }
+    }
+}
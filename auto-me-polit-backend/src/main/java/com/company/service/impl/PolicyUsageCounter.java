@@ -0,0 +1,212 @@
+package com.company.service.impl;
+
+import com.company.dto.response.PolicyUsageDTO;
+import com.company.exception.BusinessException;
+import com.company.repository.SharePolicyRepository;
+import com.company.repository.SharePolicyRepository.PolicyUsageView;
+import com.company.repository.SharePolicyRepositoryCustom.UsageDelta;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 统一身份认证平台 - 共享策略使用计数器
+ * 决策路径只做分段无锁累加（LongAdder），由定时任务把增量批量累加到 share_policy，
+ * 进程崩溃最多丢失一个落库周期的计数。
+ * 查询时库中值与内存中的已落库计数须来自同一时刻：落库事务前后各递增一次 flushVersion（奇数表示落库进行中），
+ * 读取前后版本号相同且为偶数时两者一致，否则在落库锁内重读
+ */
+@Component
+public class PolicyUsageCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyUsageCounter.class);
+
+    private final SharePolicyRepository sharePolicyRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<String, UsageCell> cells = new ConcurrentHashMap<>();
+
+    // 落库版本号：事务开始前与已落库计数更新后各加一，仅由落库线程修改
+    private final AtomicLong flushVersion = new AtomicLong();
+
+    private final LongAdder flushedRows = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+
+    public PolicyUsageCounter(SharePolicyRepository sharePolicyRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.sharePolicyRepository = sharePolicyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 记录一次决策
+     *
+     * @param policyId 命中的策略ID
+     * @param granted 是否授权（允许或条件允许）
+     * @param elapsedNanos 决策耗时
+     */
+    public void record(String policyId, boolean granted, long elapsedNanos) {
+        UsageCell cell = cells.get(policyId);
+        if (cell == null) {
+            cell = cells.computeIfAbsent(policyId, key -> new UsageCell());
+        }
+        if (granted) {
+            cell.granted.increment();
+            cell.lastUsedMillis.accumulate(System.currentTimeMillis());
+        } else {
+            cell.denied.increment();
+        }
+        cell.elapsedNanos.add(elapsedNanos);
+    }
+
+    /**
+     * 获取策略使用统计（已落库值 + 待落库增量）
+     *
+     * @param policyId 策略ID
+     * @return 使用统计
+     */
+    public PolicyUsageDTO getUsage(String policyId) {
+        long version = flushVersion.get();
+        if ((version & 1) == 0) {
+            PolicyUsageDTO usage = readUsage(policyId);
+            if (flushVersion.get() == version) {
+                return usage;
+            }
+        }
+        // 读取期间有落库进行或完成，库中值与已落库计数可能不一致，等待落库结束后重读
+        synchronized (this) {
+            return readUsage(policyId);
+        }
+    }
+
+    private PolicyUsageDTO readUsage(String policyId) {
+        PolicyUsageView row = sharePolicyRepository.findUsageView(policyId)
+            .orElseThrow(() -> new BusinessException(10006, 404, "策略不存在: " + policyId));
+
+        long persisted = row.getUsageCount() != null ? row.getUsageCount() : 0L;
+        LocalDateTime lastUsedTime = row.getLastUsedTime();
+        UsageCell cell = cells.get(policyId);
+        if (cell == null) {
+            return new PolicyUsageDTO(persisted, 0L, 0.0, lastUsedTime);
+        }
+
+        // 先读已落库计数再读授权次数，保证后者不小于前者
+        long committed = cell.committed.get();
+        long granted = cell.granted.sum();
+        long denied = cell.denied.sum();
+        // 未提交的增量不在库中值里，仍计入待落库部分
+        long pending = Math.max(0L, granted - committed);
+        long decisions = granted + denied;
+        double averageMillis = decisions == 0 ? 0.0 : cell.elapsedNanos.sum() / (double) decisions / 1_000_000.0;
+
+        long lastUsedMillis = cell.lastUsedMillis.get();
+        if (lastUsedMillis > 0) {
+            LocalDateTime pendingLastUsed = toLocalDateTime(lastUsedMillis);
+            if (lastUsedTime == null || pendingLastUsed.isAfter(lastUsedTime)) {
+                lastUsedTime = pendingLastUsed;
+            }
+        }
+        return new PolicyUsageDTO(persisted + pending, denied, averageMillis, lastUsedTime);
+    }
+
+    /**
+     * 定时落库：每个策略一条累加UPDATE，整批在同一事务中提交
+     */
+    @Scheduled(fixedDelayString = "${auto-me-polit.sharing.usage.flush-interval:5000}")
+    public synchronized void flush() {
+        List<UsageDelta> deltas = new ArrayList<>();
+        List<UsageCell> flushing = new ArrayList<>();
+        for (Map.Entry<String, UsageCell> entry : cells.entrySet()) {
+            UsageCell cell = entry.getValue();
+            long delta = cell.granted.sum() - cell.committed.get() - cell.inFlight.get();
+            if (delta <= 0) {
+                continue;
+            }
+            cell.inFlight.addAndGet(delta);
+            deltas.add(new UsageDelta(entry.getKey(), delta, toLocalDateTime(cell.lastUsedMillis.get())));
+            flushing.add(cell);
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        flushVersion.incrementAndGet();
+        try {
+            int[] updated = transactionTemplate.execute(status -> sharePolicyRepository.batchIncrementUsage(deltas));
+            // 事务已提交，增量由正在落库转为已落库
+            for (int i = 0; i < deltas.size(); i++) {
+                long delta = deltas.get(i).getCount();
+                flushing.get(i).committed.addAndGet(delta);
+                flushing.get(i).inFlight.addAndGet(-delta);
+            }
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    // 策略已删除，丢弃其计数
+                    cells.remove(deltas.get(i).getPolicyId(), flushing.get(i));
+                } else {
+                    flushedRows.add(updated[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            flushFailures.increment();
+            logger.warn("策略使用计数落库失败，{}条增量将在下个周期重试", deltas.size(), e);
+            for (int i = 0; i < deltas.size(); i++) {
+                flushing.get(i).inFlight.addAndGet(-deltas.get(i).getCount());
+            }
+        } finally {
+            flushVersion.incrementAndGet();
+        }
+    }
+
+    /**
+     * 关闭时落库剩余增量
+     */
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+
+    /**
+     * 获取计数器统计信息
+     *
+     * @return 跟踪策略数、累计落库行数、落库失败次数
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("trackedPolicies", cells.size());
+        statistics.put("flushedRows", flushedRows.sum());
+        statistics.put("flushFailures", flushFailures.sum());
+        return statistics;
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static final class UsageCell {
+        private final LongAdder granted = new LongAdder();
+        private final LongAdder denied = new LongAdder();
+        private final LongAdder elapsedNanos = new LongAdder();
+        private final LongAccumulator lastUsedMillis = new LongAccumulator(Math::max, 0L);
+        // 已提交落库的授权次数，仅由落库线程修改
+        private final AtomicLong committed = new AtomicLong();
+        // 正在落库（事务未提交）的授权次数，仅由落库线程修改
+        private final AtomicLong inFlight = new AtomicLong();
+    }
+}
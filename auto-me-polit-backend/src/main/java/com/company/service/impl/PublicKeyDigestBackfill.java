@@ -0,0 +1,90 @@
+package com.company.service.impl;
+
+import com.company.repository.CoreIdentityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 统一身份认证平台 - 公钥摘要回填
+ * 新写入的身份随公钥一同写入摘要；启动后在后台线程分批为存量身份回填摘要，
+ * 每批一条查询加一次批量UPDATE，批间短暂停顿以免占满数据库。只写入摘要仍为空的行，多节点同时执行无副作用
+ */
+@Component
+public class PublicKeyDigestBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicKeyDigestBackfill.class);
+
+    private final CoreIdentityRepository coreIdentityRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pauseMillis;
+
+    private volatile boolean completed = false;
+    private final LongAdder backfilledRows = new LongAdder();
+
+    public PublicKeyDigestBackfill(CoreIdentityRepository coreIdentityRepository,
+                                   @Value("${auto-me-polit.identity.public-key-digest.backfill.enabled:true}") boolean enabled,
+                                   @Value("${auto-me-polit.identity.public-key-digest.backfill.batch-size:1000}") int batchSize,
+                                   @Value("${auto-me-polit.identity.public-key-digest.backfill.pause:50ms}") Duration pause) {
+        this.coreIdentityRepository = coreIdentityRepository;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.pauseMillis = pause.toMillis();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::run, "public-key-digest-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 获取回填统计
+     *
+     * @return 是否完成与已回填行数
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", enabled);
+        statistics.put("completed", completed);
+        statistics.put("backfilledRows", backfilledRows.sum());
+        return statistics;
+    }
+
+    private void run() {
+        long startNanos = System.nanoTime();
+        try {
+            int rows;
+            do {
+                rows = coreIdentityRepository.backfillPublicKeyDigests(batchSize);
+                backfilledRows.add(rows);
+                if (rows == batchSize && pauseMillis > 0) {
+                    Thread.sleep(pauseMillis);
+                }
+            } while (rows == batchSize);
+            completed = true;
+            if (backfilledRows.sum() > 0) {
+                logger.info("公钥摘要回填完成: {}个身份，耗时{}ms",
+                    backfilledRows.sum(), (System.nanoTime() - startNanos) / 1_000_000);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // 未完成的部分在下次启动时继续回填
+            logger.error("公钥摘要回填失败，已回填{}个身份", backfilledRows.sum(), e);
+        }
+    }
+}
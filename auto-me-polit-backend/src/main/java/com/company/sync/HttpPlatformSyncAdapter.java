@@ -0,0 +1,134 @@
+package com.company.sync;
+
+import com.company.config.AccountSyncProperties;
+import com.company.repository.LinkedAccountRepository.SyncTarget;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 统一身份认证平台 - 通用HTTP同步适配器
+ * 对配置了 base-url 的平台生效：GET {base-url}/accounts/{accountIdentifier}，
+ * 返回 {"accountName": ..., "accountAvatar": ..., "accountHealth": ...}；
+ * 可指向平台网关或本地桩服务。
+ * 增量游标取自响应的 ETag（优先）或 Last-Modified，下次请求以条件请求头携带，304 表示资料未变化
+ */
+@Component
+public class HttpPlatformSyncAdapter implements PlatformSyncAdapter {
+
+    private static final String ETAG_PREFIX = "etag:";
+    private static final String LAST_MODIFIED_PREFIX = "lm:";
+
+    private final AccountSyncProperties properties;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    public HttpPlatformSyncAdapter(AccountSyncProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+    }
+
+    @Override
+    public boolean supports(String platform) {
+        return StringUtils.hasText(properties.forPlatform(platform).getBaseUrl());
+    }
+
+    @Override
+    public PlatformProfile fetch(SyncTarget target) throws PlatformSyncException {
+        AccountSyncProperties.Platform config = properties.forPlatform(target.getPlatform());
+        String baseUrl = config.getBaseUrl().endsWith("/")
+            ? config.getBaseUrl().substring(0, config.getBaseUrl().length() - 1) : config.getBaseUrl();
+        URI uri = URI.create(baseUrl + "/accounts/"
+            + URLEncoder.encode(target.getAccountIdentifier(), StandardCharsets.UTF_8));
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+            .timeout(config.getTimeout())
+            .header("Accept", "application/json")
+            .GET();
+        String cursor = target.getSyncCursor();
+        if (cursor != null && cursor.startsWith(ETAG_PREFIX)) {
+            builder.header("If-None-Match", cursor.substring(ETAG_PREFIX.length()));
+        } else if (cursor != null && cursor.startsWith(LAST_MODIFIED_PREFIX)) {
+            builder.header("If-Modified-Since", cursor.substring(LAST_MODIFIED_PREFIX.length()));
+        }
+        HttpRequest request = builder.build();
+
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (HttpTimeoutException e) {
+            throw new PlatformSyncException("平台请求超时", true, e);
+        } catch (IOException e) {
+            throw new PlatformSyncException("平台请求失败: " + e.getMessage(), true, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PlatformSyncException("平台请求被中断", false, e);
+        }
+
+        int status = response.statusCode();
+        if (status == 304) {
+            return PlatformProfile.notModified(cursor);
+        }
+        if (status == 429 || status >= 500) {
+            throw new PlatformSyncException("平台返回状态码 " + status, true, parseRetryAfter(response), null);
+        }
+        if (status < 200 || status >= 300) {
+            throw new PlatformSyncException("平台返回状态码 " + status, false);
+        }
+
+        try {
+            JsonNode body = objectMapper.readTree(response.body());
+            PlatformProfile profile = new PlatformProfile(
+                textOrNull(body, "accountName"),
+                textOrNull(body, "accountAvatar"),
+                body.hasNonNull("accountHealth") ? Math.max(0, Math.min(100, body.get("accountHealth").asInt())) : null
+            );
+            profile.setCursor(parseCursor(response));
+            profile.setResponseBytes(response.body().length);
+            return profile;
+        } catch (IOException e) {
+            throw new PlatformSyncException("平台响应解析失败", false, e);
+        }
+    }
+
+    private static String textOrNull(JsonNode body, String field) {
+        return body.hasNonNull(field) ? body.get(field).asText() : null;
+    }
+
+    private static String parseCursor(HttpResponse<?> response) {
+        return response.headers().firstValue("ETag")
+            .map(etag -> ETAG_PREFIX + etag)
+            .or(() -> response.headers().firstValue("Last-Modified").map(time -> LAST_MODIFIED_PREFIX + time))
+            .filter(value -> value.length() <= 255)
+            .orElse(null);
+    }
+
+    private static long parseRetryAfter(HttpResponse<?> response) {
+        // 仅支持秒数形式的 Retry-After
+        return response.headers().firstValue("Retry-After")
+            .map(value -> {
+                try {
+                    return TimeUnit.SECONDS.toMillis(Long.parseLong(value.trim()));
+                } catch (NumberFormatException e) {
+                    return 0L;
+                }
+            })
+            .orElse(0L);
+    }
+}
@@ -0,0 +1,80 @@
+package com.company.sync;
+
+/**
+ * 统一身份认证平台 - 第三方平台账户资料
+ * 字段为null表示平台未返回，同步时保留原值；notModified 表示平台确认自游标以来没有变化
+ */
+public class PlatformProfile {
+
+    private String accountName;
+    private String accountAvatar;
+    private Integer accountHealth;
+    private String cursor;        // 平台返回的新游标，null表示平台不支持增量
+    private boolean notModified;
+    private long responseBytes;   // 响应体字节数
+
+    public PlatformProfile() {}
+
+    /**
+     * 平台确认资料未变化
+     *
+     * @param cursor 当前游标
+     * @return 未变化的资料
+     */
+    public static PlatformProfile notModified(String cursor) {
+        PlatformProfile profile = new PlatformProfile();
+        profile.cursor = cursor;
+        profile.notModified = true;
+        return profile;
+    }
+
+    public PlatformProfile(String accountName, String accountAvatar, Integer accountHealth) {
+        this.accountName = accountName;
+        this.accountAvatar = accountAvatar;
+        this.accountHealth = accountHealth;
+    }
+
+    public String getAccountName() {
+        return accountName;
+    }
+
+    public void setAccountName(String accountName) {
+        this.accountName = accountName;
+    }
+
+    public String getAccountAvatar() {
+        return accountAvatar;
+    }
+
+    public void setAccountAvatar(String accountAvatar) {
+        this.accountAvatar = accountAvatar;
+    }
+
+    public Integer getAccountHealth() {
+        return accountHealth;
+    }
+
+    public void setAccountHealth(Integer accountHealth) {
+        this.accountHealth = accountHealth;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public boolean isNotModified() {
+        return notModified;
+    }
+
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    public void setResponseBytes(long responseBytes) {
+        this.responseBytes = responseBytes;
+    }
+}
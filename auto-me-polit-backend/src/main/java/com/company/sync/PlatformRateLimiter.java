@@ -0,0 +1,55 @@
+package com.company.sync;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 统一身份认证平台 - 平台请求令牌桶
+ * 预约式实现：锁内只计算等待时间，等待在锁外进行
+ */
+public class PlatformRateLimiter {
+
+    private final long intervalNanos;
+    private final double maxStored;
+
+    private double stored;
+    private long nextFreeNanos;
+
+    /**
+     * @param ratePerSecond 每秒令牌数，<=0表示不限流
+     * @param burst 令牌桶容量
+     */
+    public PlatformRateLimiter(double ratePerSecond, int burst) {
+        this.intervalNanos = ratePerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond) : 0L;
+        this.maxStored = Math.max(1, burst);
+        this.stored = this.maxStored;
+        this.nextFreeNanos = System.nanoTime();
+    }
+
+    /**
+     * 获取一个令牌，必要时等待
+     *
+     * @throws InterruptedException 等待被中断
+     */
+    public void acquire() throws InterruptedException {
+        if (intervalNanos == 0L) {
+            return;
+        }
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        if (now > nextFreeNanos) {
+            stored = Math.min(maxStored, stored + (double) (now - nextFreeNanos) / intervalNanos);
+            nextFreeNanos = now;
+        }
+        long waitNanos = nextFreeNanos - now;
+        double spend = Math.min(1.0, stored);
+        stored -= spend;
+        nextFreeNanos += (long) ((1.0 - spend) * intervalNanos);
+        return waitNanos;
+    }
+}
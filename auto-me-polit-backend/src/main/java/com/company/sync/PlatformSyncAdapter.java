@@ -0,0 +1,27 @@
+package com.company.sync;
+
+import com.company.repository.LinkedAccountRepository.SyncTarget;
+
+/**
+ * 统一身份认证平台 - 第三方平台同步适配器
+ * 每个平台（或一类协议）一个实现，由同步调度器按平台名选择
+ */
+public interface PlatformSyncAdapter {
+
+    /**
+     * 是否支持该平台
+     *
+     * @param platform 平台名称
+     * @return 是否支持
+     */
+    boolean supports(String platform);
+
+    /**
+     * 拉取账户在平台上的最新资料
+     *
+     * @param target 同步目标账户
+     * @return 平台资料
+     * @throws PlatformSyncException 平台调用失败，是否可重试由异常标记
+     */
+    PlatformProfile fetch(SyncTarget target) throws PlatformSyncException;
+}
@@ -0,0 +1,38 @@
+package com.company.sync;
+
+/**
+ * 统一身份认证平台 - 平台同步异常
+ */
+public class PlatformSyncException extends Exception {
+
+    private final boolean retryable;
+    private final long retryAfterMillis;
+
+    public PlatformSyncException(String message, boolean retryable) {
+        this(message, retryable, 0L, null);
+    }
+
+    public PlatformSyncException(String message, boolean retryable, Throwable cause) {
+        this(message, retryable, 0L, cause);
+    }
+
+    public PlatformSyncException(String message, boolean retryable, long retryAfterMillis, Throwable cause) {
+        super(message, cause);
+        this.retryable = retryable;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * 是否可重试（限流、超时、5xx等临时错误）
+     */
+    public boolean isRetryable() {
+        return retryable;
+    }
+
+    /**
+     * 平台要求的最短重试间隔（Retry-After），0表示未指定
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
@@ -0,0 +1,135 @@
+package com.company.sync;
+
+import com.company.repository.LinkedAccountRepositoryCustom.SyncStatusUpdate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * 统一身份认证平台 - 平台资料增量
+ * 库中为每个资料字段保存一个摘要（SHA-256前8字节，"名称:头像:健康度"），
+ * 与新资料的字段摘要逐个比较得出需要写入的列，比较时无需读取原字段值
+ */
+public final class ProfileDelta {
+
+    private static final int FIELD_COUNT = 3;
+    private static final int[] FIELD_COLUMNS = {
+        SyncStatusUpdate.ACCOUNT_NAME, SyncStatusUpdate.ACCOUNT_AVATAR, SyncStatusUpdate.ACCOUNT_HEALTH
+    };
+    private static final int INTEGER_BYTES = 4;
+
+    private final int changedColumns;
+    private final String hashes;
+    private final int unchangedFields;
+    private final long unchangedBytes;
+
+    private ProfileDelta(int changedColumns, String hashes, int unchangedFields, long unchangedBytes) {
+        this.changedColumns = changedColumns;
+        this.hashes = hashes;
+        this.unchangedFields = unchangedFields;
+        this.unchangedBytes = unchangedBytes;
+    }
+
+    /**
+     * 计算平台资料相对库中摘要的增量；平台未返回的字段视为未变化
+     *
+     * @param storedHashes 库中的字段摘要，可为null
+     * @param profile 平台资料
+     * @return 资料增量
+     */
+    public static ProfileDelta compute(String storedHashes, PlatformProfile profile) {
+        String[] stored = split(storedHashes);
+        String[] current = stored.clone();
+        Object[] values = {profile.getAccountName(), profile.getAccountAvatar(), profile.getAccountHealth()};
+
+        int changed = 0;
+        int unchangedFields = 0;
+        long unchangedBytes = 0;
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            if (values[i] == null) {
+                continue;
+            }
+            current[i] = hash(values[i]);
+            if (current[i].equals(stored[i])) {
+                unchangedFields++;
+                unchangedBytes += values[i] instanceof String text
+                    ? text.getBytes(StandardCharsets.UTF_8).length : INTEGER_BYTES;
+            } else {
+                changed |= FIELD_COLUMNS[i];
+            }
+        }
+
+        if (changed != 0) {
+            changed |= SyncStatusUpdate.PROFILE_HASHES;
+        }
+        return new ProfileDelta(changed, String.join(":", current), unchangedFields, unchangedBytes);
+    }
+
+    /**
+     * 把有变化的字段写入状态更新
+     *
+     * @param update 状态更新
+     * @param profile 平台资料
+     * @return 状态更新
+     */
+    public SyncStatusUpdate applyTo(SyncStatusUpdate update, PlatformProfile profile) {
+        if ((changedColumns & SyncStatusUpdate.ACCOUNT_NAME) != 0) update.accountName(profile.getAccountName());
+        if ((changedColumns & SyncStatusUpdate.ACCOUNT_AVATAR) != 0) update.accountAvatar(profile.getAccountAvatar());
+        if ((changedColumns & SyncStatusUpdate.ACCOUNT_HEALTH) != 0) update.accountHealth(profile.getAccountHealth());
+        if ((changedColumns & SyncStatusUpdate.PROFILE_HASHES) != 0) update.profileHashes(hashes);
+        return update;
+    }
+
+    /**
+     * 是否有资料字段变化
+     */
+    public boolean hasChanges() {
+        return changedColumns != 0;
+    }
+
+    /**
+     * 需写入的资料列数
+     */
+    public int getChangedFields() {
+        return Integer.bitCount(changedColumns & ~SyncStatusUpdate.PROFILE_HASHES);
+    }
+
+    /**
+     * 未变化而免于写入的资料列数
+     */
+    public int getUnchangedFields() {
+        return unchangedFields;
+    }
+
+    /**
+     * 未变化而免于写入的资料字节数
+     */
+    public long getUnchangedBytes() {
+        return unchangedBytes;
+    }
+
+    private static String[] split(String storedHashes) {
+        String[] slots = new String[FIELD_COUNT];
+        Arrays.fill(slots, "");
+        if (storedHashes != null) {
+            String[] parts = storedHashes.split(":", -1);
+            for (int i = 0; i < Math.min(parts.length, FIELD_COUNT); i++) {
+                slots[i] = parts[i];
+            }
+        }
+        return slots;
+    }
+
+    private static String hash(Object value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest(value.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(bytes, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256不可用", e);
+        }
+    }
+}
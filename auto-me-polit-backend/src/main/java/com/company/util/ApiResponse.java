@@ -123,6 +123,7 @@ public class ApiResponse<T> {
         private Integer page;
         private Integer size;
         private Integer pages;
+        private String nextCursor; // 游标分页时下一页的游标，null表示没有更多数据
 
         public PageData() {}
 
@@ -134,6 +135,17 @@ public class ApiResponse<T> {
             this.pages = (int) Math.ceil((double) total / size);
         }
 
+        /**
+         * 游标分页结果，不统计总数
+         */
+        public static <T> PageData<T> ofCursor(java.util.List<T> items, Integer size, String nextCursor) {
+            PageData<T> pageData = new PageData<>();
+            pageData.items = items;
+            pageData.size = size;
+            pageData.nextCursor = nextCursor;
+            return pageData;
+        }
+
         // Getter and Setter methods
         public java.util.List<T> getItems() {
             return items;
@@ -174,5 +186,13 @@ public class ApiResponse<T> {
         public void setPages(Integer pages) {
             this.pages = pages;
         }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
+
+        public void setNextCursor(String nextCursor) {
+            this.nextCursor = nextCursor;
+        }
     }
 }
\ No newline at end of file
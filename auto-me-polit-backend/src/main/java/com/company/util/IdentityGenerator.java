@@ -1,11 +1,26 @@
 package com.company.util;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.security.SecureRandom;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
 /**
  * 统一身份认证平台 - 身份ID生成器
@@ -14,21 +29,203 @@ import java.util.concurrent.atomic.AtomicLong;
 @Component
 public class IdentityGenerator {
 
+    private static final Logger logger = LoggerFactory.getLogger(IdentityGenerator.class);
+
     private static final String IDENTITY_PREFIX = "UID-GLOBAL-";
     private static final String HEX_CHARS = "0123456789ABCDEF";
+    private static final char[] HEX_DIGITS = HEX_CHARS.toCharArray();
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final int TIMESTAMP_LENGTH = 14;
+    private static final int GLOBAL_ID_LENGTH = IDENTITY_PREFIX.length() + TIMESTAMP_LENGTH + 12;
+    private static final long SEQUENCE_MASK = 0xFFFFFFFFL;
+    // 线程每次从节点序列领取的序列号个数，节点共享状态每个块才CAS一次
+    private static final int SEQUENCE_BLOCK_SIZE = 256;
     private static final SecureRandom secureRandom = new SecureRandom();
     private static final AtomicLong counter = new AtomicLong(0);
 
+    /**
+     * 每个线程复用的ID字符缓冲区，前缀只写入一次，时间戳按秒缓存
+     */
+    private static final ThreadLocal<IdBuffer> ID_BUFFER = ThreadLocal.withInitial(IdBuffer::new);
+
+    public enum Mode {
+        NODE,   // 节点感知：时间戳 + 4位节点号 + 8位节点内单调序列号
+        LEGACY  // 兼容模式：时间戳 + 8位随机数 + 4位循环计数器
+    }
+
+    private static final int MAX_NODE_ID = 0xFFFF;
+
+    private final Mode mode;
+    private final int nodeId;
+    private final LongSupplier clock;
+
+    /**
+     * 节点内状态：下一个可分配的序列值，高32位为秒级时间戳，低32位为秒内序列号；
+     * 线程按块领取，单次CAS分配一个块
+     */
+    private final AtomicLong nodeSequence = new AtomicLong(0);
+
+    /**
+     * 线程私有的序列号块，块内分配不访问共享状态
+     */
+    private final ThreadLocal<SequenceBlock> sequenceBlock = ThreadLocal.withInitial(SequenceBlock::new);
+
+    /**
+     * 已持久化的秒级租约：本进程分配的秒数不超过该值，重启后从其下一秒开始分配。
+     * 未配置状态目录时为 Long.MAX_VALUE（不持久化）
+     */
+    private final Path leaseFile;
+    private final long leaseSeconds;
+    private volatile long leasedUntilSecond = Long.MAX_VALUE;
+
+    public IdentityGenerator(Mode mode, int nodeId) {
+        this(mode, nodeId, null, 0, System::currentTimeMillis);
+    }
+
+    @Autowired
+    public IdentityGenerator(@Value("${auto-me-polit.identity.generator.mode:NODE}") Mode mode,
+                             @Value("${auto-me-polit.identity.generator.node-id:-1}") int nodeId,
+                             @Value("${auto-me-polit.identity.generator.state-dir:./data}") String stateDir,
+                             @Value("${auto-me-polit.identity.generator.lease-seconds:10}") long leaseSeconds) {
+        this(mode, nodeId, stateDir, leaseSeconds, System::currentTimeMillis);
+    }
+
+    IdentityGenerator(Mode mode, int nodeId, String stateDir, long leaseSeconds, LongSupplier clock) {
+        this.mode = mode;
+        this.clock = clock;
+        if (mode == Mode.NODE && (nodeId < 0 || nodeId > MAX_NODE_ID)) {
+            // 按主机名等推导的节点号在多副本下可能碰撞，破坏跨节点唯一性，因此必须显式分配
+            throw new IllegalStateException("节点模式必须配置 auto-me-polit.identity.generator.node-id（0-65535，每个节点唯一），当前值: " + nodeId);
+        }
+        this.nodeId = nodeId & MAX_NODE_ID;
+        this.leaseSeconds = Math.max(1, leaseSeconds);
+        this.leaseFile = mode == Mode.NODE && stateDir != null && !stateDir.isBlank()
+            ? Paths.get(stateDir, "identity-generator-" + this.nodeId + ".lease") : null;
+        if (mode == Mode.NODE) {
+            initializeNodeSequence();
+            logger.info("身份ID生成器使用节点模式，节点号: {}", this.nodeId);
+        }
+    }
+
     /**
      * 生成全局唯一身份ID
-     * 格式: UID-GLOBAL-xxxxxxxx (19-25字符长度)
+     * 格式: UID-GLOBAL-{yyyyMMddHHmmss}{12位十六进制}
+     * 节点模式下12位为4位节点号+8位序列号：同一线程内严格单调递增，同一节点内唯一，不同节点互不冲突
      * 
      * @return 全局唯一身份ID
      */
     public String generateGlobalIdentityId() {
+        if (mode == Mode.LEGACY) {
+            return generateLegacyGlobalIdentityId();
+        }
+
+        long sequence = nextNodeSequence();
+        return ID_BUFFER.get().format(sequence >>> 32, nodeId, sequence & SEQUENCE_MASK);
+    }
+
+    /**
+     * 分配节点内序列号：从线程私有块中顺序取用；块用尽或时钟进入块所在秒之后时领取新块。
+     * 时钟回拨时继续使用当前块，保证线程内单调
+     */
+    private long nextNodeSequence() {
+        SequenceBlock block = sequenceBlock.get();
+        long nowSecond = clock.getAsLong() / 1000;
+        if (block.next >= block.end || nowSecond > (block.next >>> 32)) {
+            allocateBlock(block, nowSecond);
+        }
+        return block.next++;
+    }
+
+    /**
+     * 从节点序列领取一个块：时钟前进时从当前秒的0号开始，否则接续上次分配；
+     * 块不跨秒，秒内序列号耗尽时节点序列自然进入下一秒。进入租约之外的秒之前先延长并持久化租约
+     */
+    private void allocateBlock(SequenceBlock block, long nowSecond) {
+        while (true) {
+            long previous = nodeSequence.get();
+            long start = nowSecond > (previous >>> 32) ? nowSecond << 32 : previous;
+            long second = start >>> 32;
+            if (second > leasedUntilSecond) {
+                extendLease(second);
+                continue;
+            }
+            long end = Math.min(start + SEQUENCE_BLOCK_SIZE, (second + 1) << 32);
+            if (nodeSequence.compareAndSet(previous, end)) {
+                block.next = start;
+                block.end = end;
+                return;
+            }
+        }
+    }
+
+    /**
+     * 启动时把起始秒视为已用尽，首个ID从其下一秒开始分配，避免与上一进程重复：
+     * 有租约文件时起始秒取 max(当前秒, 上次租约)，重启后时钟回拨也不会重发；
+     * 无租约文件时上一进程可能已分配到当前秒，需等待时钟进入下一秒后再分配（时钟回拨无法防护）
+     */
+    private void initializeNodeSequence() {
+        long startSecond = clock.getAsLong() / 1000;
+        if (leaseFile != null) {
+            long previousLease = readLease();
+            if (previousLease > startSecond) {
+                logger.warn("当前时间早于上次运行的身份ID租约{}秒，从租约之后继续分配", previousLease - startSecond);
+                startSecond = previousLease;
+            }
+            leasedUntilSecond = startSecond;
+        } else {
+            waitForNextSecond(startSecond);
+        }
+        nodeSequence.set((startSecond + 1) << 32);
+    }
+
+    private void waitForNextSecond(long second) {
+        long remaining;
+        while ((remaining = (second + 1) * 1000 - clock.getAsLong()) > 0) {
+            try {
+                Thread.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("等待身份ID生成器起始秒被中断", e);
+            }
+        }
+    }
+
+    private synchronized void extendLease(long second) {
+        if (second <= leasedUntilSecond) {
+            return;
+        }
+        long until = second + leaseSeconds;
+        try {
+            Path parent = leaseFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = leaseFile.resolveSibling(leaseFile.getFileName() + ".tmp");
+            Files.write(temp, Long.toString(until).getBytes(StandardCharsets.US_ASCII),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+            Files.move(temp, leaseFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // 无法持久化时拒绝分配，避免重启后重复
+            throw new IllegalStateException("写入身份ID租约失败: " + leaseFile, e);
+        }
+        leasedUntilSecond = until;
+    }
+
+    private long readLease() {
+        if (!Files.isRegularFile(leaseFile)) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Files.readAllBytes(leaseFile), StandardCharsets.US_ASCII).trim());
+        } catch (IOException | NumberFormatException e) {
+            throw new IllegalStateException("读取身份ID租约失败: " + leaseFile, e);
+        }
+    }
+
+    private String generateLegacyGlobalIdentityId() {
         // 使用时间戳 + 随机数 + 计数器确保唯一性
-        LocalDateTime now = LocalDateTime.now();
-        String timestamp = now.format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMATTER);
         
         // 生成8位随机十六进制字符
         String randomHex = generateRandomHex(8);
@@ -145,7 +342,7 @@ public class IdentityGenerator {
         
         try {
             String timePart = identityId.substring(IDENTITY_PREFIX.length(), IDENTITY_PREFIX.length() + 14);
-            return LocalDateTime.parse(timePart, DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+            return LocalDateTime.parse(timePart, TIMESTAMP_FORMATTER);
         } catch (Exception e) {
             return null;
         }
@@ -181,4 +378,61 @@ public class IdentityGenerator {
     public long getNextCounter() {
         return counter.incrementAndGet();
     }
-}
\ No newline at end of file
+
+    /**
+     * 线程私有的序列号块 [next, end)，初始为空块
+     */
+    private static final class SequenceBlock {
+        private long next;
+        private long end;
+    }
+
+    /**
+     * 线程私有的ID格式化缓冲区
+     */
+    private static final class IdBuffer {
+        private final char[] chars = new char[GLOBAL_ID_LENGTH];
+        private long formattedSecond = -1;
+
+        private IdBuffer() {
+            IDENTITY_PREFIX.getChars(0, IDENTITY_PREFIX.length(), chars, 0);
+        }
+
+        private String format(long epochSecond, int nodeId, long sequence) {
+            int pos = IDENTITY_PREFIX.length();
+            if (epochSecond != formattedSecond) {
+                writeTimestamp(epochSecond, pos);
+                formattedSecond = epochSecond;
+            }
+            pos += TIMESTAMP_LENGTH;
+            writeHex(nodeId, pos, 4);
+            writeHex(sequence, pos + 4, 8);
+            return new String(chars);
+        }
+
+        private void writeTimestamp(long epochSecond, int pos) {
+            ZoneOffset offset = ZoneId.systemDefault().getRules().getOffset(Instant.ofEpochSecond(epochSecond));
+            LocalDateTime time = LocalDateTime.ofEpochSecond(epochSecond, 0, offset);
+            writeDecimal(time.getYear(), pos, 4);
+            writeDecimal(time.getMonthValue(), pos + 4, 2);
+            writeDecimal(time.getDayOfMonth(), pos + 6, 2);
+            writeDecimal(time.getHour(), pos + 8, 2);
+            writeDecimal(time.getMinute(), pos + 10, 2);
+            writeDecimal(time.getSecond(), pos + 12, 2);
+        }
+
+        private void writeDecimal(int value, int pos, int width) {
+            for (int i = pos + width - 1; i >= pos; i--) {
+                chars[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+        }
+
+        private void writeHex(long value, int pos, int width) {
+            for (int i = pos + width - 1; i >= pos; i--) {
+                chars[i] = HEX_DIGITS[(int) (value & 0xF)];
+                value >>>= 4;
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.company.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 统一身份认证平台 - 游标分页游标编解码
+ * 游标为排序键各分量以"|"连接后的URL安全Base64编码，对客户端不透明
+ */
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private KeysetCursor() {}
+
+    /**
+     * 编码游标
+     *
+     * @param parts 排序键分量（不能包含"|"）
+     * @return 游标
+     */
+    public static String encode(Object... parts) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                builder.append(SEPARATOR);
+            }
+            builder.append(parts[i] == null ? "" : parts[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标
+     *
+     * @param cursor 游标
+     * @param expectedParts 期望的分量数
+     * @return 排序键分量
+     * @throws IllegalArgumentException 游标格式错误
+     */
+    public static String[] decode(String cursor, int expectedParts) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("无效的分页游标: " + cursor, e);
+        }
+        if (parts.length != expectedParts) {
+            throw new IllegalArgumentException("无效的分页游标: " + cursor);
+        }
+        return parts;
+    }
+}
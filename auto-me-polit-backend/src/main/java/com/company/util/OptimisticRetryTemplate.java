@@ -0,0 +1,86 @@
+package com.company.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 统一身份认证平台 - 乐观锁重试模板
+ * 每次尝试都在独立事务中执行，版本冲突时按退避策略有限次重试
+ */
+@Component
+public class OptimisticRetryTemplate {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticRetryTemplate.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    public OptimisticRetryTemplate(PlatformTransactionManager transactionManager,
+                                   @Value("${auto-me-polit.concurrency.optimistic-retry.max-attempts:3}") int maxAttempts,
+                                   @Value("${auto-me-polit.concurrency.optimistic-retry.backoff-millis:20}") long backoffMillis) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = backoffMillis;
+    }
+
+    /**
+     * 在新事务中执行操作，版本冲突时重试
+     * 若调用方已处于事务中，则直接加入该事务执行一次（外部事务已被标记回滚，重试无意义）
+     *
+     * @param action 业务操作
+     * @return 操作结果
+     */
+    public <T> T execute(Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    logger.warn("乐观锁冲突，已达到最大重试次数: {}", maxAttempts);
+                    throw e;
+                }
+                logger.debug("乐观锁冲突，第{}次重试", attempt);
+                backoff(attempt);
+            }
+        }
+    }
+
+    /**
+     * 无返回值版本
+     *
+     * @param action 业务操作
+     */
+    public void executeWithoutResult(Runnable action) {
+        execute(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private void backoff(int attempt) {
+        if (backoffMillis <= 0) {
+            return;
+        }
+        long delay = backoffMillis * attempt + ThreadLocalRandom.current().nextLong(backoffMillis);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("乐观锁重试被中断", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.company.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 统一身份认证平台 - 公钥摘要
+ * 公钥文本（UTF-8）的SHA-256摘要，作为定长索引列替代对整段公钥文本建索引；
+ * 与 MySQL 的 UNHEX(SHA2(public_key, 256)) 结果一致，可直接用于SQL回填
+ */
+public final class PublicKeyDigest {
+
+    public static final int LENGTH = 32;
+
+    private PublicKeyDigest() {}
+
+    /**
+     * 计算公钥摘要
+     *
+     * @param publicKey 公钥文本
+     * @return 32字节摘要；公钥为空时返回null
+     */
+    public static byte[] of(String publicKey) {
+        if (publicKey == null) {
+            return null;
+        }
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(publicKey.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256不可用", e);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.company.util;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 统一身份认证平台 - 字节级Shamir秘密共享
+ * 基于GF(256)（AES既约多项式 x^8+x^4+x^3+x+1）的查表运算，逐字节独立分片，
+ * 门限与分片总数最大255
+ *
+ * 分片格式: 第一个字节为横坐标x（1-255），其余为与秘密等长的纵坐标
+ */
+public final class ShamirSecretSharing {
+
+    public static final int MAX_SHARES = 255;
+
+    private static final int[] EXP = new int[512];
+    private static final int[] LOG = new int[256];
+
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    static {
+        // 以3为生成元构建指数/对数表，EXP表延长一倍以省去取模
+        int x = 1;
+        for (int i = 0; i < 255; i++) {
+            EXP[i] = x;
+            LOG[x] = i;
+            x ^= (x << 1) ^ ((x & 0x80) != 0 ? 0x11B : 0);
+        }
+        for (int i = 255; i < 512; i++) {
+            EXP[i] = EXP[i - 255];
+        }
+    }
+
+    private ShamirSecretSharing() {}
+
+    /**
+     * 拆分秘密
+     *
+     * @param secret 原始秘密
+     * @param threshold 恢复所需的最少分片数
+     * @param totalShares 分片总数
+     * @return 分片数组，每个分片首字节为横坐标
+     */
+    public static byte[][] split(byte[] secret, int threshold, int totalShares) {
+        if (secret == null || secret.length == 0) {
+            throw new IllegalArgumentException("秘密不能为空");
+        }
+        if (threshold < 1 || threshold > totalShares || totalShares > MAX_SHARES) {
+            throw new IllegalArgumentException(
+                "门限参数无效: threshold=" + threshold + ", totalShares=" + totalShares);
+        }
+
+        int length = secret.length;
+        // coefficients[(d - 1) * length + j] 为第j个字节多项式的d次项系数，常数项即秘密本身
+        byte[] coefficients = new byte[(threshold - 1) * length];
+        RANDOM.get().nextBytes(coefficients);
+
+        byte[][] shares = new byte[totalShares][length + 1];
+        for (int s = 0; s < totalShares; s++) {
+            int x = s + 1;
+            int logX = LOG[x];
+            byte[] share = shares[s];
+            share[0] = (byte) x;
+            for (int j = 0; j < length; j++) {
+                // Horner法求值: ((c_{k-1}·x + c_{k-2})·x + ...)·x + c_0
+                int y = 0;
+                for (int d = threshold - 1; d >= 1; d--) {
+                    y = mulByLog(y, logX) ^ (coefficients[(d - 1) * length + j] & 0xFF);
+                }
+                y = mulByLog(y, logX) ^ (secret[j] & 0xFF);
+                share[j + 1] = (byte) y;
+            }
+        }
+
+        Arrays.fill(coefficients, (byte) 0);
+        return shares;
+    }
+
+    /**
+     * 由分片重组秘密（拉格朗日插值求x=0处的值）
+     * 提供的分片数须不少于拆分时的门限，否则得到的结果不正确
+     *
+     * @param shares 分片数组
+     * @return 原始秘密
+     */
+    public static byte[] combine(byte[][] shares) {
+        if (shares == null || shares.length == 0) {
+            throw new IllegalArgumentException("分片不能为空");
+        }
+
+        int count = shares.length;
+        int length = shares[0].length - 1;
+        if (length < 1) {
+            throw new IllegalArgumentException("分片格式无效");
+        }
+
+        int[] xs = new int[count];
+        boolean[] seen = new boolean[256];
+        for (int i = 0; i < count; i++) {
+            if (shares[i].length != length + 1) {
+                throw new IllegalArgumentException("分片长度不一致");
+            }
+            xs[i] = shares[i][0] & 0xFF;
+            if (xs[i] == 0 || seen[xs[i]]) {
+                throw new IllegalArgumentException("分片横坐标无效或重复: " + xs[i]);
+            }
+            seen[xs[i]] = true;
+        }
+
+        // 拉格朗日基 l_i(0) = Π x_m / (x_m - x_i)，只依赖横坐标，预先计算其对数
+        int[] basisLogs = new int[count];
+        for (int i = 0; i < count; i++) {
+            int logNumerator = 0;
+            int logDenominator = 0;
+            for (int m = 0; m < count; m++) {
+                if (m != i) {
+                    logNumerator += LOG[xs[m]];
+                    logDenominator += LOG[xs[m] ^ xs[i]];
+                }
+            }
+            basisLogs[i] = Math.floorMod(logNumerator - logDenominator, 255);
+        }
+
+        byte[] secret = new byte[length];
+        for (int j = 0; j < length; j++) {
+            int value = 0;
+            for (int i = 0; i < count; i++) {
+                value ^= mulByLog(shares[i][j + 1] & 0xFF, basisLogs[i]);
+            }
+            secret[j] = (byte) value;
+        }
+        return secret;
+    }
+
+    /**
+     * 批量拆分（在调用线程上顺序执行，并行由调用方在受控执行器上安排）
+     *
+     * @param secrets 秘密列表
+     * @param threshold 门限
+     * @param totalShares 分片总数
+     * @return 与输入顺序一致的分片数组列表
+     */
+    public static List<byte[][]> splitAll(List<byte[]> secrets, int threshold, int totalShares) {
+        List<byte[][]> results = new ArrayList<>(secrets.size());
+        for (byte[] secret : secrets) {
+            results.add(split(secret, threshold, totalShares));
+        }
+        return results;
+    }
+
+    /**
+     * 批量重组（在调用线程上顺序执行）
+     *
+     * @param shareSets 分片数组列表
+     * @return 与输入顺序一致的秘密列表
+     */
+    public static List<byte[]> combineAll(List<byte[][]> shareSets) {
+        List<byte[]> results = new ArrayList<>(shareSets.size());
+        for (byte[][] shares : shareSets) {
+            results.add(combine(shares));
+        }
+        return results;
+    }
+
+    private static int mulByLog(int value, int log) {
+        return value == 0 ? 0 : EXP[LOG[value] + log];
+    }
+}
@@ -0,0 +1,148 @@
+package com.company.accesslog;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 统一身份认证平台 - 访问日志段文件测试
+ * 撕裂写入的尾部记录在恢复时按CRC截断、已封存段从 .idx 索引加载而不扫描、删除后在最后一个读者释放时解除映射
+ */
+class AccessLogSegmentTest {
+
+    private static final int CAPACITY = 1 << 20;
+
+    @Test
+    void tornTailIsDiscardedOnRecovery(@TempDir Path directory) throws IOException {
+        AccessLogSegment segment = AccessLogSegment.create(directory, 0, CAPACITY);
+        List<Integer> offsets = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            offsets.add(append(segment, "POLICY-A", 1_000L + i, "op-" + i));
+        }
+        segment.close();
+
+        // 长度已落盘而负载只写入一部分：最后一条记录的内容与CRC不符
+        int torn = offsets.get(10);
+        overwrite(segment.path, torn + AccessLogSegment.HEADER_SIZE + 4, new byte[] {'X', 'X', 'X'});
+
+        AccessLogSegment recovered = AccessLogSegment.open(segment.path, 0, true);
+        assertEquals(torn, recovered.getWritePosition());
+        assertEquals(1_009L, recovered.getLastTimestamp());
+        AccessLogSegment.PolicyStat stat = recovered.policyStats.get("POLICY-A");
+        assertEquals(10, stat.count);
+        assertEquals(AccessLogSegment.pointer(0, offsets.get(9)), stat.lastPointer);
+        // 残留的半条记录长度被清零，下次扫描不会越过新数据误读
+        assertEquals(0, readInt(segment.path, torn));
+
+        // 新记录覆盖截断位置，再次恢复时完整可读
+        long prev = stat.lastPointer;
+        int offset = append(recovered, "POLICY-A", prev, 2_000L, "op-new");
+        assertEquals(torn, offset);
+        recovered.close();
+
+        AccessLogSegment reopened = AccessLogSegment.open(segment.path, 0, true);
+        assertEquals(11, reopened.policyStats.get("POLICY-A").count);
+        assertEquals("op-new", reopened.read(offset).getOperation());
+        assertEquals(prev, reopened.prevAt(offset));
+        reopened.close();
+    }
+
+    @Test
+    void sealedSegmentReopensFromIndexWithoutScanning(@TempDir Path directory) throws IOException {
+        AccessLogSegment segment = AccessLogSegment.create(directory, 3, CAPACITY);
+        for (int i = 0; i < 30; i++) {
+            String policyId = "POLICY-" + (i % 3);
+            AccessLogSegment.PolicyStat stat = segment.policyStats.get(policyId);
+            append(segment, policyId, stat == null ? AccessLogStore.NO_POINTER : stat.lastPointer, 5_000L + i, "op-" + i);
+        }
+        segment.seal();
+        segment.close();
+        assertTrue(Files.exists(directory.resolve("segment-0000000003.idx")));
+
+        // 清零首条记录的长度：若重启时扫描该段会得到空段，只有从索引加载才能看到全部统计
+        overwrite(segment.path, 0, new byte[4]);
+
+        AccessLogSegment reopened = AccessLogSegment.open(segment.path, 3, false);
+        assertTrue(reopened.isSealed());
+        assertFalse(reopened.hasRoom(AccessLogSegment.MIN_RECORD_SIZE));
+        assertEquals(segment.getWritePosition(), reopened.getWritePosition());
+        assertEquals(5_029L, reopened.getLastTimestamp());
+        assertEquals(3, reopened.policyStats.size());
+        for (int p = 0; p < 3; p++) {
+            AccessLogSegment.PolicyStat expected = segment.policyStats.get("POLICY-" + p);
+            AccessLogSegment.PolicyStat actual = reopened.policyStats.get("POLICY-" + p);
+            assertEquals(expected.count, actual.count);
+            assertEquals(expected.lastPointer, actual.lastPointer);
+        }
+        reopened.close();
+    }
+
+    @Test
+    void deleteUnmapsOnceLastReaderReleases(@TempDir Path directory) throws IOException {
+        AccessLogSegment idle = AccessLogSegment.create(directory, 0, CAPACITY);
+        append(idle, "POLICY-A", 1L, "op");
+        idle.delete();
+        assertTrue(idle.isUnmapped(), "没有读者时删除应立即解除映射");
+        assertFalse(Files.exists(idle.path));
+
+        AccessLogSegment busy = AccessLogSegment.create(directory, 1, CAPACITY);
+        int offset = append(busy, "POLICY-A", 1L, "op");
+        assertTrue(busy.acquire());
+        busy.delete();
+        assertFalse(Files.exists(busy.path));
+        assertFalse(busy.isUnmapped(), "仍有读者时不得解除映射");
+        // 已登记的读者仍可安全读取，删除后不再接受新读者
+        assertEquals("op", busy.read(offset).getOperation());
+        assertFalse(busy.acquire());
+
+        busy.release();
+        assertTrue(busy.isUnmapped());
+    }
+
+    private static int append(AccessLogSegment segment, String policyId, long timestamp, String operation) {
+        return append(segment, policyId, AccessLogStore.NO_POINTER, timestamp, operation);
+    }
+
+    private static int append(AccessLogSegment segment, String policyId, long prev, long timestamp, String operation) {
+        byte[][] fields = {
+            policyId.getBytes(StandardCharsets.UTF_8),
+            "app.example.com".getBytes(StandardCharsets.UTF_8),
+            operation.getBytes(StandardCharsets.UTF_8),
+            "10.0.0.1".getBytes(StandardCharsets.UTF_8)
+        };
+        int length = AccessLogSegment.HEADER_SIZE;
+        for (byte[] field : fields) {
+            length += 2 + field.length;
+        }
+        int offset = segment.append(prev, timestamp, true, fields, length);
+        segment.track(policyId, AccessLogSegment.pointer(segment.id, offset));
+        return offset;
+    }
+
+    private static void overwrite(Path path, int position, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes), position);
+        }
+    }
+
+    private static int readInt(Path path, int position) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(4);
+            channel.read(buffer, position);
+            return buffer.flip().getInt();
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.company.accesslog;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 统一身份认证平台 - 策略访问日志存储测试
+ * 段滚动与封存索引、跨段倒序读取与重启恢复、按容量与时长删除旧段、游标编码与归属校验、
+ * 滚动失败后的退避，以及追加吞吐量（每秒数十万条）
+ */
+class AccessLogStoreTest {
+
+    // 约1KB的字段，使1MB的段在一千条左右写满
+    private static final String PADDING = "x".repeat(1000);
+
+    @Test
+    void rollSealsFullSegmentsAndReadsSpanSegments(@TempDir Path directory) throws IOException {
+        AccessLogStore store = open(directory, Duration.ofDays(7), DataSize.ofGigabytes(1));
+        for (int i = 0; i < 3000; i++) {
+            store.append(i % 2 == 0 ? "POLICY-A" : "POLICY-B", "app.example.com", "op-" + i, true, PADDING);
+        }
+        int segments = (int) store.getStatistics().get("segments");
+        assertTrue(segments >= 3, "未发生滚动: " + segments);
+
+        // 已封存的段写出索引，活动段没有
+        for (int id = 0; id < segments - 1; id++) {
+            assertTrue(Files.exists(directory.resolve(String.format("segment-%010d.idx", id))), "段" + id + "缺少索引");
+        }
+        assertFalse(Files.exists(directory.resolve(String.format("segment-%010d.idx", segments - 1))));
+        assertDescending(readAll(store, "POLICY-A"), 1500, 2998);
+        assertEquals(1500, store.count("POLICY-A"));
+
+        // 重启后已封存段从索引加载，活动段扫描恢复，且可继续追加
+        store.close();
+        AccessLogStore reopened = open(directory, Duration.ofDays(7), DataSize.ofGigabytes(1));
+        assertEquals(segments, reopened.getStatistics().get("segments"));
+        assertDescending(readAll(reopened, "POLICY-A"), 1500, 2998);
+        assertDescending(readAll(reopened, "POLICY-B"), 1500, 2999);
+        reopened.append("POLICY-A", "app.example.com", "op-3000", true, PADDING);
+        assertDescending(readAll(reopened, "POLICY-A"), 1501, 3000);
+        reopened.close();
+    }
+
+    @Test
+    void retentionBySizeDeletesOldestSealedSegments(@TempDir Path directory) throws IOException {
+        AccessLogStore store = open(directory, Duration.ofDays(7), DataSize.ofMegabytes(2));
+        store.append("POLICY-OLD", "app.example.com", "op-old", true, "10.0.0.1");
+        long oldPointer = store.head("POLICY-OLD");
+        for (int i = 0; i < 4000; i++) {
+            store.append("POLICY-A", "app.example.com", "op-" + i, true, PADDING);
+        }
+        int before = (int) store.getStatistics().get("segments");
+        assertTrue(before > 2);
+
+        store.cleanup();
+
+        int after = (int) store.getStatistics().get("segments");
+        assertTrue(after <= 2, "总容量超限时未删除旧段: " + after);
+        assertFalse(Files.exists(directory.resolve(AccessLogSegment.fileName(0))));
+        assertFalse(Files.exists(directory.resolve("segment-0000000000.idx")));
+        // 链表头位于已删除段的策略不再可读，跨越删除边界的读取在边界处结束
+        assertEquals(AccessLogStore.NO_POINTER, store.head("POLICY-OLD"));
+        assertEquals(0, store.count("POLICY-OLD"));
+        assertFalse(store.isValidCursor("POLICY-OLD", oldPointer));
+        List<AccessLogEntry> remaining = readAll(store, "POLICY-A");
+        assertEquals(store.count("POLICY-A"), remaining.size());
+        assertTrue(remaining.size() < 4000);
+        assertDescending(remaining, remaining.size(), 3999);
+        store.close();
+    }
+
+    @Test
+    void retentionByAgeKeepsActiveSegment(@TempDir Path directory) throws Exception {
+        AccessLogStore store = open(directory, Duration.ofMillis(1), DataSize.ofGigabytes(1));
+        for (int i = 0; i < 2500; i++) {
+            store.append("POLICY-A", "app.example.com", "op-" + i, true, PADDING);
+        }
+        Thread.sleep(10);
+
+        store.cleanup();
+
+        // 过期的已封存段全部删除，活动段即使过期也保留
+        assertEquals(1, store.getStatistics().get("segments"));
+        assertDescending(readAll(store, "POLICY-A"), (int) store.count("POLICY-A"), 2499);
+        store.close();
+    }
+
+    @Test
+    void cursorsRoundTripAndAreBoundToPolicy(@TempDir Path directory) throws IOException {
+        AccessLogStore store = open(directory, Duration.ofDays(7), DataSize.ofGigabytes(1));
+        for (int i = 0; i < 10; i++) {
+            store.append(i % 2 == 0 ? "POLICY-A" : "POLICY-B", "app.example.com", "op-" + i, true, "10.0.0.1");
+        }
+        long headA = store.head("POLICY-A");
+        long headB = store.head("POLICY-B");
+        assertEquals(headA, AccessLogStore.parseCursor(AccessLogStore.formatCursor(headA)));
+        long pointerInLaterSegment = AccessLogSegment.pointer(7, 128);
+        assertEquals(pointerInLaterSegment, AccessLogStore.parseCursor(AccessLogStore.formatCursor(pointerInLaterSegment)));
+        assertThrows(IllegalArgumentException.class, () -> AccessLogStore.parseCursor("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> AccessLogStore.parseCursor("-1"));
+
+        assertTrue(store.isValidCursor("POLICY-A", headA));
+        assertFalse(store.isValidCursor("POLICY-B", headA), "游标不得用于读取其他策略的日志");
+        assertFalse(store.isValidCursor("POLICY-A", headB));
+        assertFalse(store.isValidCursor("POLICY-A", AccessLogSegment.pointer(0, 1 << 19)), "越过写入位置的游标");
+        assertFalse(store.isValidCursor("POLICY-A", AccessLogSegment.pointer(9, 0)), "不存在的段");
+
+        // 按游标分页与一次读完的结果一致
+        List<AccessLogEntry> paged = new ArrayList<>();
+        long cursor = headA;
+        int pages = 0;
+        while (cursor != AccessLogStore.NO_POINTER) {
+            cursor = AccessLogStore.parseCursor(AccessLogStore.formatCursor(cursor));
+            assertTrue(store.isValidCursor("POLICY-A", cursor));
+            cursor = store.read("POLICY-A", cursor, 2, paged::add);
+            pages++;
+        }
+        assertEquals(3, pages);
+        assertDescending(paged, 5, 8);
+        assertEquals(store.skip(headA, 2), pointerOf(store, "POLICY-A", 2));
+        store.close();
+    }
+
+    @Test
+    void failedRollBacksOffInsteadOfRetryingEveryAppend(@TempDir Path directory) throws Exception {
+        AccessLogStore store = open(directory, Duration.ofDays(7), DataSize.ofGigabytes(1));
+        // 占住下一个段的文件名，使建段失败
+        Path blocker = Files.createDirectory(directory.resolve(AccessLogSegment.fileName(1)));
+
+        int attempts = 0;
+        while (dropped(store) == 0 && attempts++ < 5000) {
+            store.append("POLICY-A", "app.example.com", "op", true, PADDING);
+        }
+        assertEquals(1, dropped(store));
+        long appended = appended(store);
+        // 写满的段已封存，只是新段创建失败
+        assertTrue(Files.exists(directory.resolve("segment-0000000000.idx")));
+
+        // 退避期内即使建段条件已恢复也不重试，记录直接丢弃
+        Files.delete(blocker);
+        store.append("POLICY-A", "app.example.com", "op", true, PADDING);
+        assertEquals(2, dropped(store));
+        assertFalse(Files.exists(directory.resolve(AccessLogSegment.fileName(1))));
+
+        Thread.sleep(AccessLogStore.ROLL_RETRY_MILLIS + 100);
+        store.append("POLICY-A", "app.example.com", "op", true, PADDING);
+        assertEquals(2, dropped(store));
+        assertEquals(appended + 1, appended(store));
+        assertEquals(2, store.getStatistics().get("segments"));
+        assertEquals(appended + 1, store.count("POLICY-A"));
+        store.close();
+    }
+
+    @Test
+    void appendRateReachesHundredsOfThousandsPerSecond(@TempDir Path directory) throws Exception {
+        AccessLogStore store = new AccessLogStore(true, directory.toString(), DataSize.ofMegabytes(256),
+            Duration.ofDays(7), DataSize.ofGigabytes(4));
+        store.open();
+        int threads = 4;
+        int perThread = 250_000;
+
+        appendConcurrently(store, 1, 200_000); // 预热
+        double single = appendConcurrently(store, 1, 1_000_000);
+        double parallel = appendConcurrently(store, threads, perThread);
+
+        assertTrue(single > 200_000, "单线程追加速率过低: " + (long) single + "/s");
+        assertTrue(parallel > 200_000, threads + "线程追加速率过低: " + (long) parallel + "/s");
+        assertEquals(0L, dropped(store));
+        store.close();
+    }
+
+    private static double appendConcurrently(AccessLogStore store, int threads, int perThread) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String policyId = "POLICY-RATE-" + t;
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        store.append(policyId, "app.example.com", "READ NAME", true, "10.0.0.1");
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(2, TimeUnit.MINUTES);
+            }
+            return (double) threads * perThread * 1_000_000_000L / (System.nanoTime() - begin);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static AccessLogStore open(Path directory, Duration retention, DataSize maxTotalSize) throws IOException {
+        AccessLogStore store = new AccessLogStore(true, directory.toString(), DataSize.ofMegabytes(1), retention, maxTotalSize);
+        store.open();
+        return store;
+    }
+
+    private static List<AccessLogEntry> readAll(AccessLogStore store, String policyId) {
+        List<AccessLogEntry> entries = new ArrayList<>();
+        long next = store.read(policyId, store.head(policyId), Integer.MAX_VALUE, entries::add);
+        assertEquals(AccessLogStore.NO_POINTER, next);
+        return entries;
+    }
+
+    private static long pointerOf(AccessLogStore store, String policyId, int index) {
+        long pointer = store.head(policyId);
+        for (int i = 0; i < index; i++) {
+            pointer = store.read(policyId, pointer, 1, entry -> { });
+        }
+        return pointer;
+    }
+
+    /**
+     * 记录按时间倒序排列：第一条为最新的 op-{newest}，同一策略相邻两条相差一个步长
+     */
+    private static void assertDescending(List<AccessLogEntry> entries, int expectedSize, int newest) {
+        assertEquals(expectedSize, entries.size());
+        assertEquals("op-" + newest, entries.get(0).getOperation());
+        for (int i = 1; i < entries.size(); i++) {
+            int previous = Integer.parseInt(entries.get(i - 1).getOperation().substring(3));
+            int current = Integer.parseInt(entries.get(i).getOperation().substring(3));
+            assertTrue(current < previous, "记录顺序错乱: " + previous + " -> " + current);
+        }
+    }
+
+    private static long dropped(AccessLogStore store) {
+        return (long) store.getStatistics().get("dropped");
+    }
+
+    private static long appended(AccessLogStore store) {
+        return (long) store.getStatistics().get("appended");
+    }
+}
@@ -0,0 +1,191 @@
+package com.company.cache;
+
+import com.company.entity.CoreIdentity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 统一身份认证平台 - 核心身份两级缓存测试
+ * 批量失效按批删除Redis键并分批广播；并发未命中合并为一次加载，加载失败时异常传给每个等待者，
+ * 进行中的加载被清除，下一次读取重新加载
+ */
+class IdentityCacheTest {
+
+    private static final String KEY_PREFIX = "auto-me-polit:identity:view:";
+
+    // 每次Redis批量删除的键与每条失效广播的内容
+    private final List<Collection<String>> deletedKeys = new CopyOnWriteArrayList<>();
+    private final List<String> broadcasts = new CopyOnWriteArrayList<>();
+
+    private final ExecutorService pool = Executors.newCachedThreadPool();
+
+    private IdentityCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        // Redis中始终未命中，读取落到加载函数
+        when(redisTemplate.opsForValue()).thenReturn(mock(ValueOperations.class));
+        when(redisTemplate.delete(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> keys = invocation.getArgument(0);
+            deletedKeys.add(new ArrayList<>(keys));
+            return (long) keys.size();
+        });
+        when(redisTemplate.convertAndSend(eq(IdentityCache.INVALIDATION_CHANNEL), anyString())).thenAnswer(invocation -> {
+            broadcasts.add(invocation.getArgument(1));
+            return 1L;
+        });
+        cache = new IdentityCache(redisTemplate, new ObjectMapper().findAndRegisterModules(), 1000, Duration.ofSeconds(30),
+            true, Duration.ofMinutes(10), Duration.ofSeconds(30), Duration.ofSeconds(3));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void loaderFailureReachesEveryWaiterAndNextReadRetries() throws Exception {
+        String identityId = "UID-GLOBAL-LOAD";
+        int waiters = 4;
+        IllegalStateException failure = new IllegalStateException("模拟数据库故障");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loaderCalls = new AtomicInteger();
+
+        Future<CoreIdentity> leader = pool.submit(() -> cache.getOrLoad(identityId, id -> {
+            loaderCalls.incrementAndGet();
+            loading.countDown();
+            await(release);
+            throw failure;
+        }));
+        assertTrue(loading.await(10, TimeUnit.SECONDS));
+
+        List<Future<CoreIdentity>> followers = new ArrayList<>();
+        for (int i = 0; i < waiters; i++) {
+            followers.add(pool.submit(() -> cache.getOrLoad(identityId, id -> {
+                loaderCalls.incrementAndGet();
+                return identity(id);
+            })));
+        }
+        // 全部等待者都已加入进行中的加载后再让加载失败
+        awaitUntil(() -> cache.getCoalescedLoads() == waiters, "等待者未合并到进行中的加载");
+        release.countDown();
+
+        assertSame(failure, causeOf(leader));
+        for (Future<CoreIdentity> follower : followers) {
+            assertSame(failure, causeOf(follower), "等待者未收到加载异常");
+        }
+        assertEquals(1, loaderCalls.get());
+        assertEquals(0, cache.getLoadsInFlight(), "失败的加载未从进行中移除");
+
+        // 失败结果不缓存，下一次读取重新加载
+        CoreIdentity loaded = cache.getOrLoad(identityId, id -> {
+            loaderCalls.incrementAndGet();
+            return identity(id);
+        });
+        assertEquals(identityId, loaded.getIdentityId());
+        assertEquals(2, loaderCalls.get());
+        assertEquals(2L, cache.getLoads());
+        assertEquals(0, cache.getLoadsInFlight());
+        // 成功的加载已回填缓存，再次读取不调用加载函数
+        assertEquals(identityId, cache.getOrLoad(identityId, id -> {
+            throw new AssertionError("命中缓存时不应加载");
+        }).getIdentityId());
+    }
+
+    @Test
+    void loaderFailureWithoutWaitersClearsInFlight() {
+        String identityId = "UID-GLOBAL-SOLO";
+        IllegalStateException failure = new IllegalStateException("模拟数据库故障");
+
+        assertSame(failure, assertThrows(IllegalStateException.class,
+            () -> cache.getOrLoad(identityId, id -> { throw failure; })));
+        assertEquals(0, cache.getLoadsInFlight());
+
+        assertEquals(identityId, cache.getOrLoad(identityId, IdentityCacheTest::identity).getIdentityId());
+        assertEquals(2L, cache.getLoads());
+    }
+
+    @Test
+    void evictAllSplitsDeletesAndBroadcastsIntoBatches() {
+        int total = IdentityCache.INVALIDATION_BATCH_SIZE * 2 + 1;
+        List<String> identityIds = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            identityIds.add("ID-" + i);
+        }
+
+        cache.evictAll(identityIds);
+
+        assertEquals(3, deletedKeys.size());
+        assertEquals(3, broadcasts.size());
+        List<String> broadcastIds = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        for (int batch = 0; batch < 3; batch++) {
+            List<String> ids = Arrays.asList(broadcasts.get(batch).split("\n"));
+            assertTrue(ids.size() <= IdentityCache.INVALIDATION_BATCH_SIZE, "单条广播超过批大小: " + ids.size());
+            assertEquals(ids.size(), deletedKeys.get(batch).size());
+            broadcastIds.addAll(ids);
+            keys.addAll(deletedKeys.get(batch));
+        }
+        assertEquals(identityIds, broadcastIds);
+        assertEquals(identityIds.stream().map(id -> KEY_PREFIX + id).toList(), keys);
+        assertEquals((long) total, cache.getInvalidations());
+    }
+
+    private static CoreIdentity identity(String identityId) {
+        return new CoreIdentity(identityId, "test-public-key", 3);
+    }
+
+    private static Throwable causeOf(Future<?> future) throws InterruptedException {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        return e.getCause();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, message);
+            Thread.sleep(10);
+        }
+    }
+}
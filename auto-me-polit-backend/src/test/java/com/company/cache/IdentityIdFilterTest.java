@@ -0,0 +1,161 @@
+package com.company.cache;
+
+import com.company.repository.CoreIdentityRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 统一身份认证平台 - 身份ID过滤器测试
+ * 同步窗口内的未命中不作为不存在的依据：构建期间其他节点新建、广播未送达的身份仍判为可能存在，
+ * 下一次增量同步从覆盖时间减去重叠窗口处补齐；快照重启后只补齐快照之后的身份，容量配置变更时全量重建
+ */
+class IdentityIdFilterTest {
+
+    private static final DateTimeFormatter ID_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(5);
+    private static final long EXPECTED_INSERTIONS = 10_000;
+
+    // 早于同步窗口的已有身份
+    private static final LocalDateTime LONG_AGO = LocalDateTime.now().minusDays(1);
+    private static final List<String> EXISTING = List.of(id(LONG_AGO, 1), id(LONG_AGO, 2), id(LONG_AGO, 3));
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void idCreatedDuringSyncWindowIsStillFound() throws Exception {
+        CoreIdentityRepository repository = mock(CoreIdentityRepository.class);
+        // 全量构建的查询进行期间，另一节点新建了身份且广播未送达：查询结果中没有它
+        AtomicReference<String> concurrentId = new AtomicReference<>();
+        AtomicReference<LocalDateTime> concurrentCreatedAt = new AtomicReference<>();
+        when(repository.streamAllIdentityIds()).thenAnswer(invocation -> {
+            LocalDateTime now = LocalDateTime.now();
+            concurrentCreatedAt.set(now);
+            concurrentId.set(id(now, 9));
+            return EXISTING.stream();
+        });
+        List<LocalDateTime> sinces = new CopyOnWriteArrayList<>();
+        when(repository.streamIdentityIdsCreatedSince(any())).thenAnswer(invocation -> {
+            sinces.add(invocation.getArgument(0));
+            return Stream.of(concurrentId.get());
+        });
+
+        IdentityIdFilter filter = newFilter(repository, EXPECTED_INSERTIONS, "");
+        filter.onApplicationReady();
+        awaitUntil(filter::isReady, "过滤器未完成全量构建");
+
+        EXISTING.forEach(identityId -> assertTrue(filter.mightContain(identityId), identityId));
+        // 位图中没有该身份，但ID时间落在同步窗口内，只能交由数据库判定
+        String created = concurrentId.get();
+        assertFalse(filter.mightContainLocally(created));
+        assertTrue(filter.mightContain(created), "同步窗口内的未命中被当作不存在");
+        assertEquals(1L, filter.getStatistics().get("inconclusiveNegatives"));
+        // 早于同步窗口的未命中才是确定的不存在
+        assertFalse(filter.mightContain(id(LONG_AGO, 4)));
+        assertEquals(1L, filter.getNegatives());
+
+        filter.sync();
+
+        assertEquals(1, sinces.size());
+        assertFalse(sinces.get(0).isAfter(concurrentCreatedAt.get()), "增量同步的起点晚于构建期间新建的身份");
+        assertTrue(filter.mightContainLocally(created), "增量同步未补齐构建期间新建的身份");
+        assertTrue(filter.mightContain(created));
+        assertEquals(1L, filter.getStatistics().get("inconclusiveNegatives"));
+    }
+
+    @Test
+    void snapshotReloadCatchesUpFromCoveredTime() throws Exception {
+        String snapshotPath = tempDir.resolve("id-filter.bin").toString();
+        CoreIdentityRepository first = mock(CoreIdentityRepository.class);
+        when(first.streamAllIdentityIds()).thenAnswer(invocation -> EXISTING.stream());
+        IdentityIdFilter saved = newFilter(first, EXPECTED_INSERTIONS, snapshotPath);
+        saved.onApplicationReady();
+        awaitUntil(saved::isReady, "过滤器未完成全量构建");
+        saved.saveSnapshot();
+        assertTrue(Files.isRegularFile(Path.of(snapshotPath)));
+        LocalDateTime covered = LocalDateTime.parse((String) saved.getStatistics().get("coveredSince"));
+
+        // 重启：从快照恢复，只补齐覆盖时间减去重叠窗口之后创建的身份
+        String createdAfterSnapshot = id(LocalDateTime.now(), 5);
+        CoreIdentityRepository second = mock(CoreIdentityRepository.class);
+        List<LocalDateTime> sinces = new CopyOnWriteArrayList<>();
+        when(second.streamIdentityIdsCreatedSince(any())).thenAnswer(invocation -> {
+            sinces.add(invocation.getArgument(0));
+            return Stream.of(createdAfterSnapshot);
+        });
+        IdentityIdFilter restored = newFilter(second, EXPECTED_INSERTIONS, snapshotPath);
+        restored.onApplicationReady();
+        awaitUntil(restored::isReady, "过滤器未从快照恢复");
+
+        verify(second, never()).streamAllIdentityIds();
+        assertEquals(List.of(covered.minus(SYNC_OVERLAP)), sinces);
+        EXISTING.forEach(identityId -> assertTrue(restored.mightContainLocally(identityId), "快照中的身份丢失: " + identityId));
+        assertTrue(restored.mightContainLocally(createdAfterSnapshot), "快照之后创建的身份未补齐");
+        assertFalse(restored.mightContain(id(LONG_AGO, 4)));
+    }
+
+    @Test
+    void snapshotWithDifferentCapacityIsRebuilt() throws Exception {
+        String snapshotPath = tempDir.resolve("id-filter.bin").toString();
+        CoreIdentityRepository first = mock(CoreIdentityRepository.class);
+        when(first.streamAllIdentityIds()).thenAnswer(invocation -> EXISTING.stream());
+        IdentityIdFilter saved = newFilter(first, EXPECTED_INSERTIONS, snapshotPath);
+        saved.onApplicationReady();
+        awaitUntil(saved::isReady, "过滤器未完成全量构建");
+        saved.saveSnapshot();
+
+        CoreIdentityRepository second = mock(CoreIdentityRepository.class);
+        when(second.streamAllIdentityIds()).thenAnswer(invocation -> EXISTING.stream());
+        IdentityIdFilter resized = newFilter(second, EXPECTED_INSERTIONS * 2, snapshotPath);
+        resized.onApplicationReady();
+        awaitUntil(resized::isReady, "过滤器未完成重建");
+
+        verify(second).streamAllIdentityIds();
+        verify(second, never()).streamIdentityIdsCreatedSince(any());
+        EXISTING.forEach(identityId -> assertTrue(resized.mightContainLocally(identityId), identityId));
+        assertNotNull(resized.getStatistics().get("coveredSince"));
+    }
+
+    private static IdentityIdFilter newFilter(CoreIdentityRepository repository, long expectedInsertions, String snapshotPath) {
+        // 误判率取极小值，避免偶发误判影响断言；不启用Redis广播
+        return new IdentityIdFilter(repository, mock(PlatformTransactionManager.class), mock(StringRedisTemplate.class),
+            true, expectedInsertions, 1e-6, SYNC_OVERLAP, Duration.ofMinutes(5), snapshotPath,
+            false, Duration.ofSeconds(30));
+    }
+
+    private static String id(LocalDateTime time, int sequence) {
+        return "UID-GLOBAL-" + time.format(ID_TIME_FORMATTER) + String.format("%06d", sequence);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, message);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.company.repository;
+
+import com.company.entity.CoreIdentity;
+import com.company.util.OptimisticRetryTemplate;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 统一身份认证平台 - 身份读取并发测试
+ * getIdentityById / validateSecurityLevel 经 findByIdentityId 加载身份：读取不加行锁，
+ * 同一身份上有未提交或持续进行的写入时，读取既不排队等待，吞吐量也不明显下降
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.company.repository.CoreIdentityReadConcurrencyTest$SqlRecorder",
+    "spring.jpa.show-sql=false"
+})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(OptimisticRetryTemplate.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 读写线程各自使用独立事务
+class CoreIdentityReadConcurrencyTest {
+
+    private static final String IDENTITY_ID = "UID-GLOBAL-TEST000002";
+    private static final int READERS = 4;
+    private static final long MEASURE_MILLIS = 1_000;
+
+    @Autowired
+    private CoreIdentityRepository coreIdentityRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            coreIdentityRepository.deleteAll();
+            CoreIdentity identity = new CoreIdentity(IDENTITY_ID, "test-public-key", 3);
+            identity.setDeviceFingerprint("0");
+            coreIdentityRepository.save(identity);
+        });
+        SqlRecorder.STATEMENTS.clear();
+    }
+
+    @Test
+    void readDoesNotWaitForUncommittedWrite() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            // 写事务修改并刷出该行后保持未提交，期间持有行锁
+            Future<?> writer = pool.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                CoreIdentity identity = coreIdentityRepository.findByIdentityIdForUpdate(IDENTITY_ID).orElseThrow();
+                identity.setDeviceFingerprint("1");
+                coreIdentityRepository.saveAndFlush(identity);
+                written.countDown();
+                await(release);
+            }));
+            assertTrue(written.await(10, TimeUnit.SECONDS), "写事务未能开始");
+
+            long start = System.nanoTime();
+            Future<String> reader = pool.submit(() -> transactionTemplate.execute(status ->
+                coreIdentityRepository.findByIdentityId(IDENTITY_ID).orElseThrow().getDeviceFingerprint()));
+            // 读取加锁时会等待写事务结束（或锁超时），不加锁时立即返回已提交的版本
+            String fingerprint = reader.get(5, TimeUnit.SECONDS);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertEquals("0", fingerprint);
+            assertTrue(elapsedMillis < 500, "读取等待了未提交的写事务: " + elapsedMillis + "ms");
+
+            release.countDown();
+            writer.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+        assertNoLockingReads();
+    }
+
+    @Test
+    void readThroughputHoldsUpUnderConcurrentWrites() throws Exception {
+        long baseline = measureReads(0);
+        long contended = measureReads(2);
+
+        assertTrue(baseline > 0, "基线读取未完成任何一次");
+        // 读写线程共享CPU，吞吐量允许下降，但不应像逐行加锁那样与写入串行化
+        assertTrue(contended >= baseline / 4,
+            "写入并发时读吞吐量下降过多: 基线" + baseline + "次，写入并发时" + contended + "次");
+        assertNoLockingReads();
+    }
+
+    /**
+     * 在指定数量的写线程持续修改同一身份时，统计读线程在固定时间内完成的读取次数
+     */
+    private long measureReads(int writers) throws Exception {
+        OptimisticRetryTemplate retrying = new OptimisticRetryTemplate(transactionManager, 1000, 0);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong reads = new AtomicLong();
+        AtomicLong writes = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(READERS + writers);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int w = 0; w < writers; w++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    while (running.get()) {
+                        try {
+                            retrying.executeWithoutResult(() -> {
+                                CoreIdentity identity = coreIdentityRepository.findByIdentityIdForUpdate(IDENTITY_ID).orElseThrow();
+                                identity.setDeviceFingerprint(String.valueOf(Integer.parseInt(identity.getDeviceFingerprint()) + 1));
+                                coreIdentityRepository.save(identity);
+                            });
+                            writes.incrementAndGet();
+                        } catch (OptimisticLockingFailureException e) {
+                            // 写线程之间的冲突与本测试无关
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int r = 0; r < READERS; r++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    while (running.get()) {
+                        coreIdentityRepository.findByIdentityId(IDENTITY_ID).orElseThrow();
+                        reads.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            Thread.sleep(MEASURE_MILLIS);
+            running.set(false);
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            running.set(false);
+            pool.shutdownNow();
+        }
+        if (writers > 0) {
+            assertTrue(writes.get() > 0, "写线程未完成任何一次写入");
+        }
+        return reads.get();
+    }
+
+    private static void assertNoLockingReads() {
+        for (String sql : SqlRecorder.STATEMENTS) {
+            assertTrue(!sql.toLowerCase(Locale.ROOT).contains("for update"), "读取或写入路径使用了行锁: " + sql);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 记录Hibernate发出的全部SQL
+     */
+    public static class SqlRecorder implements StatementInspector {
+        static final Queue<String> STATEMENTS = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
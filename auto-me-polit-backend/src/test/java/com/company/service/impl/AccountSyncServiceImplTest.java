@@ -0,0 +1,159 @@
+package com.company.service.impl;
+
+import com.company.config.AccountSyncProperties;
+import com.company.dto.response.SyncJobDTO;
+import com.company.dto.response.SyncJobDTO.JobStatus;
+import com.company.entity.LinkedAccount.SyncStatus;
+import com.company.repository.LinkedAccountRepository;
+import com.company.repository.LinkedAccountRepository.SyncTarget;
+import com.company.repository.LinkedAccountRepositoryCustom.SyncStatusUpdate;
+import com.company.sync.PlatformSyncAdapter;
+import com.company.sync.PlatformSyncException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 统一身份认证平台 - 关联账户同步服务测试
+ * 已记录为PENDING的账户在执行器拒绝提交或派发被中断时回写为FAILED，不会永久停留在待同步
+ */
+class AccountSyncServiceImplTest {
+
+    private static final String PLATFORM = "WECHAT";
+
+    // 按记录顺序保存写入器收到的全部状态迁移
+    private final List<SyncStatusUpdate> recorded = new CopyOnWriteArrayList<>();
+
+    private LinkedAccountRepository repository;
+    private PlatformSyncAdapter adapter;
+    private ExecutorService executor;
+    private AccountSyncServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(LinkedAccountRepository.class);
+        adapter = mock(PlatformSyncAdapter.class);
+        when(adapter.supports(PLATFORM)).thenReturn(true);
+        AccountSyncStatusWriter statusWriter = mock(AccountSyncStatusWriter.class);
+        doAnswer(invocation -> recorded.add(invocation.getArgument(0))).when(statusWriter).record(any());
+
+        AccountSyncProperties properties = new AccountSyncProperties();
+        properties.getDefaults().setMaxConcurrency(1);
+        properties.getDefaults().setRatePerSecond(0.0);
+
+        executor = Executors.newCachedThreadPool();
+        service = new AccountSyncServiceImpl();
+        ReflectionTestUtils.setField(service, "linkedAccountRepository", repository);
+        ReflectionTestUtils.setField(service, "statusWriter", statusWriter);
+        ReflectionTestUtils.setField(service, "deltaCounter", mock(AccountSyncDeltaCounter.class));
+        ReflectionTestUtils.setField(service, "properties", properties);
+        ReflectionTestUtils.setField(service, "adapters", List.of(adapter));
+        ReflectionTestUtils.setField(service, "executor", executor);
+        ReflectionTestUtils.setField(service, "supportedPlatforms", List.of(PLATFORM));
+        service.initLanes();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void rejectedSubmissionMarksAccountFailed() {
+        SyncTarget target = target(1L, "ACC-1");
+        when(repository.findSyncTargetByAccountId("ACC-1")).thenReturn(Optional.of(target));
+        executor.shutdown();
+
+        SyncJobDTO job = service.syncAccount("ACC-1", false);
+
+        assertEquals(List.of(SyncStatus.PENDING, SyncStatus.FAILED), statusesOf("ACC-1"));
+        assertEquals(JobStatus.COMPLETED, job.getStatus());
+        assertEquals(1, job.getTotal());
+        assertEquals(1, job.getFailed());
+
+        // 账户已退出进行中集合，再次同步不会被跳过
+        SyncJobDTO retry = service.syncAccount("ACC-1", false);
+        assertEquals(0, retry.getSkipped());
+        assertEquals(SyncStatus.FAILED, lastStatusOf("ACC-1"));
+    }
+
+    @Test
+    void interruptedDispatchMarksWaitingAccountFailed() throws Exception {
+        SyncTarget first = target(1L, "ACC-1");
+        SyncTarget second = target(2L, "ACC-2");
+        when(repository.findSyncTargets(eq(PLATFORM), eq(SyncStatus.DISABLED), anyLong(), any()))
+            .thenReturn(List.of(first, second));
+        // 第一个账户占住唯一的通道许可，派发任务在第二个账户上等待许可
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(adapter.fetch(first)).thenAnswer(invocation -> {
+            fetching.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            throw new PlatformSyncException("平台不可用", false);
+        });
+
+        String jobId = service.batchSync(List.of(PLATFORM)).getJobId();
+        assertTrue(fetching.await(10, TimeUnit.SECONDS));
+        awaitUntil(() -> statusesOf("ACC-2").contains(SyncStatus.PENDING), "第二个账户未进入待同步");
+
+        service.shutdown();
+        awaitUntil(() -> lastStatusOf("ACC-2") == SyncStatus.FAILED, "被中断的账户未回写为FAILED");
+        release.countDown();
+
+        awaitUntil(() -> service.getJob(jobId).getStatus() != JobStatus.RUNNING, "同步任务未结束");
+        SyncJobDTO job = service.getJob(jobId);
+        assertEquals(JobStatus.CANCELLED, job.getStatus());
+        assertEquals(2, job.getTotal());
+        assertEquals(2, job.getFailed());
+        assertEquals(SyncStatus.FAILED, lastStatusOf("ACC-1"));
+        assertEquals(List.of(SyncStatus.PENDING, SyncStatus.FAILED), statusesOf("ACC-2"));
+    }
+
+    private static SyncTarget target(long id, String accountId) {
+        SyncTarget target = mock(SyncTarget.class);
+        when(target.getId()).thenReturn(id);
+        when(target.getAccountId()).thenReturn(accountId);
+        when(target.getPlatform()).thenReturn(PLATFORM);
+        when(target.getSyncStatus()).thenReturn(SyncStatus.SYNCED);
+        return target;
+    }
+
+    private List<SyncStatus> statusesOf(String accountId) {
+        return recorded.stream()
+            .filter(update -> update.getAccountId().equals(accountId))
+            .map(SyncStatusUpdate::getSyncStatus)
+            .toList();
+    }
+
+    private SyncStatus lastStatusOf(String accountId) {
+        List<SyncStatus> statuses = statusesOf(accountId);
+        return statuses.isEmpty() ? null : statuses.get(statuses.size() - 1);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, message);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.company.service.impl;
+
+import com.company.entity.LinkedAccount.SyncStatus;
+import com.company.repository.LinkedAccountRepository;
+import com.company.repository.LinkedAccountRepositoryCustom.SyncStatusUpdate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 统一身份认证平台 - 关联账户同步状态批量写入器测试
+ * 同一账户未落库的更新按记录顺序合并：状态取最新，旧更新中的资料变更列保留；
+ * 落库失败或落库期间的新记录不会被旧状态覆盖
+ */
+class AccountSyncStatusWriterTest {
+
+    private static final LocalDateTime SYNCED_AT = LocalDateTime.of(2026, 3, 1, 8, 0);
+
+    // 每次落库调用收到的批次
+    private final List<List<SyncStatusUpdate>> batches = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Runnable> duringFlush = new AtomicReference<>();
+    private volatile boolean failNextFlush;
+
+    private AccountSyncStatusWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        LinkedAccountRepository repository = mock(LinkedAccountRepository.class);
+        when(repository.batchUpdateSyncStatus(anyList())).thenAnswer(invocation -> {
+            List<SyncStatusUpdate> batch = new ArrayList<>(invocation.<List<SyncStatusUpdate>>getArgument(0));
+            Runnable hook = duringFlush.getAndSet(null);
+            if (hook != null) {
+                hook.run();
+            }
+            if (failNextFlush) {
+                failNextFlush = false;
+                throw new QueryTimeoutException("模拟落库超时");
+            }
+            batches.add(batch);
+            return new int[batch.size()];
+        });
+        writer = new AccountSyncStatusWriter(repository);
+    }
+
+    @Test
+    void mergeOlderTakesNewestStatusAndKeepsOlderColumns() {
+        SyncStatusUpdate older = new SyncStatusUpdate("ACC-1", SyncStatus.SYNCED, SYNCED_AT, null)
+            .accountName("旧名称")
+            .accountAvatar("avatar-1")
+            .syncCursor("cursor-1");
+        SyncStatusUpdate newer = new SyncStatusUpdate("ACC-1", SyncStatus.FAILED, null, "平台超时")
+            .accountName("新名称");
+
+        SyncStatusUpdate merged = newer.mergeOlder(older);
+
+        assertEquals(SyncStatus.FAILED, merged.getSyncStatus());
+        assertEquals("平台超时", merged.getSyncError());
+        // 本次未带最后同步时间时沿用旧值
+        assertEquals(SYNCED_AT, merged.getLastSyncTime());
+        assertEquals("新名称", merged.getAccountName());
+        assertEquals("avatar-1", merged.getAccountAvatar());
+        assertEquals("cursor-1", merged.getSyncCursor());
+        assertEquals(SyncStatusUpdate.ACCOUNT_NAME | SyncStatusUpdate.ACCOUNT_AVATAR | SyncStatusUpdate.SYNC_CURSOR,
+            merged.getChangedColumns());
+
+        // 合并方向决定结果：状态与两者都变更的列总以调用方为准
+        SyncStatusUpdate reversed = older.mergeOlder(newer);
+        assertEquals(SyncStatus.SYNCED, reversed.getSyncStatus());
+        assertEquals("旧名称", reversed.getAccountName());
+        assertNull(reversed.getSyncError());
+    }
+
+    @Test
+    void bufferedTransitionsCollapseInRecordOrder() {
+        writer.record(SyncStatusUpdate.of("ACC-1", SyncStatus.PENDING));
+        writer.record(SyncStatusUpdate.of("ACC-1", SyncStatus.SYNCING));
+        writer.record(new SyncStatusUpdate("ACC-1", SyncStatus.SYNCED, SYNCED_AT, null)
+            .accountName("名称").syncCursor("cursor-1"));
+        // 落库前又开始了下一次同步
+        writer.record(SyncStatusUpdate.of("ACC-1", SyncStatus.PENDING));
+        writer.record(SyncStatusUpdate.of("ACC-1", SyncStatus.SYNCING));
+        writer.record(SyncStatusUpdate.of("ACC-2", SyncStatus.PENDING));
+
+        writer.flush();
+
+        assertEquals(1, batches.size());
+        SyncStatusUpdate account1 = find(batches.get(0), "ACC-1");
+        assertEquals(SyncStatus.SYNCING, account1.getSyncStatus());
+        assertEquals(SYNCED_AT, account1.getLastSyncTime());
+        assertEquals("名称", account1.getAccountName());
+        assertEquals("cursor-1", account1.getSyncCursor());
+        assertEquals(SyncStatus.PENDING, find(batches.get(0), "ACC-2").getSyncStatus());
+        assertEquals(0, writer.getStatistics().get("pending"));
+    }
+
+    @Test
+    void failedFlushRequeuesUnderNewerStatus() {
+        writer.record(new SyncStatusUpdate("ACC-1", SyncStatus.SYNCED, SYNCED_AT, null).accountName("名称"));
+
+        // 落库失败期间该账户已开始下一次同步
+        failNextFlush = true;
+        duringFlush.set(() -> writer.record(SyncStatusUpdate.of("ACC-1", SyncStatus.SYNCING)));
+        writer.flush();
+        assertEquals(0, batches.size());
+        assertEquals(1L, writer.getStatistics().get("flushFailures"));
+
+        writer.flush();
+        assertEquals(1, batches.size());
+        SyncStatusUpdate retried = find(batches.get(0), "ACC-1");
+        assertEquals(SyncStatus.SYNCING, retried.getSyncStatus(), "失败批次中的旧状态覆盖了新状态");
+        assertEquals("名称", retried.getAccountName(), "失败批次中的资料变更丢失");
+        assertEquals(SYNCED_AT, retried.getLastSyncTime());
+    }
+
+    @Test
+    void updatesRecordedDuringFlushWaitForNextCycle() {
+        writer.record(SyncStatusUpdate.of("ACC-1", SyncStatus.SYNCING));
+        duringFlush.set(() -> writer.record(new SyncStatusUpdate("ACC-1", SyncStatus.SYNCED, SYNCED_AT, null)));
+        writer.flush();
+        assertEquals(SyncStatus.SYNCING, find(batches.get(0), "ACC-1").getSyncStatus());
+        assertEquals(1, writer.getStatistics().get("pending"));
+
+        writer.flush();
+        assertEquals(SyncStatus.SYNCED, find(batches.get(1), "ACC-1").getSyncStatus());
+        assertEquals(0, writer.getStatistics().get("pending"));
+    }
+
+    @Test
+    void recordsAfterDrainAreWrittenDirectly() {
+        writer.record(SyncStatusUpdate.of("ACC-1", SyncStatus.SYNCING));
+        writer.drain();
+        assertEquals(1, batches.size());
+
+        writer.record(SyncStatusUpdate.of("ACC-1", SyncStatus.FAILED));
+        assertEquals(2, batches.size());
+        assertEquals(SyncStatus.FAILED, find(batches.get(1), "ACC-1").getSyncStatus());
+        assertEquals(0, writer.getStatistics().get("pending"));
+    }
+
+    private static SyncStatusUpdate find(List<SyncStatusUpdate> batch, String accountId) {
+        return batch.stream()
+            .filter(update -> update.getAccountId().equals(accountId))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("批次中没有账户" + accountId));
+    }
+}
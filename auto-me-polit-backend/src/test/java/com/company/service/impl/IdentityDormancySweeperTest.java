@@ -0,0 +1,157 @@
+package com.company.service.impl;
+
+import com.company.cache.IdentityCache;
+import com.company.entity.JobCheckpoint;
+import com.company.repository.CoreIdentityRepository;
+import com.company.repository.JobCheckpointRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 统一身份认证平台 - 休眠身份清扫器测试
+ * 区间乱序完成时水位线只推进到连续完成的最高区间；失败后从水位线续跑；
+ * 只更新查出的候选身份并按候选清理缓存
+ */
+class IdentityDormancySweeperTest {
+
+    // 主键 1..40，区间跨度10：[1,11) [11,21) [21,31) [31,41)
+    private static final long CHUNK_SIZE = 10;
+    private static final long RANGE_END = 41;
+
+    private final CoreIdentityRepository coreIdentityRepository = mock(CoreIdentityRepository.class);
+    private final JobCheckpointRepository jobCheckpointRepository = mock(JobCheckpointRepository.class);
+    private final IdentityCache identityCache = mock(IdentityCache.class);
+
+    // 模拟检查点表：保存最近一次写入的检查点，并按写入顺序记录水位线
+    private final AtomicReference<JobCheckpoint> stored = new AtomicReference<>();
+    private final List<Long> savedWatermarks = new CopyOnWriteArrayList<>();
+    private final List<Long> sweptChunks = new CopyOnWriteArrayList<>();
+
+    private IdentityDormancySweeper sweeper;
+
+    private void setUp(int maxConcurrency) {
+        when(coreIdentityRepository.findIdBounds()).thenReturn(List.<Object[]>of(new Object[] {1L, 40L}));
+        when(jobCheckpointRepository.findById(IdentityDormancySweeper.JOB_NAME))
+            .thenAnswer(invocation -> Optional.ofNullable(stored.get()));
+        when(jobCheckpointRepository.save(any(JobCheckpoint.class))).thenAnswer(invocation -> {
+            JobCheckpoint checkpoint = invocation.getArgument(0);
+            savedWatermarks.add(checkpoint.getWatermark());
+            stored.set(checkpoint);
+            return checkpoint;
+        });
+        // 检查点间隔为0：每完成一个区间都写入检查点；慢区间阈值为0：不节流
+        sweeper = new IdentityDormancySweeper(coreIdentityRepository, jobCheckpointRepository, identityCache,
+            mock(IdentityStatusCounter.class), true, 180, CHUNK_SIZE, maxConcurrency,
+            Duration.ZERO, Duration.ZERO, Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (sweeper != null) {
+            sweeper.shutdown();
+        }
+    }
+
+    @Test
+    void watermarkAdvancesOnlyOverContiguousChunks() throws Exception {
+        setUp(4);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        List<String> candidates = List.of("ID-21", "ID-22", "ID-23");
+        when(coreIdentityRepository.findDormancyCandidates(anyLong(), anyLong(), any())).thenAnswer(invocation -> {
+            long fromId = invocation.getArgument(0);
+            sweptChunks.add(fromId);
+            if (fromId == 1L) {
+                releaseFirst.await(10, TimeUnit.SECONDS);
+            }
+            return fromId == 21L ? candidates : List.of();
+        });
+        // 查询之后ID-22已重新活跃，条件UPDATE只命中两行
+        when(coreIdentityRepository.markDormant(eq(21L), eq(31L), any(), eq(candidates))).thenReturn(2);
+
+        assertTrue(sweeper.start());
+        // 领取租约一次，后三个区间各写入一次检查点
+        awaitUntil(() -> savedWatermarks.size() == 4, "后续区间未完成");
+        assertEquals(List.of(1L, 1L, 1L, 1L), savedWatermarks, "首个区间未完成时水位线不得越过它");
+        assertEquals(3L, ((Map<?, ?>) sweeper.getStatistics().get("current")).get("chunksDone"));
+
+        releaseFirst.countDown();
+        awaitFinished();
+
+        // 首个区间完成后水位线一次越过全部已完成区间
+        assertEquals(RANGE_END, savedWatermarks.get(4));
+        JobCheckpoint checkpoint = stored.get();
+        assertEquals(JobCheckpoint.JobStatus.COMPLETED, checkpoint.getStatus());
+        assertEquals(RANGE_END, checkpoint.getWatermark());
+        assertEquals(2L, checkpoint.getProcessedRows());
+        verify(coreIdentityRepository, times(1)).markDormant(anyLong(), anyLong(), any(), anyList());
+        verify(identityCache).evictAll(candidates);
+    }
+
+    @Test
+    void failedChunkKeepsWatermarkAndNextRunResumesFromIt() throws Exception {
+        setUp(1);
+        AtomicBoolean failSecondChunk = new AtomicBoolean(true);
+        when(coreIdentityRepository.findDormancyCandidates(anyLong(), anyLong(), any())).thenAnswer(invocation -> {
+            long fromId = invocation.getArgument(0);
+            sweptChunks.add(fromId);
+            if (fromId == 11L && failSecondChunk.getAndSet(false)) {
+                throw new QueryTimeoutException("模拟区间查询超时");
+            }
+            return List.of();
+        });
+
+        assertTrue(sweeper.start());
+        awaitFinished();
+        JobCheckpoint interrupted = stored.get();
+        String runId = interrupted.getRunId();
+        assertEquals(JobCheckpoint.JobStatus.RUNNING, interrupted.getStatus());
+        assertEquals(11L, interrupted.getWatermark());
+        assertEquals("FAILED", ((Map<?, ?>) sweeper.getStatistics().get("lastRun")).get("result"));
+        assertEquals(List.of(1L, 11L), sweptChunks);
+
+        // 续跑沿用同一轮次，从水位线开始，已完成的区间不再处理
+        sweptChunks.clear();
+        assertTrue(sweeper.start());
+        awaitFinished();
+        assertEquals(List.of(11L, 21L, 31L), sweptChunks);
+        JobCheckpoint completed = stored.get();
+        assertEquals(runId, completed.getRunId());
+        assertEquals(JobCheckpoint.JobStatus.COMPLETED, completed.getStatus());
+        assertEquals(RANGE_END, completed.getWatermark());
+    }
+
+    private void awaitFinished() throws InterruptedException {
+        awaitUntil(() -> !(Boolean) sweeper.getStatistics().get("running"), "清扫未结束");
+    }
+
+    private static void awaitUntil(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, message);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.company.service.impl;
+
+import com.company.entity.SharePolicy.ShareAction;
+import com.company.repository.SharePolicyRepository;
+import com.company.repository.SharePolicyRepository.ActivePolicyView;
+import com.company.service.PolicyDecisionService.Decision;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 统一身份认证平台 - 共享策略决策一致性测试（主服务）
+ * 与校验服务的 PolicyDecisionEvaluatorParityTest 使用同一份用例（policy-decision/parity-fixtures.json），
+ * 两边的属性解析、约束判定、严格程度与决策规则任一处不一致都会使其中一侧失败
+ */
+class PolicyDecisionParityTest {
+
+    private static final String FIXTURES = "/policy-decision/parity-fixtures.json";
+
+    private static final String IDENTITY_ID = "UID-GLOBAL-PARITY";
+    private static final String REQUESTER = "app.example.com";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void decisionsMatchSharedFixtures() throws IOException {
+        JsonNode fixtures = loadFixtures();
+        List<String> allowedAttributes = new ArrayList<>();
+        fixtures.get("allowedAttributes").forEach(node -> allowedAttributes.add(node.asText()));
+
+        int checked = 0;
+        for (JsonNode fixture : fixtures.get("cases")) {
+            String name = fixture.get("name").asText();
+            List<ActivePolicyView> views = new ArrayList<>();
+            fixture.get("policies").forEach(policy -> views.add(new PolicyRow(policy)));
+
+            SharePolicyRepository repository = mock(SharePolicyRepository.class);
+            when(repository.findActivePolicyViews()).thenReturn(views);
+            PolicyDecisionServiceImpl service = newService(repository, allowedAttributes);
+            service.rebuild();
+
+            Iterator<Map.Entry<String, JsonNode>> expected = fixture.get("expected").fields();
+            while (expected.hasNext()) {
+                Map.Entry<String, JsonNode> entry = expected.next();
+                String attribute = entry.getKey();
+                JsonNode want = entry.getValue();
+                Decision got = service.decide(IDENTITY_ID, REQUESTER, attribute);
+                String where = name + " / " + attribute;
+                assertEquals(want.get("action").asText(), got.getAction().name(), where);
+                assertEquals(want.get("reason").asText(), got.getReason().name(), where);
+                if (want.hasNonNull("policyId")) {
+                    assertEquals(want.get("policyId").asText(), got.getPolicyId(), where);
+                }
+                checked++;
+            }
+        }
+        assertTrue(checked > 0, "用例文件中没有任何断言");
+    }
+
+    private JsonNode loadFixtures() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream(FIXTURES)) {
+            assertNotNull(in, "缺少用例文件: " + FIXTURES);
+            return objectMapper.readTree(in);
+        }
+    }
+
+    private PolicyDecisionServiceImpl newService(SharePolicyRepository repository, List<String> allowedAttributes) {
+        PolicyDecisionServiceImpl service = new PolicyDecisionServiceImpl();
+        ReflectionTestUtils.setField(service, "sharePolicyRepository", repository);
+        ReflectionTestUtils.setField(service, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(service, "policyUsageCounter", mock(PolicyUsageCounter.class));
+        ReflectionTestUtils.setField(service, "broadcastEnabled", false);
+        ReflectionTestUtils.setField(service, "allowedAttributes", allowedAttributes);
+        service.init();
+        return service;
+    }
+
+    /**
+     * 用例中的一条策略，按查询投影的列返回
+     */
+    private static final class PolicyRow implements ActivePolicyView {
+        private final JsonNode policy;
+        private final LocalDateTime creationTime;
+
+        private PolicyRow(JsonNode policy) {
+            this.policy = policy;
+            this.creationTime = LocalDateTime.now().minusMinutes(policy.path("createdMinutesAgo").asLong(0));
+        }
+
+        @Override public String getPolicyId() { return policy.get("policyId").asText(); }
+        @Override public String getIdentityId() { return IDENTITY_ID; }
+        @Override public String getRequester() { return REQUESTER; }
+        @Override public String getAttributes() { return text(policy, "attributes"); }
+        @Override public String getDuration() { return text(policy, "duration"); }
+        @Override public String getConstraints() { return text(policy, "constraints"); }
+        @Override public LocalDateTime getCreationTime() { return creationTime; }
+
+        @Override
+        public ShareAction getDefaultAction() {
+            String action = text(policy, "defaultAction");
+            return action != null ? ShareAction.valueOf(action) : null;
+        }
+
+        private static String text(JsonNode node, String field) {
+            return node.hasNonNull(field) ? node.get(field).asText() : null;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.company.service.impl;
+
+import com.company.entity.CoreIdentity;
+import com.company.entity.SharePolicy;
+import com.company.entity.SharePolicy.ShareAction;
+import com.company.repository.SharePolicyRepository;
+import com.company.repository.SharePolicyRepository.ActivePolicyView;
+import com.company.service.PolicyDecisionService.Decision;
+import com.company.service.PolicyDecisionService.Reason;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 统一身份认证平台 - 共享策略决策服务测试
+ * 全量重建查询期间提交并增量应用的策略变更在切换索引前重放：
+ * 无论变更落在查询快照之前还是之后，重建后的决策都与按最终数据库状态全量重算的结果一致
+ */
+class PolicyDecisionServiceImplTest {
+
+    private static final List<String> ATTRIBUTES =
+        List.of("IDENTITY_ID", "NAME", "EMAIL", "PHONE", "PROFILE_IMAGE", "STATUS");
+    private static final List<String> IDENTITIES = List.of("UID-GLOBAL-A", "UID-GLOBAL-B", "UID-GLOBAL-C");
+    private static final List<String> REQUESTERS = List.of("app-1.example.com", "app-2.example.com");
+
+    // 模拟数据库中的有效策略
+    private final Map<String, SharePolicy> database = new ConcurrentHashMap<>();
+    // 增量更新在独立线程上执行，模拟其他请求的事务提交回调
+    private final ExecutorService writer = Executors.newSingleThreadExecutor();
+    // 固定种子保证失败可复现
+    private final Random random = new Random(20260301L);
+
+    private PolicyDecisionServiceImpl service;
+    private volatile QueryWindow queryWindow;
+
+    @BeforeEach
+    void setUp() {
+        SharePolicyRepository repository = mock(SharePolicyRepository.class);
+        when(repository.findActivePolicyViews()).thenAnswer(invocation -> {
+            QueryWindow window = queryWindow;
+            queryWindow = null;
+            if (window != null) {
+                window.beforeSnapshot();
+            }
+            List<ActivePolicyView> views = snapshot();
+            if (window != null) {
+                window.afterSnapshot();
+            }
+            return views;
+        });
+        service = newService(repository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.shutdownNow();
+    }
+
+    @Test
+    void changesCommittedWhileRebuildQueriesAreReplayed() {
+        commit(policy("P-1", "UID-GLOBAL-A", "app-1.example.com", List.of("NAME"), null, ShareAction.DENY));
+        commit(policy("P-2", "UID-GLOBAL-A", "app-2.example.com", List.of("NAME", "EMAIL"), null, ShareAction.DENY));
+        service.rebuild();
+
+        // 查询读到的快照不含以下变更，增量更新只应用到了即将被替换的旧索引
+        queryWindow = new QueryWindow() {
+            @Override
+            public void afterSnapshot() {
+                commit(policy("P-3", "UID-GLOBAL-B", "app-1.example.com", List.of("PHONE"), null, ShareAction.DENY));
+                revoke("P-1");
+                commit(policy("P-2", "UID-GLOBAL-A", "app-2.example.com", List.of("STATUS"), null, ShareAction.PROMPT));
+            }
+        };
+        service.rebuild();
+
+        assertEquals(Reason.NO_POLICY, service.decide("UID-GLOBAL-A", "app-1.example.com", "NAME").getReason());
+        assertEquals(ShareAction.ALLOW, service.decide("UID-GLOBAL-B", "app-1.example.com", "PHONE").getAction());
+        assertEquals(ShareAction.ALLOW, service.decide("UID-GLOBAL-A", "app-2.example.com", "STATUS").getAction());
+        assertEquals(ShareAction.PROMPT, service.decide("UID-GLOBAL-A", "app-2.example.com", "EMAIL").getAction());
+        assertMatchesFullRecompute();
+    }
+
+    @Test
+    void randomInterleavingsMatchFullRecompute() {
+        for (int round = 0; round < 300; round++) {
+            for (int i = random.nextInt(3); i > 0; i--) {
+                onWriter(randomChange());
+            }
+
+            // 变更按提交顺序排列，快照落在其中任意位置；
+            // 快照前提交的变更，其提交后回调可能在快照之后才执行（仍按提交顺序）
+            int changes = random.nextInt(6);
+            int beforeSnapshot = random.nextInt(changes + 1);
+            queryWindow = new QueryWindow() {
+                private final List<Runnable> deferred = new ArrayList<>();
+
+                @Override
+                public void beforeSnapshot() {
+                    for (int i = 0; i < beforeSnapshot; i++) {
+                        Runnable apply = randomChange();
+                        if (deferred.isEmpty() && random.nextBoolean()) {
+                            onWriter(apply);
+                        } else {
+                            deferred.add(apply);
+                        }
+                    }
+                }
+
+                @Override
+                public void afterSnapshot() {
+                    deferred.forEach(PolicyDecisionServiceImplTest.this::onWriter);
+                    for (int i = beforeSnapshot; i < changes; i++) {
+                        onWriter(randomChange());
+                    }
+                }
+            };
+            service.rebuild();
+
+            assertMatchesFullRecompute();
+        }
+    }
+
+    /**
+     * 与按当前数据库状态全量重建的新实例逐项比较决策
+     * 多条策略同时命中时，报告的策略ID取决于索引内顺序，因此只比较动作与原因
+     */
+    private void assertMatchesFullRecompute() {
+        SharePolicyRepository repository = mock(SharePolicyRepository.class);
+        when(repository.findActivePolicyViews()).thenAnswer(invocation -> snapshot());
+        PolicyDecisionServiceImpl expected = newService(repository);
+        expected.rebuild();
+
+        for (String identityId : IDENTITIES) {
+            for (String requester : REQUESTERS) {
+                for (String attribute : ATTRIBUTES) {
+                    Decision want = expected.decide(identityId, requester, attribute);
+                    Decision got = service.decide(identityId, requester, attribute);
+                    String where = identityId + "/" + requester + "/" + attribute + " 策略" + database.keySet();
+                    assertEquals(want.getAction(), got.getAction(), where);
+                    assertEquals(want.getReason(), got.getReason(), where);
+                }
+            }
+        }
+        assertEquals(expected.getStatistics().get("policies"), service.getStatistics().get("policies"));
+    }
+
+    /**
+     * 在数据库中提交一条随机变更（新建、修改或撤销），返回对应的增量更新
+     */
+    private Runnable randomChange() {
+        String policyId = "P-" + random.nextInt(8);
+        if (database.containsKey(policyId) && random.nextInt(3) == 0) {
+            database.remove(policyId);
+            return () -> service.onPolicyRemoved(policyId);
+        }
+        List<String> attributes = new ArrayList<>();
+        for (String attribute : ATTRIBUTES) {
+            if (random.nextInt(3) == 0) {
+                attributes.add(attribute);
+            }
+        }
+        if (attributes.isEmpty()) {
+            attributes.add(ATTRIBUTES.get(random.nextInt(ATTRIBUTES.size())));
+        }
+        SharePolicy policy = policy(policyId,
+            IDENTITIES.get(random.nextInt(IDENTITIES.size())),
+            REQUESTERS.get(random.nextInt(REQUESTERS.size())),
+            attributes,
+            random.nextBoolean() ? null : "{\"maximumRequests\":5}",
+            ShareAction.values()[random.nextInt(ShareAction.values().length)]);
+        database.put(policyId, policy);
+        return () -> service.onPolicyChanged(policy);
+    }
+
+    private void commit(SharePolicy policy) {
+        database.put(policy.getPolicyId(), policy);
+        onWriter(() -> service.onPolicyChanged(policy));
+    }
+
+    private void revoke(String policyId) {
+        database.remove(policyId);
+        onWriter(() -> service.onPolicyRemoved(policyId));
+    }
+
+    private void onWriter(Runnable task) {
+        try {
+            writer.submit(task).get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<ActivePolicyView> snapshot() {
+        List<ActivePolicyView> views = new ArrayList<>();
+        for (SharePolicy policy : database.values()) {
+            views.add(new PolicyRow(policy));
+        }
+        return views;
+    }
+
+    private static SharePolicy policy(String policyId, String identityId, String requester, List<String> attributes,
+                                      String constraints, ShareAction defaultAction) {
+        StringJoiner json = new StringJoiner("\",\"", "[\"", "\"]");
+        attributes.forEach(json::add);
+        SharePolicy policy = new SharePolicy(policyId, new CoreIdentity(identityId, "test-public-key", 3),
+            requester, json.toString());
+        policy.setDuration("PT1H");
+        policy.setConstraints(constraints);
+        policy.setDefaultAction(defaultAction);
+        policy.setCreationTime(LocalDateTime.now());
+        return policy;
+    }
+
+    private static PolicyDecisionServiceImpl newService(SharePolicyRepository repository) {
+        PolicyDecisionServiceImpl service = new PolicyDecisionServiceImpl();
+        ReflectionTestUtils.setField(service, "sharePolicyRepository", repository);
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(service, "policyUsageCounter", mock(PolicyUsageCounter.class));
+        ReflectionTestUtils.setField(service, "broadcastEnabled", false);
+        ReflectionTestUtils.setField(service, "allowedAttributes", ATTRIBUTES);
+        service.init();
+        return service;
+    }
+
+    /**
+     * 重建查询执行期间的钩子：快照读取前后各一次
+     */
+    private interface QueryWindow {
+        default void beforeSnapshot() {
+        }
+
+        default void afterSnapshot() {
+        }
+    }
+
+    /**
+     * 查询快照中的一行，与数据库中的实体此后的变化无关
+     */
+    private static final class PolicyRow implements ActivePolicyView {
+        private final String policyId;
+        private final String identityId;
+        private final String requester;
+        private final String attributes;
+        private final String duration;
+        private final String constraints;
+        private final ShareAction defaultAction;
+        private final LocalDateTime creationTime;
+
+        private PolicyRow(SharePolicy policy) {
+            this.policyId = policy.getPolicyId();
+            this.identityId = policy.getCoreIdentity().getIdentityId();
+            this.requester = policy.getRequester();
+            this.attributes = policy.getAttributes();
+            this.duration = policy.getDuration();
+            this.constraints = policy.getConstraints();
+            this.defaultAction = policy.getDefaultAction();
+            this.creationTime = policy.getCreationTime();
+        }
+
+        @Override public String getPolicyId() { return policyId; }
+        @Override public String getIdentityId() { return identityId; }
+        @Override public String getRequester() { return requester; }
+        @Override public String getAttributes() { return attributes; }
+        @Override public String getDuration() { return duration; }
+        @Override public String getConstraints() { return constraints; }
+        @Override public ShareAction getDefaultAction() { return defaultAction; }
+        @Override public LocalDateTime getCreationTime() { return creationTime; }
+    }
+}
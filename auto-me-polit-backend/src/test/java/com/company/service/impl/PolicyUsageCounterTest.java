@@ -0,0 +1,227 @@
+package com.company.service.impl;
+
+import com.company.dto.response.PolicyUsageDTO;
+import com.company.repository.SharePolicyRepository;
+import com.company.repository.SharePolicyRepository.PolicyUsageView;
+import com.company.repository.SharePolicyRepositoryCustom.UsageDelta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 统一身份认证平台 - 共享策略使用计数器测试
+ * 落库失败时增量留在待落库部分并在下个周期整体重试；查询与落库提交交错时，
+ * 库中值与已落库计数取自同一时刻，总数既不少计也不重复计入
+ */
+class PolicyUsageCounterTest {
+
+    private static final String POLICY_ID = "POLICY-USAGE-0001";
+
+    // 模拟库中的usage_count：落库事务内累加，返回前即对其他读取可见
+    private final AtomicLong persisted = new AtomicLong();
+    private final AtomicBoolean failNextFlush = new AtomicBoolean();
+    private final List<Long> flushedDeltas = new CopyOnWriteArrayList<>();
+    private final ExecutorService pool = Executors.newCachedThreadPool();
+
+    // 一次性钩子：落库事务内、落库提交后、查询读到库中值后
+    private final AtomicReference<Runnable> duringFlush = new AtomicReference<>();
+    private final AtomicReference<Runnable> afterFlushCommit = new AtomicReference<>();
+    private final AtomicReference<Runnable> afterUsageRead = new AtomicReference<>();
+
+    private PolicyUsageCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        SharePolicyRepository repository = mock(SharePolicyRepository.class);
+        when(repository.findUsageView(POLICY_ID)).thenAnswer(invocation -> {
+            PolicyUsageView row = row(persisted.get());
+            runOnce(afterUsageRead);
+            return Optional.of(row);
+        });
+        when(repository.batchIncrementUsage(anyList())).thenAnswer(invocation -> {
+            List<UsageDelta> deltas = invocation.getArgument(0);
+            runOnce(duringFlush);
+            if (failNextFlush.getAndSet(false)) {
+                throw new QueryTimeoutException("模拟落库超时");
+            }
+            long delta = deltas.get(0).getCount();
+            persisted.addAndGet(delta);
+            flushedDeltas.add(delta);
+            runOnce(afterFlushCommit);
+            return new int[] {1};
+        });
+        counter = new PolicyUsageCounter(repository, mock(PlatformTransactionManager.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void failedFlushKeepsGrantsPendingAndRetriesWholeDelta() {
+        record(5, true);
+        record(2, false);
+
+        failNextFlush.set(true);
+        counter.flush();
+        assertEquals(0, persisted.get());
+        assertEquals(5, usage().getSuccessfulRequests());
+        assertEquals(2, usage().getFailedRequests());
+        assertEquals(1L, counter.getStatistics().get("flushFailures"));
+
+        // 失败的增量不计为已落库，也不再视为正在落库，下个周期整体重试
+        counter.flush();
+        assertEquals(List.of(5L), flushedDeltas);
+        assertEquals(5, persisted.get());
+        assertEquals(5, usage().getSuccessfulRequests());
+
+        record(3, true);
+        assertEquals(8, usage().getSuccessfulRequests());
+        counter.flush();
+        assertEquals(List.of(5L, 3L), flushedDeltas);
+        assertEquals(8, usage().getSuccessfulRequests());
+    }
+
+    @Test
+    void grantsRecordedDuringFlushAreNotLost() {
+        record(4, true);
+        duringFlush.set(() -> record(2, true));
+        failNextFlush.set(true);
+        counter.flush();
+        assertEquals(6, usage().getSuccessfulRequests());
+
+        // 成功落库的只是开始时取走的增量，落库期间的新增量留到下个周期
+        duringFlush.set(() -> record(1, true));
+        counter.flush();
+        assertEquals(List.of(6L), flushedDeltas);
+        assertEquals(7, usage().getSuccessfulRequests());
+
+        counter.flush();
+        assertEquals(List.of(6L, 1L), flushedDeltas);
+        assertEquals(7, persisted.get());
+        assertEquals(7, usage().getSuccessfulRequests());
+    }
+
+    @Test
+    void readBeforeFlushCommitDoesNotUndercount() {
+        record(5, true);
+
+        // 查询读到库中旧值后、读取已落库计数前，另一线程完成一次落库
+        afterUsageRead.set(() -> await(pool.submit(counter::flush)));
+        assertEquals(5, usage().getSuccessfulRequests());
+        assertEquals(List.of(5L), flushedDeltas);
+    }
+
+    @Test
+    void readAfterCommitBeforeCounterUpdateDoesNotDoubleCount() throws Exception {
+        record(5, true);
+
+        // 库中值已包含本次增量，但已落库计数尚未更新；此时的查询须等待落库结束
+        AtomicReference<Future<PolicyUsageDTO>> reader = new AtomicReference<>();
+        afterFlushCommit.set(() -> {
+            reader.set(pool.submit(this::usage));
+            assertThrows(TimeoutException.class, () -> reader.get().get(200, TimeUnit.MILLISECONDS),
+                "落库提交与计数更新之间的查询未等待落库结束");
+        });
+        counter.flush();
+
+        assertEquals(5, reader.get().get(10, TimeUnit.SECONDS).getSuccessfulRequests());
+    }
+
+    @Test
+    void concurrentReadsStayWithinRecordedBounds() throws Exception {
+        int total = 200_000;
+        AtomicLong recorded = new AtomicLong();
+        AtomicBoolean done = new AtomicBoolean();
+        Random random = new Random(20260302L);
+
+        Future<?> recorder = pool.submit(() -> {
+            for (int i = 0; i < total; i++) {
+                counter.record(POLICY_ID, true, 1_000L);
+                recorded.incrementAndGet();
+            }
+        });
+        Future<?> flusher = pool.submit(() -> {
+            while (!done.get()) {
+                failNextFlush.set(random.nextInt(4) == 0);
+                counter.flush();
+            }
+        });
+
+        int reads = 0;
+        while (!recorder.isDone() || reads < 1_000) {
+            long lower = recorded.get();
+            long usage = usage().getSuccessfulRequests();
+            long upper = recorded.get() + 1; // 计数器先于recorded递增
+            assertTrue(usage >= lower && usage <= upper, "读到" + usage + "，应在[" + lower + ", " + upper + "]内");
+            reads++;
+        }
+        recorder.get(1, TimeUnit.MINUTES);
+        done.set(true);
+        flusher.get(1, TimeUnit.MINUTES);
+
+        failNextFlush.set(false);
+        counter.flush();
+        assertEquals(total, persisted.get());
+        assertEquals(total, usage().getSuccessfulRequests());
+    }
+
+    private PolicyUsageDTO usage() {
+        return counter.getUsage(POLICY_ID);
+    }
+
+    private void record(int times, boolean granted) {
+        for (int i = 0; i < times; i++) {
+            counter.record(POLICY_ID, granted, 1_000_000L);
+        }
+    }
+
+    private static void runOnce(AtomicReference<Runnable> hook) {
+        Runnable task = hook.getAndSet(null);
+        if (task != null) {
+            task.run();
+        }
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static PolicyUsageView row(long usageCount) {
+        return new PolicyUsageView() {
+            @Override public String getPolicyId() { return POLICY_ID; }
+            @Override public String getRequester() { return "app.example.com"; }
+            @Override public Boolean getIsActive() { return true; }
+            @Override public Long getUsageCount() { return usageCount; }
+            @Override public LocalDateTime getLastUsedTime() { return null; }
+        };
+    }
+}
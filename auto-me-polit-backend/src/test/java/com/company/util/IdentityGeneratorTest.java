@@ -0,0 +1,200 @@
+package com.company.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 统一身份认证平台 - 身份ID生成器测试
+ * 节点模式下多线程并发生成的ID在跨秒、时钟回拨与重启后均不重复，且多线程吞吐量不因共享状态争用而下降
+ */
+class IdentityGeneratorTest {
+
+    // 2026-01-15 12:00:00 UTC，远离夏令时切换
+    private static final long START_MILLIS = 1_768_478_400_000L;
+
+    @Test
+    void concurrentIdsAreUniqueAcrossSecondRollover(@TempDir Path stateDir) throws Exception {
+        AtomicLong clock = new AtomicLong(START_MILLIS);
+        IdentityGenerator generator = new IdentityGenerator(IdentityGenerator.Mode.NODE, 7, stateDir.toString(), 10, clock::get);
+
+        int threads = 16;
+        int idsPerThread = 20_000;
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads + 1);
+        try {
+            // 生成过程中时钟多次跨秒，并回拨一次
+            Future<?> ticker = pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 6 && running.get(); i++) {
+                    Thread.sleep(5);
+                    clock.addAndGet(i == 3 ? -3_000 : 1_000);
+                }
+                return null;
+            });
+
+            List<Future<List<String>>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    List<String> generated = new ArrayList<>(idsPerThread);
+                    for (int i = 0; i < idsPerThread; i++) {
+                        generated.add(generator.generateGlobalIdentityId());
+                    }
+                    return generated;
+                }));
+            }
+            start.countDown();
+
+            for (Future<List<String>> worker : workers) {
+                List<String> generated = worker.get(1, TimeUnit.MINUTES);
+                for (int i = 1; i < generated.size(); i++) {
+                    // 同一线程内严格单调递增
+                    assertTrue(generated.get(i).compareTo(generated.get(i - 1)) > 0,
+                        generated.get(i - 1) + " >= " + generated.get(i));
+                }
+                ids.addAll(generated);
+            }
+            running.set(false);
+            ticker.get(1, TimeUnit.MINUTES);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(threads * idsPerThread, ids.size());
+        Set<String> seconds = new HashSet<>();
+        for (String id : ids) {
+            seconds.add(id.substring("UID-GLOBAL-".length(), "UID-GLOBAL-".length() + 14));
+        }
+        assertTrue(seconds.size() > 1, "生成过程应跨越秒边界");
+    }
+
+    @Test
+    void multiThreadedThroughputDoesNotCollapse(@TempDir Path stateDir) throws Exception {
+        IdentityGenerator generator = new IdentityGenerator(IdentityGenerator.Mode.NODE, 7, stateDir.toString(), 10, System::currentTimeMillis);
+        int threads = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+        int idsPerThread = 500_000;
+
+        // 预热后分别测量单线程与多线程的总吞吐量（个/秒）
+        measureThroughput(generator, 1, 200_000);
+        double single = measureThroughput(generator, 1, idsPerThread);
+        double parallel = measureThroughput(generator, threads, idsPerThread);
+
+        assertTrue(single > 100_000, "单线程吞吐量过低: " + (long) single + "/s");
+        // 线程只在领取序列号块时访问共享状态，多线程总吞吐量不应低于单线程的一半
+        assertTrue(parallel > single / 2,
+            threads + "线程总吞吐量" + (long) parallel + "/s 低于单线程" + (long) single + "/s 的一半");
+    }
+
+    @Test
+    void restartWithinSameSecondDoesNotReissue(@TempDir Path stateDir) {
+        AtomicLong clock = new AtomicLong(START_MILLIS);
+        Set<String> ids = new HashSet<>();
+        for (int run = 0; run < 3; run++) {
+            IdentityGenerator generator = new IdentityGenerator(IdentityGenerator.Mode.NODE, 7, stateDir.toString(), 10, clock::get);
+            for (int i = 0; i < 1_000; i++) {
+                assertTrue(ids.add(generator.generateGlobalIdentityId()), "重启后重复分配了ID");
+            }
+        }
+    }
+
+    @Test
+    void restartWithoutLeaseWaitsOutStartSecond() {
+        // 无租约文件时使用真实时钟：每次启动等待进入下一秒
+        Set<String> ids = new HashSet<>();
+        for (int run = 0; run < 3; run++) {
+            IdentityGenerator generator = new IdentityGenerator(IdentityGenerator.Mode.NODE, 7);
+            for (int i = 0; i < 1_000; i++) {
+                assertTrue(ids.add(generator.generateGlobalIdentityId()), "重启后重复分配了ID");
+            }
+        }
+    }
+
+    @Test
+    void restartAfterClockStepBackResumesAfterLease(@TempDir Path stateDir) {
+        AtomicLong clock = new AtomicLong(START_MILLIS);
+        IdentityGenerator first = new IdentityGenerator(IdentityGenerator.Mode.NODE, 7, stateDir.toString(), 10, clock::get);
+        Set<String> ids = new HashSet<>();
+        String last = null;
+        for (int second = 0; second < 30; second++) {
+            for (int i = 0; i < 100; i++) {
+                last = first.generateGlobalIdentityId();
+                ids.add(last);
+            }
+            clock.addAndGet(1_000);
+        }
+
+        // 重启时时钟回拨一分钟
+        clock.set(START_MILLIS - 60_000);
+        IdentityGenerator restarted = new IdentityGenerator(IdentityGenerator.Mode.NODE, 7, stateDir.toString(), 10, clock::get);
+        for (int i = 0; i < 1_000; i++) {
+            String id = restarted.generateGlobalIdentityId();
+            assertTrue(ids.add(id), "时钟回拨后重复分配了ID: " + id);
+            assertTrue(id.compareTo(last) > 0, "重启后的ID应晚于上次运行: " + id);
+        }
+    }
+
+    @Test
+    void differentNodesNeverCollide(@TempDir Path stateDir) {
+        AtomicLong clock = new AtomicLong(START_MILLIS);
+        IdentityGenerator nodeA = new IdentityGenerator(IdentityGenerator.Mode.NODE, 1, stateDir.toString(), 10, clock::get);
+        IdentityGenerator nodeB = new IdentityGenerator(IdentityGenerator.Mode.NODE, 2, stateDir.toString(), 10, clock::get);
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(ids.add(nodeA.generateGlobalIdentityId()));
+            assertTrue(ids.add(nodeB.generateGlobalIdentityId()));
+        }
+    }
+
+    private static double measureThroughput(IdentityGenerator generator, int threads, int idsPerThread) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    int checksum = 0;
+                    for (int i = 0; i < idsPerThread; i++) {
+                        checksum += generator.generateGlobalIdentityId().hashCode();
+                    }
+                    return checksum;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<Integer> worker : workers) {
+                worker.get(2, TimeUnit.MINUTES);
+            }
+            long elapsedNanos = System.nanoTime() - begin;
+            return (double) threads * idsPerThread * 1_000_000_000L / elapsedNanos;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void nodeModeRequiresConfiguredNodeId() {
+        assertThrows(IllegalStateException.class, () -> new IdentityGenerator(IdentityGenerator.Mode.NODE, -1));
+        assertThrows(IllegalStateException.class, () -> new IdentityGenerator(IdentityGenerator.Mode.NODE, 0x10000));
+    }
+}
@@ -0,0 +1,176 @@
+package com.company.util;
+
+import com.company.entity.CoreIdentity;
+import com.company.repository.CoreIdentityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 统一身份认证平台 - 乐观锁重试测试
+ * 多个线程并发对同一身份做读取-修改-写回：冲突的写入要么重试成功，要么以 OptimisticLockingFailureException 失败，
+ * 不允许静默覆盖其他线程已提交的修改
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(OptimisticRetryTemplate.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 每个写入线程使用各自的事务
+class OptimisticRetryTemplateTest {
+
+    private static final String IDENTITY_ID = "UID-GLOBAL-TEST000001";
+
+    @Autowired
+    private CoreIdentityRepository coreIdentityRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            coreIdentityRepository.deleteAll();
+            CoreIdentity identity = new CoreIdentity(IDENTITY_ID, "test-public-key", 3);
+            identity.setDeviceFingerprint("0");
+            coreIdentityRepository.save(identity);
+        });
+    }
+
+    @Test
+    void conflictingWriterWithoutRetryFailsWithOptimisticLockingFailure() throws Exception {
+        OptimisticRetryTemplate noRetry = new OptimisticRetryTemplate(transactionManager, 1, 0);
+        // 两个写入者都读到同一版本后才写回，保证必然冲突
+        CyclicBarrier bothLoaded = new CyclicBarrier(2);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                futures.add(pool.submit(() -> noRetry.executeWithoutResult(() -> {
+                    CoreIdentity identity = load();
+                    await(bothLoaded);
+                    increment(identity);
+                })));
+            }
+
+            int succeeded = 0;
+            int conflicts = 0;
+            for (Future<?> future : futures) {
+                try {
+                    future.get(30, TimeUnit.SECONDS);
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(OptimisticLockingFailureException.class, e.getCause());
+                    conflicts++;
+                }
+            }
+
+            assertEquals(1, succeeded);
+            assertEquals(1, conflicts);
+            // 失败的写入没有覆盖成功的写入
+            assertEquals(1, counterValue());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentWritersRetryAndLoseNoUpdate() throws Exception {
+        int writers = 8;
+        int incrementsPerWriter = 25;
+        // 重试次数足够大时每次写入最终都应成功
+        OptimisticRetryTemplate retrying = new OptimisticRetryTemplate(transactionManager, 1000, 1);
+        long initialVersion = currentVersion();
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<Throwable> unexpected = new CopyOnWriteArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        try {
+            for (int w = 0; w < writers; w++) {
+                pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < incrementsPerWriter; i++) {
+                        try {
+                            retrying.executeWithoutResult(() -> increment(load()));
+                            succeeded.incrementAndGet();
+                        } catch (OptimisticLockingFailureException e) {
+                            failed.incrementAndGet();
+                        } catch (Throwable e) {
+                            unexpected.add(e);
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES), "写入线程未在时限内完成");
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertTrue(unexpected.isEmpty(), () -> "出现非乐观锁异常: " + unexpected);
+        assertEquals(writers * incrementsPerWriter, succeeded.get() + failed.get());
+        // 每次成功的写入都恰好体现在最终值与版本号上：没有写入丢失
+        assertEquals(succeeded.get(), counterValue());
+        assertEquals(initialVersion + succeeded.get(), currentVersion());
+        assertEquals(writers * incrementsPerWriter, succeeded.get());
+    }
+
+    private CoreIdentity load() {
+        return coreIdentityRepository.findByIdentityIdForUpdate(IDENTITY_ID).orElseThrow();
+    }
+
+    // 读取-修改-写回：以设备指纹字段保存计数
+    private void increment(CoreIdentity identity) {
+        identity.setDeviceFingerprint(String.valueOf(Integer.parseInt(identity.getDeviceFingerprint()) + 1));
+        coreIdentityRepository.save(identity);
+    }
+
+    private int counterValue() {
+        return transactionTemplate.execute(status -> Integer.parseInt(load().getDeviceFingerprint()));
+    }
+
+    private long currentVersion() {
+        return transactionTemplate.execute(status -> load().getVersion());
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
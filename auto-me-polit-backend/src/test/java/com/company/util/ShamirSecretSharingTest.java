@@ -0,0 +1,197 @@
+package com.company.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 统一身份认证平台 - Shamir秘密共享测试
+ * 随机秘密与门限参数下，任意不少于门限的分片子集都能还原秘密；少于门限的分片不泄露秘密的任何信息
+ */
+class ShamirSecretSharingTest {
+
+    // 固定种子保证失败可复现；分片系数仍由实现内部的SecureRandom生成
+    private final Random random = new Random(20260115L);
+
+    @Test
+    void everySubsetOfSmallSplitRecoversSecret() {
+        for (int trial = 0; trial < 200; trial++) {
+            int totalShares = 1 + random.nextInt(8);
+            int threshold = 1 + random.nextInt(totalShares);
+            byte[] secret = randomSecret();
+            byte[][] shares = ShamirSecretSharing.split(secret, threshold, totalShares);
+
+            // 枚举全部子集：不少于门限的子集（任意顺序）都还原出原秘密
+            for (int mask = 1; mask < (1 << totalShares); mask++) {
+                if (Integer.bitCount(mask) < threshold) {
+                    continue;
+                }
+                byte[][] subset = select(shares, mask);
+                shuffle(subset);
+                assertArrayEquals(secret, ShamirSecretSharing.combine(subset),
+                    "threshold=" + threshold + ", totalShares=" + totalShares + ", mask=" + Integer.toBinaryString(mask));
+            }
+        }
+    }
+
+    @Test
+    void randomSubsetsOfLargeSplitRecoverSecret() {
+        for (int trial = 0; trial < 100; trial++) {
+            int totalShares = 9 + random.nextInt(ShamirSecretSharing.MAX_SHARES - 8);
+            int threshold = 1 + random.nextInt(Math.min(totalShares, 32));
+            byte[] secret = randomSecret();
+            byte[][] shares = ShamirSecretSharing.split(secret, threshold, totalShares);
+
+            for (int sample = 0; sample < 20; sample++) {
+                int size = threshold + random.nextInt(Math.min(totalShares - threshold, 8) + 1);
+                List<byte[]> pool = new ArrayList<>(Arrays.asList(shares));
+                Collections.shuffle(pool, random);
+                byte[][] subset = pool.subList(0, size).toArray(new byte[0][]);
+                assertArrayEquals(secret, ShamirSecretSharing.combine(subset),
+                    "threshold=" + threshold + ", totalShares=" + totalShares + ", size=" + size);
+            }
+        }
+    }
+
+    @Test
+    void sharesBelowThresholdAreConsistentWithEverySecret() {
+        for (int trial = 0; trial < 100; trial++) {
+            int totalShares = 2 + random.nextInt(ShamirSecretSharing.MAX_SHARES - 1);
+            int threshold = 2 + random.nextInt(Math.min(totalShares, 16) - 1);
+            byte[] secret = randomSecret();
+            byte[][] shares = ShamirSecretSharing.split(secret, threshold, totalShares);
+
+            // 取threshold-1个分片，再补一个未发放横坐标上的假想分片：
+            // 假想分片取遍256个值时，还原结果的每个字节也取遍全部256个值，
+            // 即已知分片与任何秘密都相容
+            List<byte[]> pool = new ArrayList<>(Arrays.asList(shares));
+            Collections.shuffle(pool, random);
+            byte[][] candidate = new byte[threshold][];
+            for (int i = 0; i < threshold - 1; i++) {
+                candidate[i] = pool.get(i);
+            }
+            int unusedX = totalShares == ShamirSecretSharing.MAX_SHARES
+                ? pool.get(threshold - 1)[0] & 0xFF
+                : totalShares + 1 + random.nextInt(ShamirSecretSharing.MAX_SHARES - totalShares);
+
+            List<Set<Integer>> reachable = new ArrayList<>();
+            for (int j = 0; j < secret.length; j++) {
+                reachable.add(new HashSet<>());
+            }
+            for (int y = 0; y < 256; y++) {
+                byte[] hypothetical = new byte[secret.length + 1];
+                hypothetical[0] = (byte) unusedX;
+                Arrays.fill(hypothetical, 1, hypothetical.length, (byte) y);
+                candidate[threshold - 1] = hypothetical;
+                byte[] recovered = ShamirSecretSharing.combine(candidate);
+                for (int j = 0; j < secret.length; j++) {
+                    reachable.get(j).add(recovered[j] & 0xFF);
+                }
+            }
+            for (int j = 0; j < secret.length; j++) {
+                assertEquals(256, reachable.get(j).size(), "第" + j + "字节的取值受到了少于门限的分片约束");
+            }
+        }
+    }
+
+    @Test
+    void sharesBelowThresholdAreUniformlyDistributed() {
+        byte[] secret = {(byte) 0x5A};
+        int rounds = 256 * 64;
+        int[] counts = new int[256];
+        for (int round = 0; round < rounds; round++) {
+            byte[][] shares = ShamirSecretSharing.split(secret, 3, 5);
+            // 两个分片（少于门限3）插值出的值应与秘密无关、在GF(256)上均匀分布
+            byte[] guess = ShamirSecretSharing.combine(new byte[][] {shares[1], shares[3]});
+            counts[guess[0] & 0xFF]++;
+        }
+
+        // 卡方检验：自由度255，期望约255、标准差约22.6，阈值400远超正常波动
+        double expected = rounds / 256.0;
+        double chiSquare = 0;
+        for (int count : counts) {
+            chiSquare += (count - expected) * (count - expected) / expected;
+        }
+        assertTrue(chiSquare < 400, "少于门限的分片插值结果分布不均匀: chi2=" + chiSquare);
+        assertTrue(counts[0x5A] < expected * 2, "少于门限的分片插值结果偏向真实秘密: " + counts[0x5A]);
+    }
+
+    @Test
+    void batchSplitAndCombinePreserveOrder() {
+        int count = 500;
+        List<byte[]> secrets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            secrets.add(randomSecret());
+        }
+
+        List<byte[][]> shareSets = ShamirSecretSharing.splitAll(secrets, 3, 5);
+        assertEquals(count, shareSets.size());
+
+        List<byte[][]> subsets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[][] shares = shareSets.get(i);
+            assertEquals(5, shares.length);
+            // 单独还原与批量还原一致，且每组取不同的3个分片
+            assertArrayEquals(secrets.get(i), ShamirSecretSharing.combine(shares));
+            List<byte[]> pool = new ArrayList<>(Arrays.asList(shares));
+            Collections.shuffle(pool, random);
+            subsets.add(pool.subList(0, 3).toArray(new byte[0][]));
+        }
+
+        List<byte[]> recovered = ShamirSecretSharing.combineAll(subsets);
+        assertEquals(count, recovered.size());
+        for (int i = 0; i < count; i++) {
+            assertArrayEquals(secrets.get(i), recovered.get(i), "批量还原顺序错乱: " + i);
+        }
+    }
+
+    @Test
+    void invalidInputsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ShamirSecretSharing.split(new byte[0], 2, 3));
+        assertThrows(IllegalArgumentException.class, () -> ShamirSecretSharing.split(new byte[] {1}, 4, 3));
+        assertThrows(IllegalArgumentException.class, () -> ShamirSecretSharing.split(new byte[] {1}, 2, ShamirSecretSharing.MAX_SHARES + 1));
+
+        byte[][] shares = ShamirSecretSharing.split(new byte[] {1, 2, 3}, 2, 3);
+        assertThrows(IllegalArgumentException.class, () -> ShamirSecretSharing.combine(new byte[][] {shares[0], shares[0]}));
+        assertThrows(IllegalArgumentException.class,
+            () -> ShamirSecretSharing.combine(new byte[][] {shares[0], Arrays.copyOf(shares[1], 3)}));
+    }
+
+    private byte[] randomSecret() {
+        // 覆盖单字节到较长密钥的各种长度
+        byte[] secret = new byte[1 + random.nextInt(64)];
+        random.nextBytes(secret);
+        return secret;
+    }
+
+    private static byte[][] select(byte[][] shares, int mask) {
+        byte[][] subset = new byte[Integer.bitCount(mask)][];
+        int index = 0;
+        for (int i = 0; i < shares.length; i++) {
+            if ((mask & (1 << i)) != 0) {
+                subset[index++] = shares[i];
+            }
+        }
+        return subset;
+    }
+
+    private void shuffle(byte[][] shares) {
+        for (int i = shares.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte[] tmp = shares[i];
+            shares[i] = shares[j];
+            shares[j] = tmp;
+        }
+    }
+}
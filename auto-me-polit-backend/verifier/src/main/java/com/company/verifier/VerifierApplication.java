@@ -0,0 +1,17 @@
+package com.company.verifier;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * 统一身份认证平台 - 只读校验服务启动类
+ * 基于WebFlux + R2DBC的非阻塞服务，面向高扇出的校验方流量提供身份查询、安全级别校验与共享策略决策；
+ * 与主服务共用数据库，不做任何写入
+ */
+@SpringBootApplication
+public class VerifierApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(VerifierApplication.class, args);
+    }
+}
@@ -0,0 +1,92 @@
+package com.company.verifier.controller;
+
+import com.company.verifier.dto.IdentityView;
+import com.company.verifier.dto.PolicyDecisionView;
+import com.company.verifier.repository.IdentityReadRepository;
+import com.company.verifier.service.PolicyDecisionEvaluator;
+import com.company.verifier.util.ApiResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 统一身份认证平台 - 只读校验控制器
+ * 与主服务的身份查询、安全级别校验、共享策略决策接口语义一致，全程非阻塞
+ */
+@RestController
+@RequestMapping("/api/v1/verifier")
+public class VerifierController {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerifierController.class);
+
+    private final IdentityReadRepository identityReadRepository;
+    private final PolicyDecisionEvaluator policyDecisionEvaluator;
+
+    public VerifierController(IdentityReadRepository identityReadRepository,
+                              PolicyDecisionEvaluator policyDecisionEvaluator) {
+        this.identityReadRepository = identityReadRepository;
+        this.policyDecisionEvaluator = policyDecisionEvaluator;
+    }
+
+    /**
+     * 获取身份信息（公钥、状态与安全级别）
+     */
+    @GetMapping("/identity/{identityId}")
+    public Mono<ResponseEntity<ApiResponse<IdentityView>>> getIdentity(@PathVariable String identityId) {
+        return identityReadRepository.findByIdentityId(identityId)
+            .map(identity -> ResponseEntity.ok(ApiResponse.success("获取身份信息成功", identity)))
+            .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.notFound("身份不存在: " + identityId)))
+            .onErrorResume(e -> failure("获取身份信息失败: " + identityId, e));
+    }
+
+    /**
+     * 验证身份是否满足指定的安全级别要求
+     */
+    @GetMapping("/identity/{identityId}/security-validation")
+    public Mono<ResponseEntity<ApiResponse<Boolean>>> validateSecurityLevel(
+            @PathVariable String identityId,
+            @RequestParam Integer requiredLevel) {
+        return identityReadRepository.findSecurityLevel(identityId)
+            .map(level -> ResponseEntity.ok(ApiResponse.success("安全级别验证完成", level >= requiredLevel)))
+            .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.notFound("身份不存在: " + identityId)))
+            .onErrorResume(e -> failure("安全级别验证失败: " + identityId, e));
+    }
+
+    /**
+     * 判断请求方能否读取身份的指定属性
+     */
+    @GetMapping("/policy/decision")
+    public Mono<ResponseEntity<ApiResponse<Map<String, PolicyDecisionView>>>> decide(
+            @RequestParam String identityId,
+            @RequestParam String requester,
+            @RequestParam List<String> attributes) {
+        return policyDecisionEvaluator.decideAll(identityId, requester, attributes)
+            .map(decisions -> ResponseEntity.ok(ApiResponse.success("策略决策完成", decisions)))
+            .onErrorResume(e -> failure("策略决策失败: " + identityId + ", 请求方: " + requester, e));
+    }
+
+    /**
+     * 数据库查询超时返回503（客户端可重试），其他错误返回500
+     */
+    private <T> Mono<ResponseEntity<ApiResponse<T>>> failure(String message, Throwable e) {
+        if (e instanceof TimeoutException) {
+            logger.warn("{}: 数据库查询超时", message);
+            return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(503, "服务繁忙，请稍后重试")));
+        }
+        logger.error(message, e);
+        return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .body(ApiResponse.error(500, message + ": " + e.getMessage())));
+    }
+}
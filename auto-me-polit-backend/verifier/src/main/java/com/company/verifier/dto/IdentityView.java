@@ -0,0 +1,79 @@
+package com.company.verifier.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 统一身份认证平台 - 校验方可见的身份信息
+ * 仅包含公钥与状态类字段，不含私钥密文、恢复配置、生物特征哈希与元数据
+ */
+public class IdentityView {
+
+    private String identityId;
+    private String publicKey;
+    private String status;
+    private Integer securityLevel;
+    private LocalDateTime creationTime;
+    private LocalDateTime lastActiveTime;
+
+    // 构造方法
+    public IdentityView() {}
+
+    public IdentityView(String identityId, String publicKey, String status, Integer securityLevel,
+                        LocalDateTime creationTime, LocalDateTime lastActiveTime) {
+        this.identityId = identityId;
+        this.publicKey = publicKey;
+        this.status = status;
+        this.securityLevel = securityLevel;
+        this.creationTime = creationTime;
+        this.lastActiveTime = lastActiveTime;
+    }
+
+    // Getter and Setter methods
+    public String getIdentityId() {
+        return identityId;
+    }
+
+    public void setIdentityId(String identityId) {
+        this.identityId = identityId;
+    }
+
+    public String getPublicKey() {
+        return publicKey;
+    }
+
+    public void setPublicKey(String publicKey) {
+        this.publicKey = publicKey;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getSecurityLevel() {
+        return securityLevel;
+    }
+
+    public void setSecurityLevel(Integer securityLevel) {
+        this.securityLevel = securityLevel;
+    }
+
+    public LocalDateTime getCreationTime() {
+        return creationTime;
+    }
+
+    public void setCreationTime(LocalDateTime creationTime) {
+        this.creationTime = creationTime;
+    }
+
+    public LocalDateTime getLastActiveTime() {
+        return lastActiveTime;
+    }
+
+    public void setLastActiveTime(LocalDateTime lastActiveTime) {
+        this.lastActiveTime = lastActiveTime;
+    }
+}
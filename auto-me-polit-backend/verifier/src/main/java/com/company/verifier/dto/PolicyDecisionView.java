@@ -0,0 +1,38 @@
+package com.company.verifier.dto;
+
+/**
+ * 统一身份认证平台 - 单个属性的共享策略决策结果
+ * action/reason 取值与主服务 PolicyDecisionService.Decision 一致
+ */
+public class PolicyDecisionView {
+
+    public static final PolicyDecisionView NO_POLICY = new PolicyDecisionView("DENY", null, "NO_POLICY");
+    public static final PolicyDecisionView EXPIRED = new PolicyDecisionView("DENY", null, "EXPIRED");
+    public static final PolicyDecisionView UNKNOWN_ATTRIBUTE = new PolicyDecisionView("DENY", null, "UNKNOWN_ATTRIBUTE");
+
+    private final String action;
+    private final String policyId;
+    private final String reason;
+
+    public PolicyDecisionView(String action, String policyId, String reason) {
+        this.action = action;
+        this.policyId = policyId;
+        this.reason = reason;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public String getPolicyId() {
+        return policyId;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public boolean isAllowed() {
+        return "ALLOW".equals(action);
+    }
+}
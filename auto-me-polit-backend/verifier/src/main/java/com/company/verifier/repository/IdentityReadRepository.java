@@ -0,0 +1,68 @@
+package com.company.verifier.repository;
+
+import com.company.verifier.dto.IdentityView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 统一身份认证平台 - 身份只读仓库
+ * 直接读取主服务的 core_identity 表（按唯一索引 identity_id 查询），只投影校验所需的列
+ */
+@Repository
+public class IdentityReadRepository {
+
+    private static final String FIND_BY_IDENTITY_ID =
+        "SELECT identity_id, public_key, status, security_level, creation_time, last_active_time " +
+        "FROM core_identity WHERE identity_id = :identityId";
+
+    private static final String FIND_SECURITY_LEVEL =
+        "SELECT security_level FROM core_identity WHERE identity_id = :identityId";
+
+    private final DatabaseClient databaseClient;
+    private final Duration queryTimeout;
+
+    public IdentityReadRepository(DatabaseClient databaseClient,
+                                  @Value("${auto-me-polit.verifier.query-timeout:2s}") Duration queryTimeout) {
+        this.databaseClient = databaseClient;
+        this.queryTimeout = queryTimeout;
+    }
+
+    /**
+     * 按身份ID查询
+     *
+     * @param identityId 身份ID
+     * @return 身份信息，不存在时为空
+     */
+    public Mono<IdentityView> findByIdentityId(String identityId) {
+        return databaseClient.sql(FIND_BY_IDENTITY_ID)
+            .bind("identityId", identityId)
+            .map((row, metadata) -> new IdentityView(
+                row.get("identity_id", String.class),
+                row.get("public_key", String.class),
+                row.get("status", String.class),
+                row.get("security_level", Integer.class),
+                row.get("creation_time", LocalDateTime.class),
+                row.get("last_active_time", LocalDateTime.class)))
+            .one()
+            .timeout(queryTimeout);
+    }
+
+    /**
+     * 查询身份安全级别
+     *
+     * @param identityId 身份ID
+     * @return 安全级别，身份不存在时为空
+     */
+    public Mono<Integer> findSecurityLevel(String identityId) {
+        return databaseClient.sql(FIND_SECURITY_LEVEL)
+            .bind("identityId", identityId)
+            .map((row, metadata) -> row.get("security_level", Integer.class))
+            .one()
+            .timeout(queryTimeout);
+    }
+}
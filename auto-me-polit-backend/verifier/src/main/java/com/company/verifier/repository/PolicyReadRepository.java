@@ -0,0 +1,82 @@
+package com.company.verifier.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 统一身份认证平台 - 共享策略只读仓库
+ * 按 (身份ID, 请求方) 读取有效策略，走 share_policy 的 idx_policy_identity 索引
+ */
+@Repository
+public class PolicyReadRepository {
+
+    private static final String FIND_ACTIVE =
+        "SELECT sp.policy_id, sp.attributes, sp.duration, sp.constraints, sp.default_action, sp.creation_time " +
+        "FROM share_policy sp JOIN core_identity ci ON ci.id = sp.identity_id " +
+        "WHERE ci.identity_id = :identityId AND sp.requester = :requester AND sp.is_active = TRUE";
+
+    private final DatabaseClient databaseClient;
+    private final Duration queryTimeout;
+
+    public PolicyReadRepository(DatabaseClient databaseClient,
+                                @Value("${auto-me-polit.verifier.query-timeout:2s}") Duration queryTimeout) {
+        this.databaseClient = databaseClient;
+        this.queryTimeout = queryTimeout;
+    }
+
+    /**
+     * 查询身份对请求方的有效策略（未过滤过期，由决策时判断）
+     *
+     * @param identityId 身份ID
+     * @param requester 请求方标识
+     * @return 策略行
+     */
+    public Flux<PolicyRow> findActive(String identityId, String requester) {
+        return databaseClient.sql(FIND_ACTIVE)
+            .bind("identityId", identityId)
+            .bind("requester", requester)
+            .map((row, metadata) -> new PolicyRow(
+                row.get("policy_id", String.class),
+                row.get("attributes", String.class),
+                row.get("duration", String.class),
+                row.get("constraints", String.class),
+                row.get("default_action", String.class),
+                row.get("creation_time", LocalDateTime.class)))
+            .all()
+            .timeout(queryTimeout);
+    }
+
+    /**
+     * 策略行（JSON列保持原始字符串，由决策服务解析）
+     */
+    public static final class PolicyRow {
+        private final String policyId;
+        private final String attributes;
+        private final String duration;
+        private final String constraints;
+        private final String defaultAction;
+        private final LocalDateTime creationTime;
+
+        public PolicyRow(String policyId, String attributes, String duration, String constraints,
+                         String defaultAction, LocalDateTime creationTime) {
+            this.policyId = policyId;
+            this.attributes = attributes;
+            this.duration = duration;
+            this.constraints = constraints;
+            this.defaultAction = defaultAction;
+            this.creationTime = creationTime;
+        }
+
+        public String getPolicyId() { return policyId; }
+        public String getAttributes() { return attributes; }
+        public String getDuration() { return duration; }
+        public String getConstraints() { return constraints; }
+        public String getDefaultAction() { return defaultAction; }
+        public LocalDateTime getCreationTime() { return creationTime; }
+    }
+}
@@ -0,0 +1,186 @@
+package com.company.verifier.service;
+
+import com.company.verifier.dto.PolicyDecisionView;
+import com.company.verifier.repository.PolicyReadRepository;
+import com.company.verifier.repository.PolicyReadRepository.PolicyRow;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 统一身份认证平台 - 共享策略决策（只读）
+ * 决策规则与主服务 PolicyDecisionServiceImpl 一致：无约束的允许优先于条件允许，
+ * 均未覆盖时取各策略默认动作中最严格者（两边以同一份用例做一致性测试，见 PolicyDecisionEvaluatorParityTest）。校验服务不持有内存索引，每次请求按 (身份, 请求方) 读取有效策略，
+ * 因此策略变更立即生效；决策不计入策略使用次数
+ */
+@Service
+public class PolicyDecisionEvaluator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyDecisionEvaluator.class);
+
+    private final PolicyReadRepository policyReadRepository;
+    private final ObjectMapper objectMapper;
+    private final Set<String> allowedAttributes;
+
+    public PolicyDecisionEvaluator(PolicyReadRepository policyReadRepository,
+                                   ObjectMapper objectMapper,
+                                   @Value("${auto-me-polit.sharing.allowed-attributes:IDENTITY_ID,NAME,EMAIL,PHONE,PROFILE_IMAGE,STATUS}") List<String> allowedAttributes) {
+        this.policyReadRepository = policyReadRepository;
+        this.objectMapper = objectMapper;
+        Set<String> names = new HashSet<>();
+        for (String attribute : allowedAttributes) {
+            if (!attribute.isBlank()) {
+                names.add(attribute.trim());
+            }
+        }
+        this.allowedAttributes = names;
+    }
+
+    /**
+     * 判断请求方能否读取身份的各个属性
+     *
+     * @param identityId 身份ID
+     * @param requester 请求方标识
+     * @param attributes 属性名列表
+     * @return 属性名到决策结果的映射（按请求顺序）
+     */
+    public Mono<Map<String, PolicyDecisionView>> decideAll(String identityId, String requester, Collection<String> attributes) {
+        Set<String> requested = new LinkedHashSet<>(attributes);
+        return policyReadRepository.findActive(identityId, requester)
+            .collectList()
+            .map(rows -> {
+                List<CompiledPolicy> policies = compile(rows);
+                long now = System.currentTimeMillis();
+                Map<String, PolicyDecisionView> decisions = new LinkedHashMap<>();
+                for (String attribute : requested) {
+                    decisions.put(attribute, decide(policies, attribute, now));
+                }
+                return decisions;
+            });
+    }
+
+    private PolicyDecisionView decide(List<CompiledPolicy> policies, String attribute, long now) {
+        if (!allowedAttributes.contains(attribute)) {
+            return PolicyDecisionView.UNKNOWN_ATTRIBUTE;
+        }
+        if (policies.isEmpty()) {
+            return PolicyDecisionView.NO_POLICY;
+        }
+        PolicyDecisionView conditional = null;
+        PolicyDecisionView fallback = null;
+        for (CompiledPolicy policy : policies) {
+            if (policy.expiresAtMillis <= now) {
+                continue;
+            }
+            if (policy.attributes.contains(attribute)) {
+                if (!policy.constrained) {
+                    return new PolicyDecisionView("ALLOW", policy.policyId, "MATCHED");
+                }
+                if (conditional == null) {
+                    conditional = new PolicyDecisionView("CONDITIONAL", policy.policyId, "CONSTRAINED");
+                }
+            } else if (fallback == null || strictness(policy.defaultAction) > strictness(fallback.getAction())) {
+                fallback = new PolicyDecisionView(policy.defaultAction, policy.policyId, "DEFAULT_ACTION");
+            }
+        }
+        if (conditional != null) {
+            return conditional;
+        }
+        return fallback != null ? fallback : PolicyDecisionView.EXPIRED;
+    }
+
+    /**
+     * 解析策略行；配置无法解析的策略被忽略（不授予任何访问）
+     */
+    private List<CompiledPolicy> compile(List<PolicyRow> rows) {
+        List<CompiledPolicy> policies = new ArrayList<>(rows.size());
+        for (PolicyRow row : rows) {
+            try {
+                LocalDateTime start = row.getCreationTime() != null ? row.getCreationTime() : LocalDateTime.now();
+                long expiresAt = start.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                    + Duration.parse(row.getDuration()).toMillis();
+                policies.add(new CompiledPolicy(row.getPolicyId(), parseAttributes(row.getAttributes()), expiresAt,
+                    hasConstraints(row.getConstraints()),
+                    row.getDefaultAction() != null ? row.getDefaultAction() : "DENY"));
+            } catch (Exception e) {
+                logger.warn("共享策略{}配置无效，不参与决策: {}", row.getPolicyId(), e.getMessage());
+            }
+        }
+        return policies;
+    }
+
+    /**
+     * 支持三种属性配置格式: ["NAME", ...]、{"sharedAttributes": [...]}、{"NAME": true, ...}
+     */
+    private Set<String> parseAttributes(String attributes) throws Exception {
+        Set<String> names = new HashSet<>();
+        JsonNode node = objectMapper.readTree(attributes);
+        if (node.isObject() && node.has("sharedAttributes")) {
+            node = node.get("sharedAttributes");
+        }
+        if (node.isArray()) {
+            node.forEach(element -> names.add(element.asText()));
+        } else if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (field.getValue().asBoolean(false)) {
+                    names.add(field.getKey());
+                }
+            }
+        }
+        names.retainAll(allowedAttributes);
+        return names;
+    }
+
+    private boolean hasConstraints(String constraints) throws Exception {
+        if (constraints == null || constraints.isBlank()) {
+            return false;
+        }
+        JsonNode node = objectMapper.readTree(constraints);
+        return !(node.isNull() || node.isMissingNode() || node.isEmpty());
+    }
+
+    private static int strictness(String action) {
+        switch (action) {
+            case "DENY": return 3;
+            case "PROMPT": return 2;
+            case "CONDITIONAL": return 1;
+            default: return 0;
+        }
+    }
+
+    private static final class CompiledPolicy {
+        private final String policyId;
+        private final Set<String> attributes;
+        private final long expiresAtMillis;
+        private final boolean constrained;
+        private final String defaultAction;
+
+        private CompiledPolicy(String policyId, Set<String> attributes, long expiresAtMillis,
+                               boolean constrained, String defaultAction) {
+            this.policyId = policyId;
+            this.attributes = attributes;
+            this.expiresAtMillis = expiresAtMillis;
+            this.constrained = constrained;
+            this.defaultAction = defaultAction;
+        }
+    }
+}
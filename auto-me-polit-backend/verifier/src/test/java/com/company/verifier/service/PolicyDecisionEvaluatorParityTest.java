@@ -0,0 +1,97 @@
+package com.company.verifier.service;
+
+import com.company.verifier.dto.PolicyDecisionView;
+import com.company.verifier.repository.PolicyReadRepository;
+import com.company.verifier.repository.PolicyReadRepository.PolicyRow;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 统一身份认证平台 - 共享策略决策一致性测试（校验服务）
+ * 用例文件与主服务的 PolicyDecisionParityTest 共用（位于主服务 src/test/resources，经 pom 的 testResources 引入），
+ * 两边的属性解析、约束判定、严格程度与决策规则任一处不一致都会使其中一侧失败
+ */
+class PolicyDecisionEvaluatorParityTest {
+
+    private static final String FIXTURES = "/policy-decision/parity-fixtures.json";
+
+    private static final String IDENTITY_ID = "UID-GLOBAL-PARITY";
+    private static final String REQUESTER = "app.example.com";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void decisionsMatchSharedFixtures() throws IOException {
+        JsonNode fixtures = loadFixtures();
+        List<String> allowedAttributes = new ArrayList<>();
+        fixtures.get("allowedAttributes").forEach(node -> allowedAttributes.add(node.asText()));
+
+        int checked = 0;
+        for (JsonNode fixture : fixtures.get("cases")) {
+            String name = fixture.get("name").asText();
+            List<PolicyRow> rows = new ArrayList<>();
+            fixture.get("policies").forEach(policy -> rows.add(toRow(policy)));
+
+            PolicyReadRepository repository = mock(PolicyReadRepository.class);
+            when(repository.findActive(IDENTITY_ID, REQUESTER)).thenReturn(Flux.fromIterable(rows));
+            PolicyDecisionEvaluator evaluator = new PolicyDecisionEvaluator(repository, objectMapper, allowedAttributes);
+
+            List<String> attributes = new ArrayList<>();
+            fixture.get("expected").fieldNames().forEachRemaining(attributes::add);
+            Map<String, PolicyDecisionView> decisions = evaluator.decideAll(IDENTITY_ID, REQUESTER, attributes).block();
+            assertNotNull(decisions, name);
+
+            Iterator<Map.Entry<String, JsonNode>> expected = fixture.get("expected").fields();
+            while (expected.hasNext()) {
+                Map.Entry<String, JsonNode> entry = expected.next();
+                JsonNode want = entry.getValue();
+                PolicyDecisionView got = decisions.get(entry.getKey());
+                String where = name + " / " + entry.getKey();
+                assertEquals(want.get("action").asText(), got.getAction(), where);
+                assertEquals(want.get("reason").asText(), got.getReason(), where);
+                if (want.hasNonNull("policyId")) {
+                    assertEquals(want.get("policyId").asText(), got.getPolicyId(), where);
+                }
+                checked++;
+            }
+        }
+        assertTrue(checked > 0, "用例文件中没有任何断言");
+    }
+
+    private JsonNode loadFixtures() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream(FIXTURES)) {
+            assertNotNull(in, "缺少用例文件: " + FIXTURES);
+            return objectMapper.readTree(in);
+        }
+    }
+
+    private static PolicyRow toRow(JsonNode policy) {
+        return new PolicyRow(
+            policy.get("policyId").asText(),
+            text(policy, "attributes"),
+            text(policy, "duration"),
+            text(policy, "constraints"),
+            text(policy, "defaultAction"),
+            LocalDateTime.now().minusMinutes(policy.path("createdMinutesAgo").asLong(0)));
+    }
+
+    private static String text(JsonNode node, String field) {
+        return node.hasNonNull(field) ? node.get(field).asText() : null;
+    }
+}
@@ -0,0 +1,40 @@
+import { http } from '@/api'
+
+// ==================== 仪表盘相关API ====================
+
+export interface PolicyUsageItem {
+  policyId: string
+  requester: string
+  active: boolean
+  usageCount: number
+  lastUsedTime?: string
+}
+
+export interface DashboardSnapshot {
+  generatedAt: string
+  ageSeconds: number
+  stale: boolean
+  identities: {
+    total: number
+    byStatus: Record<string, number>
+  }
+  accounts: {
+    total: number
+    bySyncStatus: Record<string, number>
+    healthDistribution: Record<'POOR' | 'FAIR' | 'GOOD' | 'EXCELLENT', number>
+    riskDistribution: Record<'LOW' | 'MEDIUM' | 'HIGH', number>
+  }
+  policies: {
+    total: number
+    active: number
+    totalUsage: number
+    topUsed: PolicyUsageItem[]
+  }
+}
+
+// 仪表盘API
+export const dashboardAPI = {
+  // 获取仪表盘快照（身份、账户、策略统计合并为一次请求）
+  getSnapshot: () =>
+    http.get<DashboardSnapshot>('/dashboard/snapshot')
+}